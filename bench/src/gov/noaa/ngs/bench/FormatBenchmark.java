@@ -0,0 +1,114 @@
+package gov.noaa.ngs.bench;
+
+import gov.noaa.ngs.grid.CoordSet;
+import gov.noaa.ngs.grid.CoordSetWriter;
+import gov.noaa.ngs.grid.Nutil;
+import gov.noaa.ngs.grid.NumericCoordSet;
+import gov.noaa.ngs.transform.CTException;
+import gov.noaa.ngs.transform.DecimalFormatter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the output path: JSON of a converted point as printed by
+ * CLDriver and written by BatchConverter, from a string CoordSet and from a
+ * NumericCoordSet, and the number formatting underneath, next to
+ * String.format with the same patterns.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormatBenchmark {
+
+    private static final String[] OPTIONS = {"SPC", "UTM", "USNG", "XYZ"};
+
+    private final CoordSetWriter pretty = new CoordSetWriter(CoordSetWriter.ALL_FIELDS, true);
+    private final CoordSetWriter ndjson = new CoordSetWriter(CoordSetWriter.ALL_FIELDS, false);
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+    private CoordSet coordSet;
+    private NumericCoordSet numeric;
+
+    @Setup
+    public void setup() throws CTException {
+        String pDatum = Nutil.getPdatum("NAD83(2011)");
+        CoordSet p = Nutil.transform("NAD83(2011)", "NAD83(2011)", 39.2240867, -98.5421515, 123.0,
+                "N/A", "N/A", Double.NaN);
+        coordSet = Nutil.getCoordSet(p, "NAD83(2011)", pDatum, 0.0, 0.0, "auto", "auto", OPTIONS);
+        NumericCoordSet n = Nutil.transformNumeric("NAD83(2011)", "NAD83(2011)", 39.2240867, -98.5421515, 123.0,
+                "N/A", "N/A", Double.NaN, true);
+        numeric = Nutil.getNumericCoordSet(n, "NAD83(2011)", pDatum, 0.0, 0.0, "auto", "auto", OPTIONS);
+    }
+
+    @Benchmark
+    public String prettyJson() {
+        return pretty.toJson(coordSet);
+    }
+
+    @Benchmark
+    public int ndjson() throws IOException {
+        out.reset();
+        ndjson.write(coordSet, out);
+        return out.size();
+    }
+
+    /**
+     * NumericCoordSet renders its strings when the writer asks for them
+     */
+    @Benchmark
+    public int ndjsonNumeric() throws IOException {
+        out.reset();
+        ndjson.write(numeric, out);
+        return out.size();
+    }
+
+    @Benchmark
+    public String formatGrouped() {
+        return DecimalFormatter.formatGrouped(3397591.12034, 3);
+    }
+
+    @Benchmark
+    public String formatGroupedString() {
+        return String.format("%,.3f", 3397591.12034);
+    }
+
+    @Benchmark
+    public String formatDegrees() {
+        return DecimalFormatter.format(-98.54215150123, 10);
+    }
+
+    @Benchmark
+    public String formatDegreesString() {
+        return String.format("%.10f", -98.54215150123);
+    }
+
+    @Benchmark
+    public String formatPadded() {
+        return DecimalFormatter.format("%08.5f", 3.14159265);
+    }
+
+    @Benchmark
+    public String formatPaddedString() {
+        return String.format("%08.5f", 3.14159265);
+    }
+
+    @Benchmark
+    public String formatDms() {
+        return DecimalFormatter.appendDms(new StringBuilder(16), -98.54215150123, false).toString();
+    }
+}
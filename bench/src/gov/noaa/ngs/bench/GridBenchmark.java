@@ -0,0 +1,289 @@
+package gov.noaa.ngs.bench;
+
+import gov.noaa.ngs.endian.EndianParser;
+import gov.noaa.ngs.grid.CoordSet;
+import gov.noaa.ngs.grid.GridGenerator;
+import gov.noaa.ngs.grid.GridManager;
+import gov.noaa.ngs.grid.Interpolator;
+import gov.noaa.ngs.grid.NumericCoordSet;
+import gov.noaa.ngs.grid.Nutil;
+import gov.noaa.ngs.grid.TransformBatcher;
+import gov.noaa.ngs.grid.Transformer;
+import gov.noaa.ngs.grid.Vertcon;
+import gov.noaa.ngs.transform.CTException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the grid layer: nadcon transformations over one and several
+ * datum hops in each region, vertcon lookups, interpolation and decoding of
+ * grid records. The nadcon and vertcon benchmarks read the grid files named in
+ * nadconDef.properties and vertconDef.properties from -Dgpath or the installed
+ * grid directory. The batch benchmarks compare points sent one by one through
+ * Nutil with the same points sent through a TransformBatcher. When neither is set up they run against synthetic grids of
+ * GridGenerator written to a temporary directory, which have the layout but not
+ * the size of the NGS grids.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GridBenchmark {
+
+    /**
+     * the grid directory, with synthetic grids if no grids are installed
+     */
+    @State(Scope.Benchmark)
+    public static class Grids {
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException {
+            if (System.getProperty("gpath") != null || new File("/ngslib/data/Nadcon5").isDirectory()) {
+                return;
+            }
+            File dir = Files.createTempDirectory("grids").toFile();
+            new GridGenerator(GridManager.NADCON).writeAll(dir);
+            new GridGenerator(GridManager.VERTCON).writeAll(dir);
+            System.setProperty("gpath", dir.getPath());
+        }
+    }
+
+    /**
+     * a point in each nadcon region with the oldest datum of the region and
+     * the datums one hop and all hops away
+     */
+    @State(Scope.Thread)
+    public static class Region {
+
+        @Param({"Conus", "Alaska", "Hawaii", "PRVI", "AS", "GuamCNMI", "StGeorge", "StPaul", "StLawrence"})
+        public String region;
+
+        double lat;
+        double lon;
+        String srcDatum;
+        String oneHop;
+        String allHops;
+
+        @Setup
+        public void setup(Grids grids) {
+            switch (region) {
+                case "Conus":
+                    set(39.2240867, -98.5421515, "NAD27", "NAD83(1986)", "NAD83(2011)");
+                    break;
+                case "Alaska":
+                    set(61.2181, -149.9003, "NAD27", "NAD83(1986)", "NAD83(2011)");
+                    break;
+                case "Hawaii":
+                    set(21.3069, -157.8583, "OHD", "NAD83(1986)", "NAD83(PA11)");
+                    break;
+                case "PRVI":
+                    set(18.2208, -66.5901, "PR40", "NAD83(1986)", "NAD83(2011)");
+                    break;
+                case "AS":
+                    set(-14.2756, -170.7020, "AS62", "NAD83(1993)", "NAD83(PA11)");
+                    break;
+                case "GuamCNMI":
+                    set(13.4443, 144.7937, "GU63", "NAD83(1993)", "NAD83(MA11)");
+                    break;
+                case "StGeorge":
+                    set(56.6000, -169.5500, "SG1897", "SG1952", "NAD83(2011)");
+                    break;
+                case "StPaul":
+                    set(57.1500, -170.2500, "SP1897", "SP1952", "NAD83(2011)");
+                    break;
+                default:
+                    set(63.4000, -170.5000, "SL1952", "NAD83(1986)", "NAD83(2011)");
+                    break;
+            }
+        }
+
+        private void set(double lat, double lon, String srcDatum, String oneHop, String allHops) {
+            this.lat = lat;
+            this.lon = lon;
+            this.srcDatum = srcDatum;
+            this.oneHop = oneHop;
+            this.allHops = allHops;
+        }
+    }
+
+    /**
+     * grid data independent of the grid files
+     */
+    @State(Scope.Thread)
+    public static class Data {
+
+        final double[] block = new double[9];
+        final byte[] record = new byte[4096];
+        final EndianParser bigEndian = new EndianParser("be");
+        final EndianParser littleEndian = new EndianParser("le");
+        double x;
+        double y;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            Random r = new Random(42);
+            for (int i = 0; i < block.length; i++) {
+                block[i] = r.nextGaussian();
+            }
+            r.nextBytes(record);
+            x = r.nextDouble();
+            y = r.nextDouble();
+        }
+    }
+
+    /**
+     * a grid of points over Kansas and a batcher for them
+     */
+    @State(Scope.Benchmark)
+    public static class Batch {
+
+        static final int N = 2000;
+        static final String[] OPTIONS = {"SPC", "UTM", "USNG", "XYZ"};
+
+        final double[] lat = new double[N];
+        final double[] lon = new double[N];
+        TransformBatcher batcher;
+
+        @Setup(Level.Trial)
+        public void setup(Grids grids) {
+            for (int i = 0; i < N; i++) {
+                lat[i] = 39.0 + (i % 100) * 0.01;
+                lon[i] = -98.5 + (i / 100) * 0.01;
+            }
+            batcher = new TransformBatcher();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            batcher.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Batch.N)
+    public void direct(Batch b, Blackhole bh) throws CTException {
+        String pDatum = Nutil.getPdatum("NAD83(2011)");
+        for (int i = 0; i < Batch.N; i++) {
+            NumericCoordSet p = Nutil.transformNumeric("NAD83(1986)", "NAD83(2011)", b.lat[i], b.lon[i], 100.0,
+                    "N/A", "N/A", Double.NaN, false);
+            bh.consume(Nutil.getNumericCoordSet(p, "NAD83(2011)", pDatum, 0.0, 0.0, "1501", "auto", Batch.OPTIONS));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Batch.N)
+    public void batched(Batch b, Blackhole bh) throws InterruptedException, ExecutionException {
+        List<CompletableFuture<CoordSet>> futures = new ArrayList<>(Batch.N);
+        for (int i = 0; i < Batch.N; i++) {
+            futures.add(b.batcher.submit("NAD83(1986)", "NAD83(2011)", b.lat[i], b.lon[i], 100.0, "1501", "auto"));
+        }
+        for (CompletableFuture<CoordSet> f : futures) {
+            bh.consume(f.get());
+        }
+    }
+
+    @Benchmark
+    public double[] nadconOneHop(Region r) {
+        Transformer t = new Transformer(r.lat, r.lon, r.srcDatum, r.oneHop, GridManager.NADCON);
+        t.setInline(true);
+        return t.transformValues();
+    }
+
+    @Benchmark
+    public double[] nadconAllHops(Region r) {
+        Transformer t = new Transformer(r.lat, r.lon, r.srcDatum, r.allHops, GridManager.NADCON);
+        t.setInline(true);
+        return t.transformValues();
+    }
+
+    @Benchmark
+    public double[] nadconAllHopsWithHeight(Region r) {
+        Transformer t = new Transformer(r.lat, r.lon, 100.0, r.srcDatum, r.allHops, GridManager.NADCON);
+        t.setInline(true);
+        return t.transformValues();
+    }
+
+    @Benchmark
+    public String nadconFormatted(Region r) {
+        Transformer t = new Transformer(r.lat, r.lon, r.srcDatum, r.allHops, GridManager.NADCON);
+        t.setInline(true);
+        return t.transform(true);
+    }
+
+    @Benchmark
+    public double[] vertconTransform(Grids g) {
+        Transformer t = new Transformer(39.2240867, -98.5421515, 100.0, "NGVD29", "NAVD88", GridManager.VERTCON);
+        t.setInline(true);
+        return t.transformValues();
+    }
+
+    @Benchmark
+    public double vertconLookup(Grids g) {
+        Vertcon v = new Vertcon("Conus", "NGVD29", "NAVD88", "oht", "trn");
+        double[] block = v.getBlock(39.2240867, 261.4578485, v.getIntpGridRows(), v.getIntpGridCols());
+        if (block == null) {
+            return Double.NaN;
+        }
+        double[] p = v.getIntpPoint();
+        return v.interpolate(p[0], p[1], block);
+    }
+
+    @Benchmark
+    public double biquadratic(Data d) {
+        return new Interpolator(d.x, d.y, d.block).biquadratic();
+    }
+
+    @Benchmark
+    public double bilinear(Data d) {
+        return new Interpolator(d.x, d.y, d.block).bilinear();
+    }
+
+    @Benchmark
+    public void decodeBigEndian(Data d, Blackhole bh) {
+        decode(d.bigEndian, d.record, bh);
+    }
+
+    @Benchmark
+    public void decodeLittleEndian(Data d, Blackhole bh) {
+        decode(d.littleEndian, d.record, bh);
+    }
+
+    /**
+     * decodes a record as floats, ints, shorts and doubles
+     */
+    private static void decode(EndianParser p, byte[] record, Blackhole bh) {
+        for (int i = 0; i + 4 <= record.length; i += 4) {
+            bh.consume(p.getFloat(record, i));
+            bh.consume(p.getInt(record, i));
+            bh.consume(p.getShort(record, i));
+        }
+        for (int i = 0; i + 8 <= record.length; i += 8) {
+            bh.consume(p.getDouble(record, i));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package gov.noaa.ngs.bench;
+
+import gov.noaa.ngs.grid.Nutil;
+import gov.noaa.ngs.transform.CTException;
+import gov.noaa.ngs.transform.CoordReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the input path: lat,lon,height lines read with CoordReader,
+ * next to reading each line as a String, splitting it and parsing the fields
+ * with Nutil.toDecimalDeg and Double.parseDouble. Times are per line.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParseBenchmark {
+
+    private static final int N = 10000;
+
+    @Param({"decimal", "dms"})
+    public String format;
+
+    private String text;
+    private final double[] lat = new double[4096];
+    private final double[] lon = new double[4096];
+    private final double[] h = new double[4096];
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random r = new Random(42);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < N; i++) {
+            double la = 20.0 + r.nextDouble() * 40.0;
+            double lo = -160.0 + r.nextDouble() * 90.0;
+            if (format.equals("dms")) {
+                sb.append(String.format("N%02d%s,W%03d%s", (int) la, ms(la), (int) -lo, ms(-lo)));
+            } else {
+                sb.append(String.format("%.10f,%.10f", la, lo));
+            }
+            sb.append(',').append(String.format("%.3f", r.nextDouble() * 1000.0)).append('\n');
+        }
+        text = sb.toString();
+    }
+
+    /**
+     * returns the minutes and seconds of DMS, as MMSS.sssss
+     */
+    private static String ms(double deg) {
+        double minutes = (deg - (int) deg) * 60.0;
+        int m = (int) minutes;
+        return String.format("%02d%08.5f", m, (minutes - m) * 60.0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public double coordReader() throws IOException, CTException {
+        double sum = 0.0;
+        try (CoordReader r = new CoordReader(new StringReader(text))) {
+            int n;
+            while ((n = r.read(lat, lon, h, lat.length)) > 0) {
+                for (int i = 0; i < n; i++) {
+                    sum += lat[i] + lon[i] + h[i];
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public double splitLines() throws IOException {
+        double sum = 0.0;
+        try (BufferedReader r = new BufferedReader(new StringReader(text))) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                String[] f = line.split(",");
+                sum += Nutil.toDecimalDeg(f[0]) + Nutil.toDecimalDeg(f[1]) + Double.parseDouble(f[2]);
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,232 @@
+package gov.noaa.ngs.bench;
+
+import gov.noaa.ngs.grid.CoordSet;
+import gov.noaa.ngs.grid.Nutil;
+import gov.noaa.ngs.transform.CTException;
+import gov.noaa.ngs.transform.CoordinateTransformation;
+import gov.noaa.ngs.transform.Ellipsoid;
+import gov.noaa.ngs.transform.SpcUtil;
+import gov.noaa.ngs.transform.SpcZoneIndex;
+import gov.noaa.ngs.transform.Usng;
+import gov.noaa.ngs.transform.XyzTransformation;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the projections: each CoordinateTransformation subclass
+ * forward and inverse for a representative zone, XYZ, USNG encoding and
+ * decoding, and Nutil.getCoordSet, which runs all conversions of a point.
+ * xyzBatch times the batch xyz to llh conversion per point for each algorithm,
+ * and spcZone the lookup of the SPC zone of a point in the boundary index.
+ * None of these read grid files. spcZone needs SPC zone boundaries, which are
+ * not part of the source tree: pass -Dspcpath=/path/to/spcZones.txt (see
+ * SpcZoneIndex for the format) or add the file as the resource
+ * SpcUtil.SPC_BOUNDARY_RESOURCE, otherwise its setup fails.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    /**
+     * a zone of each projection and a point in it
+     */
+    @State(Scope.Thread)
+    public static class Zone {
+
+        // TM, LC, OM, AE, LCS (SPC) and TM (UTM)
+        @Param({"0101", "1501", "5001", "5400", "5300", "15"})
+        public String zone;
+
+        final SpcUtil spc = new SpcUtil();
+        String datum;
+        double lat;
+        double lon;
+        double north;
+        double east;
+
+        @Setup
+        public void setup() {
+            datum = "nad83";
+            switch (zone) {
+                case "0101":
+                    lat = 31.5;
+                    lon = -85.8;
+                    break;
+                case "1501":
+                    lat = 39.2240867;
+                    lon = -98.5421515;
+                    break;
+                case "5001":
+                    lat = 57.0;
+                    lon = -134.0;
+                    break;
+                case "5400":
+                    lat = 13.45;
+                    lon = 144.78;
+                    datum = "nad27";
+                    break;
+                case "5300":
+                    lat = -14.3;
+                    lon = -170.7;
+                    datum = "nad27";
+                    break;
+                default:
+                    lat = 39.2240867;
+                    lon = -93.0;
+                    break;
+            }
+            // datum,zone,label,north,east,convergence,scale factor
+            String[] spc = CoordinateTransformation.getInstance(zone, datum).toProjectedCoordinates(lat, lon).split(",");
+            north = Double.parseDouble(spc[3]);
+            east = Double.parseDouble(spc[4]);
+        }
+    }
+
+    /**
+     * the SPC zone boundaries; without them every lookup would return the
+     * default zone and time nothing but the map lookup
+     */
+    @State(Scope.Benchmark)
+    public static class Boundaries {
+
+        @Setup
+        public void setup() {
+            SpcZoneIndex index = SpcUtil.getIndex("nad83");
+            if (index == null || index.size() == 0) {
+                throw new IllegalStateException("No SPC zone boundaries; set -Dspcpath=/path/to/spcZones.txt or add "
+                        + SpcUtil.SPC_BOUNDARY_RESOURCE);
+            }
+        }
+    }
+
+    /**
+     * a transformed point for Nutil.getCoordSet and USNG
+     */
+    @State(Scope.Thread)
+    public static class Point {
+
+        final CoordinateTransformation xyz = CoordinateTransformation.getInstance("nad83");
+        final Usng usng = new Usng("nad83");
+        final double lat = 39.2240867;
+        final double lon = -98.5421515;
+        final double height = 123.0;
+        final String pDatum = Nutil.getPdatum("NAD83(2011)");
+        String usngStr;
+        double x;
+        double y;
+        double z;
+        CoordSet p;
+
+        @Setup
+        public void setup() {
+            usngStr = usng.toUsng(lat, lon);
+            String[] v = xyz.toProjectedCoordinates(lat, lon, height).split(",");
+            x = Double.parseDouble(v[0]);
+            y = Double.parseDouble(v[1]);
+            z = Double.parseDouble(v[2]);
+            p = Nutil.transform("NAD83(2011)", "NAD83(2011)", lat, lon, height, "N/A", "N/A", Double.NaN);
+        }
+    }
+
+    /**
+     * xyz of a GRS80 sample every 0.1 degree of latitude and 5 degrees of
+     * longitude, at height 0
+     */
+    @State(Scope.Thread)
+    public static class XyzBatch {
+
+        static final int N = 1799 * 72;
+
+        @Param({"EXACT", "BOWRING"})
+        public XyzTransformation.Algorithm algorithm;
+
+        final Ellipsoid grs80 = Ellipsoid.fromInverseFlattening(6378137.0, 298.257222101);
+        final double[] x = new double[N];
+        final double[] y = new double[N];
+        final double[] z = new double[N];
+        final double[] lat = new double[N];
+        final double[] lon = new double[N];
+        final double[] h = new double[N];
+
+        @Setup
+        public void setup() {
+            int k = 0;
+            for (int i = 1; i < 1800; i++) {
+                for (int j = 0; j < 72; j++) {
+                    lat[k] = -90.0 + i * 0.1;
+                    lon[k++] = -180.0 + j * 5.0 + 0.5;
+                }
+            }
+            XyzTransformation.toProjectedCoordinates(grs80, lat, lon, h, x, y, z, 0, N);
+        }
+    }
+
+    /**
+     * an instance per conversion as in Nutil; a UTM instance keeps the zone
+     * of its first conversion
+     */
+    @Benchmark
+    public String forward(Zone z) {
+        return CoordinateTransformation.getInstance(z.zone, z.datum).toProjectedCoordinates(z.lat, z.lon);
+    }
+
+    @Benchmark
+    public String inverse(Zone z) {
+        return CoordinateTransformation.getInstance(z.zone, z.datum).toGeodeticCoordinates(z.north, z.east);
+    }
+
+    @Benchmark
+    public String spcZone(Zone z, Boundaries b) throws CTException {
+        return z.spc.getZone(z.lat, z.lon, z.datum);
+    }
+
+    @Benchmark
+    public String xyzForward(Point p) {
+        return p.xyz.toProjectedCoordinates(p.lat, p.lon, p.height);
+    }
+
+    @Benchmark
+    public String xyzInverse(Point p) {
+        return p.xyz.toGeodeticCoordinates(p.x, p.y, p.z);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(XyzBatch.N)
+    public double[] xyzBatch(XyzBatch b) {
+        XyzTransformation.toGeodeticCoordinates(b.grs80, b.x, b.y, b.z, b.lat, b.lon, b.h, 0, XyzBatch.N,
+                b.algorithm);
+        return b.lat;
+    }
+
+    @Benchmark
+    public String usngEncode(Point p) {
+        return p.usng.toUsng(p.lat, p.lon);
+    }
+
+    @Benchmark
+    public String usngDecode(Point p) {
+        return p.usng.toGeodeticCoordinates(p.usngStr);
+    }
+
+    @Benchmark
+    public CoordSet getCoordSet(Point p) throws CTException {
+        return Nutil.getCoordSet(p.p, "NAD83(2011)", p.pDatum, 0.0, 0.0, "auto", "auto",
+                new String[]{"SPC", "UTM", "USNG", "XYZ"});
+    }
+}
@@ -0,0 +1,60 @@
+package gov.noaa.ngs.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A DatumHopEvent recorded by the Java Flight Recorder.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+@Name("gov.noaa.ngs.DatumHop")
+@Label("Datum Hop")
+@Category({"NCAT", "Transformation"})
+@Description("A transformation between two consecutive datums of a region")
+class JfrDatumHopEvent extends Event implements DatumHopEvent {
+
+    private static final EventType TYPE = EventType.getEventType(JfrDatumHopEvent.class);
+
+    @Label("Grid")
+    @Description("nadcon or vertcon")
+    String grid;
+
+    @Label("Region")
+    String region;
+
+    @Label("From Datum")
+    String fromDatum;
+
+    @Label("To Datum")
+    String toDatum;
+
+    /**
+     * returns a started event, or null if the event is not enabled
+     *
+     * @return event
+     */
+    static JfrDatumHopEvent start() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        JfrDatumHopEvent e = new JfrDatumHopEvent();
+        e.begin();
+        return e;
+    }
+
+    @Override
+    public void commit(String grid, String region, String fromDatum, String toDatum) {
+        if (shouldCommit()) {
+            this.grid = grid;
+            this.region = region;
+            this.fromDatum = fromDatum;
+            this.toDatum = toDatum;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package gov.noaa.ngs.metrics;
+
+/**
+ * Starts the flight recorder events, each returning null when its event is
+ * not enabled in a recording. Loaded by Events when the runtime has a flight
+ * recorder.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+final class JfrEvents implements EventFactory {
+
+    @Override
+    public GridOpenEvent gridOpen() {
+        return JfrGridOpenEvent.start();
+    }
+
+    @Override
+    public GridReadEvent gridRead() {
+        return JfrGridReadEvent.start();
+    }
+
+    @Override
+    public InterpolationEvent interpolation() {
+        return JfrInterpolationEvent.start();
+    }
+
+    @Override
+    public DatumHopEvent datumHop() {
+        return JfrDatumHopEvent.start();
+    }
+
+    @Override
+    public ProjectionEvent projection() {
+        return JfrProjectionEvent.start();
+    }
+
+    @Override
+    public FormatEvent format() {
+        return JfrFormatEvent.start();
+    }
+}
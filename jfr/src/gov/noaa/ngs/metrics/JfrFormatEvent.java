@@ -0,0 +1,48 @@
+package gov.noaa.ngs.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A FormatEvent recorded by the Java Flight Recorder.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+@Name("gov.noaa.ngs.Format")
+@Label("Result Format")
+@Category({"NCAT", "Conversion"})
+@Description("A result formatted as text or JSON")
+class JfrFormatEvent extends Event implements FormatEvent {
+
+    private static final EventType TYPE = EventType.getEventType(JfrFormatEvent.class);
+
+    @Label("Format")
+    @Description("result or json")
+    String format;
+
+    /**
+     * returns a started event, or null if the event is not enabled
+     *
+     * @return event
+     */
+    static JfrFormatEvent start() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        JfrFormatEvent e = new JfrFormatEvent();
+        e.begin();
+        return e;
+    }
+
+    @Override
+    public void commit(String format) {
+        if (shouldCommit()) {
+            this.format = format;
+            commit();
+        }
+    }
+}
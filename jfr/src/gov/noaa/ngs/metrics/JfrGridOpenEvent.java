@@ -0,0 +1,52 @@
+package gov.noaa.ngs.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A GridOpenEvent recorded by the Java Flight Recorder.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+@Name("gov.noaa.ngs.GridOpen")
+@Label("Grid Open")
+@Category({"NCAT", "Grid"})
+@Description("The header of a grid looked up in a grid source")
+class JfrGridOpenEvent extends Event implements GridOpenEvent {
+
+    private static final EventType TYPE = EventType.getEventType(JfrGridOpenEvent.class);
+
+    @Label("File")
+    String file;
+
+    @Label("Source")
+    @Description("Grid source the header was read from")
+    String source;
+
+    /**
+     * returns a started event, or null if the event is not enabled
+     *
+     * @return event
+     */
+    static JfrGridOpenEvent start() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        JfrGridOpenEvent e = new JfrGridOpenEvent();
+        e.begin();
+        return e;
+    }
+
+    @Override
+    public void commit(String file, String source) {
+        if (shouldCommit()) {
+            this.file = file;
+            this.source = source;
+            commit();
+        }
+    }
+}
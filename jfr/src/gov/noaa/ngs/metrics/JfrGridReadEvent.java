@@ -0,0 +1,61 @@
+package gov.noaa.ngs.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A GridReadEvent recorded by the Java Flight Recorder.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+@Name("gov.noaa.ngs.GridRead")
+@Label("Grid Read")
+@Category({"NCAT", "Grid"})
+@Description("A block of cells read from a grid file")
+class JfrGridReadEvent extends Event implements GridReadEvent {
+
+    private static final EventType TYPE = EventType.getEventType(JfrGridReadEvent.class);
+
+    @Label("File")
+    String file;
+
+    @Label("Row")
+    int row;
+
+    @Label("Column")
+    int col;
+
+    @Label("Bytes")
+    @DataAmount
+    int bytes;
+
+    /**
+     * returns a started event, or null if the event is not enabled
+     *
+     * @return event
+     */
+    static JfrGridReadEvent start() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        JfrGridReadEvent e = new JfrGridReadEvent();
+        e.begin();
+        return e;
+    }
+
+    @Override
+    public void commit(String file, int row, int col, int bytes) {
+        if (shouldCommit()) {
+            this.file = file;
+            this.row = row;
+            this.col = col;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package gov.noaa.ngs.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A InterpolationEvent recorded by the Java Flight Recorder.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+@Name("gov.noaa.ngs.Interpolation")
+@Label("Interpolation")
+@Category({"NCAT", "Grid"})
+@Description("A value interpolated from a block of grid cells")
+class JfrInterpolationEvent extends Event implements InterpolationEvent {
+
+    private static final EventType TYPE = EventType.getEventType(JfrInterpolationEvent.class);
+
+    @Label("Grid")
+    @Description("Parameter and type of the grid, for example lattrn")
+    String grid;
+
+    @Label("Value")
+    double value;
+
+    /**
+     * returns a started event, or null if the event is not enabled
+     *
+     * @return event
+     */
+    static JfrInterpolationEvent start() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        JfrInterpolationEvent e = new JfrInterpolationEvent();
+        e.begin();
+        return e;
+    }
+
+    @Override
+    public void commit(String grid, double value) {
+        if (shouldCommit()) {
+            this.grid = grid;
+            this.value = value;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package gov.noaa.ngs.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A ProjectionEvent recorded by the Java Flight Recorder.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+@Name("gov.noaa.ngs.Projection")
+@Label("Projection")
+@Category({"NCAT", "Conversion"})
+@Description("A conversion of a geodetic coordinate to a projection")
+class JfrProjectionEvent extends Event implements ProjectionEvent {
+
+    private static final EventType TYPE = EventType.getEventType(JfrProjectionEvent.class);
+
+    @Label("Projection")
+    @Description("TM, UTM, LC, OM, AE, LCS, XYZ or USNG")
+    String projection;
+
+    @Label("Zone")
+    String zone;
+
+    /**
+     * returns a started event, or null if the event is not enabled
+     *
+     * @return event
+     */
+    static JfrProjectionEvent start() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        JfrProjectionEvent e = new JfrProjectionEvent();
+        e.begin();
+        return e;
+    }
+
+    @Override
+    public void commit(String projection, String zone) {
+        if (shouldCommit()) {
+            this.projection = projection;
+            this.zone = zone;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package gov.noaa.ngs.grid;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads the binary results written by BinaryResultWriter. Each result is
+ * returned as a NumericCoordSet whose string getters render the same text as
+ * the coordinate set that was written.
+ * <p>
+ * Usage:
+ * <pre>
+ * BinaryResultReader r = new BinaryResultReader(in);
+ * while (r.next()) {
+ *     if (r.getResult() != null) { ... } else { r.getError() ... }
+ * }
+ * </pre>
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public class BinaryResultReader implements Closeable {
+
+    private final DataInputStream in;
+    private final double[] values = new double[NumericCoordSet.COLUMNS.length];
+    private final byte[] usng = new byte[BinaryResultWriter.USNG_SIZE];
+    private String[] strings = new String[0];
+    private int remaining;
+    private String id;
+    private NumericCoordSet result;
+    private String error;
+
+    /**
+     * reads and checks the stream header
+     *
+     * @param in binary results
+     * @throws IOException if the header is missing or of another version
+     */
+    public BinaryResultReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(in instanceof BufferedInputStream ? in : new BufferedInputStream(in, 1 << 16));
+        if (this.in.readInt() != BinaryResultWriter.MAGIC) {
+            throw new IOException("Not a binary result stream");
+        }
+        short version = this.in.readShort();
+        if (version != BinaryResultWriter.VERSION || this.in.readShort() != BinaryResultWriter.RECORD_SIZE) {
+            throw new IOException("Unsupported binary result version:" + version);
+        }
+        if (!Arrays.equals(readNames(), NumericCoordSet.COLUMNS)
+                || !Arrays.equals(readNames(), BinaryResultWriter.STRINGS)
+                || this.in.readShort() != BinaryResultWriter.USNG_SIZE) {
+            throw new IOException("Unexpected binary result layout");
+        }
+    }
+
+    /**
+     * moves to the next record
+     *
+     * @return false at the end of the stream
+     * @throws IOException if unable to read or the stream is truncated
+     */
+    public boolean next() throws IOException {
+        while (remaining == 0) {
+            int tag = in.read();
+            if (tag < 0) {
+                return false;
+            }
+            if (tag != BinaryResultWriter.BLOCK) {
+                throw new IOException("Invalid block tag:" + tag);
+            }
+            remaining = in.readInt();
+            strings = new String[in.readUnsignedShort()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = in.readUTF();
+            }
+        }
+        remaining--;
+        byte kind = in.readByte();
+        long n = in.readLong();
+        id = n == BinaryResultWriter.NO_ID ? null : Long.toString(n);
+        if (kind == BinaryResultWriter.ERROR) {
+            result = null;
+            error = in.readUTF();
+            return true;
+        }
+        if (kind != BinaryResultWriter.RESULT) {
+            throw new IOException("Invalid record type:" + kind);
+        }
+        error = null;
+        byte horizontal = in.readByte();
+        byte vertical = in.readByte();
+        boolean spcFeet = (in.readByte() & 1) != 0;
+        int spcDigits = in.readByte();
+        int utmDigits = in.readByte();
+        NumericCoordSet c = new NumericCoordSet();
+        c.setID(id);
+        c.setNadconVersion(string());
+        c.setVertconVersion(string());
+        c.setSrcDatum(string());
+        c.setDestDatum(string());
+        c.setSrcVertDatum(string());
+        c.setDestVertDatum(string());
+        c.setSpcZone(string());
+        c.setUtmZone(string());
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readDouble();
+        }
+        c.setColumns(values, horizontal, vertical, spcFeet, spcDigits, utmDigits);
+        in.readFully(usng);
+        int length = 0;
+        while (length < usng.length && usng[length] != 0) {
+            length++;
+        }
+        c.setUsng(new String(usng, 0, length, StandardCharsets.US_ASCII));
+        result = c;
+        return true;
+    }
+
+    /**
+     * returns the ID of the current record
+     *
+     * @return ID or null if not written
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * returns the current result
+     *
+     * @return result or null if the row failed
+     */
+    public NumericCoordSet getResult() {
+        return result;
+    }
+
+    /**
+     * returns the error message of a failed row
+     *
+     * @return message or null if the row succeeded
+     */
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private String[] readNames() throws IOException {
+        String[] names = new String[in.readUnsignedShort()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = in.readUTF();
+        }
+        return names;
+    }
+
+    private String string() throws IOException {
+        short index = in.readShort();
+        if (index < 0) {
+            return null;
+        }
+        if (index >= strings.length) {
+            throw new EOFException("Invalid string index:" + index);
+        }
+        return strings[index];
+    }
+
+    /**
+     * prints a binary result file as NDJSON
+     *
+     * @param args binary result file
+     * @throws IOException if unable to read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: BinaryResultReader file");
+            return;
+        }
+        CoordSetWriter json = new CoordSetWriter(CoordSetWriter.ALL_FIELDS, false);
+        OutputStream out = new BufferedOutputStream(System.out, 1 << 16);
+        try (BinaryResultReader r = new BinaryResultReader(new FileInputStream(args[0]))) {
+            while (r.next()) {
+                if (r.getResult() != null) {
+                    json.write(r.getResult(), out);
+                } else {
+                    out.write(("{\"ID\":\"" + r.getId() + "\",\"error\":\""
+                            + r.getError().replace("\\", "\\\\").replace("\"", "\\\"") + "\"}\n")
+                            .getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,208 @@
+package gov.noaa.ngs.grid;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes transformation results in a compact binary format for bulk,
+ * machine-to-machine output; read back with BinaryResultReader.
+ * <p>
+ * A stream is a header followed by blocks. All values are big-endian
+ * (DataOutput):
+ * <pre>
+ * header: int MAGIC, short VERSION, short RECORD_SIZE,
+ *         short number of columns, UTF name of each double column,
+ *         short number of strings, UTF name of each interned string field,
+ *         short USNG_SIZE
+ * block:  byte 'B', int number of records,
+ *         short number of strings, UTF of each string,
+ *         records
+ * record: byte RESULT, then RECORD_SIZE bytes:
+ *             long ID (NO_ID if not numeric), byte horizontal state,
+ *             byte vertical state, byte flags (bit 0: spc in US survey feet),
+ *             byte spc scale factor digits, byte utm scale factor digits,
+ *             short index into the block strings of each string field (-1 null),
+ *             double of each column (NaN=N/A), USNG_SIZE bytes of usng (ASCII,
+ *             zero padded)
+ *         or byte ERROR, long ID, UTF message
+ * </pre>
+ * Datums, zone labels and versions repeat from row to row and are interned in
+ * the strings of a block, so every block can be encoded independently (for
+ * example by the worker that converted it) and blocks are simply concatenated
+ * after the header.
+ * <p>
+ * A writer collects one block at a time and is not thread safe.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public class BinaryResultWriter {
+
+    public static final int MAGIC = 0x4E435242; // "NCRB"
+    public static final short VERSION = 1;
+    public static final long NO_ID = Long.MIN_VALUE;
+    public static final byte RESULT = 0;
+    public static final byte ERROR = 1;
+    public static final byte BLOCK = 'B';
+    public static final int USNG_SIZE = 16;
+    // CoordSet fields written as an index into the block strings
+    public static final String[] STRINGS = {"nadconVersion", "vertconVersion", "srcDatum", "destDatum",
+        "srcVertDatum", "destVertDatum", "spcZone", "utmZone"};
+    public static final int RECORD_SIZE = 8 + 5 + 2 * STRINGS.length + 8 * NumericCoordSet.COLUMNS.length + USNG_SIZE;
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+    private final DataOutputStream body = new DataOutputStream(bytes);
+    private final Map<String, Integer> strings = new LinkedHashMap<>();
+    private final double[] values = new double[NumericCoordSet.COLUMNS.length];
+    private final byte[] usng = new byte[USNG_SIZE];
+    private int count;
+
+    /**
+     * writes the stream header
+     *
+     * @param out output stream
+     * @throws IOException if unable to write
+     */
+    public static void writeHeader(OutputStream out) throws IOException {
+        DataOutputStream d = new DataOutputStream(out);
+        d.writeInt(MAGIC);
+        d.writeShort(VERSION);
+        d.writeShort(RECORD_SIZE);
+        d.writeShort(NumericCoordSet.COLUMNS.length);
+        for (String name : NumericCoordSet.COLUMNS) {
+            d.writeUTF(name);
+        }
+        d.writeShort(STRINGS.length);
+        for (String name : STRINGS) {
+            d.writeUTF(name);
+        }
+        d.writeShort(USNG_SIZE);
+        d.flush();
+    }
+
+    /**
+     * adds a result to the current block; strings set through the CoordSet
+     * setters in place of the numeric values are not written
+     *
+     * @param c transformed and converted coordinate
+     * @throws IOException if unable to encode
+     */
+    public void write(NumericCoordSet c) throws IOException {
+        body.writeByte(RESULT);
+        body.writeLong(toId(c.getID()));
+        body.writeByte(c.getHorizontalState());
+        body.writeByte(c.getVerticalState());
+        body.writeByte(c.isSpcFeet() ? 1 : 0);
+        body.writeByte(c.getSpcScaleFactorDigits());
+        body.writeByte(c.getUtmScaleFactorDigits());
+        body.writeShort(intern(c.getNadconVersion()));
+        body.writeShort(intern(c.getVertconVersion()));
+        body.writeShort(intern(c.getSrcDatum()));
+        body.writeShort(intern(c.getDestDatum()));
+        body.writeShort(intern(c.getSrcVertDatum()));
+        body.writeShort(intern(c.getDestVertDatum()));
+        body.writeShort(intern(c.getSpcZone()));
+        body.writeShort(intern(c.getUtmZone()));
+        c.getColumns(values);
+        for (double v : values) {
+            body.writeDouble(v);
+        }
+        String u = c.getUsng();
+        if (u.length() > USNG_SIZE) {
+            throw new IOException("USNG does not fit in a record:" + u);
+        }
+        for (int i = 0; i < USNG_SIZE; i++) {
+            usng[i] = i < u.length() ? (byte) u.charAt(i) : 0;
+        }
+        body.write(usng);
+        count++;
+    }
+
+    /**
+     * adds a failed row to the current block
+     *
+     * @param id row ID
+     * @param message error message
+     * @throws IOException if unable to encode
+     */
+    public void writeError(String id, String message) throws IOException {
+        body.writeByte(ERROR);
+        body.writeLong(toId(id));
+        body.writeUTF(message == null ? "" : message);
+        count++;
+    }
+
+    /**
+     * returns the number of records in the current block
+     *
+     * @return number of records
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * writes the current block, if any, and starts a new one
+     *
+     * @param out output stream
+     * @throws IOException if unable to write
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        if (count == 0) {
+            return;
+        }
+        DataOutputStream d = new DataOutputStream(out);
+        d.writeByte(BLOCK);
+        d.writeInt(count);
+        d.writeShort(strings.size());
+        for (String s : strings.keySet()) {
+            d.writeUTF(s);
+        }
+        d.flush();
+        bytes.writeTo(out);
+        bytes.reset();
+        strings.clear();
+        count = 0;
+    }
+
+    /**
+     * returns the current block
+     *
+     * @return encoded block
+     * @throws IOException if unable to encode
+     */
+    public byte[] toBlock() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.size() + 1024);
+        writeTo(out);
+        return out.toByteArray();
+    }
+
+    private int intern(String s) throws IOException {
+        if (s == null) {
+            return -1;
+        }
+        Integer index = strings.get(s);
+        if (index == null) {
+            if (strings.size() == Short.MAX_VALUE) {
+                throw new IOException("Too many distinct strings in a block");
+            }
+            index = strings.size();
+            strings.put(s, index);
+        }
+        return index;
+    }
+
+    private static long toId(String id) {
+        if (id == null || id.isEmpty()) {
+            return NO_ID;
+        }
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException ex) {
+            return NO_ID;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package gov.noaa.ngs.grid;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A GridSource holding each grid file it has opened in a ByteBuffer, with
+ * its header parsed once. Subclasses say where a grid file comes from.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+abstract class BufferGridSource implements GridSource {
+
+    // grid file name -> opened grid
+    private final ConcurrentMap<String, GridBuffer> grids = new ConcurrentHashMap<>();
+
+    /**
+     * returns whether a grid file can be opened
+     *
+     * @param grid grid file name
+     * @return true if open would return the grid file
+     */
+    protected abstract boolean contains(String grid);
+
+    /**
+     * returns a grid file
+     *
+     * @param grid grid file name
+     * @return the grid file from the position to the limit of the buffer, or
+     * null if missing
+     * @throws IOException if unable to read the grid file
+     */
+    protected abstract ByteBuffer open(String grid) throws IOException;
+
+    private GridBuffer get(String grid) throws IOException {
+        GridBuffer g = grids.get(grid);
+        if (g == null) {
+            ByteBuffer buf = open(grid);
+            if (buf == null) {
+                throw new IOException("Grid " + grid + " not found in " + this);
+            }
+            g = new GridBuffer(grid, buf);
+            GridBuffer prev = grids.putIfAbsent(grid, g);
+            g = prev != null ? prev : g;
+        }
+        return g;
+    }
+
+    @Override
+    public boolean exists(String grid) {
+        return grid != null && (grids.containsKey(grid) || contains(grid));
+    }
+
+    @Override
+    public GridHeader header(String grid) throws IOException {
+        return get(grid);
+    }
+
+    @Override
+    public double[] readCells(String grid, int row, int col, int rows, int cols) throws IOException {
+        return get(grid).getCells(row, col, rows, cols);
+    }
+
+    @Override
+    public ByteBuffer bulkRead(String grid) throws IOException {
+        return get(grid).getBuffer();
+    }
+
+    /**
+     * drops an opened grid, so it is opened again on next use
+     *
+     * @param grid grid file name
+     */
+    protected void evict(String grid) {
+        grids.remove(grid);
+    }
+
+    /**
+     * drops the opened grids, so they are opened again on next use
+     */
+    public void clear() {
+        grids.clear();
+    }
+}
@@ -0,0 +1,50 @@
+package gov.noaa.ngs.grid;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Grid files of a GridBundle, read through its single mapping.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public final class BundleGridSource extends BufferGridSource {
+
+    private final GridBundle bundle;
+
+    /**
+     * @param bundle opened bundle
+     */
+    public BundleGridSource(GridBundle bundle) {
+        this.bundle = bundle;
+    }
+
+    /**
+     * @param file bundle file
+     * @throws IOException if unable to read the file or it is not a bundle
+     */
+    public BundleGridSource(File file) throws IOException {
+        this(GridBundle.open(file));
+    }
+
+    @Override
+    protected boolean contains(String grid) {
+        return bundle.getEntry(grid) != null;
+    }
+
+    @Override
+    protected ByteBuffer open(String grid) {
+        GridBundle.Entry entry = bundle.getEntry(grid);
+        return entry == null ? null : entry.getBuffer();
+    }
+
+    public GridBundle getBundle() {
+        return bundle;
+    }
+
+    @Override
+    public String toString() {
+        return "grid bundle " + bundle.getFile();
+    }
+}
@@ -0,0 +1,65 @@
+package gov.noaa.ngs.grid;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Grid files packaged as resources, for example in a jar of the grids of a
+ * region. A resource on the file system is memory-mapped; one inside a jar is
+ * read onto the heap on first use.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public final class ClasspathGridSource extends BufferGridSource {
+
+    private final String prefix;
+
+    /**
+     * @param prefix resource path of the grids, as "/gov/noaa/ngs/grids"
+     */
+    public ClasspathGridSource(String prefix) {
+        String p = prefix.startsWith("/") ? prefix : "/" + prefix;
+        this.prefix = p.endsWith("/") ? p : p + "/";
+    }
+
+    @Override
+    protected boolean contains(String grid) {
+        return ClasspathGridSource.class.getResource(prefix + grid) != null;
+    }
+
+    @Override
+    protected ByteBuffer open(String grid) throws IOException {
+        URL url = ClasspathGridSource.class.getResource(prefix + grid);
+        if (url == null) {
+            return null;
+        }
+        if (url.getProtocol().equals("file")) {
+            try (FileChannel channel = FileChannel.open(Paths.get(url.toURI()), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (URISyntaxException ex) {
+                throw new IOException(ex.getMessage());
+            }
+        }
+        try (InputStream in = url.openStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[8192];
+            int n;
+            while ((n = in.read(buf)) > 0) {
+                out.write(buf, 0, n);
+            }
+            return ByteBuffer.wrap(out.toByteArray());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "grid resources " + prefix;
+    }
+}
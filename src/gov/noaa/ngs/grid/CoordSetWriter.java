@@ -0,0 +1,395 @@
+package gov.noaa.ngs.grid;
+
+import gov.noaa.ngs.metrics.Events;
+import gov.noaa.ngs.metrics.FormatEvent;
+import gov.noaa.ngs.metrics.Histogram;
+import gov.noaa.ngs.metrics.Metrics;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.Function;
+import org.apache.log4j.Logger;
+
+/**
+ * Writes CoordSet results as JSON straight to an OutputStream or Writer. A
+ * writer is immutable and may be shared between threads; output goes through
+ * a per-thread buffer that is reused across results, so serializing a result
+ * allocates no intermediate strings.
+ * <p>
+ * The pretty form puts each field on its own line; the compact form writes an
+ * object per line (NDJSON) for bulk output. A field mask selects the fields
+ * written, always in FIELDS order. writeSchema writes a header line naming the
+ * selected fields, optionally with the descriptions in meta.properties.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public class CoordSetWriter {
+
+    private final static Logger logger = Logger.getLogger(CoordSetWriter.class);
+    private static final Histogram FORMAT_TIMER = Metrics.histogram("format.json");
+    // names of CoordSet fields; bit i of a field mask selects FIELDS[i]
+    public static final String[] FIELDS = {
+        "ID", "nadconVersion", "vertconVersion", "srcDatum", "destDatum", "srcVertDatum", "destVertDatum",
+        "srcLat", "srcLatDms", "destLat", "destLatDms", "deltaLat", "sigLat", "sigLat_m", "srcLon",
+        "srcLonDms", "destLon", "destLonDms", "deltaLon", "sigLon", "sigLon_m", "srcEht", "destEht",
+        "sigEht", "srcOrthoht", "destOrthoht", "sigOrthoht", "spcZone", "spcNorthing_m", "spcEasting_m",
+        "spcNorthing_usft", "spcEasting_usft", "spcNorthing_ift", "spcEasting_ift", "spcConvergence",
+        "spcScaleFactor", "spcCombinedFactor", "utmZone", "utmNorthing", "utmEasting", "utmConvergence",
+        "utmScaleFactor", "utmCombinedFactor", "x", "y", "z", "usng"};
+    public static final long ALL_FIELDS = (1L << FIELDS.length) - 1;
+    private static final List<Function<CoordSet, String>> GETTERS = Arrays.asList(
+            CoordSet::getID, CoordSet::getNadconVersion, CoordSet::getVertconVersion, CoordSet::getSrcDatum,
+            CoordSet::getDestDatum, CoordSet::getSrcVertDatum, CoordSet::getDestVertDatum, CoordSet::getSrcLat,
+            CoordSet::getSrcLatDms, CoordSet::getDestLat, CoordSet::getDestLatDms, CoordSet::getDeltaLat,
+            CoordSet::getSigLat, CoordSet::getSigLat_m, CoordSet::getSrcLon, CoordSet::getSrcLonDms,
+            CoordSet::getDestLon, CoordSet::getDestLonDms, CoordSet::getDeltaLon, CoordSet::getSigLon,
+            CoordSet::getSigLon_m, CoordSet::getSrcEht, CoordSet::getDestEht, CoordSet::getSigEht,
+            CoordSet::getSrcOrthoht, CoordSet::getDestOrthoht, CoordSet::getSigOrthoht, CoordSet::getSpcZone,
+            CoordSet::getSpcNorthing_m, CoordSet::getSpcEasting_m, CoordSet::getSpcNorthing_usft,
+            CoordSet::getSpcEasting_usft, CoordSet::getSpcNorthing_ift, CoordSet::getSpcEasting_ift,
+            CoordSet::getSpcConvergence, CoordSet::getSpcScaleFactor, CoordSet::getSpcCombinedFactor,
+            CoordSet::getUtmZone, CoordSet::getUtmNorthing, CoordSet::getUtmEasting,
+            CoordSet::getUtmConvergence, CoordSet::getUtmScaleFactor, CoordSet::getUtmCombinedFactor,
+            CoordSet::getX, CoordSet::getY, CoordSet::getZ, CoordSet::getUsng);
+    private static final int BUFFER_SIZE = 8192;
+    private static final ThreadLocal<Buffer> BUFFERS = ThreadLocal.withInitial(Buffer::new);
+    private static volatile Properties descriptions;
+
+    private final long mask;
+    private final boolean pretty;
+    private final int[] fields;
+    private final String[] keys;
+
+    /**
+     * @param mask selected fields (see mask)
+     * @param pretty true=one field per line; false=one object per line
+     */
+    public CoordSetWriter(long mask, boolean pretty) {
+        if (mask == 0 || (mask & ~ALL_FIELDS) != 0) {
+            throw new IllegalArgumentException("Invalid field mask");
+        }
+        this.mask = mask;
+        this.pretty = pretty;
+        fields = new int[Long.bitCount(mask)];
+        keys = new String[fields.length];
+        for (int i = 0, k = 0; i < FIELDS.length; i++) {
+            if ((mask & (1L << i)) != 0) {
+                fields[k] = i;
+                // separator, name and colon are written as one piece
+                keys[k] = (k == 0 ? "{" : ",") + (pretty ? "\n" : "") + "\"" + FIELDS[i] + "\":";
+                k++;
+            }
+        }
+    }
+
+    /**
+     * returns the field mask for a list of field names
+     *
+     * @param names field names
+     * @return field mask
+     * @throws IllegalArgumentException if a name is not a CoordSet field
+     */
+    public static long mask(String... names) {
+        long mask = 0;
+        for (String name : names) {
+            int i = Arrays.asList(FIELDS).indexOf(name.trim());
+            if (i < 0) {
+                throw new IllegalArgumentException("Unknown field:" + name);
+            }
+            mask |= 1L << i;
+        }
+        return mask;
+    }
+
+    public long getMask() {
+        return mask;
+    }
+
+    /**
+     * returns the value of a field
+     *
+     * @param c coordinate set
+     * @param field index into FIELDS
+     * @return field value
+     */
+    public static String getValue(CoordSet c, int field) {
+        return GETTERS.get(field).apply(c);
+    }
+
+    /**
+     * returns the description of a field from meta.properties
+     *
+     * @param field field name
+     * @return description or null if not described
+     */
+    public static String getDescription(String field) {
+        Properties p = descriptions;
+        if (p == null) {
+            p = new Properties();
+            try (InputStream stream = CoordSetWriter.class.getResourceAsStream(Nutil.META_CONFIG)) {
+                p.load(stream);
+            } catch (IOException ex) {
+                logger.error("Unable to load field descriptions", ex);
+            }
+            descriptions = p;
+        }
+        return p.getProperty(field);
+    }
+
+    /**
+     * returns a coordinate set as JSON
+     *
+     * @param c coordinate set
+     * @return JSON
+     */
+    public String toJson(CoordSet c) {
+        StringBuilder s = new StringBuilder(2048);
+        Buffer b = BUFFERS.get().open(s);
+        try {
+            writeObject(b, c);
+            b.flush();
+        } catch (IOException ex) {
+            // a StringBuilder does not throw
+            throw new IllegalStateException(ex);
+        } finally {
+            b.close();
+        }
+        return s.toString();
+    }
+
+    /**
+     * writes a coordinate set; a compact object is followed by a new line
+     *
+     * @param c coordinate set
+     * @param out stream, UTF-8
+     * @throws IOException if unable to write
+     */
+    public void write(CoordSet c, OutputStream out) throws IOException {
+        write(Collections.singletonList(c), out);
+    }
+
+    /**
+     * writes coordinate sets; compact objects are written one per line
+     *
+     * @param c coordinate sets
+     * @param out stream, UTF-8
+     * @throws IOException if unable to write
+     */
+    public void write(Iterable<? extends CoordSet> c, OutputStream out) throws IOException {
+        write(c, BUFFERS.get().open(out));
+    }
+
+    /**
+     * writes a coordinate set; a compact object is followed by a new line
+     *
+     * @param c coordinate set
+     * @param out writer
+     * @throws IOException if unable to write
+     */
+    public void write(CoordSet c, Writer out) throws IOException {
+        write(Collections.singletonList(c), out);
+    }
+
+    /**
+     * writes coordinate sets; compact objects are written one per line
+     *
+     * @param c coordinate sets
+     * @param out writer
+     * @throws IOException if unable to write
+     */
+    public void write(Iterable<? extends CoordSet> c, Writer out) throws IOException {
+        write(c, BUFFERS.get().open(out));
+    }
+
+    /**
+     * writes a header line naming the selected fields:
+     * {"schema":[{"name":"ID","description":"..."},...]}
+     *
+     * @param out writer
+     * @param describe true=include descriptions from meta.properties
+     * @throws IOException if unable to write
+     */
+    public void writeSchema(Writer out, boolean describe) throws IOException {
+        Buffer b = BUFFERS.get().open(out);
+        try {
+            b.append("{\"schema\":[");
+            for (int k = 0; k < fields.length; k++) {
+                b.append(k == 0 ? "{\"name\":\"" : ",{\"name\":\"").append(FIELDS[fields[k]]).append('"');
+                String description = describe ? getDescription(FIELDS[fields[k]]) : null;
+                if (description != null) {
+                    b.append(",\"description\":");
+                    appendString(b, description);
+                }
+                b.append('}');
+            }
+            b.append("]}\n");
+            b.flush();
+        } finally {
+            b.close();
+        }
+    }
+
+    /**
+     * writes a header line naming the selected fields
+     *
+     * @param out stream, UTF-8
+     * @param describe true=include descriptions from meta.properties
+     * @throws IOException if unable to write
+     */
+    public void writeSchema(OutputStream out, boolean describe) throws IOException {
+        Writer w = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        writeSchema(w, describe);
+        w.flush();
+    }
+
+    private void write(Iterable<? extends CoordSet> c, Buffer b) throws IOException {
+        try {
+            for (CoordSet p : c) {
+                writeObject(b, p);
+                if (!pretty) {
+                    b.append('\n');
+                }
+            }
+            b.flush();
+        } finally {
+            b.close();
+        }
+    }
+
+    private void writeObject(Buffer b, CoordSet c) throws IOException {
+        long start = Metrics.start();
+        FormatEvent event = Events.format();
+        for (int k = 0; k < fields.length; k++) {
+            b.append(keys[k]);
+            appendString(b, GETTERS.get(fields[k]).apply(c));
+        }
+        b.append(pretty ? "\n}" : "}");
+        FORMAT_TIMER.record(start);
+        if (event != null) {
+            event.commit("json");
+        }
+    }
+
+    private static void appendString(Buffer b, String value) throws IOException {
+        if (value == null) {
+            b.append("null");
+            return;
+        }
+        b.append('"');
+        for (int i = 0, n = value.length(); i < n; i++) {
+            char ch = value.charAt(i);
+            if (ch == '"' || ch == '\\') {
+                b.append('\\').append(ch);
+            } else if (ch < 0x20) {
+                b.append("\\u00").append(Character.forDigit(ch >> 4, 16)).append(Character.forDigit(ch & 0xf, 16));
+            } else {
+                b.append(ch);
+            }
+        }
+        b.append('"');
+    }
+
+    /**
+     * a reusable character buffer flushed to a Writer, an OutputStream
+     * (UTF-8) or a StringBuilder when full
+     */
+    private static final class Buffer {
+
+        private final char[] chars = new char[BUFFER_SIZE];
+        private final byte[] bytes = new byte[BUFFER_SIZE];
+        private int pos;
+        private Writer writer;
+        private OutputStream stream;
+        private StringBuilder builder;
+
+        Buffer open(Writer out) {
+            writer = out;
+            return this;
+        }
+
+        Buffer open(OutputStream out) {
+            stream = out;
+            return this;
+        }
+
+        Buffer open(StringBuilder out) {
+            builder = out;
+            return this;
+        }
+
+        void close() {
+            pos = 0;
+            writer = null;
+            stream = null;
+            builder = null;
+        }
+
+        Buffer append(char ch) throws IOException {
+            if (pos == chars.length) {
+                flush();
+            }
+            chars[pos++] = ch;
+            return this;
+        }
+
+        Buffer append(String s) throws IOException {
+            int n = s.length();
+            if (pos + n > chars.length) {
+                flush();
+                if (n > chars.length) {
+                    for (int i = 0; i < n; i++) {
+                        append(s.charAt(i));
+                    }
+                    return this;
+                }
+            }
+            s.getChars(0, n, chars, pos);
+            pos += n;
+            return this;
+        }
+
+        void flush() throws IOException {
+            if (writer != null) {
+                writer.write(chars, 0, pos);
+            } else if (builder != null) {
+                builder.append(chars, 0, pos);
+            } else if (stream != null) {
+                encode();
+                return;
+            }
+            pos = 0;
+        }
+
+        /**
+         * writes the buffer as UTF-8; ASCII is copied byte for byte and
+         * anything else goes through the charset encoder
+         */
+        private void encode() throws IOException {
+            int n = pos;
+            for (int i = 0; i < n; i++) {
+                char ch = chars[i];
+                if (ch >= 0x80) {
+                    // keep a high surrogate for the next flush
+                    int end = Character.isHighSurrogate(chars[n - 1]) ? n - 1 : n;
+                    stream.write(bytes, 0, i);
+                    stream.write(new String(chars, i, end - i).getBytes(StandardCharsets.UTF_8));
+                    pos = n - end;
+                    if (pos > 0) {
+                        chars[0] = chars[n - 1];
+                    }
+                    return;
+                }
+                bytes[i] = (byte) ch;
+            }
+            stream.write(bytes, 0, n);
+            pos = 0;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package gov.noaa.ngs.grid;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Grid files of a directory, each memory-mapped on first use, so a lookup
+ * reads mapped memory instead of opening, seeking and closing the file.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public final class FileGridSource extends BufferGridSource {
+
+    private final File dir;
+
+    /**
+     * @param dir grid directory
+     */
+    public FileGridSource(File dir) {
+        this.dir = dir;
+    }
+
+    @Override
+    protected boolean contains(String grid) {
+        return new File(dir, grid).isFile();
+    }
+
+    @Override
+    protected ByteBuffer open(String grid) throws IOException {
+        File f = new File(dir, grid);
+        if (!f.isFile()) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Grid file larger than 2 GB: " + f);
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    public File getDir() {
+        return dir;
+    }
+
+    @Override
+    public String toString() {
+        return "grid directory " + dir;
+    }
+}
@@ -0,0 +1,147 @@
+package gov.noaa.ngs.grid;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A grid file held in a ByteBuffer, mapped or on the heap. Cells are read
+ * with absolute gets, so one GridBuffer serves any number of threads.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+final class GridBuffer implements GridHeader {
+
+    private final String name;
+    private final ByteBuffer data;
+    private final double minlat;
+    private final double minlon;
+    private final double dlat;
+    private final double dlon;
+    private final int height;
+    private final int width;
+    private final int ikind;
+
+    /**
+     * parses the header record of a grid file
+     *
+     * @param name grid file name
+     * @param buf the grid file from its position to its limit
+     * @throws IOException if buf is too short for the grid its header describes
+     */
+    GridBuffer(String name, ByteBuffer buf) throws IOException {
+        this.name = name;
+        ByteBuffer b = buf.slice();
+        if (b.capacity() < HEADER_LEN) {
+            throw new IOException("Grid " + name + " is shorter than a header record");
+        }
+        // same byte order detection as the grid readers
+        if (Math.abs(b.getInt(44)) > 2) {
+            b.order(ByteOrder.LITTLE_ENDIAN);
+        }
+        this.data = b;
+        this.minlat = b.getDouble(4);
+        this.minlon = b.getDouble(12);
+        this.dlat = b.getDouble(20);
+        this.dlon = b.getDouble(28);
+        this.height = b.getInt(36);
+        this.width = b.getInt(40);
+        this.ikind = b.getInt(44);
+        if (b.getInt(0) != HEADER_LEN - 8) {
+            throw new IOException("Grid " + name + " has an invalid header record length " + b.getInt(0));
+        }
+        if ((long) HEADER_LEN + (long) height * (width + 2) * getCellSize() > b.capacity()) {
+            throw new IOException("Grid " + name + " is shorter than its header describes");
+        }
+    }
+
+    /**
+     * returns a block of rows x cols cells
+     *
+     * @param row first row
+     * @param col first column
+     * @param rows number of rows
+     * @param cols number of columns
+     * @return cells, row by row
+     */
+    double[] getCells(int row, int col, int rows, int cols) {
+        return getCells(data, HEADER_LEN, width, getCellSize(), row, col, rows, cols);
+    }
+
+    /**
+     * returns a block of cells of a grid file held in a buffer
+     *
+     * @param data grid file, in its byte order
+     * @param headerLen length of the header record
+     * @param width number of columns
+     * @param cellSize 4 for float grids, 2 for short grids
+     * @param row first row
+     * @param col first column
+     * @param rows number of rows
+     * @param cols number of columns
+     * @return cells, row by row
+     */
+    static double[] getCells(ByteBuffer data, int headerLen, int width, int cellSize,
+            int row, int col, int rows, int cols) {
+        double[] block = new double[rows * cols];
+        int drLen = (width + 2) * cellSize;
+        int k = 0;
+        for (int j = 0; j < rows; j++) {
+            int pos = headerLen + (row + j) * drLen + (col + 1) * cellSize;
+            for (int i = 0; i < cols; i++, pos += cellSize) {
+                block[k++] = cellSize == 4 ? data.getFloat(pos) : data.getShort(pos);
+            }
+        }
+        return block;
+    }
+
+    /**
+     * @return a read-only buffer of its own over the grid file
+     */
+    ByteBuffer getBuffer() {
+        return data.asReadOnlyBuffer().order(data.order());
+    }
+
+    String getName() {
+        return name;
+    }
+
+    @Override
+    public double getMinlat() {
+        return minlat;
+    }
+
+    @Override
+    public double getMinlon() {
+        return minlon;
+    }
+
+    @Override
+    public double getDlat() {
+        return dlat;
+    }
+
+    @Override
+    public double getDlon() {
+        return dlon;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getIkind() {
+        return ikind;
+    }
+
+    int getCellSize() {
+        return (ikind == 0 || ikind == 1) ? 4 : 2;
+    }
+}
@@ -0,0 +1,409 @@
+package gov.noaa.ngs.grid;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * The grid files of a directory packed into one file, read through a single
+ * read-only memory mapping. GridSource.of reads a bundle when -Dgpath (or
+ * gridfile.path) names the bundle instead of a directory, so a lookup
+ * costs a table lookup and a few reads of mapped memory instead of opening,
+ * seeking and closing a grid file:
+ * <pre>
+ * java -Ddir=/ngslib/data/Grids -Dbundle=/ngslib/data/grids.bundle gov.noaa.ngs.grid.GridBundle
+ * java -Dgpath=/ngslib/data/grids.bundle ...
+ * </pre>
+ * A bundle is a big-endian int MAGIC, an int VERSION and an int count, then a
+ * table of contents entry per grid:
+ * <pre>
+ * int name length, name (UTF-8), long offset, long length, byte little-endian,
+ * int header length, double minlat, double minlon, double dlat, double dlon,
+ * int height, int width, int ikind
+ * </pre>
+ * followed by the grid files as they are, each starting at a multiple of 8
+ * bytes. Entries are sorted by grid file name, the name returned by
+ * getGridFile. The header fields are those of the grid file, decoded in its
+ * byte order. A bundle is limited to 2 GB, the size of one mapping.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public final class GridBundle {
+
+    public static final int MAGIC = 0x4e474231; // NGB1
+    public static final int VERSION = 1;
+    private static final int ALIGN = 8;
+    // toc entry without the name: name length, offset, length, byte order,
+    // header length, 4 doubles and 3 ints of the header
+    private static final int ENTRY_LEN = 4 + 8 + 8 + 1 + 4 + 4 * 8 + 3 * 4;
+
+    private final File file;
+    private final Map<String, Entry> entries;
+    private final long size;
+
+    private GridBundle(File file, Map<String, Entry> entries, long size) {
+        this.file = file;
+        this.entries = entries;
+        this.size = size;
+    }
+
+    /**
+     * a grid file in a bundle
+     */
+    public static final class Entry implements GridHeader {
+
+        private final String name;
+        private final long offset;
+        private final long length;
+        private final ByteOrder order;
+        private final int headerLen;
+        private final double minlat;
+        private final double minlon;
+        private final double dlat;
+        private final double dlon;
+        private final int height;
+        private final int width;
+        private final int ikind;
+        private ByteBuffer data;    // the grid file, in its byte order
+
+        private Entry(String name, long offset, long length, ByteOrder order, int headerLen,
+                double minlat, double minlon, double dlat, double dlon, int height, int width, int ikind) {
+            this.name = name;
+            this.offset = offset;
+            this.length = length;
+            this.order = order;
+            this.headerLen = headerLen;
+            this.minlat = minlat;
+            this.minlon = minlon;
+            this.dlat = dlat;
+            this.dlon = dlon;
+            this.height = height;
+            this.width = width;
+            this.ikind = ikind;
+        }
+
+        /**
+         * returns a block of rows x cols cells
+         *
+         * @param row first row
+         * @param col first column
+         * @param rows number of rows
+         * @param cols number of columns
+         * @return cells, row by row
+         */
+        public double[] getCells(int row, int col, int rows, int cols) {
+            return GridBuffer.getCells(data, headerLen, width, getCellSize(), row, col, rows, cols);
+        }
+
+        /**
+         * returns the grid file as stored in the bundle
+         *
+         * @return a buffer of its own over the grid file, in its byte order
+         */
+        public ByteBuffer getBuffer() {
+            return data.duplicate().order(order);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public long getLength() {
+            return length;
+        }
+
+        public ByteOrder getOrder() {
+            return order;
+        }
+
+        public int getHeaderLen() {
+            return headerLen;
+        }
+
+        @Override
+        public double getMinlat() {
+            return minlat;
+        }
+
+        @Override
+        public double getMinlon() {
+            return minlon;
+        }
+
+        @Override
+        public double getDlat() {
+            return dlat;
+        }
+
+        @Override
+        public double getDlon() {
+            return dlon;
+        }
+
+        @Override
+        public int getHeight() {
+            return height;
+        }
+
+        @Override
+        public int getWidth() {
+            return width;
+        }
+
+        @Override
+        public int getIkind() {
+            return ikind;
+        }
+
+        /**
+         * returns the size of a cell in the grid file
+         *
+         * @return 4 for float grids, 2 for short grids
+         */
+        public int getCellSize() {
+            return (ikind == 0 || ikind == 1) ? 4 : 2;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %dx%d ikind=%d %s offset=%d length=%d", name, height, width, ikind,
+                    order == ByteOrder.LITTLE_ENDIAN ? "le" : "be", offset, length);
+        }
+    }
+
+    /**
+     * maps a bundle and reads its table of contents
+     *
+     * @param file bundle file
+     * @return bundle
+     * @throws IOException if unable to read the file or it is not a bundle
+     */
+    public static GridBundle open(File file) throws IOException {
+        ByteBuffer buf;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Grid bundle larger than 2 GB: " + file);
+            }
+            buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            if (buf.getInt() != MAGIC || buf.getInt() != VERSION) {
+                throw new IOException("Not a grid bundle of version " + VERSION + ": " + file);
+            }
+            int count = buf.getInt();
+            Map<String, Entry> entries = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                byte[] b = new byte[buf.getInt()];
+                buf.get(b);
+                Entry e = new Entry(new String(b, StandardCharsets.UTF_8), buf.getLong(), buf.getLong(),
+                        buf.get() != 0 ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN, buf.getInt(),
+                        buf.getDouble(), buf.getDouble(), buf.getDouble(), buf.getDouble(),
+                        buf.getInt(), buf.getInt(), buf.getInt());
+                if (e.offset < 0 || e.length < e.headerLen + (long) e.height * (e.width + 2) * e.getCellSize()
+                        || e.offset + e.length > buf.capacity()) {
+                    throw new IOException("Invalid grid bundle entry " + e + " in " + file);
+                }
+                ByteBuffer data = buf.duplicate();
+                data.limit((int) (e.offset + e.length));
+                data.position((int) e.offset);
+                e.data = data.slice().order(e.order);
+                entries.put(e.name, e);
+            }
+            return new GridBundle(file, Collections.unmodifiableMap(entries), buf.capacity());
+        } catch (BufferUnderflowException ex) {
+            throw new IOException("Truncated grid bundle " + file);
+        }
+    }
+
+    /**
+     * packs grid files into a bundle
+     *
+     * @param files grid files, stored under their file name
+     * @param bundle bundle file
+     * @return entries written
+     * @throws IOException if unable to read a grid or write the bundle
+     */
+    public static List<Entry> pack(List<File> files, File bundle) throws IOException {
+        List<File> sorted = new ArrayList<>(files);
+        Collections.sort(sorted, (a, b) -> a.getName().compareTo(b.getName()));
+        List<Entry> entries = new ArrayList<>();
+        long offset = 12;
+        for (File f : sorted) {
+            offset += ENTRY_LEN + f.getName().getBytes(StandardCharsets.UTF_8).length;
+        }
+        for (File f : sorted) {
+            offset = align(offset);
+            Entry e = readHeader(f, offset);
+            entries.add(e);
+            offset += e.length;
+        }
+        if (offset > Integer.MAX_VALUE) {
+            throw new IOException("Grid bundle would be larger than 2 GB: " + offset + " bytes");
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(bundle)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(entries.size());
+            for (Entry e : entries) {
+                byte[] b = e.name.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(b.length);
+                out.write(b);
+                out.writeLong(e.offset);
+                out.writeLong(e.length);
+                out.writeByte(e.order == ByteOrder.LITTLE_ENDIAN ? 1 : 0);
+                out.writeInt(e.headerLen);
+                out.writeDouble(e.minlat);
+                out.writeDouble(e.minlon);
+                out.writeDouble(e.dlat);
+                out.writeDouble(e.dlon);
+                out.writeInt(e.height);
+                out.writeInt(e.width);
+                out.writeInt(e.ikind);
+            }
+            for (int i = 0; i < entries.size(); i++) {
+                Entry e = entries.get(i);
+                while (out.size() < e.offset) {
+                    out.writeByte(0);
+                }
+                long copied = Files.copy(sorted.get(i).toPath(), out);
+                if (copied != e.length) {
+                    throw new IOException("Grid file " + sorted.get(i) + " changed while packing");
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static long align(long offset) {
+        return (offset + ALIGN - 1) / ALIGN * ALIGN;
+    }
+
+    /**
+     * reads the header record of a grid file, detecting its byte order the
+     * way the grid readers do
+     */
+    private static Entry readHeader(File f, long offset) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(GridHeader.HEADER_LEN);
+        try (FileChannel channel = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+            }
+            if (header.hasRemaining()) {
+                throw new IOException("Grid file " + f + " is shorter than a header record");
+            }
+            if (Math.abs(header.getInt(44)) > 2) {
+                header.order(ByteOrder.LITTLE_ENDIAN);
+            }
+            if (header.getInt(0) != GridHeader.HEADER_LEN - 8) {
+                throw new IOException("Grid file " + f + " has an invalid header record length " + header.getInt(0));
+            }
+            return new Entry(f.getName(), offset, channel.size(), header.order(), GridHeader.HEADER_LEN,
+                    header.getDouble(4), header.getDouble(12), header.getDouble(20), header.getDouble(28),
+                    header.getInt(36), header.getInt(40), header.getInt(44));
+        }
+    }
+
+    /**
+     * returns the grid files of a directory with the prefix of a grid
+     * definition
+     *
+     * @param dir grid directory
+     * @param gridName GridManager.NADCON, GridManager.VERTCON or "all"
+     * @return ".b" files of the grid, or of both grids for "all"
+     */
+    public static List<File> listGrids(File dir, String gridName) {
+        List<String> prefixes = new ArrayList<>();
+        for (String name : new String[]{GridManager.NADCON, GridManager.VERTCON}) {
+            if (gridName.equalsIgnoreCase("all") || gridName.equalsIgnoreCase(name)) {
+                Properties def = name.equals(GridManager.NADCON)
+                        ? GridManager.getNadconDef() : GridManager.getVertconDef();
+                prefixes.add(def.getProperty("gridfile.prefix", "") + ".");
+            }
+        }
+        File[] files = dir.listFiles();
+        List<File> grids = new ArrayList<>();
+        for (File f : files == null ? new File[0] : files) {
+            String name = f.getName();
+            if (f.isFile() && name.endsWith(".b") && prefixes.stream().anyMatch(name::startsWith)) {
+                grids.add(f);
+            }
+        }
+        return grids;
+    }
+
+    /**
+     * returns the entry of a grid
+     *
+     * @param name grid file name
+     * @return entry, or null if not in the bundle
+     */
+    public Entry getEntry(String name) {
+        return entries.get(name);
+    }
+
+    /**
+     * @return entries, sorted by grid file name
+     */
+    public Collection<Entry> getEntries() {
+        return entries.values();
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return bundle size in bytes
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * packs a grid directory, or lists a bundle without -Ddir
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        String dir = System.getProperty("dir");
+        String bundle = System.getProperty("bundle");
+        if (bundle == null) {
+            System.err.println("Usage: [-Ddir=directory [-Dgrid=nadcon|vertcon|all]] -Dbundle=file");
+            return;
+        }
+        try {
+            if (dir == null) {
+                for (Entry e : open(new File(bundle)).getEntries()) {
+                    System.out.println(e);
+                }
+                return;
+            }
+            List<File> files = listGrids(new File(dir), System.getProperty("grid", "all"));
+            List<Entry> entries = pack(files, new File(bundle));
+            System.err.println("Grids packed:" + entries.size() + " to " + bundle + " ("
+                    + new File(bundle).length() + " bytes)");
+        } catch (IOException ex) {
+            System.err.println("Unable to " + (dir == null ? "read" : "write") + " grid bundle. Exception:"
+                    + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,431 @@
+package gov.noaa.ngs.grid;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Writes synthetic Nadcon and Vertcon grids in ".b" format, so the grid code
+ * can be tested and benchmarked without the NGS grid files.
+ * <p>
+ * A grid is a 52-byte header record followed by one record per row, south to
+ * north, of width cells west to east, as read by GridBuffer and HeapGrid:
+ * <pre>
+ * header: int 44, double minlat, double minlon, double dlat, double dlon,
+ *         int height (rows), int width (columns), int ikind, int 44
+ * row:    marker, width cells, marker
+ * </pre>
+ * Cells are floats for ikind FLOAT and shorts for ikind SHORT, with markers of
+ * the cell size holding the record length; the reader skips the markers. A
+ * short cell holds the rounded value, as the reader applies no scale. The
+ * reader detects little-endian grids by an ikind above 2 when read big-endian,
+ * so ikind 0 grids can only be big-endian.
+ * <p>
+ * The cell values come from a Field of latitude and longitude (degrees, +ve
+ * east longitude as stored in the grid). Biquadratic interpolation reproduces
+ * a quadratic field and bilinear interpolation a linear one, so the result of
+ * a lookup is known up to the float precision of the cells. Cells in the boxes
+ * given to addMissing hold MISSING_DATA_INDICATOR.
+ * <p>
+ * writeAll writes a grid of every parameter and type for each pair of
+ * consecutive datums of each region in nadconDef.properties or
+ * vertconDef.properties, named by getGridFile and covering the region bounds:
+ * <pre>
+ * GridGenerator g = new GridGenerator(GridManager.NADCON);
+ * g.setField("lat", "trn", GridGenerator.linear(0.5, 0.01, 0.002));
+ * g.writeAll(dir);
+ * new GridGenerator(GridManager.VERTCON).writeAll(dir);
+ * // then run with -Dgpath=dir
+ * </pre>
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public class GridGenerator {
+
+    public static final int FLOAT = 1;
+    public static final int SHORT = 2;
+    public static final double DEFAULT_SPACING = 0.25;
+
+    private final String gridName;
+    private final Properties gridDef;
+    private final Map<String, Field> fields = new HashMap<>();
+    private final List<double[]> missing = new ArrayList<>();
+    private ByteOrder byteOrder = ByteOrder.BIG_ENDIAN;
+    private int ikind = FLOAT;
+    private double spacing = DEFAULT_SPACING;
+    private String[] gridParms;
+
+    /**
+     * value of a grid at a node
+     */
+    @FunctionalInterface
+    public interface Field {
+
+        /**
+         * @param lat latitude of the node
+         * @param lon longitude of the node (+ve east)
+         * @return cell value
+         */
+        double value(double lat, double lon);
+    }
+
+    /**
+     * @param gridName GridManager.NADCON or GridManager.VERTCON
+     */
+    public GridGenerator(String gridName) {
+        if (gridName.equalsIgnoreCase(GridManager.NADCON)) {
+            gridDef = GridManager.getNadconDef();
+        } else if (gridName.equalsIgnoreCase(GridManager.VERTCON)) {
+            gridDef = GridManager.getVertconDef();
+        } else {
+            throw new IllegalArgumentException("Invalid grid name:" + gridName);
+        }
+        this.gridName = gridName.toLowerCase();
+        this.gridParms = gridDef.getProperty("grid.parms", "").split(",");
+        // transformations in arcsec (lat, lon) or meters, errors positive
+        setField("lat", "trn", linear(0.5, 0.01, 0.002));
+        setField("lon", "trn", linear(-0.5, 0.002, 0.01));
+        setField("eht", "trn", linear(0.1, 0.001, -0.0005));
+        setField("oht", "trn", linear(-0.3, 0.002, 0.001));
+        for (String parm : new String[]{"lat", "lon", "eht", "oht"}) {
+            setField(parm, "err", constant(0.02));
+        }
+    }
+
+    /**
+     * returns a field with the same value everywhere
+     *
+     * @param c value
+     * @return field
+     */
+    public static Field constant(double c) {
+        return (lat, lon) -> c;
+    }
+
+    /**
+     * returns the field c + a*lat + b*lon
+     *
+     * @param c constant
+     * @param a latitude coefficient
+     * @param b longitude coefficient
+     * @return field
+     */
+    public static Field linear(double c, double a, double b) {
+        return (lat, lon) -> c + a * lat + b * lon;
+    }
+
+    /**
+     * returns the field c + a*lat + b*lon + aa*lat^2 + bb*lon^2 + ab*lat*lon,
+     * reproduced by biquadratic interpolation
+     *
+     * @param c constant
+     * @param a latitude coefficient
+     * @param b longitude coefficient
+     * @param aa latitude squared coefficient
+     * @param bb longitude squared coefficient
+     * @param ab latitude times longitude coefficient
+     * @return field
+     */
+    public static Field quadratic(double c, double a, double b, double aa, double bb, double ab) {
+        return (lat, lon) -> c + a * lat + b * lon + aa * lat * lat + bb * lon * lon + ab * lat * lon;
+    }
+
+    /**
+     * sets the byte order of the grids
+     *
+     * @param endian be=big endian; le=little endian
+     */
+    public void setByteOrder(String endian) {
+        byteOrder = endian.equalsIgnoreCase("le") ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+    }
+
+    /**
+     * sets the kind of cells
+     *
+     * @param ikind 0 or FLOAT for floats, SHORT for shorts
+     */
+    public void setIkind(int ikind) {
+        if (ikind < 0 || ikind > SHORT) {
+            throw new IllegalArgumentException("Invalid ikind:" + ikind);
+        }
+        this.ikind = ikind;
+    }
+
+    /**
+     * sets the grid spacing in latitude and longitude
+     *
+     * @param spacing degrees
+     */
+    public void setSpacing(double spacing) {
+        if (!(spacing > 0)) {
+            throw new IllegalArgumentException("Invalid grid spacing:" + spacing);
+        }
+        this.spacing = spacing;
+    }
+
+    /**
+     * limits writeAll to the given parameters, for example to leave out eht
+     *
+     * @param gridParms parameters from grid.parms
+     */
+    public void setGridParms(String... gridParms) {
+        this.gridParms = gridParms.clone();
+    }
+
+    /**
+     * sets the field of the grids of a parameter and type
+     *
+     * @param gridParm lat, lon, eht or oht
+     * @param gridType trn or err
+     * @param field cell values
+     */
+    public void setField(String gridParm, String gridType, Field field) {
+        fields.put(gridParm + gridType, field);
+    }
+
+    /**
+     * returns the value a grid of the given parameter and type holds at a
+     * node, or interpolates to elsewhere, before cell rounding
+     *
+     * @param gridParm lat, lon, eht or oht
+     * @param gridType trn or err
+     * @param lat latitude
+     * @param lon longitude (+ve east)
+     * @return value, MISSING_DATA_INDICATOR in a missing box
+     */
+    public double getValue(String gridParm, String gridType, double lat, double lon) {
+        for (double[] box : missing) {
+            if (lat >= box[0] && lat <= box[1] && lon >= box[2] && lon <= box[3]) {
+                return GridManager.MISSING_DATA_INDICATOR;
+            }
+        }
+        Field field = fields.get(gridParm + gridType);
+        if (field == null) {
+            throw new IllegalArgumentException("No field for " + gridParm + gridType);
+        }
+        return field.value(lat, lon);
+    }
+
+    /**
+     * fills the nodes within a box with MISSING_DATA_INDICATOR in every grid
+     * written afterwards
+     *
+     * @param minlat minimum latitude
+     * @param maxlat maximum latitude
+     * @param minlon minimum longitude (+ve east)
+     * @param maxlon maximum longitude (+ve east)
+     */
+    public void addMissing(double minlat, double maxlat, double minlon, double maxlon) {
+        missing.add(new double[]{minlat, maxlat, minlon, maxlon});
+    }
+
+    /**
+     * writes the grids of all regions
+     *
+     * @param dir directory, created if needed
+     * @return files written
+     * @throws IOException if unable to write
+     */
+    public List<File> writeAll(File dir) throws IOException {
+        // the Alaska grids named by an island are written again for Alaska
+        Set<File> files = new LinkedHashSet<>();
+        for (String region : gridDef.getProperty("regions", "").split(",")) {
+            files.addAll(writeRegion(dir, region));
+        }
+        return new ArrayList<>(files);
+    }
+
+    /**
+     * writes the grids of a region: every parameter and type for each pair
+     * of consecutive datums. Nadcon names the grids of the later datums of
+     * the Alaska islands after Alaska; those cover the Alaska bounds and are
+     * written once.
+     *
+     * @param dir directory, created if needed
+     * @param region region from the regions property
+     * @return files written
+     * @throws IOException if unable to write
+     */
+    public List<File> writeRegion(File dir, String region) throws IOException {
+        List<String> regions = Arrays.asList(gridDef.getProperty("regions", "").split(","));
+        if (!regions.contains(region)) {
+            throw new IllegalArgumentException("Invalid region:" + region);
+        }
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Unable to create directory " + dir);
+        }
+        Map<String, String> grids = new LinkedHashMap<>();
+        String[] datums = gridDef.getProperty(region + ".datum", "").split(",");
+        for (int i = 0; i + 1 < datums.length; i++) {
+            for (String parm : gridParms) {
+                for (String type : gridDef.getProperty("grid.types", "").split(",")) {
+                    String name = GridManager.getInstance(region, datums[i], datums[i + 1], parm, type, gridName)
+                            .getGridFile();
+                    grids.put(name, parm + "," + type);
+                }
+            }
+        }
+        List<File> files = new ArrayList<>();
+        for (Map.Entry<String, String> e : grids.entrySet()) {
+            String name = e.getKey();
+            // prefix.datum1.datum2.region.parm.type.date.b
+            String gridRegion = getRegion(regions, name.split("\\.")[3]);
+            File file = new File(dir, name);
+            if (!gridRegion.equals(region) && file.exists()) {
+                continue;
+            }
+            double[] bounds = getBounds(regions, gridRegion);
+            int height = (int) Math.ceil((bounds[1] - bounds[0]) / spacing - 1e-9) + 1;
+            int width = (int) Math.ceil((bounds[3] - bounds[2]) / spacing - 1e-9) + 1;
+            String[] parmType = e.getValue().split(",");
+            write(file, bounds[0], bounds[2], spacing, spacing, height, width, parmType[0], parmType[1]);
+            files.add(file);
+        }
+        return files;
+    }
+
+    /**
+     * writes one grid of a parameter and type
+     *
+     * @param file grid file
+     * @param minlat latitude of the first row
+     * @param minlon longitude of the first column (+ve east)
+     * @param dlat latitude spacing
+     * @param dlon longitude spacing
+     * @param height number of rows
+     * @param width number of columns
+     * @param gridParm lat, lon, eht or oht
+     * @param gridType trn or err
+     * @throws IOException if unable to write
+     */
+    public void write(File file, double minlat, double minlon, double dlat, double dlon, int height, int width,
+            String gridParm, String gridType) throws IOException {
+        if (height < 3 || width < 3) {
+            throw new IllegalArgumentException("Grid must be at least 3X3:" + height + "X" + width);
+        }
+        if (ikind == 0 && byteOrder == ByteOrder.LITTLE_ENDIAN) {
+            throw new IllegalArgumentException("ikind 0 grids must be big-endian");
+        }
+        int cellSize = ikind == SHORT ? 2 : 4;
+        ByteBuffer header = ByteBuffer.allocate(GridHeader.HEADER_LEN).order(byteOrder);
+        header.putInt(GridHeader.HEADER_LEN - 8).putDouble(minlat).putDouble(minlon).putDouble(dlat).putDouble(dlon)
+                .putInt(height).putInt(width).putInt(ikind).putInt(GridHeader.HEADER_LEN - 8);
+        ByteBuffer row = ByteBuffer.allocate((width + 2) * cellSize).order(byteOrder);
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), 64 * 1024)) {
+            out.write(header.array());
+            for (int r = 0; r < height; r++) {
+                double lat = minlat + r * dlat;
+                row.clear();
+                putMarker(row, width * cellSize);
+                for (int c = 0; c < width; c++) {
+                    double v = getValue(gridParm, gridType, lat, minlon + c * dlon);
+                    if (ikind == SHORT) {
+                        long s = Math.round(v);
+                        if (s < Short.MIN_VALUE || s > Short.MAX_VALUE) {
+                            throw new IllegalArgumentException("Value does not fit a short cell:" + v);
+                        }
+                        row.putShort((short) s);
+                    } else {
+                        row.putFloat((float) v);
+                    }
+                }
+                putMarker(row, width * cellSize);
+                out.write(row.array());
+            }
+        }
+    }
+
+    private void putMarker(ByteBuffer row, int length) {
+        if (ikind == SHORT) {
+            row.putShort((short) length);
+        } else {
+            row.putInt(length);
+        }
+    }
+
+    private static String getRegion(List<String> regions, String name) {
+        for (String region : regions) {
+            if (region.equalsIgnoreCase(name)) {
+                return region;
+            }
+        }
+        throw new IllegalArgumentException("Invalid region in grid name:" + name);
+    }
+
+    /**
+     * returns minlat, maxlat, minlon, maxlon of a region
+     */
+    private double[] getBounds(List<String> regions, String region) {
+        String[] all = gridDef.getProperty("bounds", "").split(",");
+        int idx = regions.indexOf(region) * 4;
+        double[] bounds = new double[4];
+        for (int i = 0; i < 4; i++) {
+            bounds[i] = Double.valueOf(all[idx + i].trim());
+        }
+        return bounds;
+    }
+
+    /**
+     * writes the grids of all regions, or of -Dregion, into a directory.
+     * <pre>
+     * java -Ddir=grids [-Dgrid=nadcon|vertcon|all] [-Dregion=Conus] [-Dendian=be|le]
+     *      [-Dikind=1|2] [-Dspacing=0.25] [-Dparms=lat,lon] gov.noaa.ngs.grid.GridGenerator
+     * </pre>
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        String dir = System.getProperty("dir");
+        if (dir == null) {
+            System.err.println("Usage: -Ddir=directory [-Dgrid=nadcon|vertcon|all] [-Dregion=region]"
+                    + " [-Dendian=be|le] [-Dikind=1|2] [-Dspacing=degrees] [-Dparms=lat,lon,...]");
+            return;
+        }
+        String grid = System.getProperty("grid", "all");
+        String region = System.getProperty("region");
+        String parms = System.getProperty("parms");
+        try {
+            int count = 0;
+            for (String name : new String[]{GridManager.NADCON, GridManager.VERTCON}) {
+                if (!grid.equalsIgnoreCase("all") && !grid.equalsIgnoreCase(name)) {
+                    continue;
+                }
+                GridGenerator g = new GridGenerator(name);
+                g.setByteOrder(System.getProperty("endian", "be"));
+                g.setIkind(Integer.parseInt(System.getProperty("ikind", String.valueOf(FLOAT))));
+                g.setSpacing(Double.parseDouble(System.getProperty("spacing", String.valueOf(DEFAULT_SPACING))));
+                if (parms != null) {
+                    List<String> own = Arrays.asList(g.gridDef.getProperty("grid.parms", "").split(","));
+                    List<String> selected = new ArrayList<>();
+                    for (String p : parms.split(",")) {
+                        if (own.contains(p)) {
+                            selected.add(p);
+                        }
+                    }
+                    g.setGridParms(selected.toArray(new String[0]));
+                }
+                if (region != null && !Arrays.asList(g.gridDef.getProperty("regions", "").split(",")).contains(region)) {
+                    continue;
+                }
+                List<File> files = region == null ? g.writeAll(new File(dir)) : g.writeRegion(new File(dir), region);
+                count += files.size();
+            }
+            System.err.println("Grids written:" + count + " to " + dir);
+        } catch (IOException | IllegalArgumentException ex) {
+            System.err.println("Unable to write grids. Exception:" + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package gov.noaa.ngs.grid;
+
+/**
+ * The header record of a grid in ".b" format
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public interface GridHeader {
+
+    /**
+     * length of the header record: its 44 bytes between two 4 byte record
+     * length markers; the cells start right after it
+     */
+    int HEADER_LEN = 52;
+
+    double getMinlat();
+
+    double getMinlon();
+
+    double getDlat();
+
+    double getDlon();
+
+    /**
+     * @return number of rows
+     */
+    int getHeight();
+
+    /**
+     * @return number of columns
+     */
+    int getWidth();
+
+    /**
+     * @return 0 or 1 for float cells, 2 for short cells
+     */
+    int getIkind();
+}
@@ -0,0 +1,275 @@
+package gov.noaa.ngs.grid;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.log4j.Logger;
+
+/**
+ * Counts the reads of each grid by tile of TILE x TILE cells, so that the
+ * grids and areas our traffic actually uses can be preloaded by GridTileCache
+ * after a restart. Recording is disabled by default; then record returns after
+ * a volatile read.
+ * <p>
+ * The heatmap file has a line per grid, hottest tiles first:
+ * <pre>
+ * # grid heatmap tile=32
+ * nadcon5.nad27.nad83_1986.conus.lat.trn.20160901.b 3,7=5120 3,8=211
+ * </pre>
+ * where 3,7=5120 is tile row 3, tile column 7 read 5120 times. Grids are named
+ * without their directory, so a heatmap carries over to another grid path.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public final class GridHeatmap {
+
+    private final static Logger logger = Logger.getLogger(GridHeatmap.class);
+    public static final int TILE = 32;
+    private static final String HEADER = "# grid heatmap tile=" + TILE;
+
+    private static final ConcurrentMap<String, ConcurrentMap<Integer, LongAdder>> counts = new ConcurrentHashMap<>();
+    private static volatile boolean enabled;
+    private static ScheduledExecutorService exporter;
+    private static File exportFile;
+
+    private GridHeatmap() {
+    }
+
+    /**
+     * the read count of a tile
+     */
+    public static final class Tile {
+
+        private final String grid;
+        private final int row;
+        private final int col;
+        private final long count;
+
+        Tile(String grid, int row, int col, long count) {
+            this.grid = grid;
+            this.row = row;
+            this.col = col;
+            this.count = count;
+        }
+
+        public String getGrid() {
+            return grid;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public int getCol() {
+            return col;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public String toString() {
+            return grid + " " + row + "," + col + "=" + count;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * starts or stops counting; the counts so far are kept
+     *
+     * @param enabled true=count grid reads
+     */
+    public static void setEnabled(boolean enabled) {
+        GridHeatmap.enabled = enabled;
+    }
+
+    /**
+     * counts a read of a grid block
+     *
+     * @param grid grid file name
+     * @param row first grid row of the block
+     * @param col first grid column of the block
+     */
+    public static void record(String grid, int row, int col) {
+        if (!enabled || grid == null) {
+            return;
+        }
+        add(grid, row / TILE, col / TILE, 1);
+    }
+
+    private static void add(String grid, int tileRow, int tileCol, long n) {
+        counts.computeIfAbsent(grid, g -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key(tileRow, tileCol), k -> new LongAdder()).add(n);
+    }
+
+    private static int key(int tileRow, int tileCol) {
+        return tileRow << 16 | tileCol;
+    }
+
+    /**
+     * adds the counts of a previous heatmap, halved (rounding up) so that the
+     * counts of the current traffic take over as it moves
+     *
+     * @param tiles tiles of a previous heatmap
+     */
+    public static void merge(List<Tile> tiles) {
+        for (Tile t : tiles) {
+            if (t.count > 0) {
+                add(t.grid, t.row, t.col, (t.count + 1) / 2);
+            }
+        }
+    }
+
+    /**
+     * returns the counted tiles, hottest first
+     *
+     * @return tiles
+     */
+    public static List<Tile> getTiles() {
+        List<Tile> tiles = new ArrayList<>();
+        for (Map.Entry<String, ConcurrentMap<Integer, LongAdder>> g : counts.entrySet()) {
+            for (Map.Entry<Integer, LongAdder> t : g.getValue().entrySet()) {
+                int k = t.getKey();
+                tiles.add(new Tile(g.getKey(), k >>> 16, k & 0xffff, t.getValue().sum()));
+            }
+        }
+        sort(tiles);
+        return tiles;
+    }
+
+    private static void sort(List<Tile> tiles) {
+        Collections.sort(tiles, (a, b) -> a.count != b.count ? Long.compare(b.count, a.count)
+                : a.grid.equals(b.grid) ? Integer.compare(key(a.row, a.col), key(b.row, b.col))
+                : a.grid.compareTo(b.grid));
+    }
+
+    /**
+     * clears all counts
+     */
+    public static void reset() {
+        counts.clear();
+    }
+
+    /**
+     * writes the heatmap; the file is replaced in one step so that a reader
+     * never sees a partial heatmap
+     *
+     * @param file heatmap file
+     * @throws IOException if unable to write
+     */
+    public static void write(File file) throws IOException {
+        Map<String, StringBuilder> lines = new LinkedHashMap<>();
+        for (Tile t : getTiles()) {
+            if (t.count > 0) {
+                lines.computeIfAbsent(t.grid, g -> new StringBuilder(g))
+                        .append(' ').append(t.row).append(',').append(t.col).append('=').append(t.count);
+            }
+        }
+        File dir = file.getAbsoluteFile().getParentFile();
+        File tmp = File.createTempFile(file.getName(), ".tmp", dir);
+        try (BufferedWriter out = Files.newBufferedWriter(tmp.toPath(), StandardCharsets.UTF_8)) {
+            out.write(HEADER);
+            out.newLine();
+            for (StringBuilder line : lines.values()) {
+                out.write(line.toString());
+                out.newLine();
+            }
+        } catch (IOException ex) {
+            tmp.delete();
+            throw ex;
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * reads a heatmap written by write
+     *
+     * @param file heatmap file
+     * @return tiles, hottest first; empty if the heatmap uses another tile size
+     * @throws IOException if unable to read
+     */
+    public static List<Tile> read(File file) throws IOException {
+        List<Tile> tiles = new ArrayList<>();
+        try (BufferedReader in = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line = in.readLine();
+            if (line == null || !line.trim().equals(HEADER)) {
+                logger.warn("Ignoring heatmap " + file + " with header " + line);
+                return tiles;
+            }
+            while ((line = in.readLine()) != null) {
+                String[] tokens = line.trim().split("\\s+");
+                for (int i = 1; i < tokens.length; i++) {
+                    int comma = tokens[i].indexOf(',');
+                    int eq = tokens[i].indexOf('=');
+                    try {
+                        tiles.add(new Tile(tokens[0], Integer.parseInt(tokens[i].substring(0, comma)),
+                                Integer.parseInt(tokens[i].substring(comma + 1, eq)),
+                                Long.parseLong(tokens[i].substring(eq + 1))));
+                    } catch (NumberFormatException | StringIndexOutOfBoundsException ex) {
+                        logger.warn("Ignoring heatmap entry " + tokens[0] + " " + tokens[i]);
+                    }
+                }
+            }
+        }
+        sort(tiles);
+        return tiles;
+    }
+
+    /**
+     * starts counting and writes the heatmap every period seconds on a daemon
+     * thread until stopExport
+     *
+     * @param file heatmap file
+     * @param period seconds between writes
+     */
+    public static synchronized void startExport(File file, long period) {
+        stopExport();
+        exportFile = file;
+        exporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "GridHeatmap");
+            t.setDaemon(true);
+            return t;
+        });
+        exporter.scheduleWithFixedDelay(() -> export(file), period, period, TimeUnit.SECONDS);
+        setEnabled(true);
+    }
+
+    /**
+     * stops the periodic writes and writes the heatmap a last time
+     */
+    public static synchronized void stopExport() {
+        if (exporter == null) {
+            return;
+        }
+        exporter.shutdownNow();
+        exporter = null;
+        export(exportFile);
+    }
+
+    private static void export(File file) {
+        try {
+            write(file);
+        } catch (IOException ex) {
+            logger.error("Unable to write heatmap " + file, ex);
+        }
+    }
+}
@@ -1,15 +1,26 @@
 package gov.noaa.ngs.grid;
 
+import gov.noaa.ngs.metrics.Counter;
+import gov.noaa.ngs.metrics.Events;
+import gov.noaa.ngs.metrics.GridOpenEvent;
+import gov.noaa.ngs.metrics.GridReadEvent;
+import gov.noaa.ngs.metrics.Histogram;
+import gov.noaa.ngs.metrics.Metrics;
+
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.RandomAccessFile;
 import java.util.ArrayList;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.apache.log4j.Logger;
 
 /**
  * Encapsulates methods for parsing and returning a block of data from a grid
- * that's in ".b" format
+ * that's in ".b" format. Every block is read through a GridSource: the source
+ * set on the instance, or else the source of the grid directory or bundle of
+ * -Dgpath (or gridfile.path), opened once per location, with the grids and
+ * tiles preloaded by HeapGrid and GridTileCache in front of it.
  *
  * @author Krishna.Tadepalli
  * @version 1.0 Date: 09/30/2016
@@ -22,36 +33,133 @@ public abstract class GridManager {
     public static final int MISSING_DATA_INDICATOR = -999;
     public static final String NADCON = "nadcon";
     public static final String VERTCON = "vertcon";
-    protected static Properties nadconDef;
-    protected static Properties vertconDef;
+    private static final Histogram HEADER_TIMER = Metrics.histogram("grid.header");
+    private static final Histogram CELL_TIMER = Metrics.histogram("grid.cells");
+    private static final Counter GRID_MISSING = Metrics.counter("grid.missing");
+    private static final Counter OUT_OF_BOUNDS = Metrics.counter("grid.outOfBounds");
+
+    // grid location -> source, for instances without a source of their own
+    private static final ConcurrentMap<String, PreloadedGridSource> sources = new ConcurrentHashMap<>();
+
+    // grid definitions are loaded on first use of each kind of grid
+    private static final class NadconDef {
+
+        static final Properties DEF = loadDefinitions(NADCON_PROP_FILE, "NADCON");
+    }
+
+    private static final class VertconDef {
 
-    static {
-        loadDatumDefinitions();
+        static final Properties DEF = loadDefinitions(VERTCON_PROP_FILE, "VERTCON");
     }
 
     /**
-     * load grid properties first time the class is referenced
+     * loads grid properties
+     *
+     * @param propFile property file resource
+     * @param name grid name for messages
+     * @return grid properties
      */
-    private static void loadDatumDefinitions() {
-        nadconDef = new Properties();
-        try (InputStream stream = GridManager.class.getResourceAsStream(NADCON_PROP_FILE)) {
-            nadconDef.load(stream);
-        } catch (IOException ex) {
-            logger.fatal("Unable to load NADCON property file", ex);
-        }
-        vertconDef = new Properties();
-        try (InputStream stream = GridManager.class.getResourceAsStream(VERTCON_PROP_FILE)) {
-            vertconDef.load(stream);
+    private static Properties loadDefinitions(String propFile, String name) {
+        Properties def = new Properties();
+        try (InputStream stream = GridManager.class.getResourceAsStream(propFile)) {
+            if (stream == null) {
+                logger.fatal("Unable to find " + name + " property file");
+            } else {
+                def.load(stream);
+            }
         } catch (IOException ex) {
-            logger.fatal("Unable to load VERTCON property file", ex);
+            logger.fatal("Unable to load " + name + " property file", ex);
         }
+        return def;
+    }
 
+    /**
+     * returns the NADCON grid definitions, loaded on first call
+     *
+     * @return NADCON grid properties
+     */
+    protected static Properties getNadconDef() {
+        return NadconDef.DEF;
+    }
+
+    /**
+     * returns the VERTCON grid definitions, loaded on first call
+     *
+     * @return VERTCON grid properties
+     */
+    protected static Properties getVertconDef() {
+        return VertconDef.DEF;
     }
 
+    private GridSource gridSource;
+
+    // header of the grid of the last getBlock
+    protected double minlat;
+    protected double minlon;
+    protected double maxlat;
+    protected double maxlon;
+    protected double dlat;
+    protected double dlon;
+    protected int width;
+    protected int height;
+    protected double[] intpPoint; //(x,y) coordinate to be used for interpolation
 
     public GridManager() {
     }
 
+    /**
+     * returns the grid directory or bundle of -Dgpath, or else of the
+     * gridfile.path of the grid definitions
+     *
+     * @param gridDef NADCON or VERTCON grid definitions
+     * @return grid location
+     */
+    static String getLocation(Properties gridDef) {
+        return System.getProperty("gpath", gridDef.getProperty("gridfile.path", "")).trim();
+    }
+
+    /**
+     * returns the source of the grid location of the grid definitions, with
+     * the preloaded grids in front of it; opened on first use
+     *
+     * @param gridDef NADCON or VERTCON grid definitions
+     * @return source, or null if the location is a file but not a grid bundle
+     */
+    static PreloadedGridSource getDefaultSource(Properties gridDef) {
+        String location = getLocation(gridDef);
+        PreloadedGridSource source = sources.get(location);
+        if (source == null) {
+            try {
+                source = new PreloadedGridSource(location, GridSource.of(location));
+            } catch (IOException ex) {
+                logger.fatal("Unable to open grids " + location, ex);
+                return null;
+            }
+            PreloadedGridSource prev = sources.putIfAbsent(location, source);
+            source = prev != null ? prev : source;
+        }
+        return source;
+    }
+
+    /**
+     * returns the source of the grids
+     *
+     * @return source, or null to read the directory or bundle of -Dgpath
+     */
+    public GridSource getGridSource() {
+        return gridSource;
+    }
+
+    /**
+     * sets the source of the grids of this instance
+     *
+     * @param gridSource source, or null to read the directory or bundle of
+     * -Dgpath
+     */
+    public void setGridSource(GridSource gridSource) {
+        this.gridSource = gridSource;
+    }
+
     /**
      * returns an instance of GridManager
      *
@@ -93,11 +201,33 @@ public abstract class GridManager {
     }
 
     /**
-     * parses grid header record and initializes header elements
+     * returns an instance of GridManager reading its grids from a source
+     *
+     * @param region a geographic region where grids are available
+     * @param srcDatum input datum 
+     * @param destDatum output datum
+     * @param gridParm  a parameter for which a grid is defined
+     * @param gridType  a type that identifies transformation or error grid
+     * @param gridName  type of transformation
+     * @param gridSource source of the grids, or null to read the directory or
+     * bundle of -Dgpath
+     * @return a reference to GridManager
+     */
+    public static GridManager getInstance(String region, String srcDatum, String destDatum,
+            String gridParm, String gridType, String gridName, GridSource gridSource) {
+        GridManager gm = getInstance(region, srcDatum, destDatum, gridParm, gridType, gridName);
+        if (gm != null) {
+            gm.setGridSource(gridSource);
+        }
+        return gm;
+    }
+
+    /**
+     * returns the grid definitions of this kind of grid
      *
-     * @return a reference to grid file
+     * @return NADCON or VERTCON grid properties
      */
-    protected abstract RandomAccessFile parseHeader();
+    protected abstract Properties getGridDef();
 
     /**
      * returns the point being interpolated
@@ -129,28 +259,109 @@ public abstract class GridManager {
      * @param lon longitude
      * @param numRows number of rows in a block
      * @param numCols number of columns in a block
-     * @return a block of data
+     * @return a block of data, or null if the grid is missing or the point is
+     * out of its bounds
      */
-    public abstract double[] getBlock(double lat, double lon, int numRows, int numCols);
+    public double[] getBlock(double lat, double lon, int numRows, int numCols) {
+        String grid = getGridFile();
+        GridSource source = gridSource != null ? gridSource : getDefaultSource(getGridDef());
+        GridHeader header = readHeader(source, grid);
+        if (header == null) {
+            return null;
+        }
+        int row = getGridRow(lat);
+        int col = getGridColumn(lon);
+
+        if (row == -1 || col == -1) { // out of bounds
+            OUT_OF_BOUNDS.increment();
+            return null;
+        }
+        intpPoint = new double[2];
+        // point for interpolation (x,y)
+        intpPoint[0] = (lon - minlon - dlon * (col - 1)) / dlon;
+        intpPoint[1] = (lat - minlat - dlat * (row - 1)) / dlat;
+        return readCells(source, grid, header, row - 1, col - 1, numRows, numCols);
+    }
 
     /**
-     * defines a grid file to be used for processing
+     * looks up the header of a grid and initializes the header elements
      *
-     * @return grid filename
+     * @param source grid source
+     * @param grid grid file name
+     * @return header, or null if the grid is missing or unreadable
      */
-    public abstract String getGridFile();
+    private GridHeader readHeader(GridSource source, String grid) {
+        long start = Metrics.start();
+        if (source == null || grid == null || !source.exists(grid)) {
+            GRID_MISSING.increment();
+            // do not log missing grid files for eht transformation over conus
+            if (source != null && grid != null && !grid.contains("conus.eht")) {
+                logger.fatal(":Grid " + grid + " does not exist in " + source);
+            }
+            return null;
+        }
+        GridOpenEvent event = Events.gridOpen();
+        GridHeader g;
+        try {
+            g = source.header(grid);
+        } catch (IOException ex) {
+            logger.fatal("Unable to read grid " + grid + " from " + source, ex);
+            return null;
+        }
+        minlat = g.getMinlat();
+        minlon = g.getMinlon();
+        dlat = g.getDlat();
+        dlon = g.getDlon();
+        height = g.getHeight();
+        width = g.getWidth();
+        maxlat = minlat + (height - 1) * dlat;
+        maxlon = minlon + (width - 1) * dlon;
+        HEADER_TIMER.record(start);
+        if (event != null) {
+            event.commit(grid, source.toString());
+        }
+        return g;
+    }
 
     /**
      * returns a block rowsXcols cells at a given location in the grid
      *
-     * @param gridfh a reference to grid file
+     * @param source grid source
+     * @param grid grid file name
+     * @param header grid header
      * @param heightOffset offset to be applied to grid height
-     * @param widthOffset  offset to be applied to grid width
+     * @param widthOffset offset to be applied to grid width
      * @param rows number of grid rows to be returned
      * @param cols number of grid columns to be returned
-     * @return a block of grid cells defined by rowsXcols
+     * @return a block of grid cells defined by rowsXcols, or null if
+     * unreadable
+     */
+    private double[] readCells(GridSource source, String grid, GridHeader header,
+            int heightOffset, int widthOffset, int rows, int cols) {
+        long start = Metrics.start();
+        GridReadEvent event = Events.gridRead();
+        GridHeatmap.record(grid, heightOffset, widthOffset);
+        double[] block;
+        try {
+            block = source.readCells(grid, heightOffset, widthOffset, rows, cols);
+        } catch (IOException ex) {
+            logger.fatal("Unable to read grid " + grid + " from " + source, ex);
+            return null;
+        }
+        CELL_TIMER.record(start);
+        if (event != null) {
+            int cellSize = (header.getIkind() == 0 || header.getIkind() == 1) ? 4 : 2;
+            event.commit(grid, heightOffset, widthOffset, rows * cols * cellSize);
+        }
+        return block;
+    }
+
+    /**
+     * defines a grid file to be used for processing
+     *
+     * @return grid filename
      */
-    protected abstract double[] getCells(RandomAccessFile gridfh, int heightOffset, int widthOffset, int rows, int cols);
+    public abstract String getGridFile();
 
     /**
      * ranks a given 3X3 block based on missing data, if any
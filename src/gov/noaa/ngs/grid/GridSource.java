@@ -0,0 +1,86 @@
+package gov.noaa.ngs.grid;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Where a GridManager reads its grids from. Grids are named by getGridFile,
+ * and are in ".b" format whatever the medium. A source is set per GridManager
+ * (or per Transformer, for the GridManagers of its lookups), so grids of
+ * different versions or media can be used side by side in one process:
+ * <pre>
+ * GridSource v1 = GridSource.of("/ngslib/data/Grids");
+ * GridSource v2 = GridSource.of("/ngslib/data/grids-2026.bundle");
+ * GridSource hot = MemoryGridSource.copyOf(v2, names);
+ * GridManager g = GridManager.getInstance(region, srcDatum, destDatum, parm, type, GridManager.NADCON, hot);
+ * </pre>
+ * A GridManager without a source reads GridSource.of(-Dgpath), or of
+ * gridfile.path, behind the grids preloaded by HeapGrid and the tiles preloaded
+ * by GridTileCache.
+ * <p>
+ * Sources are shared by the threads of a transformation, so implementations
+ * are thread-safe.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public interface GridSource {
+
+    String CLASSPATH = "classpath:";
+
+    /**
+     * returns whether the source has a grid
+     *
+     * @param grid grid file name
+     * @return true if the grid can be read
+     */
+    boolean exists(String grid);
+
+    /**
+     * returns the header of a grid
+     *
+     * @param grid grid file name
+     * @return header, decoded in the byte order of the grid
+     * @throws IOException if the grid is missing or unreadable
+     */
+    GridHeader header(String grid) throws IOException;
+
+    /**
+     * returns a block of rows x cols cells
+     *
+     * @param grid grid file name
+     * @param row first row
+     * @param col first column
+     * @param rows number of rows
+     * @param cols number of columns
+     * @return cells, row by row
+     * @throws IOException if the grid is missing or unreadable
+     */
+    double[] readCells(String grid, int row, int col, int rows, int cols) throws IOException;
+
+    /**
+     * returns a whole grid file, header record included
+     *
+     * @param grid grid file name
+     * @return a read-only buffer of its own over the grid file, in the byte
+     * order of the grid
+     * @throws IOException if the grid is missing or unreadable
+     */
+    ByteBuffer bulkRead(String grid) throws IOException;
+
+    /**
+     * returns the source of a location: resources under a classpath: prefix,
+     * a bundle for a file, or else a grid directory
+     *
+     * @param location "classpath:/package/path", a bundle file or a directory
+     * @return source
+     * @throws IOException if location is a file but not a grid bundle
+     */
+    static GridSource of(String location) throws IOException {
+        if (location.startsWith(CLASSPATH)) {
+            return new ClasspathGridSource(location.substring(CLASSPATH.length()));
+        }
+        File f = new File(location);
+        return f.isFile() ? new BundleGridSource(GridBundle.open(f)) : new FileGridSource(f);
+    }
+}
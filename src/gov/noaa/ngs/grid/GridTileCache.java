@@ -0,0 +1,357 @@
+package gov.noaa.ngs.grid;
+
+import gov.noaa.ngs.metrics.Counter;
+import gov.noaa.ngs.metrics.Metrics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.log4j.Logger;
+
+/**
+ * Grid cells held in memory, read by GridManager instead of the grid source of
+ * -Dgpath. Tiles are loaded by preload from a heatmap of an earlier run
+ * (GridHeatmap), typically before a server accepts requests:
+ * <pre>
+ * GridTileCache.preload(GridHeatmap.read(new File("ncat.heatmap")), 256, 0, 4);
+ * </pre>
+ * A tile holds the cells of a GridHeatmap tile plus HALO rows and columns of
+ * the next tiles, so that any block starting in the tile is served from it. A
+ * grid can also be held whole. The cells are kept as stored in the file and
+ * decoded in its byte order, so a block read from a tile is identical to one
+ * read from the file. The header of each grid with tiles is held as well, so a
+ * block served from a tile opens no grid file.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public final class GridTileCache {
+
+    private final static Logger logger = Logger.getLogger(GridTileCache.class);
+    public static final int HALO = 3;
+    private static final int WHOLE = -1;
+    private static final Counter HITS = Metrics.counter("grid.cacheHit");
+
+    // grid file path -> tile key (or WHOLE) -> tile
+    private static final ConcurrentMap<String, ConcurrentMap<Integer, Tile>> tiles = new ConcurrentHashMap<>();
+    // grid file path -> header
+    private static final ConcurrentMap<String, Header> headers = new ConcurrentHashMap<>();
+    private static final AtomicLong bytes = new AtomicLong();
+
+    private GridTileCache() {
+    }
+
+    /**
+     * cells of rows r0..r0+rows-1 and columns c0..c0+cols-1 of a grid
+     */
+    static final class Tile {
+
+        private final int r0;
+        private final int c0;
+        private final int rows;
+        private final int cols;
+        private final int cellSize;
+        private final ByteBuffer data;
+
+        Tile(int r0, int c0, int rows, int cols, int cellSize, ByteOrder order) {
+            this.r0 = r0;
+            this.c0 = c0;
+            this.rows = rows;
+            this.cols = cols;
+            this.cellSize = cellSize;
+            this.data = ByteBuffer.allocate(rows * cols * cellSize).order(order);
+        }
+
+        boolean contains(int row, int col, int numRows, int numCols) {
+            return row >= r0 && col >= c0 && row + numRows <= r0 + rows && col + numCols <= c0 + cols;
+        }
+
+        /**
+         * returns a block of numRows x numCols cells
+         *
+         * @param row first grid row
+         * @param col first grid column
+         * @param numRows number of rows
+         * @param numCols number of columns
+         * @return cells, row by row
+         */
+        double[] getCells(int row, int col, int numRows, int numCols) {
+            double[] block = new double[numRows * numCols];
+            int k = 0;
+            for (int j = 0; j < numRows; j++) {
+                int pos = ((row - r0 + j) * cols + col - c0) * cellSize;
+                for (int i = 0; i < numCols; i++, pos += cellSize) {
+                    block[k++] = cellSize == 4 ? data.getFloat(pos) : data.getShort(pos);
+                }
+            }
+            return block;
+        }
+    }
+
+    /**
+     * the header of a grid with tiles, copied so that the cache holds no
+     * buffer of the grid source
+     */
+    static final class Header implements GridHeader {
+
+        private final double minlat;
+        private final double minlon;
+        private final double dlat;
+        private final double dlon;
+        private final int height;
+        private final int width;
+        private final int ikind;
+
+        Header(GridHeader h) {
+            this.minlat = h.getMinlat();
+            this.minlon = h.getMinlon();
+            this.dlat = h.getDlat();
+            this.dlon = h.getDlon();
+            this.height = h.getHeight();
+            this.width = h.getWidth();
+            this.ikind = h.getIkind();
+        }
+
+        @Override
+        public double getMinlat() {
+            return minlat;
+        }
+
+        @Override
+        public double getMinlon() {
+            return minlon;
+        }
+
+        @Override
+        public double getDlat() {
+            return dlat;
+        }
+
+        @Override
+        public double getDlon() {
+            return dlon;
+        }
+
+        @Override
+        public int getHeight() {
+            return height;
+        }
+
+        @Override
+        public int getWidth() {
+            return width;
+        }
+
+        @Override
+        public int getIkind() {
+            return ikind;
+        }
+    }
+
+    /**
+     * returns the header of a grid with tiles in memory
+     *
+     * @param gridPath grid file path
+     * @return header, or null if no tile of the grid is in memory
+     */
+    static GridHeader getHeader(String gridPath) {
+        if (headers.isEmpty() || gridPath == null) {
+            return null;
+        }
+        return headers.get(gridPath);
+    }
+
+    /**
+     * returns the tile holding a block of a grid
+     *
+     * @param gridPath grid file path
+     * @param row first row of the block
+     * @param col first column of the block
+     * @param numRows rows in the block
+     * @param numCols columns in the block
+     * @return tile, or null if the block is not in memory
+     */
+    static Tile get(String gridPath, int row, int col, int numRows, int numCols) {
+        if (tiles.isEmpty() || gridPath == null) {
+            return null;
+        }
+        Map<Integer, Tile> grid = tiles.get(gridPath);
+        if (grid == null) {
+            return null;
+        }
+        Tile t = grid.get(key(row / GridHeatmap.TILE, col / GridHeatmap.TILE));
+        if (t == null || !t.contains(row, col, numRows, numCols)) {
+            t = grid.get(WHOLE);
+        }
+        if (t != null) {
+            HITS.increment();
+        }
+        return t;
+    }
+
+    private static int key(int tileRow, int tileCol) {
+        return tileRow << 16 | tileCol;
+    }
+
+    /**
+     * loads the hottest grids whole and the hottest tiles of the other grids
+     * in parallel
+     *
+     * @param heatmap tiles, hottest first
+     * @param maxTiles most tiles to load
+     * @param maxGrids most grids to load whole
+     * @param threads number of threads reading grids
+     * @return number of tiles and grids loaded
+     */
+    public static int preload(List<GridHeatmap.Tile> heatmap, int maxTiles, int maxGrids, int threads) {
+        long start = System.nanoTime();
+        // grids by total count
+        Map<String, Long> totals = new LinkedHashMap<>();
+        for (GridHeatmap.Tile t : heatmap) {
+            totals.merge(t.getGrid(), t.getCount(), Long::sum);
+        }
+        Set<String> whole = new LinkedHashSet<>();
+        totals.entrySet().stream().sorted((a, b) -> Long.compare(b.getValue(), a.getValue()))
+                .limit(maxGrids).forEach(e -> whole.add(e.getKey()));
+
+        List<Callable<Boolean>> loads = new ArrayList<>();
+        for (String grid : whole) {
+            loads.add(() -> load(grid, WHOLE, WHOLE));
+        }
+        int n = 0;
+        for (GridHeatmap.Tile t : heatmap) {
+            if (n == maxTiles) {
+                break;
+            }
+            if (!whole.contains(t.getGrid())) {
+                loads.add(() -> load(t.getGrid(), t.getRow(), t.getCol()));
+                n++;
+            }
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "GridTileCache");
+            t.setDaemon(true);
+            return t;
+        });
+        int loaded = 0;
+        try {
+            for (Future<Boolean> f : pool.invokeAll(loads)) {
+                loaded += f.get() ? 1 : 0;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            logger.error("Unable to preload grids", ex.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        logger.info("Preloaded " + loaded + " grid tiles, " + bytes.get() + " bytes in "
+                + (System.nanoTime() - start) / 1000000 + " ms");
+        return loaded;
+    }
+
+    /**
+     * reads a tile, or the whole grid if tileRow is WHOLE, into memory
+     *
+     * @return true if loaded
+     */
+    private static boolean load(String grid, int tileRow, int tileCol) {
+        Properties gridDef = getGridDef(grid);
+        PreloadedGridSource preloaded = gridDef == null ? null : GridManager.getDefaultSource(gridDef);
+        // tiles are read from the grid location, not from other tiles
+        GridSource source = preloaded == null ? null : preloaded.getBase();
+        String gridPath = getGridPath(grid);
+        if (source == null || !source.exists(grid)) {
+            logger.warn("Not preloading " + grid + ": grid file not found");
+            return false;
+        }
+        try {
+            GridHeader header = source.header(grid);
+            ByteBuffer file = source.bulkRead(grid);
+            int height = header.getHeight();
+            int width = header.getWidth();
+            int ikind = header.getIkind();
+            int cellSize = (ikind == 0 || ikind == 1) ? 4 : 2;
+            int drLen = (width + 2) * cellSize;
+
+            int r0 = tileRow == WHOLE ? 0 : tileRow * GridHeatmap.TILE;
+            int c0 = tileCol == WHOLE ? 0 : tileCol * GridHeatmap.TILE;
+            if (r0 >= height || c0 >= width) {
+                logger.warn("Not preloading " + grid + " tile " + tileRow + "," + tileCol + ": outside of grid");
+                return false;
+            }
+            int rows = tileRow == WHOLE ? height : Math.min(GridHeatmap.TILE + HALO, height - r0);
+            int cols = tileCol == WHOLE ? width : Math.min(GridHeatmap.TILE + HALO, width - c0);
+            Tile t = new Tile(r0, c0, rows, cols, cellSize, file.order());
+            for (int j = 0; j < rows; j++) {
+                file.position(GridHeader.HEADER_LEN + (r0 + j) * drLen + (c0 + 1) * cellSize);
+                file.get(t.data.array(), j * cols * cellSize, cols * cellSize);
+            }
+            int key = tileRow == WHOLE ? WHOLE : key(tileRow, tileCol);
+            headers.putIfAbsent(gridPath, new Header(header));
+            if (tiles.computeIfAbsent(gridPath, g -> new ConcurrentHashMap<>()).put(key, t) == null) {
+                bytes.addAndGet(t.data.capacity());
+            }
+            return true;
+        } catch (IOException | NumberFormatException ex) {
+            logger.error("Unable to preload grid " + gridPath, ex);
+            return false;
+        }
+    }
+
+    /**
+     * returns the path of a grid file the way GridManager resolves it, the
+     * key of the tiles of the grid
+     *
+     * @param grid grid file name
+     * @return grid file path, or null if the grid is neither nadcon nor vertcon
+     */
+    static String getGridPath(String grid) {
+        Properties gridDef = getGridDef(grid);
+        if (gridDef == null) {
+            return null;
+        }
+        return PreloadedGridSource.getGridPath(GridManager.getLocation(gridDef), grid);
+    }
+
+    private static Properties getGridDef(String grid) {
+        for (Properties def : new Properties[]{GridManager.getNadconDef(), GridManager.getVertconDef()}) {
+            if (grid.startsWith(def.getProperty("gridfile.prefix", "") + ".")) {
+                return def;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * returns the number of grid bytes held in memory
+     *
+     * @return bytes
+     */
+    public static long getSize() {
+        return bytes.get();
+    }
+
+    /**
+     * drops all tiles
+     */
+    public static void clear() {
+        tiles.clear();
+        headers.clear();
+        bytes.set(0);
+    }
+}
@@ -0,0 +1,467 @@
+package gov.noaa.ngs.grid;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.log4j.Logger;
+
+/**
+ * A grid decoded whole into a float[], so that Nadcon and Vertcon return its
+ * blocks by array indexing without any I/O. preload decodes every configured
+ * grid of the given regions on a thread pool, typically at server start-up:
+ * <pre>
+ * HeapGrid.preload(GridManager.NADCON, new String[]{"Conus", "Alaska"}, 8);
+ * System.err.print(HeapGrid.getReport());
+ * </pre>
+ * Short grids (ikind 2) are held as short[] and float grids as float[], both
+ * exactly, so blocks are identical to those read from the file.
+ * <p>
+ * With a maxError, float grids are quantized to 16 bits as well, halving their
+ * memory: value = offset + q * scale, with the scale and offset of the grid
+ * spanning its range, and MISSING_DATA_INDICATOR kept as the code MISSING_Q.
+ * The largest difference from the float cells is measured when quantizing; a
+ * grid whose difference exceeds maxError stays float. Cells are decoded as a
+ * block is gathered for interpolation.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public final class HeapGrid implements GridHeader {
+
+    private final static Logger logger = Logger.getLogger(HeapGrid.class);
+    public static final String ALL = "all";
+    public static final short MISSING_Q = Short.MIN_VALUE;
+    private static final int Q_RANGE = 65534; // codes -32767..32767
+
+    // grid file path -> grid
+    private static final ConcurrentMap<String, HeapGrid> grids = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final double minlat;
+    private final double minlon;
+    private final double dlat;
+    private final double dlon;
+    private final int height;
+    private final int width;
+    private final int ikind;
+    private float[] cells;
+    private short[] shorts;     // cells of short and quantized grids
+    private double scale = 1.0;
+    private double offset;
+    private boolean quantized;  // shorts hold codes, MISSING_Q is missing
+    private double maxError;
+    private long loadTime;
+
+    private HeapGrid(String name, double minlat, double minlon, double dlat, double dlon,
+            int height, int width, int ikind) {
+        this.name = name;
+        this.minlat = minlat;
+        this.minlon = minlon;
+        this.dlat = dlat;
+        this.dlon = dlon;
+        this.height = height;
+        this.width = width;
+        this.ikind = ikind;
+        if (getCellSize() == 4) {
+            this.cells = new float[height * width];
+        } else {
+            this.shorts = new short[height * width];
+        }
+    }
+
+    /**
+     * decodes a grid of a source
+     *
+     * @param source grid source
+     * @param grid grid file name
+     * @return grid
+     * @throws IOException if unable to read the grid
+     */
+    static HeapGrid read(GridSource source, String grid) throws IOException {
+        long start = System.nanoTime();
+        HeapGrid g = decode(grid, source.bulkRead(grid));
+        g.loadTime = System.nanoTime() - start;
+        return g;
+    }
+
+    /**
+     * decodes the grid file held by a buffer from its position to its limit
+     */
+    private static HeapGrid decode(String name, ByteBuffer buf) throws IOException {
+        buf = buf.slice();
+        // same byte order detection as the grid readers
+        buf.order(ByteOrder.BIG_ENDIAN);
+        if (Math.abs(buf.getInt(44)) > 2) {
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+        }
+        HeapGrid g = new HeapGrid(name, buf.getDouble(4), buf.getDouble(12), buf.getDouble(20),
+                buf.getDouble(28), buf.getInt(36), buf.getInt(40), buf.getInt(44));
+        int cellSize = g.getCellSize();
+        int rowLen = g.width + 2;
+        if ((long) HEADER_LEN + (long) g.height * rowLen * cellSize > buf.capacity()) {
+            throw new IOException("Grid file " + name + " is shorter than its header describes");
+        }
+        buf.position(HEADER_LEN);
+        // each row is a record of width cells between two pad cells
+        if (cellSize == 4) {
+            FloatBuffer fb = buf.slice().order(buf.order()).asFloatBuffer();
+            for (int r = 0; r < g.height; r++) {
+                fb.position(r * rowLen + 1);
+                fb.get(g.cells, r * g.width, g.width);
+            }
+        } else {
+            ShortBuffer sb = buf.slice().order(buf.order()).asShortBuffer();
+            for (int r = 0; r < g.height; r++) {
+                sb.position(r * rowLen + 1);
+                sb.get(g.shorts, r * g.width, g.width);
+            }
+        }
+        return g;
+    }
+
+    /**
+     * returns a block of rows x cols cells
+     *
+     * @param row first row
+     * @param col first column
+     * @param rows number of rows
+     * @param cols number of columns
+     * @return cells, row by row
+     */
+    public double[] getCells(int row, int col, int rows, int cols) {
+        double[] block = new double[rows * cols];
+        int k = 0;
+        for (int j = 0; j < rows; j++) {
+            int idx = (row + j) * width + col;
+            if (cells != null) {
+                for (int i = 0; i < cols; i++) {
+                    block[k++] = cells[idx + i];
+                }
+            } else if (!quantized) {
+                for (int i = 0; i < cols; i++) {
+                    block[k++] = shorts[idx + i];
+                }
+            } else {
+                for (int i = 0; i < cols; i++) {
+                    short q = shorts[idx + i];
+                    block[k++] = q == MISSING_Q ? GridManager.MISSING_DATA_INDICATOR : offset + q * scale;
+                }
+            }
+        }
+        return block;
+    }
+
+    /**
+     * quantizes the cells of a float grid to 16 bits if no cell changes by
+     * more than maxError
+     *
+     * @param maxError largest difference allowed, in the units of the grid
+     * @return true if quantized
+     */
+    public boolean quantize(double maxError) {
+        if (cells == null) {
+            return false;
+        }
+        long start = System.nanoTime();
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (float v : cells) {
+            if (v != GridManager.MISSING_DATA_INDICATOR) {
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+        }
+        if (min > max) { // all missing
+            min = max = 0;
+        }
+        double s = max > min ? (max - min) / Q_RANGE : 1.0;
+        double o = min + (Q_RANGE / 2) * s;
+        short[] q = new short[cells.length];
+        double err = 0;
+        for (int i = 0; i < cells.length; i++) {
+            float v = cells[i];
+            if (v == GridManager.MISSING_DATA_INDICATOR) {
+                q[i] = MISSING_Q;
+            } else {
+                long c = Math.round((v - o) / s);
+                q[i] = (short) Math.max(-Q_RANGE / 2, Math.min(Q_RANGE / 2, c));
+                err = Math.max(err, Math.abs(o + q[i] * s - v));
+            }
+        }
+        if (!(err <= maxError)) {
+            logger.debug("Not quantizing " + name + ": error " + err + " > " + maxError);
+            return false;
+        }
+        shorts = q;
+        cells = null;
+        scale = s;
+        offset = o;
+        quantized = true;
+        this.maxError = err;
+        loadTime += System.nanoTime() - start;
+        return true;
+    }
+
+    /**
+     * returns whether the float cells are quantized
+     *
+     * @return true=quantized
+     */
+    public boolean isQuantized() {
+        return quantized;
+    }
+
+    /**
+     * returns the largest difference of a quantized cell from the float cell
+     *
+     * @return largest difference, 0 if not quantized
+     */
+    public double getMaxError() {
+        return maxError;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public double getMinlat() {
+        return minlat;
+    }
+
+    @Override
+    public double getMinlon() {
+        return minlon;
+    }
+
+    @Override
+    public double getDlat() {
+        return dlat;
+    }
+
+    @Override
+    public double getDlon() {
+        return dlon;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getIkind() {
+        return ikind;
+    }
+
+    /**
+     * returns the size of a cell in the grid file
+     *
+     * @return 4 for float grids, 2 for short grids
+     */
+    public int getCellSize() {
+        return (ikind == 0 || ikind == 1) ? 4 : 2;
+    }
+
+    /**
+     * returns the heap used by the cells
+     *
+     * @return bytes
+     */
+    public long getBytes() {
+        return cells != null ? 4L * cells.length : 2L * shorts.length;
+    }
+
+    /**
+     * returns the time taken to read, decode and quantize the grid
+     *
+     * @return milliseconds
+     */
+    public double getLoadMillis() {
+        return loadTime / 1e6;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %dx%d %d bytes %.1f ms", name, height, width, getBytes(), getLoadMillis())
+                + (quantized ? String.format(" q16 maxError=%.3g", maxError) : "");
+    }
+
+    /**
+     * returns whether any grid is preloaded
+     *
+     * @return true if a grid is preloaded
+     */
+    public static boolean isLoaded() {
+        return !grids.isEmpty();
+    }
+
+    /**
+     * returns the preloaded grid of a file
+     *
+     * @param gridPath grid file path
+     * @return grid, or null if not preloaded
+     */
+    static HeapGrid get(String gridPath) {
+        return gridPath == null ? null : grids.get(gridPath);
+    }
+
+    /**
+     * decodes every grid of the given regions that exists, for each pair of
+     * consecutive datums, parameter and type, in parallel
+     *
+     * @param gridName GridManager.NADCON or GridManager.VERTCON
+     * @param regions regions from the regions property, or ALL
+     * @param threads number of threads decoding grids
+     * @return grids loaded
+     */
+    public static List<HeapGrid> preload(String gridName, String[] regions, int threads) {
+        return preload(gridName, regions, threads, 0);
+    }
+
+    /**
+     * decodes every grid of the given regions that exists like
+     * preload(gridName, regions, threads), quantizing float grids to 16 bits
+     * where no cell changes by more than maxError
+     *
+     * @param gridName GridManager.NADCON or GridManager.VERTCON
+     * @param regions regions from the regions property, or ALL
+     * @param threads number of threads decoding grids
+     * @param maxError largest quantization error allowed; 0 keeps float grids
+     * @return grids loaded
+     */
+    public static List<HeapGrid> preload(String gridName, String[] regions, int threads, double maxError) {
+        long start = System.nanoTime();
+        Properties gridDef = gridName.equalsIgnoreCase(GridManager.NADCON)
+                ? GridManager.getNadconDef() : GridManager.getVertconDef();
+        String location = GridManager.getLocation(gridDef);
+        PreloadedGridSource preloaded = GridManager.getDefaultSource(gridDef);
+        if (preloaded == null) {
+            return new ArrayList<>();
+        }
+        GridSource source = preloaded.getBase();
+        Set<String> files = new LinkedHashSet<>();
+        for (String region : gridDef.getProperty("regions", "").split(",")) {
+            if (!selected(region, regions)) {
+                continue;
+            }
+            String[] datums = gridDef.getProperty(region + ".datum", "").split(",");
+            for (int i = 0; i + 1 < datums.length; i++) {
+                for (String parm : gridDef.getProperty("grid.parms", "").split(",")) {
+                    for (String type : gridDef.getProperty("grid.types", "").split(",")) {
+                        files.add(GridManager.getInstance(region, datums[i], datums[i + 1], parm, type,
+                                gridName).getGridFile());
+                    }
+                }
+            }
+        }
+        List<Callable<HeapGrid>> loads = new ArrayList<>();
+        for (String grid : files) {
+            if (source.exists(grid)) {
+                loads.add(() -> {
+                    HeapGrid g = read(source, grid);
+                    if (maxError > 0) {
+                        g.quantize(maxError);
+                    }
+                    grids.put(PreloadedGridSource.getGridPath(location, grid), g);
+                    logger.debug("Loaded grid " + g);
+                    return g;
+                });
+            }
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "HeapGrid");
+            t.setDaemon(true);
+            return t;
+        });
+        List<HeapGrid> loaded = new ArrayList<>();
+        try {
+            for (Future<HeapGrid> f : pool.invokeAll(loads)) {
+                try {
+                    loaded.add(f.get());
+                } catch (ExecutionException ex) {
+                    logger.error("Unable to preload grid", ex.getCause());
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
+        }
+        long bytes = 0;
+        for (HeapGrid g : loaded) {
+            bytes += g.getBytes();
+        }
+        logger.info("Preloaded " + loaded.size() + " " + gridName + " grids, " + bytes + " bytes in "
+                + (System.nanoTime() - start) / 1000000 + " ms");
+        return loaded;
+    }
+
+    private static boolean selected(String region, String[] regions) {
+        for (String r : regions) {
+            if (r.trim().equalsIgnoreCase(ALL) || r.trim().equalsIgnoreCase(region)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * returns the preloaded grids, a line each with its size and load time,
+     * and a total
+     *
+     * @return report
+     */
+    public static String getReport() {
+        StringBuilder s = new StringBuilder();
+        Map<String, HeapGrid> sorted = new TreeMap<>();
+        for (HeapGrid g : grids.values()) {
+            sorted.put(g.name, g);
+        }
+        for (HeapGrid g : sorted.values()) {
+            s.append(g).append('\n');
+        }
+        s.append("total ").append(sorted.size()).append(" grids ").append(getSize()).append(" bytes\n");
+        return s.toString();
+    }
+
+    /**
+     * returns the heap used by all preloaded grids
+     *
+     * @return bytes
+     */
+    public static long getSize() {
+        long bytes = 0;
+        for (HeapGrid g : grids.values()) {
+            bytes += g.getBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * drops all preloaded grids
+     */
+    public static void clear() {
+        grids.clear();
+    }
+}
@@ -0,0 +1,91 @@
+package gov.noaa.ngs.grid;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Grid files held in byte arrays, as stored on disk. copyOf fills one from a
+ * slower source, so the grids in use are served from memory while the others
+ * stay where they are.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public final class MemoryGridSource extends BufferGridSource {
+
+    // grid file name -> grid file
+    private final ConcurrentMap<String, byte[]> files = new ConcurrentHashMap<>();
+    private final AtomicLong bytes = new AtomicLong();
+
+    /**
+     * copies grids of another source
+     *
+     * @param from source to copy from
+     * @param grids grid file names; grids from does not have are skipped
+     * @return source holding the copied grids
+     * @throws IOException if unable to read a grid of from
+     */
+    public static MemoryGridSource copyOf(GridSource from, Collection<String> grids) throws IOException {
+        MemoryGridSource source = new MemoryGridSource();
+        for (String grid : grids) {
+            if (from.exists(grid)) {
+                ByteBuffer buf = from.bulkRead(grid);
+                byte[] file = new byte[buf.remaining()];
+                buf.get(file);
+                source.put(grid, file);
+            }
+        }
+        return source;
+    }
+
+    /**
+     * adds or replaces a grid
+     *
+     * @param grid grid file name
+     * @param file grid file; not copied, so not to be changed afterwards
+     */
+    public void put(String grid, byte[] file) {
+        byte[] prev = files.put(grid, file);
+        bytes.addAndGet(file.length - (prev == null ? 0 : prev.length));
+        evict(grid);
+    }
+
+    /**
+     * removes a grid
+     *
+     * @param grid grid file name
+     */
+    public void remove(String grid) {
+        byte[] prev = files.remove(grid);
+        if (prev != null) {
+            bytes.addAndGet(-prev.length);
+        }
+        evict(grid);
+    }
+
+    /**
+     * @return bytes held
+     */
+    public long getSize() {
+        return bytes.get();
+    }
+
+    @Override
+    protected boolean contains(String grid) {
+        return files.containsKey(grid);
+    }
+
+    @Override
+    protected ByteBuffer open(String grid) {
+        byte[] file = files.get(grid);
+        return file == null ? null : ByteBuffer.wrap(file);
+    }
+
+    @Override
+    public String toString() {
+        return "grids in memory (" + files.size() + " grids, " + bytes.get() + " bytes)";
+    }
+}
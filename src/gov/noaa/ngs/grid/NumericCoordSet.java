@@ -0,0 +1,626 @@
+package gov.noaa.ngs.grid;
+
+import static gov.noaa.ngs.grid.Nutil.MET2IFT;
+import static gov.noaa.ngs.grid.Nutil.MET2USFT;
+import gov.noaa.ngs.transform.CoordinateTransformation;
+import gov.noaa.ngs.transform.DecimalFormatter;
+
+/**
+ * A coordinate set that keeps transformed and converted coordinates as
+ * primitive doubles and renders the string views only when a getter is called.
+ * Values are rounded to the precision of their text in the transformation and
+ * projection results (DecimalFormatter.round), so getters return the same text
+ * as those results formatted by the CoordSet conventions. A string set through
+ * a CoordSet setter takes precedence over the numeric value.
+ * <p>
+ * Missing values are held as NaN and rendered as "N/A". Instances are created
+ * by Nutil.transformNumeric (and Nutil.transform) and completed by
+ * Nutil.getNumericCoordSet; Nutil.getCoordSet copies their text into a plain
+ * CoordSet.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public class NumericCoordSet extends CoordSet {
+
+    private static final long serialVersionUID = 1L;
+    private static final String NA = "N/A";
+    // state of the horizontal and vertical transformation
+    public static final byte NONE = 0;          //not available; destination is N/A
+    public static final byte SAME = 1;          //same datum; destination is a copy of the source
+    public static final byte TRANSFORMED = 2;   //transformed
+    public static final byte NOT_REQUESTED = 3; //vertical only; no orthometric height given
+    // numeric values in the order of getColumns and setColumns; spc northing
+    // and easting are in zone units
+    static final String[] COLUMNS = {"srcLat", "srcLon", "srcEht", "srcOrthoht", "destLat", "destLon",
+        "destEht", "destOrthoht", "sigLat", "sigLon", "sigEht", "sigOrthoht", "deltaLat", "deltaLon",
+        "sigLat_m", "sigLon_m", "spcNorthing", "spcEasting", "spcConvergence", "spcScaleFactor",
+        "spcCombinedFactor", "utmNorthing", "utmEasting", "utmConvergence", "utmScaleFactor",
+        "utmCombinedFactor", "x", "y", "z"};
+
+    private byte horizontalState;
+    private byte verticalState = NOT_REQUESTED;
+    private double srcLat;
+    private double srcLon;
+    private double srcEht = Double.NaN;
+    private double srcOrthoht = Double.NaN;
+    private double destLat = Double.NaN;
+    private double destLon = Double.NaN;    //-ve west
+    private double destEht = Double.NaN;
+    private double destOrthoht = Double.NaN;
+    private double sigLat = Double.NaN;     //arcsec
+    private double sigLon = Double.NaN;     //arcsec
+    private double sigEht = Double.NaN;
+    private double sigOrthoht = Double.NaN;
+    private double deltaLat = Double.NaN;   //meters
+    private double deltaLon = Double.NaN;   //meters
+    private double sigLatM = Double.NaN;
+    private double sigLonM = Double.NaN;
+    private double spcNorthing = Double.NaN; //zone units
+    private double spcEasting = Double.NaN;
+    private boolean spcFeet;                  //true=zone units are US survey feet
+    private double spcConvergence = Double.NaN; //degrees
+    private double spcScaleFactor = Double.NaN;
+    private byte spcScaleFactorDigits;
+    private double spcCombinedFactor = Double.NaN;
+    private double utmNorthing = Double.NaN;
+    private double utmEasting = Double.NaN;
+    private double utmConvergence = Double.NaN; //degrees
+    private double utmScaleFactor = Double.NaN;
+    private byte utmScaleFactorDigits;
+    private double utmCombinedFactor = Double.NaN;
+    private double x = Double.NaN;
+    private double y = Double.NaN;
+    private double z = Double.NaN;
+
+    public NumericCoordSet() {
+    }
+
+    /**
+     * sets the source coordinate
+     *
+     * @param lat latitude
+     * @param lon longitude
+     * @param eht ellipsoid height or NaN
+     */
+    void setSource(double lat, double lon, double eht) {
+        srcLat = lat;
+        srcLon = lon;
+        srcEht = eht;
+    }
+
+    /**
+     * sets the result of the horizontal transformation
+     *
+     * @param state NONE, SAME or TRANSFORMED
+     * @param lat latitude
+     * @param sigLat latitude error in arcsec
+     * @param lon longitude (-ve west)
+     * @param sigLon longitude error in arcsec
+     * @param eht ellipsoid height or NaN
+     * @param sigEht ellipsoid height error or NaN
+     */
+    void setHorizontal(byte state, double lat, double sigLat, double lon, double sigLon, double eht, double sigEht) {
+        horizontalState = state;
+        destLat = lat;
+        this.sigLat = sigLat;
+        destLon = lon;
+        this.sigLon = sigLon;
+        destEht = eht;
+        this.sigEht = sigEht;
+    }
+
+    /**
+     * sets the transformation shift and error estimates in meters
+     */
+    void setLinear(double deltaLat, double deltaLon, double sigLatM, double sigLonM) {
+        this.deltaLat = deltaLat;
+        this.deltaLon = deltaLon;
+        this.sigLatM = sigLatM;
+        this.sigLonM = sigLonM;
+    }
+
+    /**
+     * sets the result of the vertical transformation
+     *
+     * @param state NOT_REQUESTED, NONE, SAME or TRANSFORMED
+     * @param src source orthometric height
+     * @param dest destination orthometric height or NaN
+     * @param sig error or NaN
+     */
+    void setVertical(byte state, double src, double dest, double sig) {
+        verticalState = state;
+        srcOrthoht = src;
+        destOrthoht = dest;
+        sigOrthoht = sig;
+    }
+
+    void setSpc(double northing, double easting, boolean feet, double convergence,
+            double scaleFactor, int scaleFactorDigits, double combinedFactor) {
+        spcNorthing = northing;
+        spcEasting = easting;
+        spcFeet = feet;
+        spcConvergence = convergence;
+        spcScaleFactor = scaleFactor;
+        spcScaleFactorDigits = (byte) scaleFactorDigits;
+        spcCombinedFactor = combinedFactor;
+    }
+
+    void setUtm(double northing, double easting, double convergence,
+            double scaleFactor, int scaleFactorDigits, double combinedFactor) {
+        utmNorthing = northing;
+        utmEasting = easting;
+        utmConvergence = convergence;
+        utmScaleFactor = scaleFactor;
+        utmScaleFactorDigits = (byte) scaleFactorDigits;
+        utmCombinedFactor = combinedFactor;
+    }
+
+    void setXyz(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    /**
+     * returns the destination coordinate as read back from its text, or the
+     * source coordinate if there is no destination; same as
+     * Nutil.getDestCoord
+     *
+     * @param specialCase international coordinate; fall back to source height
+     * @return lat, lon, eht (NaN if not available)
+     */
+    public double[] getDestCoord(boolean specialCase) {
+        double[] coord = new double[3];
+        boolean transformed = horizontalState == TRANSFORMED;
+        coord[0] = DecimalFormatter.round(transformed ? destLat : srcLat, 10);
+        coord[1] = DecimalFormatter.round(transformed ? destLon : srcLon, 10);
+        double eht = transformed ? destEht : horizontalState == SAME ? srcEht : Double.NaN;
+        if (Double.isNaN(eht) && specialCase) {
+            eht = srcEht;
+        }
+        coord[2] = DecimalFormatter.round(eht, 3);
+        return coord;
+    }
+
+    public byte getHorizontalState() {
+        return horizontalState;
+    }
+
+    public byte getVerticalState() {
+        return verticalState;
+    }
+
+    public double getSrcLatValue() {
+        return srcLat;
+    }
+
+    public double getSrcLonValue() {
+        return srcLon;
+    }
+
+    public double getSrcEhtValue() {
+        return srcEht;
+    }
+
+    public double getDestLatValue() {
+        return horizontalState == SAME ? srcLat : destLat;
+    }
+
+    public double getDestLonValue() {
+        return horizontalState == SAME ? srcLon : destLon;
+    }
+
+    public double getDestEhtValue() {
+        return horizontalState == SAME ? srcEht : destEht;
+    }
+
+    /**
+     * returns latitude and longitude transformation errors in arcsec
+     *
+     * @return errors or NaN if not transformed
+     */
+    public double[] getSigValues() {
+        return new double[]{sigLat, sigLon};
+    }
+
+    public double getDestOrthohtValue() {
+        return verticalState == SAME ? srcOrthoht : destOrthoht;
+    }
+
+    /**
+     * returns the spc northing in meters
+     *
+     * @return northing or NaN
+     */
+    public double getSpcNorthingValue() {
+        return spcFeet ? spcNorthing * MET2USFT : spcNorthing;
+    }
+
+    /**
+     * returns the spc easting in meters
+     *
+     * @return easting or NaN
+     */
+    public double getSpcEastingValue() {
+        return spcFeet ? spcEasting * MET2USFT : spcEasting;
+    }
+
+    public double getUtmNorthingValue() {
+        return utmNorthing;
+    }
+
+    public double getUtmEastingValue() {
+        return utmEasting;
+    }
+
+    public double getXValue() {
+        return x;
+    }
+
+    public double getYValue() {
+        return y;
+    }
+
+    public double getZValue() {
+        return z;
+    }
+
+    /**
+     * copies the numeric values in COLUMNS order
+     *
+     * @param v array of COLUMNS.length values
+     */
+    void getColumns(double[] v) {
+        v[0] = srcLat;
+        v[1] = srcLon;
+        v[2] = srcEht;
+        v[3] = srcOrthoht;
+        v[4] = destLat;
+        v[5] = destLon;
+        v[6] = destEht;
+        v[7] = destOrthoht;
+        v[8] = sigLat;
+        v[9] = sigLon;
+        v[10] = sigEht;
+        v[11] = sigOrthoht;
+        v[12] = deltaLat;
+        v[13] = deltaLon;
+        v[14] = sigLatM;
+        v[15] = sigLonM;
+        v[16] = spcNorthing;
+        v[17] = spcEasting;
+        v[18] = spcConvergence;
+        v[19] = spcScaleFactor;
+        v[20] = spcCombinedFactor;
+        v[21] = utmNorthing;
+        v[22] = utmEasting;
+        v[23] = utmConvergence;
+        v[24] = utmScaleFactor;
+        v[25] = utmCombinedFactor;
+        v[26] = x;
+        v[27] = y;
+        v[28] = z;
+    }
+
+    /**
+     * restores the numeric values and transformation states
+     *
+     * @param v values in COLUMNS order
+     * @param horizontal horizontal state
+     * @param vertical vertical state
+     * @param spcFeet true=spc values are in US survey feet
+     * @param spcDigits digits of the spc scale factor
+     * @param utmDigits digits of the utm scale factor
+     */
+    void setColumns(double[] v, byte horizontal, byte vertical, boolean spcFeet, int spcDigits, int utmDigits) {
+        setSource(v[0], v[1], v[2]);
+        setHorizontal(horizontal, v[4], v[8], v[5], v[9], v[6], v[10]);
+        setVertical(vertical, v[3], v[7], v[11]);
+        setLinear(v[12], v[13], v[14], v[15]);
+        setSpc(v[16], v[17], spcFeet, v[18], v[19], spcDigits, v[20]);
+        setUtm(v[21], v[22], v[23], v[24], utmDigits, v[25]);
+        setXyz(v[26], v[27], v[28]);
+    }
+
+    boolean isSpcFeet() {
+        return spcFeet;
+    }
+
+    int getSpcScaleFactorDigits() {
+        return spcScaleFactorDigits;
+    }
+
+    int getUtmScaleFactorDigits() {
+        return utmScaleFactorDigits;
+    }
+
+    private static String fixed(double v, int precision) {
+        return Double.isNaN(v) ? NA : DecimalFormatter.format(v, precision);
+    }
+
+    private static String grouped(double v) {
+        return Double.isNaN(v) ? NA : DecimalFormatter.formatGrouped(v, 3);
+    }
+
+    private static String dms(double v) {
+        return Double.isNaN(v) ? NA : Nutil.toDMS(v);
+    }
+
+    /**
+     * renders a destination field of the horizontal transformation
+     *
+     * @param transformed text if transformed
+     * @param same text if source and destination datums are the same
+     */
+    private String horizontal(String transformed, String same) {
+        return horizontalState == TRANSFORMED ? transformed : horizontalState == SAME ? same : NA;
+    }
+
+    private boolean hasSpc() {
+        return super.getSpcZone() != null && !NA.equals(super.getSpcZone());
+    }
+
+    private boolean hasUtm() {
+        return super.getUtmZone() != null && !NA.equals(super.getUtmZone());
+    }
+
+    private String spc(String value) {
+        return hasSpc() ? value : NA;
+    }
+
+    private String utm(String value) {
+        return hasUtm() ? value : NA;
+    }
+
+    /**
+     * renders a northing or easting of a zone; a NaN projection result (e.g.
+     * of a zero radius) prints as "NaN" like the text of the projection
+     */
+    private static String projected(double v) {
+        return DecimalFormatter.formatGrouped(v, 3);
+    }
+
+    @Override
+    public String getSrcLat() {
+        String s = super.getSrcLat();
+        return s != null ? s : fixed(srcLat, 10);
+    }
+
+    @Override
+    public String getSrcLatDms() {
+        String s = super.getSrcLatDms();
+        return s != null ? s : CoordinateTransformation.toDMS(srcLat, true);
+    }
+
+    @Override
+    public String getSrcLon() {
+        String s = super.getSrcLon();
+        return s != null ? s : fixed(srcLon, 10);
+    }
+
+    @Override
+    public String getSrcLonDms() {
+        String s = super.getSrcLonDms();
+        return s != null ? s : CoordinateTransformation.toDMS(srcLon, false);
+    }
+
+    @Override
+    public String getSrcEht() {
+        String s = super.getSrcEht();
+        return s != null ? s : fixed(srcEht, 3);
+    }
+
+    @Override
+    public String getDestLat() {
+        String s = super.getDestLat();
+        return s != null ? s : horizontalState == TRANSFORMED ? fixed(destLat, 10) : horizontal(null, getSrcLat());
+    }
+
+    @Override
+    public String getDestLatDms() {
+        String s = super.getDestLatDms();
+        return s != null ? s : horizontalState == TRANSFORMED
+                ? CoordinateTransformation.toDMS(destLat, true) : horizontal(null, getSrcLatDms());
+    }
+
+    @Override
+    public String getDeltaLat() {
+        String s = super.getDeltaLat();
+        return s != null ? s : horizontal(fixed(deltaLat, 3), "0.000");
+    }
+
+    @Override
+    public String getSigLat() {
+        String s = super.getSigLat();
+        return s != null ? s : horizontal(fixed(sigLat, 6), "0.000000");
+    }
+
+    @Override
+    public String getSigLat_m() {
+        String s = super.getSigLat_m();
+        return s != null ? s : horizontal(fixed(sigLatM, 4), "0.0000");
+    }
+
+    @Override
+    public String getDestLon() {
+        String s = super.getDestLon();
+        return s != null ? s : horizontalState == TRANSFORMED ? fixed(destLon, 10) : horizontal(null, getSrcLon());
+    }
+
+    @Override
+    public String getDestLonDms() {
+        String s = super.getDestLonDms();
+        return s != null ? s : horizontalState == TRANSFORMED
+                ? CoordinateTransformation.toDMS(destLon, false) : horizontal(null, getSrcLonDms());
+    }
+
+    @Override
+    public String getDeltaLon() {
+        String s = super.getDeltaLon();
+        return s != null ? s : horizontal(fixed(deltaLon, 3), "0.000");
+    }
+
+    @Override
+    public String getSigLon() {
+        String s = super.getSigLon();
+        return s != null ? s : horizontal(fixed(sigLon, 6), "0.000000");
+    }
+
+    @Override
+    public String getSigLon_m() {
+        String s = super.getSigLon_m();
+        return s != null ? s : horizontal(fixed(sigLonM, 4), "0.0000");
+    }
+
+    @Override
+    public String getDestEht() {
+        String s = super.getDestEht();
+        return s != null ? s : horizontalState == TRANSFORMED ? fixed(destEht, 3) : horizontal(null, getSrcEht());
+    }
+
+    @Override
+    public String getSigEht() {
+        String s = super.getSigEht();
+        return s != null ? s : horizontal(fixed(sigEht, 3), Double.isNaN(srcEht) ? NA : "0.000");
+    }
+
+    @Override
+    public String getSrcOrthoht() {
+        String s = super.getSrcOrthoht();
+        return s != null ? s : verticalState == NOT_REQUESTED ? NA : fixed(srcOrthoht, 3);
+    }
+
+    @Override
+    public String getDestOrthoht() {
+        String s = super.getDestOrthoht();
+        return s != null ? s : verticalState == TRANSFORMED ? fixed(destOrthoht, 3)
+                : verticalState == SAME ? getSrcOrthoht() : NA;
+    }
+
+    @Override
+    public String getSigOrthoht() {
+        String s = super.getSigOrthoht();
+        return s != null ? s : verticalState == TRANSFORMED ? fixed(sigOrthoht, 3)
+                : verticalState == SAME ? "0.000" : NA;
+    }
+
+    @Override
+    public String getSpcZone() {
+        String s = super.getSpcZone();
+        return s != null ? s : NA;
+    }
+
+    @Override
+    public String getSpcNorthing_m() {
+        String s = super.getSpcNorthing_m();
+        return s != null ? s : hasSpc() ? projected(spcFeet ? spcNorthing * MET2USFT : spcNorthing) : NA;
+    }
+
+    @Override
+    public String getSpcEasting_m() {
+        String s = super.getSpcEasting_m();
+        return s != null ? s : hasSpc() ? projected(spcFeet ? spcEasting * MET2USFT : spcEasting) : NA;
+    }
+
+    @Override
+    public String getSpcNorthing_usft() {
+        String s = super.getSpcNorthing_usft();
+        return s != null ? s : hasSpc() ? projected(spcFeet ? spcNorthing : spcNorthing / MET2USFT) : NA;
+    }
+
+    @Override
+    public String getSpcEasting_usft() {
+        String s = super.getSpcEasting_usft();
+        return s != null ? s : hasSpc() ? projected(spcFeet ? spcEasting : spcEasting / MET2USFT) : NA;
+    }
+
+    @Override
+    public String getSpcNorthing_ift() {
+        String s = super.getSpcNorthing_ift();
+        return s != null ? s : hasSpc() ? projected(spcFeet ? spcNorthing * MET2USFT / MET2IFT : spcNorthing / MET2IFT) : NA;
+    }
+
+    @Override
+    public String getSpcEasting_ift() {
+        String s = super.getSpcEasting_ift();
+        return s != null ? s : hasSpc() ? projected(spcFeet ? spcEasting * MET2USFT / MET2IFT : spcEasting / MET2IFT) : NA;
+    }
+
+    @Override
+    public String getSpcConvergence() {
+        String s = super.getSpcConvergence();
+        return s != null ? s : spc(dms(spcConvergence));
+    }
+
+    @Override
+    public String getSpcScaleFactor() {
+        String s = super.getSpcScaleFactor();
+        return s != null ? s : spc(fixed(spcScaleFactor, spcScaleFactorDigits));
+    }
+
+    @Override
+    public String getSpcCombinedFactor() {
+        String s = super.getSpcCombinedFactor();
+        return s != null ? s : spc(fixed(spcCombinedFactor, 8));
+    }
+
+    @Override
+    public String getUtmZone() {
+        String s = super.getUtmZone();
+        return s != null ? s : NA;
+    }
+
+    @Override
+    public String getUtmNorthing() {
+        String s = super.getUtmNorthing();
+        return s != null ? s : hasUtm() ? projected(utmNorthing) : NA;
+    }
+
+    @Override
+    public String getUtmEasting() {
+        String s = super.getUtmEasting();
+        return s != null ? s : hasUtm() ? projected(utmEasting) : NA;
+    }
+
+    @Override
+    public String getUtmConvergence() {
+        String s = super.getUtmConvergence();
+        return s != null ? s : utm(dms(utmConvergence));
+    }
+
+    @Override
+    public String getUtmScaleFactor() {
+        String s = super.getUtmScaleFactor();
+        return s != null ? s : utm(fixed(utmScaleFactor, utmScaleFactorDigits));
+    }
+
+    @Override
+    public String getUtmCombinedFactor() {
+        String s = super.getUtmCombinedFactor();
+        return s != null ? s : utm(fixed(utmCombinedFactor, 8));
+    }
+
+    @Override
+    public String getX() {
+        String s = super.getX();
+        return s != null ? s : grouped(x);
+    }
+
+    @Override
+    public String getY() {
+        String s = super.getY();
+        return s != null ? s : grouped(y);
+    }
+
+    @Override
+    public String getZ() {
+        String s = super.getZ();
+        return s != null ? s : grouped(z);
+    }
+
+    @Override
+    public String getUsng() {
+        String s = super.getUsng();
+        return s != null ? s : NA;
+    }
+}
@@ -1,7 +1,16 @@
 package gov.noaa.ngs.grid;
 
+import gov.noaa.ngs.metrics.Counter;
+import gov.noaa.ngs.metrics.Events;
+import gov.noaa.ngs.metrics.Histogram;
+import gov.noaa.ngs.metrics.Metrics;
+import gov.noaa.ngs.metrics.ProjectionEvent;
 import gov.noaa.ngs.transform.CTException;
+import gov.noaa.ngs.transform.CoordParser;
 import gov.noaa.ngs.transform.CoordinateTransformation;
+import gov.noaa.ngs.transform.DecimalFormatter;
+import gov.noaa.ngs.transform.Ellipsoid;
+import gov.noaa.ngs.transform.ProjectedCoordinate;
 import gov.noaa.ngs.transform.SpcUtil;
 import gov.noaa.ngs.transform.Usng;
 import java.util.ArrayList;
@@ -21,7 +30,20 @@ import java.util.regex.Pattern;
  */
 public class Nutil {
 
+    private static final Histogram TRANSFORM_TIMER = Metrics.histogram("nutil.transform");
+    private static final Histogram COORDSET_TIMER = Metrics.histogram("nutil.getCoordSet");
+    private static final Histogram TM_TIMER = Metrics.histogram("projection.tm");
+    private static final Histogram UTM_TIMER = Metrics.histogram("projection.utm");
+    private static final Histogram LC_TIMER = Metrics.histogram("projection.lc");
+    private static final Histogram OM_TIMER = Metrics.histogram("projection.om");
+    private static final Histogram AE_TIMER = Metrics.histogram("projection.ae");
+    private static final Histogram LCS_TIMER = Metrics.histogram("projection.lcs");
+    private static final Histogram XYZ_TIMER = Metrics.histogram("projection.xyz");
+    private static final Histogram USNG_TIMER = Metrics.histogram("projection.usng");
+    private static final Counter TRANSFORM_NA = Metrics.counter("transform.na");
+    private static final Counter VERTICAL_NA = Metrics.counter("transform.vertical.na");
     private static final Map<String, String> REGEX_MAP = initRegexMap();
+    private static final Map<String, Pattern> PATTERN_MAP = initPatternMap();
     private static final String[] EXCLUDED_SPC_DATUMS = {"USSD", "SP1897", "SP1952", "SG1897", "SG1952", "SL1952"};
     private static final String[] NAD27_DATUMS = {"NAD27", "OHD", "GU63", "AS62", "PR40"};
     public static final String CF_FORMAT = "%.8f"; //combined factor format
@@ -31,11 +53,13 @@ public class Nutil {
     public static final double NAD27_RADIUS = 6378206.4; //earth eq. radius
     public static final double MET2USFT = 0.304800609601219241;
     public static final double MET2IFT = 0.3048;
+    //coordinate option to skip convergence, scale and combined factors
+    public static final String COORDINATES_ONLY = "COORDINATES_ONLY";
     private static final int RAD_MIN = 6300000;
     private static final int RAD_MAX = 6400000;
     private static final int INVF_MIN = 180;
     private static final int INVF_MAX = 310;
-    private static final String META_CONFIG = "/gov/noaa/ngs/grid/resources/meta.properties";
+    static final String META_CONFIG = "/gov/noaa/ngs/grid/resources/meta.properties";
 
     private static Map<String, String> initRegexMap() {
         Map<String, String> map = new HashMap<>();
@@ -60,6 +84,14 @@ public class Nutil {
         return Collections.unmodifiableMap(map);
     }
 
+    private static Map<String, Pattern> initPatternMap() {
+        Map<String, Pattern> map = new HashMap<>();
+        for (Map.Entry<String, String> e : REGEX_MAP.entrySet()) {
+            map.put(e.getKey(), Pattern.compile(e.getValue()));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
     /**
      * transforms horizontal and vertical datums
      *
@@ -75,157 +107,28 @@ public class Nutil {
      */
     public static CoordSet transform(String inDatum, String outDatum,
             double lat, double lon, double height, String inVertDatum, String outVertDatum, double orthoHt) {
-        CoordSet p = new CoordSet();
-        Transformer t = null;
-        Transformer t2 = null;
-        boolean hasHeight = !Double.isNaN(height);
-        boolean hasOrthoHeight = !Double.isNaN(orthoHt);
-        boolean isForward = true; // transformation to a newer datum
-        //
-        //** transformation of both ellipsoid and orthometric height is not currently
-        //** allowed as such transformation is likely to result in misiterpretation
-        //** of results. Return null for now
-        //
-//        if (hasHeight && hasOrthoHeight) {
-//            return null;
-//        }
-        p.setSrcDatum(inDatum);
-        p.setDestDatum(outDatum);
-        if (inVertDatum != null && inVertDatum.length() > 1) {
-            p.setSrcVertDatum(inVertDatum);
-        } else {
-            p.setSrcVertDatum("N/A");
-        }
-        if (outVertDatum != null && outVertDatum.length() > 1) {
-            p.setDestVertDatum(outVertDatum);
-        } else {
-            p.setDestVertDatum("N/A");
-        }
-        p.setSrcLat(String.format("%.10f", lat));
-        p.setSrcLatDms(CoordinateTransformation.toDMS(lat, true));
-        p.setSrcLon(String.format("%.10f", lon));
-        p.setSrcLonDms(CoordinateTransformation.toDMS(lon, false));
-        if (hasHeight) {
-            p.setSrcEht(String.format("%.3f", height));
-        } else {
-            p.setSrcEht("N/A");
-        }
-        // horizontal transformation
-        if (inDatum.equalsIgnoreCase(outDatum)) {
-            // no horizontal transformation is needed
-            // for an international coordinate, set destination to N/A
-            if (inDatum.equalsIgnoreCase("N/A") || inDatum.length() == 0) {
-                p.setDestLat("N/A");
-                p.setDestLatDms("N/A");
-                p.setSigLat("N/A");
-                p.setSigLat_m("N/A");
-                p.setDeltaLat("N/A");
-                p.setDestLon("N/A");
-                p.setDestLonDms("N/A");
-                p.setDeltaLon("N/A");
-                p.setSigLon("N/A");
-                p.setSigLon_m("N/A");
-                p.setDestEht("N/A");
-                p.setSigEht("N/A");
-            } else {
-                // for nadcon regions, copy source set to destination
-                p.setDestLat(p.getSrcLat());
-                p.setDestLatDms(p.getSrcLatDms());
-                p.setDeltaLat("0.000");
-                p.setSigLat("0.000000");
-                p.setSigLat_m("0.0000");
-                p.setDestLon(p.getSrcLon());
-                p.setDestLonDms(p.getSrcLonDms());
-                p.setDeltaLon("0.000");
-                p.setSigLon("0.000000");
-                p.setSigLon_m("0.0000");
-                p.setDestEht(p.getSrcEht());
-                if (hasHeight) {
-                    p.setSigEht("0.000");
-                } else {
-                    p.setSigEht("N/A");
-                }
-            }
-        } else {
-            // transform horizontal datums
-            t = hasHeight ? new Transformer(lat, lon, height, inDatum, outDatum, GridManager.NADCON)
-                    : new Transformer(lat, lon, inDatum, outDatum, GridManager.NADCON);
-            String result = t.transform(true);
-            isForward = t.isTransDir();
-            String[] resultAr = result.split(",");
-            if (resultAr.length > 1) {
-
-                p.setDestLat(resultAr[0]);
-                p.setDestLatDms(resultAr[1]);
-                p.setSigLat(resultAr[2]);
-                p.setDestLon(resultAr[3]);
-                p.setDestLonDms(resultAr[4]);
-                p.setSigLon(resultAr[5]);
-                p.setDestEht(resultAr[6]);
-                p.setSigEht(resultAr[7]);
-                p = toLinear(p);
-
-            } else {
-                // no transformation available or errored out
-                p.setDestLat("N/A");
-                p.setDestLatDms("N/A");
-                p.setDeltaLat("N/A");
-                p.setSigLat("N/A");
-                p.setSigLat_m("N/A");
-                p.setDestLon("N/A");
-                p.setDestLonDms("N/A");
-                p.setDeltaLon("N/A");
-                p.setSigLon("N/A");
-                p.setSigLon_m("N/A");
-                p.setDestEht("N/A");
-                p.setSigEht("N/A");
-            }
-        }
-        // vertical transformation
-        if (hasOrthoHeight) {
-            p.setSrcOrthoht(String.format("%.3f", orthoHt));
-            if (inVertDatum.equalsIgnoreCase(outVertDatum)) {
-                // no vertical transformation is needed
-                // for an international coordinate, set destination to N/A
-                if (inVertDatum.equalsIgnoreCase("N/A") || inVertDatum.length() == 0) {
-                    p.setDestOrthoht("N/A");
-                    p.setSigOrthoht("N/A");
-                } else {
-                    p.setDestOrthoht(p.getSrcOrthoht());
-                    p.setSigOrthoht("0.000");
-                }
-            } else {
-                // use a more recent coordinate for ortho transformation
-                double xlat;
-                double xlon;
-                if (isForward) { //destination coordinate is more recent
-                    double[] llh = getDestCoord(p, false);
-                    xlat = llh[0];
-                    xlon = llh[1];
-                } else { // source coordinate is more recent
-                    xlat = lat;
-                    xlon = lon;
-                }
-                t2 = new Transformer(xlat, xlon, orthoHt, inVertDatum, outVertDatum, GridManager.VERTCON);
-                String result = t2.transform(true);
-                String[] resultAr = result.split(",");
-                if (resultAr.length > 1) {
-                    p.setDestOrthoht(resultAr[5]);
-                    p.setSigOrthoht(resultAr[6]);
-                } else {
-                    // no tarnsformation available or errored out
-                    p.setDestOrthoht("N/A");
-                    p.setSigOrthoht("N/A");
-                }
-            }
-        } else {
-            // no ortho height provided
-            p.setSrcOrthoht("N/A");
-            p.setDestOrthoht("N/A");
-            p.setSigOrthoht("N/A");
+        return transform(inDatum, outDatum, lat, lon, height, inVertDatum, outVertDatum, orthoHt, false);
+    }
 
-        }
-        return p;
+    /**
+     * transforms horizontal and vertical datums
+     *
+     * @param inDatum input horizontal datum
+     * @param outDatum output horizontal datum
+     * @param lat latitude
+     * @param lon longitude
+     * @param height ellipsoid height
+     * @param inVertDatum input vertical datum
+     * @param outVertDatum output vertical datum
+     * @param orthoHt orthometric height
+     * @param inline true=grid lookups on the calling thread (see
+     * Transformer.setInline)
+     * @return transformed coordinate, a NumericCoordSet
+     */
+    public static CoordSet transform(String inDatum, String outDatum,
+            double lat, double lon, double height, String inVertDatum, String outVertDatum, double orthoHt,
+            boolean inline) {
+        return transformNumeric(inDatum, outDatum, lat, lon, height, inVertDatum, outVertDatum, orthoHt, inline);
     }
 
     /**
@@ -254,170 +157,408 @@ public class Nutil {
      * @param fParm earth flattening
      * @param spcZone spc zone for override
      * @param utmZone utml zone for override
-     * @param coOptions coordinate options
+     * @param coOptions coordinate options (SPC,UTM,USNG,XYZ and optionally
+     * COORDINATES_ONLY to skip convergence, scale and combined factors)
      * @return coordinate set with transformed and converted coordinates
      * @throws CTException if unable to find an SPC zone
      */
     public static CoordSet getCoordSet(CoordSet p, String outDatum, String pDatum,
             double aParm, double fParm, String spcZone, String utmZone, String[] coOptions) throws CTException {
-
+        if (p instanceof NumericCoordSet) {
+            return getNumericCoordSet((NumericCoordSet) p, outDatum, pDatum, aParm, fParm, spcZone, utmZone,
+                    coOptions);
+        }
         boolean specialCase = pDatum.equalsIgnoreCase("other");
-        double[] destCoord = getDestCoord(p, specialCase);
+        NumericCoordSet n = convert(new NumericCoordSet(), getDestCoord(p, specialCase), outDatum, pDatum,
+                aParm, fParm, spcZone, utmZone, coOptions);
+        copySpc(n, p);
+        copyUtm(n, p);
+        p.setX(n.getX());
+        p.setY(n.getY());
+        p.setZ(n.getZ());
+        p.setUsng(n.getUsng());
+        p.setNadconVersion(n.getNadconVersion());
+        p.setVertconVersion(n.getVertconVersion());
+        return p;
+    }
+
+    public static CoordSet getCoordSet(CoordSet p, String outDatum, String pDatum,
+            double aParm, double fParm, String spcZone, String utmZone) throws CTException {
+        String[] options = new String[4];
+        options[0] = "SPC";
+        options[1] = "UTM";
+        options[2] = "USNG";
+        options[3] = "XYZ";
+        return getCoordSet(p, outDatum, pDatum, aParm, fParm, spcZone, utmZone, options);
+    }
+
+    /**
+     * transforms horizontal and vertical datums into a NumericCoordSet; same
+     * values as transform without formatting them into strings
+     *
+     * @param inDatum input horizontal datum
+     * @param outDatum output horizontal datum
+     * @param lat latitude
+     * @param lon longitude
+     * @param height ellipsoid height
+     * @param inVertDatum input vertical datum
+     * @param outVertDatum output vertical datum
+     * @param orthoHt orthometric height
+     * @param inline true=grid lookups on the calling thread
+     * @return transformed coordinate
+     */
+    public static NumericCoordSet transformNumeric(String inDatum, String outDatum,
+            double lat, double lon, double height, String inVertDatum, String outVertDatum, double orthoHt,
+            boolean inline) {
+        return transformNumeric(inDatum, outDatum, lat, lon, height, inVertDatum, outVertDatum, orthoHt,
+                inline, null, null, null);
+    }
+
+    /**
+     * transforms horizontal and vertical datums into a NumericCoordSet, with
+     * the nadcon region of the point already found
+     *
+     * @param inDatum input horizontal datum
+     * @param outDatum output horizontal datum
+     * @param lat latitude
+     * @param lon longitude
+     * @param height ellipsoid height
+     * @param inVertDatum input vertical datum
+     * @param outVertDatum output vertical datum
+     * @param orthoHt orthometric height
+     * @param inline true=grid lookups on the calling thread
+     * @param region nadcon region of lat-lon, as of Transformer.getRegion
+     * @param regionBounds bounds of the region, or null to look the region up
+     * @param gridSource source of the grids, or null for -Dgpath
+     * @return transformed coordinate
+     */
+    static NumericCoordSet transformNumeric(String inDatum, String outDatum,
+            double lat, double lon, double height, String inVertDatum, String outVertDatum, double orthoHt,
+            boolean inline, String region, double[] regionBounds, GridSource gridSource) {
+        long start = Metrics.start();
+        NumericCoordSet p = new NumericCoordSet();
+        boolean hasHeight = !Double.isNaN(height);
+        boolean hasOrthoHeight = !Double.isNaN(orthoHt);
+        boolean isForward = true; // transformation to a newer datum
+        p.setSrcDatum(inDatum);
+        p.setDestDatum(outDatum);
+        p.setSrcVertDatum(inVertDatum != null && inVertDatum.length() > 1 ? inVertDatum : "N/A");
+        p.setDestVertDatum(outVertDatum != null && outVertDatum.length() > 1 ? outVertDatum : "N/A");
+        p.setSource(lat, lon, hasHeight ? height : Double.NaN);
+        double nan = Double.NaN;
+        // horizontal transformation
+        if (inDatum.equalsIgnoreCase(outDatum)) {
+            // for an international coordinate, destination is N/A
+            byte state = inDatum.equalsIgnoreCase("N/A") || inDatum.length() == 0
+                    ? NumericCoordSet.NONE : NumericCoordSet.SAME;
+            p.setHorizontal(state, nan, nan, nan, nan, nan, nan);
+        } else {
+            Transformer t = hasHeight ? new Transformer(lat, lon, height, inDatum, outDatum, GridManager.NADCON)
+                    : new Transformer(lat, lon, inDatum, outDatum, GridManager.NADCON);
+            t.setInline(inline);
+            t.setGridSource(gridSource);
+            if (regionBounds != null) {
+                t.setRegion(region, regionBounds);
+            }
+            double[] r = t.transformValues();
+            isForward = t.isTransDir();
+            if (r != null) {
+                boolean noEht = (int) r[4] == 999999 && r[4] == r[5];
+                p.setHorizontal(NumericCoordSet.TRANSFORMED, r[0], r[1], CoordinateTransformation.resetLon(r[2]), r[3],
+                        noEht ? nan : r[4], noEht ? nan : r[5]);
+                setLinear(p);
+            } else {
+                // no transformation available or errored out
+                TRANSFORM_NA.increment();
+                p.setHorizontal(NumericCoordSet.NONE, nan, nan, nan, nan, nan, nan);
+            }
+        }
+        // vertical transformation
+        if (!hasOrthoHeight) {
+            p.setVertical(NumericCoordSet.NOT_REQUESTED, nan, nan, nan);
+        } else if (inVertDatum.equalsIgnoreCase(outVertDatum)) {
+            byte state = inVertDatum.equalsIgnoreCase("N/A") || inVertDatum.length() == 0
+                    ? NumericCoordSet.NONE : NumericCoordSet.SAME;
+            p.setVertical(state, orthoHt, nan, nan);
+        } else {
+            // use a more recent coordinate for ortho transformation
+            double[] llh = isForward ? p.getDestCoord(false) : new double[]{lat, lon};
+            Transformer t2 = new Transformer(llh[0], llh[1], orthoHt, inVertDatum, outVertDatum, GridManager.VERTCON);
+            t2.setInline(inline);
+            t2.setGridSource(gridSource);
+            double[] r = t2.transformValues();
+            if (r != null) {
+                p.setVertical(NumericCoordSet.TRANSFORMED, orthoHt, DecimalFormatter.round(r[0], 3),
+                        DecimalFormatter.round(r[1], 3));
+            } else {
+                VERTICAL_NA.increment();
+                p.setVertical(NumericCoordSet.NONE, orthoHt, nan, nan);
+            }
+        }
+        TRANSFORM_TIMER.record(start);
+        return p;
+    }
+
+    /**
+     * converts a transformed NumericCoordSet to SPC,UTM,XYZ,USNG; same values
+     * as getCoordSet
+     *
+     * @param p transformed coordinate
+     * @param outDatum destination datum
+     * @param pDatum reference datum
+     * @param aParm equatorial radius
+     * @param fParm earth flattening
+     * @param spcZone spc zone for override
+     * @param utmZone utm zone for override
+     * @param coOptions coordinate options as in getCoordSet
+     * @return the same coordinate set with converted coordinates
+     * @throws CTException if unable to find an SPC zone
+     */
+    public static NumericCoordSet getNumericCoordSet(NumericCoordSet p, String outDatum, String pDatum,
+            double aParm, double fParm, String spcZone, String utmZone, String[] coOptions) throws CTException {
+        return convert(p, p.getDestCoord(pDatum.equalsIgnoreCase("other")), outDatum, pDatum, aParm, fParm,
+                spcZone, utmZone, coOptions);
+    }
+
+    /**
+     * converts a geodetic coordinate to SPC,UTM,XYZ,USNG
+     *
+     * @param p coordinate set to fill
+     * @param destCoord lat, lon, eht (NaN if not available) being converted
+     * @return p
+     */
+    private static NumericCoordSet convert(NumericCoordSet p, double[] destCoord, String outDatum, String pDatum,
+            double aParm, double fParm, String spcZone, String utmZone, String[] coOptions) throws CTException {
+        long start = Metrics.start();
         double dlat = destCoord[0];
         double dlon = destCoord[1];
-        double dheight = destCoord[2];
-        boolean hasHeight = !Double.isNaN(dheight);
-        CoordinateTransformation ct = null;
         double elevFactor = 0.0;
         List<String> optionsList = Arrays.asList(coOptions);
-        // SPC conversion
+        boolean coordinatesOnly = optionsList.contains(COORDINATES_ONLY);
+        p.setSpcZone("N/A");
         if (optionsList.contains("SPC")) {
             spcZone = getSpcZone(spcZone, outDatum, dlat, dlon, pDatum);
-            if (spcZone.equals("0000") || spcZone.equalsIgnoreCase("N/A")) {
-                p = initSpc(p);
-            } else {
-                ct = CoordinateTransformation.getInstance(spcZone, pDatum);
-                String spc = ct.toProjectedCoordinates(dlat, dlon);
-                elevFactor = hasHeight ? ct.getElevationFactor(dlat, dheight) : 0.0;
-                String[] spcParm = spc.split(",");
-                String spcNorthing = spcParm[3];
-                String spcEasting = spcParm[4];
-                String spcConvergence = spcParm[5];
-                String spcScaleFactor = spcParm[6];
-                String spcCombinedFactor = hasHeight
-                        ? (spcScaleFactor.equals("N/A") ? "N/A" : String.format(CF_FORMAT, Double.valueOf(spcScaleFactor) * elevFactor)) : "N/A";
-                p.setSpcZone(getSpcZoneLabel(pDatum, spcZone));
+            if (!(spcZone.equals("0000") || spcZone.equalsIgnoreCase("N/A"))) {
                 // Northing and easting coordinates for Guam nad27 zone are in meters
-                if (pDatum.equalsIgnoreCase("nad83") || spcZone.equals("5400")) {
-                    p.setSpcNorthing_m(String.format("%,.3f", Double.valueOf(spcNorthing)));
-                    p.setSpcNorthing_usft(String.format("%,.3f", Double.valueOf(spcNorthing) / MET2USFT));
-                    p.setSpcNorthing_ift(String.format("%,.3f", Double.valueOf(spcNorthing) / MET2IFT));
-                    p.setSpcEasting_m(String.format("%,.3f", Double.valueOf(spcEasting)));
-                    p.setSpcEasting_usft(String.format("%,.3f", Double.valueOf(spcEasting) / MET2USFT));
-                    p.setSpcEasting_ift(String.format("%,.3f", Double.valueOf(spcEasting) / MET2IFT));
-                } else {
-                    // spc coordinates are in usfeet for nad27
-                    p.setSpcNorthing_m(String.format("%,.3f", Double.valueOf(spcNorthing) * MET2USFT));
-                    p.setSpcNorthing_usft(String.format("%,.3f", Double.valueOf(spcNorthing)));
-                    p.setSpcNorthing_ift(String.format("%,.3f", Double.valueOf(spcNorthing) * MET2USFT / MET2IFT));
-                    p.setSpcEasting_m(String.format("%,.3f", Double.valueOf(spcEasting) * MET2USFT));
-                    p.setSpcEasting_usft(String.format("%,.3f", Double.valueOf(spcEasting)));
-                    p.setSpcEasting_ift(String.format("%,.3f", Double.valueOf(spcEasting) * MET2USFT / MET2IFT));
-
-                }
-                spcConvergence = spcConvergence.equals("N/A") ? "N/A" : toDMS(Double.valueOf(spcConvergence));
-                p.setSpcConvergence(spcConvergence);
-                p.setSpcScaleFactor(spcScaleFactor);
-                p.setSpcCombinedFactor(spcCombinedFactor);
+                boolean feet = !(pDatum.equalsIgnoreCase("nad83") || spcZone.equals("5400"));
+                elevFactor = setSpc(p, pDatum, spcZone, feet, destCoord, coordinatesOnly);
             }
-        } else {
-            p = initSpc(p);
         }
-
         //utm conversion
-        String utmNorthing = null;
-        String utmEasting = null;
+        p.setUtmZone("N/A");
         if (optionsList.contains("UTM") || optionsList.contains("USNG")) {
-            utmZone = utmZone.equals("auto")
-                    ? Integer.toString(CoordinateTransformation.findUtmZone(dlon)) : utmZone.trim();
-            String utm = "";
-            //      double fparm = 0.0;
-            if (specialCase) {
-
-                // a datum other than nad83 or nad27 is in play; convert to lat-long 
-                // using (a,f) parms. CoordinateTransformation object is 
-                // instantiated using nad83 just to fetch constants that are common
-                // to all datums.
-                ct = CoordinateTransformation.getInstance(utmZone, "nad83");
-                utm = ct.toProjectedCoordinates(aParm, fParm, dlat, dlon);
-
-            } else {
-                ct = CoordinateTransformation.getInstance(utmZone, pDatum);
-                utm = ct.toProjectedCoordinates(dlat, dlon);
-            }
-            String[] utmParm = utm.split(",");
-            utmZone = utmParm[1].trim();
-            String utmScaleFactor = utmParm[6];
-            // if elevation factor is not computed before, compute it here
-            if ((int) elevFactor == 0) {
-                elevFactor = hasHeight ? ct.getElevationFactor(dlat, dheight) : 0.0;
-            }
-            String utmCombinedFactor = hasHeight
-                    ? (utmScaleFactor.equals("N/A") ? "N/A" : String.format(CF_FORMAT, Double.valueOf(utmScaleFactor) * elevFactor)) : "N/A";
-            utmNorthing = utmParm[3];
-            utmEasting = utmParm[4];
-            String utmConvergence = utmParm[5];
-            p.setUtmZone(getUtmZoneLabel(utmZone));
-            p.setUtmNorthing(String.format("%,.3f", Double.valueOf(utmNorthing)));
-            p.setUtmEasting(String.format("%,.3f", Double.valueOf(utmEasting)));
-            p.setUtmConvergence(toDMS(Double.valueOf(utmConvergence)));
-            p.setUtmScaleFactor(utmScaleFactor);
-            p.setUtmCombinedFactor(utmCombinedFactor);
-        } else {
-            p.setUtmZone("N/A");
-            p.setUtmNorthing("N/A");
-            p.setUtmEasting("N/A");
-            p.setUtmConvergence("N/A");
-            p.setUtmScaleFactor("N/A");
-            p.setUtmCombinedFactor("N/A");
-
+            utmZone = setUtm(p, pDatum, aParm, fParm, utmZone, destCoord, coordinatesOnly, elevFactor);
         }
         // xyz conversion
-        if (optionsList.contains("XYZ")) {
-            String xyzStr = "N/A,N/A,N/A";
-            if (specialCase) {
-                ct = CoordinateTransformation.getInstance(null, pDatum);
-                if (hasHeight) {
-                    xyzStr = ct.toProjectedCoordinates(dlat, dlon, dheight, aParm, fParm);
-                }
-
-            } else {
-                if (hasHeight) {
-                    ct = CoordinateTransformation.getInstance(null, pDatum);
-                    xyzStr = ct.toProjectedCoordinates(dlat, dlon, dheight);
-                }
-//            System.out.println("pDatum:" + pDatum + " lat:" + dlat + " lon:" + dlon + " height:" + dheight + " xyz:" + xyzStr);
-            }
-            String[] xyzParm = xyzStr.split(",");
-            if (hasHeight) {
-                p.setX(String.format("%,.3f", Double.valueOf(xyzParm[0])));
-                p.setY(String.format("%,.3f", Double.valueOf(xyzParm[1])));
-                p.setZ(String.format("%,.3f", Double.valueOf(xyzParm[2])));
-            } else {
-                p.setX("N/A");
-                p.setY("N/A");
-                p.setZ("N/A");
-
-            }
-        } else {
-            p.setX("N/A");
-            p.setY("N/A");
-            p.setZ("N/A");
-
+        if (optionsList.contains("XYZ") && !Double.isNaN(destCoord[2])) {
+            long t = Metrics.start();
+            ProjectionEvent event = Events.projection();
+            CoordinateTransformation ct = CoordinateTransformation.getInstance(null, pDatum);
+            double[] xyz = pDatum.equalsIgnoreCase("other")
+                    ? ct.toXyz(dlat, dlon, destCoord[2], Ellipsoid.getInstance(aParm, fParm))
+                    : ct.toXyz(dlat, dlon, destCoord[2]);
+            endProjection(t, event, "XYZ", null);
+            p.setXyz(xyz[0], xyz[1], xyz[2]);
         }
         if (optionsList.contains("USNG")) {
-            // usng conversion
-            Usng u = new Usng(pDatum);
-            String usng = u.toUsng(Double.valueOf(utmNorthing), Double.valueOf(utmEasting), Integer.valueOf(utmZone), dlat);
-            p.setUsng(usng);
-        } else {
-            p.setUsng("N/A");
+            setUsng(p, pDatum, utmZone, dlat);
         }
         p.setNadconVersion(GridManager.getInstance("nadcon").getVersion());
         p.setVertconVersion(GridManager.getInstance("vertcon").getVersion());
-
+        COORDSET_TIMER.record(start);
         return p;
+    }
 
+    /**
+     * converts a geodetic coordinate to an SPC zone
+     *
+     * @param p coordinate set to fill
+     * @param pDatum reference datum
+     * @param zone spc zone
+     * @param feet true=zone units are US survey feet
+     * @param llh lat, lon, eht (NaN if not available)
+     * @param coordinatesOnly true=skip convergence, scale and combined factors
+     * @return elevation factor or 0.0 if not computed
+     */
+    private static double setSpc(NumericCoordSet p, String pDatum, String zone, boolean feet, double[] llh,
+            boolean coordinatesOnly) {
+        CoordinateTransformation ct = CoordinateTransformation.getInstance(zone, pDatum);
+        ct.setCoordinatesOnly(coordinatesOnly);
+        long t = Metrics.start();
+        ProjectionEvent event = Events.projection();
+        ProjectedCoordinate spc = ct.toProjected(llh[0], llh[1]);
+        endProjection(t, event, ct.getProjection(), zone);
+        boolean hasFactors = !Double.isNaN(llh[2]) && !coordinatesOnly;
+        double elevFactor = hasFactors ? ct.getElevationFactor(llh[0], llh[2]) : 0.0;
+        double sf = spc.getScaleFactor();
+        p.setSpcZone(getSpcZoneLabel(pDatum, zone));
+        p.setSpc(spc.getNorthing(), spc.getEasting(), feet, spc.getConvergence(), sf,
+                spc.getScaleFactorDigits(), hasFactors ? sf * elevFactor : Double.NaN);
+        return elevFactor;
     }
 
-    public static CoordSet getCoordSet(CoordSet p, String outDatum, String pDatum,
-            double aParm, double fParm, String spcZone, String utmZone) throws CTException {
-        String[] options = new String[4];
-        options[0] = "SPC";
-        options[1] = "UTM";
-        options[2] = "USNG";
-        options[3] = "XYZ";
-        return getCoordSet(p, outDatum, pDatum, aParm, fParm, spcZone, utmZone, options);
+    /**
+     * converts a geodetic coordinate to UTM
+     *
+     * @param p coordinate set to fill
+     * @param pDatum reference datum; "other" for an ellipsoid given by aParm
+     * and fParm
+     * @param aParm equatorial radius
+     * @param fParm earth flattening
+     * @param utmZone utm zone or auto
+     * @param llh lat, lon, eht (NaN if not available)
+     * @param coordinatesOnly true=skip convergence, scale and combined factors
+     * @param elevFactor elevation factor of the spc conversion or 0.0
+     * @return utm zone used
+     */
+    private static String setUtm(NumericCoordSet p, String pDatum, double aParm, double fParm, String utmZone,
+            double[] llh, boolean coordinatesOnly, double elevFactor) {
+        double dlat = llh[0];
+        double dlon = llh[1];
+        utmZone = utmZone.equals("auto")
+                ? Integer.toString(CoordinateTransformation.findUtmZone(dlon)) : utmZone.trim();
+        CoordinateTransformation ct;
+        ProjectedCoordinate utm;
+        long t = Metrics.start();
+        ProjectionEvent event = Events.projection();
+        if (pDatum.equalsIgnoreCase("other")) {
+            // a datum other than nad83 or nad27 is in play; convert to lat-long
+            // using (a,f) parms. CoordinateTransformation object is
+            // instantiated using nad83 just to fetch constants that are common
+            // to all datums.
+            ct = CoordinateTransformation.getInstance(utmZone, "nad83");
+            ct.setCoordinatesOnly(coordinatesOnly);
+            utm = ct.toProjected(Ellipsoid.getInstance(aParm, fParm), dlat, dlon);
+        } else {
+            ct = CoordinateTransformation.getInstance(utmZone, pDatum);
+            ct.setCoordinatesOnly(coordinatesOnly);
+            utm = ct.toProjected(dlat, dlon);
+        }
+        utmZone = utm.getZone().trim();
+        endProjection(t, event, "UTM", utmZone);
+        boolean hasHeight = !Double.isNaN(llh[2]);
+        // if elevation factor is not computed before, compute it here
+        if ((int) elevFactor == 0 && !coordinatesOnly) {
+            elevFactor = hasHeight ? ct.getElevationFactor(dlat, llh[2]) : 0.0;
+        }
+        double sf = utm.getScaleFactor();
+        p.setUtmZone(getUtmZoneLabel(utmZone));
+        p.setUtm(utm.getNorthing(), utm.getEasting(), utm.getConvergence(), sf, utm.getScaleFactorDigits(),
+                hasHeight && !coordinatesOnly ? sf * elevFactor : Double.NaN);
+        return utmZone;
+    }
+
+    /**
+     * converts the utm coordinate of a coordinate set to USNG
+     *
+     * @param p coordinate set with a utm coordinate
+     * @param pDatum reference datum
+     * @param utmZone utm zone of the coordinate
+     * @param dlat latitude
+     */
+    private static void setUsng(NumericCoordSet p, String pDatum, String utmZone, double dlat) {
+        long t = Metrics.start();
+        ProjectionEvent event = Events.projection();
+        Usng u = new Usng(pDatum);
+        p.setUsng(u.toUsng(p.getUtmNorthingValue(), p.getUtmEastingValue(), Integer.valueOf(utmZone), dlat));
+        endProjection(t, event, "USNG", utmZone);
+    }
+
+    /**
+     * copies the spc text of a converted coordinate set
+     */
+    private static void copySpc(NumericCoordSet from, CoordSet to) {
+        to.setSpcZone(from.getSpcZone());
+        to.setSpcNorthing_m(from.getSpcNorthing_m());
+        to.setSpcNorthing_usft(from.getSpcNorthing_usft());
+        to.setSpcNorthing_ift(from.getSpcNorthing_ift());
+        to.setSpcEasting_m(from.getSpcEasting_m());
+        to.setSpcEasting_usft(from.getSpcEasting_usft());
+        to.setSpcEasting_ift(from.getSpcEasting_ift());
+        to.setSpcConvergence(from.getSpcConvergence());
+        to.setSpcScaleFactor(from.getSpcScaleFactor());
+        to.setSpcCombinedFactor(from.getSpcCombinedFactor());
+    }
+
+    /**
+     * copies the utm text of a converted coordinate set
+     */
+    private static void copyUtm(NumericCoordSet from, CoordSet to) {
+        to.setUtmZone(from.getUtmZone());
+        to.setUtmNorthing(from.getUtmNorthing());
+        to.setUtmEasting(from.getUtmEasting());
+        to.setUtmConvergence(from.getUtmConvergence());
+        to.setUtmScaleFactor(from.getUtmScaleFactor());
+        to.setUtmCombinedFactor(from.getUtmCombinedFactor());
+    }
+
+    /**
+     * records the time and flight recorder event of a conversion
+     *
+     * @param start Metrics.start() before the conversion
+     * @param event started event or null
+     * @param projection TM, UTM, LC, OM, AE, LCS, XYZ or USNG
+     * @param zone SPC or UTM zone
+     */
+    private static void endProjection(long start, ProjectionEvent event, String projection, String zone) {
+        switch (projection) {
+            case "TM":
+                TM_TIMER.record(start);
+                break;
+            case "UTM":
+                UTM_TIMER.record(start);
+                break;
+            case "LC":
+                LC_TIMER.record(start);
+                break;
+            case "OM":
+                OM_TIMER.record(start);
+                break;
+            case "AE":
+                AE_TIMER.record(start);
+                break;
+            case "LCS":
+                LCS_TIMER.record(start);
+                break;
+            case "USNG":
+                USNG_TIMER.record(start);
+                break;
+            default:
+                XYZ_TIMER.record(start);
+                break;
+        }
+        if (event != null) {
+            event.commit(projection, zone);
+        }
+    }
+
+    /**
+     * computes transformation shift and error estimates in meters; same as
+     * toLinear
+     *
+     * @param c transformed coordinate
+     */
+    private static void setLinear(NumericCoordSet c) {
+        double a = 6378137.0;
+        double e2 = 0.006694380022900787;
+        // inputs as read back from their text in toLinear
+        double lat1 = DecimalFormatter.round(c.getSrcLatValue(), 10);
+        double lat2 = DecimalFormatter.round(c.getDestLatValue(), 10);
+        double lon1 = DecimalFormatter.round(c.getSrcLonValue(), 10);
+        double lon2 = DecimalFormatter.round(c.getDestLonValue(), 10);
+        double[] sig = c.getSigValues();
+        double siglat = DecimalFormatter.round(sig[0], 6);
+        double siglon = DecimalFormatter.round(sig[1], 6);
+        double latMean = Math.toRadians((lat1 + lat2) / 2);
+        double cosLat = Math.cos(latMean);
+        double e2Lat2 = 1 - e2 * Math.pow(Math.sin(latMean), 2);
+        double denom1 = (Math.pow(e2Lat2, 1.5) * 648000);
+        double denom2 = (Math.sqrt(e2Lat2) * 648000);
+
+        double latShiftSec = (lat2 - lat1) * 3600;
+        double lonShiftSec = (lon2 - lon1) * 3600;
+        c.setLinear((a * (1 - e2) * latShiftSec * Math.PI) / denom1, (a * cosLat * lonShiftSec * Math.PI) / denom2,
+                (a * (1 - e2) * siglat * Math.PI) / denom1, (a * cosLat * siglon * Math.PI) / denom2);
     }
 
     /**
@@ -521,7 +662,7 @@ public class Nutil {
             // instantiated using nad83 just to fetch constants that are common
             // to all datums.
             ct = CoordinateTransformation.getInstance(zone, "nad83");
-            resultStr = ct.toGeodeticCoordinates(aParm, fParm, northing, easting, southernHemisphere);
+            resultStr = ct.toGeodeticCoordinates(Ellipsoid.getInstance(aParm, fParm), northing, easting, southernHemisphere);
         } else {
             String datum = ellipsoid.equalsIgnoreCase("GRS80") ? "nad83" : "nad27";
             ct = CoordinateTransformation.getInstance(zone, datum);
@@ -572,7 +713,7 @@ public class Nutil {
             // instantiated using nad83 just to fetch constants that are common
             // to all datums.
             ct = CoordinateTransformation.getInstance(null, "nad83");
-            resultStr = ct.toGeodeticCoordinates(x, y, z, aParm, fParm);
+            resultStr = ct.toGeodeticCoordinates(x, y, z, Ellipsoid.getInstance(aParm, fParm));
         } else {
             String datum = ellipsoid.equalsIgnoreCase("GRS80") ? "nad83" : "nad27";
             ct = CoordinateTransformation.getInstance(null, datum);
@@ -611,42 +752,11 @@ public class Nutil {
             return c;
         }
         double[] destCoord = getDestCoord(c, specialCase);  //LLh coord
-        boolean hasHeight = !Double.isNaN(destCoord[2]);
-        CoordinateTransformation ct = CoordinateTransformation.getInstance(zone, pDatum);
-        String spc = ct.toProjectedCoordinates(destCoord[0], destCoord[1]);
-        double elevFactor = hasHeight ? ct.getElevationFactor(destCoord[0], destCoord[2]) : 0.0;
-        String[] spcParm = spc.split(",");
-        String spcNorthing = spcParm[3];
-        String spcEasting = spcParm[4];
-        String spcConvergence = spcParm[5];
-        String spcScaleFactor = spcParm[6];
-        String spcCombinedFactor = hasHeight
-                ? (spcScaleFactor.equals("N/A") ? "N/A" : String.format(CF_FORMAT, Double.valueOf(spcScaleFactor) * elevFactor)) : "N/A";
-        c.setSpcZone(getSpcZoneLabel(pDatum, zone));
+        NumericCoordSet n = new NumericCoordSet();
         // Northing and easting coordinates for Guam nad27 zone are in meters
-        if (pDatum.equalsIgnoreCase("nad83") || spcZone.equals("5400")) {
-            c.setSpcNorthing_m(String.format("%,.3f", Double.valueOf(spcNorthing)));
-            c.setSpcNorthing_usft(String.format("%,.3f", Double.valueOf(spcNorthing) / MET2USFT));
-            c.setSpcNorthing_ift(String.format("%,.3f", Double.valueOf(spcNorthing) / MET2IFT));
-            c.setSpcEasting_m(String.format("%,.3f", Double.valueOf(spcEasting)));
-            c.setSpcEasting_usft(String.format("%,.3f", Double.valueOf(spcEasting) / MET2USFT));
-            c.setSpcEasting_ift(String.format("%,.3f", Double.valueOf(spcEasting) / MET2IFT));
-        } else {
-            // spc coordinates are in usfeet for nad27
-            c.setSpcNorthing_m(String.format("%,.3f", Double.valueOf(spcNorthing) * MET2USFT));
-            c.setSpcNorthing_usft(String.format("%,.3f", Double.valueOf(spcNorthing)));
-            c.setSpcNorthing_ift(String.format("%,.3f", Double.valueOf(spcNorthing) * MET2USFT / MET2IFT));
-            c.setSpcEasting_m(String.format("%,.3f", Double.valueOf(spcEasting) * MET2USFT));
-            c.setSpcEasting_usft(String.format("%,.3f", Double.valueOf(spcEasting)));
-            c.setSpcEasting_ift(String.format("%,.3f", Double.valueOf(spcEasting) * MET2USFT / MET2IFT));
-
-        }
-
-        spcConvergence = spcConvergence.equals("N/A") ? "N/A" : toDMS(Double.valueOf(spcConvergence));
-        c.setSpcConvergence(spcConvergence);
-        c.setSpcScaleFactor(spcScaleFactor);
-        c.setSpcCombinedFactor(spcCombinedFactor);
-
+        boolean feet = !(pDatum.equalsIgnoreCase("nad83") || spcZone.equals("5400"));
+        setSpc(n, pDatum, zone, feet, destCoord, false);
+        copySpc(n, c);
         return c;
     }
 
@@ -662,46 +772,28 @@ public class Nutil {
      */
     public static CoordSet getCoordSet(CoordSet c, String pDatum, double aParm,
             double fParm, String utmZone) {
-        boolean specialCase = pDatum.equalsIgnoreCase("other");
-        double[] destCoord = getDestCoord(c, specialCase); //LLh
-        double dlat = destCoord[0];
-        double dlon = destCoord[1];
-        boolean hasHeight = !Double.isNaN(destCoord[2]);
-        String utm = "";
-        CoordinateTransformation ct = null;
-        if (specialCase) {
-
-            // a datum other than nad83 or nad27 is in play; convert to lat-long 
-            // using (a,f) parms. CoordinateTransformation object is 
-            // instantiated using nad83 just to fetch constants that are common
-            // to all datums.
-            ct = CoordinateTransformation.getInstance(utmZone, "nad83");
-            utm = ct.toProjectedCoordinates(aParm, fParm, dlat, dlon);
-
-        } else {
-            ct = CoordinateTransformation.getInstance(utmZone, pDatum);
-            utm = ct.toProjectedCoordinates(dlat, dlon);
-        }
-        double elevFactor = hasHeight ? ct.getElevationFactor(destCoord[0], destCoord[2]) : 0.0;
-
-        String[] utmParm = utm.split(",");
-        utmZone = utmParm[1].trim();
-        String utmScaleFactor = utmParm[6];
-        String utmCombinedFactor = hasHeight
-                ? (utmScaleFactor.equals("N/A") ? "N/A" : String.format(CF_FORMAT, Double.valueOf(utmScaleFactor) * elevFactor)) : "N/A";
-        String utmNorthing = utmParm[3];
-        String utmEasting = utmParm[4];
-        String utmConvergence = utmParm[5];
-        c.setUtmZone(getUtmZoneLabel(utmZone));
-        c.setUtmNorthing(String.format("%,.3f", Double.valueOf(utmNorthing)));
-        c.setUtmEasting(String.format("%,.3f", Double.valueOf(utmEasting)));
-        c.setUtmConvergence(toDMS(Double.valueOf(utmConvergence)));
-        c.setUtmScaleFactor(utmScaleFactor);
-        c.setUtmCombinedFactor(utmCombinedFactor);
+        return getCoordSet(c, pDatum, aParm, fParm, utmZone, false);
+    }
 
-        Usng u = new Usng(pDatum);
-        String usng = u.toUsng(Double.valueOf(utmNorthing), Double.valueOf(utmEasting), Integer.valueOf(utmZone), dlat);
-        c.setUsng(usng);
+    /**
+     * updates and returns coordinate set for a given utm zone
+     *
+     * @param c coordinate to be converted
+     * @param pDatum reference datum used for projection
+     * @param aParm equatorial radius
+     * @param fParm inverse of flattening
+     * @param utmZone zone to be used for conversion
+     * @param coordinatesOnly true=skip convergence, scale and combined factors
+     * @return updated coordinate set
+     */
+    public static CoordSet getCoordSet(CoordSet c, String pDatum, double aParm,
+            double fParm, String utmZone, boolean coordinatesOnly) {
+        double[] destCoord = getDestCoord(c, pDatum.equalsIgnoreCase("other")); //LLh
+        NumericCoordSet n = new NumericCoordSet();
+        utmZone = setUtm(n, pDatum, aParm, fParm, utmZone, destCoord, coordinatesOnly, 0.0);
+        setUsng(n, pDatum, utmZone, destCoord[0]);
+        copyUtm(n, c);
+        c.setUsng(n.getUsng());
         return c;
 
     }
@@ -742,7 +834,49 @@ public class Nutil {
      * @return true=valid
      */
     public static boolean isValid(String parm, String val) {
-        return Pattern.matches(REGEX_MAP.get(parm), val);
+        // hand-written checks of the REGEX_MAP syntax (see CoordParser)
+        switch (parm) {
+            case "declat":
+            case "declon":
+            case "height":
+            case "x":
+            case "y":
+            case "z":
+                return !Double.isNaN(CoordParser.parseDecimal(val));
+            case "northing":
+            case "easting":
+                return !Double.isNaN(CoordParser.parseUnsigned(val));
+            case "aparm":
+            case "invf":
+                return isParameter(val);
+            case "latdms":
+                return !Double.isNaN(CoordParser.parseDms(val, 0, val.length(), true));
+            case "londms":
+                return !Double.isNaN(CoordParser.parseDms(val, 0, val.length(), false));
+            case "spczone":
+                return CoordParser.isSpcZone(val);
+            case "utmzone":
+                return CoordParser.parseUtmZone(val) >= 0;
+            case "units":
+                return CoordParser.isUnits(val);
+            case "hemi":
+                return CoordParser.isHemisphere(val);
+            case "usng":
+                return CoordParser.isUsng(val);
+            default:
+                return PATTERN_MAP.get(parm).matcher(val).matches();
+        }
+    }
+
+    /**
+     * checks an ellipsoid parameter; an empty field or a sign alone matches
+     * the aparm and invf expressions but has no value
+     */
+    private static boolean isParameter(String val) {
+        if (val.isEmpty() || val.equals("+") || val.equals("-")) {
+            return true;
+        }
+        return !Double.isNaN(CoordParser.parseParameter(val));
     }
 
     /**
@@ -781,9 +915,7 @@ public class Nutil {
      * @return parameter in DMS format
      */
     public static String toDMS(double decimalDeg) {
-        String dms = CoordinateTransformation.toDMS(decimalDeg, true);
-        String deg = decimalDeg < 0 ? "-" + dms.substring(1, 3) : dms.substring(1, 3);
-        return deg + " " + dms.substring(3, 5) + " " + String.format("%05.2f", Double.valueOf(dms.substring(5)));
+        return DecimalFormatter.appendDms(new StringBuilder(12), decimalDeg, 2).toString();
     }
 
     /**
@@ -994,10 +1126,10 @@ public class Nutil {
         double latShiftSec = (lat2 - lat1) * 3600;
         double lonShiftSec = (lon2 - lon1) * 3600;
 
-        c.setDeltaLat(String.format("%.3f", (a * (1 - e2) * latShiftSec * Math.PI) / denom1));
-        c.setDeltaLon(String.format("%.3f", (a * cosLat * lonShiftSec * Math.PI) / denom2));
-        c.setSigLat_m(String.format("%.4f", (a * (1 - e2) * siglat * Math.PI) / denom1));
-        c.setSigLon_m(String.format("%.4f", (a * cosLat * siglon * Math.PI) / denom2));
+        c.setDeltaLat(DecimalFormatter.format((a * (1 - e2) * latShiftSec * Math.PI) / denom1, 3));
+        c.setDeltaLon(DecimalFormatter.format((a * cosLat * lonShiftSec * Math.PI) / denom2, 3));
+        c.setSigLat_m(DecimalFormatter.format((a * (1 - e2) * siglat * Math.PI) / denom1, 4));
+        c.setSigLon_m(DecimalFormatter.format((a * cosLat * siglon * Math.PI) / denom2, 4));
 
         return c;
     }
@@ -0,0 +1,408 @@
+package gov.noaa.ngs.grid;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.log4j.Logger;
+
+/**
+ * A pipeline of stages connected by bounded queues, for example parse,
+ * datum transformation, projection and serialization of batches of
+ * coordinates. Each stage runs on its own threads; the sink receives the
+ * items on the calling thread in source order.
+ * <p>
+ * At most capacity items are between the source and the sink at any time, so
+ * memory stays fixed however large the input is: the source waits when the
+ * slowest stage falls behind. The queue in front of a stage fills up when that
+ * stage is the bottleneck, which getMetrics reports together with the items
+ * and busy time of each stage.
+ * <pre>
+ * long n = Pipeline.from(chunks.iterator(), 16)
+ *         .then("parse", 1, c -> parse(c))
+ *         .then("transform", 4, b -> transform(b))
+ *         .run(out::write);
+ * </pre>
+ * The first exception or error thrown by the source, a stage or the sink stops
+ * the pipeline and is thrown by run as the cause of an ExecutionException. A pipeline runs once.
+ *
+ * @param <T> type of the items leaving the last stage
+ * @version 1.0 Date: 10/19/2026
+ */
+public class Pipeline<T> {
+
+    private final static Logger logger = Logger.getLogger(Pipeline.class);
+    private static final Item END = new Item(-1, null);
+
+    private final Iterator<?> source;
+    private final int capacity;
+    private final List<StageMetrics> stages;
+
+    /**
+     * a stage of the pipeline; called concurrently when the stage has more
+     * than one thread
+     *
+     * @param <I> input item
+     * @param <O> output item
+     */
+    @FunctionalInterface
+    public interface Stage<I, O> {
+
+        O apply(I item) throws Exception;
+    }
+
+    /**
+     * receives the output of the pipeline in source order
+     *
+     * @param <I> item
+     */
+    @FunctionalInterface
+    public interface Sink<I> {
+
+        void accept(I item) throws Exception;
+    }
+
+    private Pipeline(Iterator<?> source, int capacity, List<StageMetrics> stages) {
+        this.source = source;
+        this.capacity = capacity;
+        this.stages = stages;
+    }
+
+    /**
+     * starts a pipeline
+     *
+     * @param <S> type of the source items
+     * @param source items, read on a pipeline thread
+     * @param capacity maximum number of items in flight
+     * @return pipeline without stages
+     */
+    public static <S> Pipeline<S> from(Iterator<S> source, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Invalid pipeline capacity:" + capacity);
+        }
+        return new Pipeline<>(source, capacity, Collections.<StageMetrics>emptyList());
+    }
+
+    /**
+     * adds a stage
+     *
+     * @param <R> type of the items leaving the stage
+     * @param name stage name, used for metrics and thread names
+     * @param threads number of threads of the stage
+     * @param stage function applied to each item
+     * @return pipeline ending with the stage
+     */
+    public <R> Pipeline<R> then(String name, int threads, Stage<? super T, ? extends R> stage) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Invalid number of threads for stage " + name + ":" + threads);
+        }
+        List<StageMetrics> list = new ArrayList<>(stages);
+        list.add(new StageMetrics(name, threads, stage));
+        return new Pipeline<>(source, capacity, list);
+    }
+
+    /**
+     * runs the pipeline until the source is exhausted
+     *
+     * @param sink receives the items in source order
+     * @return number of items written to the sink
+     * @throws ExecutionException if a stage or the sink failed
+     * @throws InterruptedException if interrupted
+     */
+    @SuppressWarnings("unchecked")
+    public long run(Sink<? super T> sink) throws ExecutionException, InterruptedException {
+        int threads = 1;
+        for (StageMetrics s : stages) {
+            if (s.start != 0) {
+                throw new IllegalStateException("Pipeline has already run");
+            }
+            threads += s.threads;
+        }
+        List<BlockingQueue<Item>> queues = new ArrayList<>();
+        for (int i = 0; i <= stages.size(); i++) {
+            // room for the end markers of the threads of a stage
+            queues.add(new ArrayBlockingQueue<>(capacity + threads));
+        }
+        Semaphore permits = new Semaphore(capacity);
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "Pipeline");
+            t.setDaemon(true);
+            return t;
+        });
+        Failure failure = new Failure();
+        // pipeline threads still running, so the sink does not wait for an
+        // end marker that no thread is left to put
+        AtomicInteger running = new AtomicInteger(threads);
+        long start = System.nanoTime();
+        pool.execute(() -> {
+            try {
+                feed(queues.get(0), permits, failure);
+            } finally {
+                running.decrementAndGet();
+            }
+        });
+        for (int i = 0; i < stages.size(); i++) {
+            StageMetrics s = stages.get(i);
+            s.start = start;
+            s.queue = queues.get(i);
+            AtomicInteger live = new AtomicInteger(s.threads);
+            for (int t = 0; t < s.threads; t++) {
+                BlockingQueue<Item> in = queues.get(i);
+                BlockingQueue<Item> out = queues.get(i + 1);
+                pool.execute(() -> {
+                    try {
+                        work(s, in, out, live, failure);
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                });
+            }
+        }
+        BlockingQueue<Item> last = queues.get(stages.size());
+        Map<Long, Object> held = new HashMap<>();
+        long next = 0;
+        try {
+            while (failure.get() == null) {
+                Item item = last.poll(100, TimeUnit.MILLISECONDS);
+                if (item == null) {
+                    if (running.get() == 0 && last.isEmpty()) {
+                        failure.set(new IllegalStateException("Pipeline threads ended before the end of input"));
+                    }
+                    continue;
+                }
+                if (item == END) {
+                    break;
+                }
+                held.put(item.seq, item.value);
+                while (held.containsKey(next)) {
+                    sink.accept((T) held.remove(next));
+                    permits.release();
+                    next++;
+                }
+            }
+        } catch (InterruptedException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            failure.set(ex);
+        } finally {
+            pool.shutdownNow();
+        }
+        if (failure.get() != null) {
+            throw new ExecutionException("Pipeline failed", failure.get());
+        }
+        return next;
+    }
+
+    /**
+     * returns the metrics of the stages in pipeline order
+     *
+     * @return stage metrics
+     */
+    public List<StageMetrics> getMetrics() {
+        return Collections.unmodifiableList(stages);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder s = new StringBuilder();
+        for (StageMetrics m : stages) {
+            s.append(m).append('\n');
+        }
+        return s.toString();
+    }
+
+    /**
+     * reads the source into the first queue, at most capacity items ahead of
+     * the sink
+     */
+    private void feed(BlockingQueue<Item> out, Semaphore permits, Failure failure) {
+        long seq = 0;
+        try {
+            while (source.hasNext()) {
+                permits.acquire();
+                out.put(new Item(seq++, source.next()));
+            }
+            out.put(END);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable ex) {
+            failure.set(ex);
+        }
+    }
+
+    /**
+     * runs a stage on one thread until the end marker, which is put back for
+     * the other threads of the stage; the last thread passes it on
+     */
+    @SuppressWarnings("unchecked")
+    private static void work(StageMetrics s, BlockingQueue<Item> in, BlockingQueue<Item> out,
+            AtomicInteger live, Failure failure) {
+        Thread.currentThread().setName("Pipeline-" + s.name);
+        try {
+            while (true) {
+                Item item = in.take();
+                s.updateMaxDepth(in.size() + 1);
+                if (item == END) {
+                    if (live.decrementAndGet() == 0) {
+                        out.put(END);
+                    } else {
+                        in.put(END);
+                    }
+                    return;
+                }
+                long t = System.nanoTime();
+                Object value = ((Stage<Object, Object>) s.stage).apply(item.value);
+                s.busy.addAndGet(System.nanoTime() - t);
+                s.items.incrementAndGet();
+                out.put(new Item(item.seq, value));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable ex) {
+            // errors too: the sink waits for the failure or the end marker
+            failure.set(ex);
+            logger.debug("Pipeline stage " + s.name + " failed", ex);
+        }
+    }
+
+    /**
+     * the first failure of a stage, source or sink
+     */
+    private static final class Failure {
+
+        private volatile Throwable cause;
+
+        synchronized void set(Throwable ex) {
+            if (cause == null) {
+                cause = ex;
+            }
+        }
+
+        Throwable get() {
+            return cause;
+        }
+    }
+
+    private static final class Item {
+
+        private final long seq;
+        private final Object value;
+
+        Item(long seq, Object value) {
+            this.seq = seq;
+            this.value = value;
+        }
+    }
+
+    /**
+     * throughput and queue depth of a stage; safe to read while the pipeline
+     * runs
+     */
+    public static final class StageMetrics {
+
+        private final String name;
+        private final int threads;
+        private final Stage<?, ?> stage;
+        private final AtomicLong items = new AtomicLong();
+        private final AtomicLong busy = new AtomicLong();
+        private final AtomicInteger maxDepth = new AtomicInteger();
+        private volatile BlockingQueue<Item> queue;
+        private volatile long start;
+
+        StageMetrics(String name, int threads, Stage<?, ?> stage) {
+            this.name = name;
+            this.threads = threads;
+            this.stage = stage;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        /**
+         * returns the number of items processed
+         *
+         * @return number of items
+         */
+        public long getItems() {
+            return items.get();
+        }
+
+        /**
+         * returns the time spent in the stage, summed over its threads
+         *
+         * @return busy time in nanoseconds
+         */
+        public long getBusyNanos() {
+            return busy.get();
+        }
+
+        /**
+         * returns the number of items waiting for the stage
+         *
+         * @return current queue depth
+         */
+        public int getQueueDepth() {
+            BlockingQueue<Item> q = queue;
+            return q == null ? 0 : q.size();
+        }
+
+        /**
+         * returns the largest number of items seen waiting for the stage
+         *
+         * @return maximum queue depth
+         */
+        public int getMaxQueueDepth() {
+            return maxDepth.get();
+        }
+
+        /**
+         * returns the items processed per second since the pipeline started
+         *
+         * @return throughput
+         */
+        public double getThroughput() {
+            long elapsed = System.nanoTime() - start;
+            return start == 0 || elapsed <= 0 ? 0.0 : items.get() * 1e9 / elapsed;
+        }
+
+        /**
+         * returns the fraction of the time of its threads the stage was busy
+         *
+         * @return utilization from 0 to 1
+         */
+        public double getUtilization() {
+            long elapsed = System.nanoTime() - start;
+            return start == 0 || elapsed <= 0 ? 0.0 : (double) busy.get() / elapsed / threads;
+        }
+
+        private void updateMaxDepth(int depth) {
+            int max;
+            while (depth > (max = maxDepth.get()) && !maxDepth.compareAndSet(max, depth)) {
+                // retry
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s threads=%d items=%d busy(ms)=%d utilization=%.2f queue=%d max=%d items/s=%.1f",
+                    name, threads, getItems(), getBusyNanos() / 1000000, getUtilization(), getQueueDepth(),
+                    getMaxQueueDepth(), getThroughput());
+        }
+    }
+}
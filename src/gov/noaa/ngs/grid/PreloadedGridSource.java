@@ -0,0 +1,90 @@
+package gov.noaa.ngs.grid;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * The source of a GridManager without a source of its own: the grids of a
+ * location (-Dgpath or gridfile.path) as read by GridSource.of, with the grids
+ * preloaded by HeapGrid and the tiles preloaded by GridTileCache in front of
+ * them. A grid or tile held in memory, and its header, are served without
+ * touching the location.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+final class PreloadedGridSource implements GridSource {
+
+    private final String location;
+    private final GridSource base;
+
+    /**
+     * @param location grid directory or bundle, as named by -Dgpath
+     * @param base source of the location
+     */
+    PreloadedGridSource(String location, GridSource base) {
+        this.location = location;
+        this.base = base;
+    }
+
+    /**
+     * returns the path of a grid at a location, the key of HeapGrid and
+     * GridTileCache
+     *
+     * @param location grid directory or bundle
+     * @param grid grid file name
+     * @return grid path
+     */
+    static String getGridPath(String location, String grid) {
+        return location.endsWith("/") ? location + grid : location + "/" + grid;
+    }
+
+    /**
+     * @return the source of the location, without the preloaded grids
+     */
+    GridSource getBase() {
+        return base;
+    }
+
+    @Override
+    public boolean exists(String grid) {
+        if (grid == null) {
+            return false;
+        }
+        String path = getGridPath(location, grid);
+        return HeapGrid.get(path) != null || GridTileCache.getHeader(path) != null || base.exists(grid);
+    }
+
+    @Override
+    public GridHeader header(String grid) throws IOException {
+        String path = getGridPath(location, grid);
+        GridHeader h = HeapGrid.get(path);
+        if (h == null) {
+            h = GridTileCache.getHeader(path);
+        }
+        return h != null ? h : base.header(grid);
+    }
+
+    @Override
+    public double[] readCells(String grid, int row, int col, int rows, int cols) throws IOException {
+        String path = getGridPath(location, grid);
+        HeapGrid h = HeapGrid.get(path);
+        if (h != null) {
+            return h.getCells(row, col, rows, cols);
+        }
+        GridTileCache.Tile t = GridTileCache.get(path, row, col, rows, cols);
+        if (t != null) {
+            return t.getCells(row, col, rows, cols);
+        }
+        return base.readCells(grid, row, col, rows, cols);
+    }
+
+    @Override
+    public ByteBuffer bulkRead(String grid) throws IOException {
+        return base.bulkRead(grid);
+    }
+
+    @Override
+    public String toString() {
+        return base.toString();
+    }
+}
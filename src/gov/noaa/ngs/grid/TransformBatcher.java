@@ -0,0 +1,319 @@
+package gov.noaa.ngs.grid;
+
+import gov.noaa.ngs.transform.CTException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.apache.log4j.Logger;
+
+/**
+ * A micro-batching front end over Nutil.transformNumeric and
+ * Nutil.getNumericCoordSet. Single-point requests from many callers are
+ * collected for up to maxBatch points or maxDelay microseconds, grouped by
+ * (nadcon region, source datum, destination datum, SPC zone, UTM zone) and each
+ * group is run on one worker thread, which completes the per-request futures.
+ * <p>
+ * The region of each point is looked up once, by the dispatcher, and handed to
+ * the transformation with its bounds; a request whose lookup fails is
+ * completed exceptionally on its own. A group shares the region and the
+ * projection datum, and every group reads its grids from the one GridSource of
+ * the batcher, so the grid files are opened once for all points and hops.
+ * Grid lookups run inline on the worker (Transformer.setInline) rather than
+ * starting a thread pool per point and hop. The extra latency per request is
+ * bounded by maxDelay plus the time to run its group.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public class TransformBatcher {
+
+    private final static Logger logger = Logger.getLogger(TransformBatcher.class);
+    public static final int DEFAULT_MAX_BATCH = 256;
+    public static final long DEFAULT_MAX_DELAY_MICROS = 500;
+    // smallest slice of a group handed to one worker
+    private static final int MIN_SLICE = 16;
+    private static final String[] ALL_OPTIONS = {"SPC", "UTM", "USNG", "XYZ"};
+
+    private final int maxBatch;
+    private final long maxDelayNanos;
+    private final int threads;
+    private final LinkedBlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService workers;
+    private final Thread dispatcher;
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    // submit holds the read lock from the running check to the queue add, so
+    // no request is queued after close has stopped the dispatcher
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final GridSource gridSource;
+    private volatile boolean running = true;
+
+    public TransformBatcher() {
+        this(DEFAULT_MAX_BATCH, DEFAULT_MAX_DELAY_MICROS, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param maxBatch maximum number of points collected into one batch
+     * @param maxDelayMicros maximum time a batch waits for more points
+     * @param threads number of worker threads
+     */
+    public TransformBatcher(int maxBatch, long maxDelayMicros, int threads) {
+        this(maxBatch, maxDelayMicros, threads, null);
+    }
+
+    /**
+     * @param maxBatch maximum number of points collected into one batch
+     * @param maxDelayMicros maximum time a batch waits for more points
+     * @param threads number of worker threads
+     * @param gridSource source of the grids, or null to read the directory or
+     * bundle of -Dgpath
+     */
+    public TransformBatcher(int maxBatch, long maxDelayMicros, int threads, GridSource gridSource) {
+        if (maxBatch < 1 || maxDelayMicros < 0 || threads < 1) {
+            throw new IllegalArgumentException("Invalid batch size, delay or number of threads");
+        }
+        this.maxBatch = maxBatch;
+        this.maxDelayNanos = TimeUnit.MICROSECONDS.toNanos(maxDelayMicros);
+        this.threads = threads;
+        this.gridSource = gridSource;
+        workers = Executors.newFixedThreadPool(threads);
+        dispatcher = new Thread(this::dispatch, "TransformBatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * queues a transformation and conversion of one point
+     *
+     * @param inDatum input horizontal datum
+     * @param outDatum output horizontal datum
+     * @param lat latitude
+     * @param lon longitude
+     * @param height ellipsoid height
+     * @param inVertDatum input vertical datum
+     * @param outVertDatum output vertical datum
+     * @param orthoHt orthometric height
+     * @param aParm equatorial radius, if used
+     * @param fParm earth flattening, if used
+     * @param spcZone spc zone or auto
+     * @param utmZone utm zone or auto
+     * @param coOptions coordinate options as in Nutil.getCoordSet
+     * @return future completed with the coordinate set, or exceptionally with
+     * the CTException or runtime exception of the point
+     */
+    public CompletableFuture<CoordSet> submit(String inDatum, String outDatum,
+            double lat, double lon, double height, String inVertDatum, String outVertDatum, double orthoHt,
+            double aParm, double fParm, String spcZone, String utmZone, String[] coOptions) {
+        Request r = new Request(inDatum, outDatum, lat, lon, height, inVertDatum, outVertDatum, orthoHt,
+                aParm, fParm, spcZone, utmZone, coOptions);
+        lock.readLock().lock();
+        try {
+            if (!running) {
+                r.future.completeExceptionally(new IllegalStateException("TransformBatcher is closed"));
+                return r.future;
+            }
+            requests.incrementAndGet();
+            queue.add(r);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return r.future;
+    }
+
+    /**
+     * queues a horizontal transformation and conversion to all coordinate
+     * types
+     *
+     * @param inDatum input datum
+     * @param outDatum output datum
+     * @param lat latitude
+     * @param lon longitude
+     * @param height ellipsoid height
+     * @param spcZone spc zone or auto
+     * @param utmZone utm zone or auto
+     * @return future completed with the coordinate set
+     */
+    public CompletableFuture<CoordSet> submit(String inDatum, String outDatum,
+            double lat, double lon, double height, String spcZone, String utmZone) {
+        return submit(inDatum, outDatum, lat, lon, height, "N/A", "N/A", Double.NaN,
+                0.0, 0.0, spcZone, utmZone, ALL_OPTIONS);
+    }
+
+    /**
+     * returns the number of batches dispatched so far
+     *
+     * @return number of batches
+     */
+    public long getBatches() {
+        return batches.get();
+    }
+
+    /**
+     * returns the number of requests accepted so far
+     *
+     * @return number of requests
+     */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * stops accepting requests, completes the queued ones and releases the
+     * worker threads
+     */
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            dispatcher.join();
+            workers.shutdown();
+            workers.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            workers.shutdownNow();
+        }
+        // left over if the dispatcher was interrupted
+        for (Request r = queue.poll(); r != null; r = queue.poll()) {
+            r.future.completeExceptionally(new IllegalStateException("TransformBatcher is closed"));
+        }
+    }
+
+    /**
+     * collects batches until closed and the queue is drained
+     */
+    private void dispatch() {
+        List<Request> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                Request first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatch) {
+                    long wait = deadline - System.nanoTime();
+                    Request r = wait > 0 ? queue.poll(wait, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (r == null) {
+                        break;
+                    }
+                    batch.add(r);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            submitGroups(batch);
+            batch = new ArrayList<>(maxBatch);
+        }
+        for (Request r : batch) {
+            r.future.completeExceptionally(new IllegalStateException("TransformBatcher was interrupted"));
+        }
+    }
+
+    /**
+     * groups a batch by (region, datums, zones) and hands the groups to workers
+     */
+    private void submitGroups(List<Request> batch) {
+        batches.incrementAndGet();
+        Map<String, List<Request>> groups = new LinkedHashMap<>();
+        for (Request r : batch) {
+            try {
+                Transformer t = new Transformer(r.lat, r.lon, GridManager.NADCON);
+                r.region = t.getRegion();
+                r.regionBounds = t.getRegionBounds();
+            } catch (RuntimeException ex) {
+                logger.debug("Region lookup of a batched transformation failed", ex);
+                r.future.completeExceptionally(ex);
+                continue;
+            }
+            String key = r.region + "|" + r.inDatum + "|" + r.outDatum + "|" + r.spcZone + "|" + r.utmZone;
+            List<Request> group = groups.get(key);
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.put(key, group);
+            }
+            group.add(r);
+        }
+        // split large groups so that one busy region does not serialize the batch
+        int slice = Math.max(MIN_SLICE, (batch.size() + threads - 1) / threads);
+        for (List<Request> group : groups.values()) {
+            for (int i = 0; i < group.size(); i += slice) {
+                List<Request> part = group.subList(i, Math.min(group.size(), i + slice));
+                workers.execute(() -> run(part));
+            }
+        }
+    }
+
+    /**
+     * runs a group of requests sharing region, datums and zones
+     */
+    private void run(List<Request> group) {
+        String pDatum = Nutil.getPdatum(group.get(0).outDatum);
+        for (Request r : group) {
+            try {
+                NumericCoordSet p = Nutil.transformNumeric(r.inDatum, r.outDatum, r.lat, r.lon, r.height,
+                        r.inVertDatum, r.outVertDatum, r.orthoHt, true, r.region, r.regionBounds, gridSource);
+                r.future.complete(Nutil.getNumericCoordSet(p, r.outDatum, pDatum, r.aParm, r.fParm,
+                        r.spcZone, r.utmZone, r.coOptions));
+            } catch (CTException | RuntimeException ex) {
+                logger.debug("Batched transformation failed", ex);
+                r.future.completeExceptionally(ex);
+            }
+        }
+    }
+
+    /**
+     * a queued single-point request
+     */
+    private static final class Request {
+
+        private final String inDatum;
+        private final String outDatum;
+        private final double lat;
+        private final double lon;
+        private final double height;
+        private final String inVertDatum;
+        private final String outVertDatum;
+        private final double orthoHt;
+        private final double aParm;
+        private final double fParm;
+        private final String spcZone;
+        private final String utmZone;
+        private final String[] coOptions;
+        private final CompletableFuture<CoordSet> future = new CompletableFuture<>();
+        // set by the dispatcher
+        private String region;
+        private double[] regionBounds;
+
+        Request(String inDatum, String outDatum, double lat, double lon, double height,
+                String inVertDatum, String outVertDatum, double orthoHt,
+                double aParm, double fParm, String spcZone, String utmZone, String[] coOptions) {
+            this.inDatum = inDatum;
+            this.outDatum = outDatum;
+            this.lat = lat;
+            this.lon = lon;
+            this.height = height;
+            this.inVertDatum = inVertDatum;
+            this.outVertDatum = outVertDatum;
+            this.orthoHt = orthoHt;
+            this.aParm = aParm;
+            this.fParm = fParm;
+            this.spcZone = spcZone;
+            this.utmZone = utmZone;
+            this.coOptions = coOptions;
+        }
+    }
+}
@@ -5,7 +5,15 @@
  */
 package gov.noaa.ngs.grid;
 
+import gov.noaa.ngs.metrics.Counter;
+import gov.noaa.ngs.metrics.DatumHopEvent;
+import gov.noaa.ngs.metrics.Events;
+import gov.noaa.ngs.metrics.FormatEvent;
+import gov.noaa.ngs.metrics.Histogram;
+import gov.noaa.ngs.metrics.InterpolationEvent;
+import gov.noaa.ngs.metrics.Metrics;
 import gov.noaa.ngs.transform.CoordinateTransformation;
+import gov.noaa.ngs.transform.DecimalFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.concurrent.ConcurrentHashMap;
@@ -22,6 +30,11 @@ import org.apache.log4j.Logger;
 public class Transformer {
 
     private final static Logger logger = Logger.getLogger(Transformer.class);
+    private static final Histogram REGION_TIMER = Metrics.histogram("region.lookup");
+    private static final Histogram INTERPOLATE_TIMER = Metrics.histogram("grid.interpolate");
+    private static final Histogram FORMAT_TIMER = Metrics.histogram("format.result");
+    private static final Counter REGION_NOT_FOUND = Metrics.counter("region.notFound");
+    private static final Counter OUT_OF_BOUNDS = Metrics.counter("transform.outOfBounds");
     private String srcDatum;
     private String destDatum;
     private double lat;
@@ -40,6 +53,9 @@ public class Transformer {
     private String transGrid;
     private double elevation;
     private boolean transDir;
+    private boolean inline;
+    private boolean located; // region set by the caller
+    private GridSource gridSource;
     private ConcurrentHashMap<String, Double> map;
 
     /**
@@ -121,6 +137,26 @@ public class Transformer {
         return transDir;
     }
 
+    /**
+     * runs grid lookups of each hop on the calling thread instead of a thread
+     * pool per hop; used when the caller already transforms points in parallel
+     *
+     * @param inline true=lookups on the calling thread
+     */
+    public void setInline(boolean inline) {
+        this.inline = inline;
+    }
+
+    /**
+     * reads the grids of the lookups from a source instead of the directory
+     * or bundle of -Dgpath
+     *
+     * @param gridSource source, or null for -Dgpath
+     */
+    public void setGridSource(GridSource gridSource) {
+        this.gridSource = gridSource;
+    }
+
     /**
      * returns a nadcon region for a given lat-long
      *
@@ -131,6 +167,28 @@ public class Transformer {
         return region;
     }
 
+    /**
+     * returns the bounds of the nadcon region found by getRegion
+     *
+     * @return minlat, maxlat, minlon, maxlon or null if no region was found
+     */
+    double[] getRegionBounds() {
+        return regionBounds;
+    }
+
+    /**
+     * sets the region of the point, as found by getRegion of a Transformer
+     * for the same point, so that it is not looked up again
+     *
+     * @param region nadcon region
+     * @param regionBounds minlat, maxlat, minlon, maxlon of the region
+     */
+    void setRegion(String region, double[] regionBounds) {
+        this.region = region;
+        this.regionBounds = regionBounds;
+        located = true;
+    }
+
     /**
      * sets +ve East longitude
      */
@@ -158,6 +216,10 @@ public class Transformer {
      * @return
      */
     private void findRegion() {
+        if (located) {
+            return;
+        }
+        long start = Metrics.start();
         GridManager g = GridManager.getInstance(transGrid);
         String[] regions = g.getRegions();
         double[] bounds = g.getBounds();
@@ -181,6 +243,7 @@ public class Transformer {
             }
         }
         region = found ? regions[i] : null;
+        REGION_TIMER.record(start);
         //      System.out.println("found reg:" + region);
     }
 
@@ -286,6 +349,30 @@ public class Transformer {
      * @return transformed coordinate
      */
     public String transform(boolean addDMS) {
+        double[] result = transformValues();
+        if (result == null) {
+            return errMsg;
+        }
+        long start = Metrics.start();
+        FormatEvent event = Events.format();
+        String s = formatResult(result, addDMS);
+        FORMAT_TIMER.record(start);
+        if (event != null) {
+            event.commit("result");
+        }
+        return s;
+    }
+
+    /**
+     * returns a transformed coordinate without formatting. For nadcon: lat,
+     * lat error (arcsec), lon (+ve east), lon error (arcsec), eht, eht error,
+     * where eht and its error are 999999.0 if not transformed; for vertcon:
+     * orthometric height and its error
+     *
+     * @return transformed values or null if the transformation failed (see
+     * getErrMsg)
+     */
+    public double[] transformValues() {
 
         // ****reset lat-lons for multiple iterations
         //
@@ -294,8 +381,10 @@ public class Transformer {
         errMsg = null;
         findRegion();
         if (region == null) {
+            REGION_NOT_FOUND.increment();
             logger.info("No suitable region found for datum transformation");
-            return "**No suitable region found for datum transformation**";
+            errMsg = "**No suitable region found for datum transformation**";
+            return null;
         }
         setDatums();
         int[] idx = getDatumIndex();
@@ -303,7 +392,8 @@ public class Transformer {
         int endIdx = idx[1];
         if (startIdx == -1 || endIdx == -1) {
             logger.error("Source or destination datum not found for " + region);
-            return "***Source or destination datum not found for " + region + " ***";
+            errMsg = "***Source or destination datum not found for " + region + " ***";
+            return null;
         }
         // initialize result 
         if (isNadcon()) {
@@ -333,15 +423,18 @@ public class Transformer {
                     transform(result[0], result[2], fromDatum, toDatum);
                     if (map.get("gridError") != null) {
                         logger.fatal("Transformation failure;no grids found");
-                        return "***Transformation failure;no grids found***";
+                        errMsg = "***Transformation failure;no grids found***";
+                        return null;
                     }
                     result[0] += map.get("lattrn") / 3600.0;
                     result[1] += Math.pow(map.get("laterr"), 2.0);
                     result[2] += map.get("lontrn") / 3600.0;
                     result[3] += Math.pow(map.get("lonerr"), 2.0);
                     if (!isInBounds(result[0], result[2])) {
+                        OUT_OF_BOUNDS.increment();
                         logger.error("Transformation failure;coordinate is out of bounds");
-                        return "***Transformation failure;coordinate is out of bounds***";
+                        errMsg = "***Transformation failure;coordinate is out of bounds***";
+                        return null;
 
                     }
                     if (hasEht) {
@@ -355,7 +448,8 @@ public class Transformer {
                     transform(lat, lon, fromDatum, toDatum);
                     if (map.get("gridError") != null) {
                         logger.fatal("Transformation failure;no grids found");
-                        return "***Transformation failure;no grids found***";
+                        errMsg = "***Transformation failure;no grids found***";
+                        return null;
                     }
                     result[0] += map.get("ohttrn");
                     result[1] += map.get("ohterr");
@@ -374,15 +468,18 @@ public class Transformer {
                     transform(result[0], result[2], fromDatum, toDatum);
                     if (map.get("gridError") != null) {
                         logger.fatal("Transformation failure;no grids found");
-                        return "***Transformation failure;no grids found***";
+                        errMsg = "***Transformation failure;no grids found***";
+                        return null;
                     }
                     result[0] -= map.get("lattrn") / 3600.0;
                     result[1] += Math.pow(map.get("laterr"), 2.0);
                     result[2] -= map.get("lontrn") / 3600.0;
                     result[3] += Math.pow(map.get("lonerr"), 2.0);
                     if (!isInBounds(result[0], result[2])) {
+                        OUT_OF_BOUNDS.increment();
                         logger.error("Transformation failure;coordinate is out of bounds");
-                        return "***Transformation failure;coordinate is out of bounds***";
+                        errMsg = "***Transformation failure;coordinate is out of bounds***";
+                        return null;
                     }
                     if (hasEht) {
                         if (!noEhtGrid) {
@@ -394,7 +491,8 @@ public class Transformer {
                     transform(lat, lon, fromDatum, toDatum);
                     if (map.get("gridError") != null) {
                         logger.fatal("Transformation failure;no grids found");
-                        return "***Transformation failure;no grids found***";
+                        errMsg = "***Transformation failure;no grids found***";
+                        return null;
                     }
                     result[0] -= map.get("ohttrn");
                     result[1] += map.get("ohterr");
@@ -416,7 +514,7 @@ public class Transformer {
                 }
             }
         }
-        return formatResult(result, addDMS);
+        return result;
     }
 
     /**
@@ -430,41 +528,41 @@ public class Transformer {
         if (isNadcon()) {
             double resetLon = CoordinateTransformation.resetLon(result[2]);
             if ((int) result[4] == 999999 && (result[4] == result[5])) {
-                return addDMS ? String.format("%.10f", result[0]) + ","
+                return addDMS ? DecimalFormatter.format(result[0], 10) + ","
                         + CoordinateTransformation.toDMS(result[0], true) + ","
-                        + String.format("%.6f", result[1]) + ","
-                        + String.format("%.10f", resetLon) + ","
+                        + DecimalFormatter.format(result[1], 6) + ","
+                        + DecimalFormatter.format(resetLon, 10) + ","
                         + CoordinateTransformation.toDMS(resetLon, false) + ","
-                        + String.format("%.6f", result[3])
+                        + DecimalFormatter.format(result[3], 6)
                         + "," + "N/A" + "," + "N/A"
-                        : String.format("%.10f", result[0]) + "," + String.format("%.6f", result[1]) + ","
-                        + String.format("%.10f", result[2]) + "," + String.format("%.6f", result[3])
+                        : DecimalFormatter.format(result[0], 10) + "," + DecimalFormatter.format(result[1], 6) + ","
+                        + DecimalFormatter.format(result[2], 10) + "," + DecimalFormatter.format(result[3], 6)
                         + "," + "N/A" + "," + "N/A";
 
             } else {
-                return addDMS ? String.format("%.10f", result[0]) + ","
+                return addDMS ? DecimalFormatter.format(result[0], 10) + ","
                         + CoordinateTransformation.toDMS(result[0], true) + ","
-                        + String.format("%.6f", result[1]) + ","
-                        + String.format("%.10f", resetLon) + ","
+                        + DecimalFormatter.format(result[1], 6) + ","
+                        + DecimalFormatter.format(resetLon, 10) + ","
                         + CoordinateTransformation.toDMS(resetLon, false) + ","
-                        + String.format("%.6f", result[3]) + ","
-                        + String.format("%.3f", result[4]) + "," + String.format("%.3f", result[5])
-                        : String.format("%.10f", result[0]) + "," + String.format("%.6f", result[1]) + ","
-                        + String.format("%.10f", result[2]) + "," + String.format("%.6f", result[3])
-                        + "," + String.format("%.3f", result[4]) + "," + String.format("%.3f", result[5]);
+                        + DecimalFormatter.format(result[3], 6) + ","
+                        + DecimalFormatter.format(result[4], 3) + "," + DecimalFormatter.format(result[5], 3)
+                        : DecimalFormatter.format(result[0], 10) + "," + DecimalFormatter.format(result[1], 6) + ","
+                        + DecimalFormatter.format(result[2], 10) + "," + DecimalFormatter.format(result[3], 6)
+                        + "," + DecimalFormatter.format(result[4], 3) + "," + DecimalFormatter.format(result[5], 3);
             }
         } else {
             double resetLon = CoordinateTransformation.resetLon(lon);
-            return addDMS ? String.format("%.10f", lat) + ","
+            return addDMS ? DecimalFormatter.format(lat, 10) + ","
                     + CoordinateTransformation.toDMS(lat, true) + ","
-                    + String.format("%.10f", resetLon) + ","
+                    + DecimalFormatter.format(resetLon, 10) + ","
                     + CoordinateTransformation.toDMS(resetLon, false) + ","
-                    + String.format("%.3f", elevation) + "," + String.format("%.3f", result[0])
-                    + "," + String.format("%.3f", result[1])
-                    : String.format("%.10f", lat) + ","
-                    + String.format("%.10f", resetLon) + ","
-                    + String.format("%.3f", elevation) + "," + String.format("%.3f", result[0])
-                    + "," + String.format("%.3f", result[1]);
+                    + DecimalFormatter.format(elevation, 3) + "," + DecimalFormatter.format(result[0], 3)
+                    + "," + DecimalFormatter.format(result[1], 3)
+                    : DecimalFormatter.format(lat, 10) + ","
+                    + DecimalFormatter.format(resetLon, 10) + ","
+                    + DecimalFormatter.format(elevation, 3) + "," + DecimalFormatter.format(result[0], 3)
+                    + "," + DecimalFormatter.format(result[1], 3);
 
         }
     }
@@ -478,7 +576,23 @@ public class Transformer {
      * @param toDatum destination datum
      */
     private void transform(double tlat, double tlon, String fromDatum, String toDatum) {
+        DatumHopEvent event = Events.datumHop();
         map = new ConcurrentHashMap<>();
+        if (inline) {
+            for (String gridParm : gridParms) {
+                // skip if there is no grid for eht
+                if (gridParm.equalsIgnoreCase("eht") && (!hasEht)) {
+                    continue;
+                }
+                for (String gridType : gridTypes) {
+                    new Transformer.Gthread(tlat, tlon, fromDatum, toDatum, gridParm, gridType).run();
+                }
+            }
+            if (event != null) {
+                event.commit(transGrid, region, fromDatum, toDatum);
+            }
+            return;
+        }
         ExecutorService executor = Executors.newFixedThreadPool(6);
 
         for (int j = 0; j < gridParms.length; j++) {
@@ -495,7 +609,9 @@ public class Transformer {
         executor.shutdown();
         while (!executor.isTerminated()) {
         }
-
+        if (event != null) {
+            event.commit(transGrid, region, fromDatum, toDatum);
+        }
     }
 
     /**
@@ -530,11 +646,17 @@ public class Transformer {
 
         @Override
         public void run() {
-            GridManager g = GridManager.getInstance(region, fromDatum, toDatum, gParm, gType, transGrid);
+            GridManager g = GridManager.getInstance(region, fromDatum, toDatum, gParm, gType, transGrid, gridSource);
             double[] block = g.getBlock(tlat, tlon, intpGridRows, intpGridCols);
             if (block != null) {
                 double[] coord = g.getIntpPoint(); // (x,y) coordinate used for interploation
+                long start = Metrics.start();
+                InterpolationEvent event = Events.interpolation();
                 double intpVal = g.interpolate(coord[0], coord[1], block);
+                INTERPOLATE_TIMER.record(start);
+                if (event != null) {
+                    event.commit(gParm + gType, intpVal);
+                }
                 if ((gParm + gType).equals("ohterr") && intpVal < 0) {
                     int[] blkidx = g.getTwoByTwoCells();
                     double[] blk = new double[4];
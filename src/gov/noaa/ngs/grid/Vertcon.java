@@ -1,13 +1,7 @@
 package gov.noaa.ngs.grid;
 
-import gov.noaa.ngs.endian.EndianParser;
-
-import java.io.File;
-import java.io.IOException;
-import java.io.RandomAccessFile;
 import java.util.ArrayList;
 import java.util.Properties;
-import org.apache.log4j.Logger;
 
 /**
  * Extends GridManager for Vertcon
@@ -17,7 +11,6 @@ import org.apache.log4j.Logger;
  */
 public class Vertcon extends GridManager {
 
-    private final static Logger logger = Logger.getLogger(Vertcon.class);
     private double gridTolerance;
     private String region;
     private String srcDatum;
@@ -26,22 +19,6 @@ public class Vertcon extends GridManager {
     private String gridType;  //err ot trn
     private final Properties gridDef;
 
-    private int gridHeaderLen;
-    private double minlat;
-    private double minlon;
-    private double maxlat;
-    private double maxlon;
-    private double dlat;
-    private double dlon;
-    private int width;
-    private int height;
-    private int ikind;
-    private int cellSize;
-    private long fileSize;
-    private int drLen;
-    private EndianParser parser;
-    private double[] intpPoint; //(x,y) coordinate to be used for interpolation
-
     public Vertcon(String region, String srcDatum, String destDatum,
             String gridParm, String gridType) {
         super();
@@ -50,64 +27,17 @@ public class Vertcon extends GridManager {
         this.destDatum = destDatum;
         this.gridParm = gridParm;
         this.gridType = gridType;
-        this.gridDef = vertconDef;
+        this.gridDef = getVertconDef();
     }
 
     public Vertcon() {
         super();
-        this.gridDef = vertconDef;
+        this.gridDef = getVertconDef();
     }
 
-    /**
-     * parses grid header record and initializes header elements
-     *
-     * @return a reference to grid file
-     */
     @Override
-    protected RandomAccessFile parseHeader() {
-        RandomAccessFile gridfh = null;
-        String gridsDefaultPath = gridDef.getProperty("gridfile.path", "");
-        String gridsPath = System.getProperty("gpath", gridsDefaultPath).trim();
-        // terminate with "/" if it does not have one
-        if (!gridsPath.endsWith("/")) {
-            gridsPath += "/";
-        }
-        String gridFile = gridsPath + getGridFile();
-        if (!new File(gridFile).exists()) {
-            logger.fatal(":Grid file " + gridFile + " does not exist");
-            return null;
-        }
-        try {
-
-            gridfh = new RandomAccessFile(gridFile, "r");
-
-            //
-            // read and parse the header; header is HEADER_LEN-bytes
-            //
-            gridHeaderLen = Integer.valueOf(gridDef.getProperty("grid.headerlen", ""));
-            //           System.out.println("grid headerlen:" + gridHeaderLen);
-            byte[] header = new byte[gridHeaderLen];
-            gridfh.read(header);
-            parser = new EndianParser();
-            parser = Math.abs(parser.getInt(header, 44)) > 2 ? new EndianParser("le") : parser;
-
-            fileSize = gridfh.length();
-            minlat = parser.getDouble(header, 4);
-            minlon = parser.getDouble(header, 12);
-            dlat = parser.getDouble(header, 20);
-            dlon = parser.getDouble(header, 28);
-            height = parser.getInt(header, 36);
-            width = parser.getInt(header, 40);
-            ikind = parser.getInt(header, 44);
-            maxlat = minlat + (height - 1) * dlat;
-            maxlon = minlon + (width - 1) * dlon;
-            cellSize = (ikind == 0 || ikind == 1) ? 4 : 2;
-            drLen = (width + 2) * cellSize;
-
-        } catch (IOException ex) {
-            logger.fatal("Unable to read grid file " + gridFile, ex);
-        }
-        return gridfh;
+    protected Properties getGridDef() {
+        return gridDef;
     }
 
     @Override
@@ -190,77 +120,6 @@ public class Vertcon extends GridManager {
         return col;
     }
 
-    /**
-     * returns a block of numRowsXnumCols surrounding a given point
-     *
-     * @param lat latitude
-     * @param lon longitude
-     * @param numRows number of rows in a block
-     * @param numCols number of columns in a block
-     * @return a block of data
-     */
-    @Override
-    public double[] getBlock(double lat, double lon, int numRows, int numCols) {
-        RandomAccessFile gridfh = parseHeader();
-        if (gridfh == null) { //possibly grid file not found
-            return null;
-        }
-        int row = getGridRow(lat);
-        int col = getGridColumn(lon);
-
-        if (row == -1 || col == -1) { // out of bounds
-            return null;
-        }
-        intpPoint = new double[2];
-        // point for interpolation (x,y)
-        intpPoint[0] = (lon - minlon - dlon * (col - 1)) / dlon;
-        intpPoint[1] = (lat - minlat - dlat * (row - 1)) / dlat;
-        return getCells(gridfh, row - 1, col - 1, numRows, numCols);
-
-    }
-
-    /**
-     * returns a block rowsXcols cells at a given location in the grid
-     *
-     * @param gridfh a reference to grid file
-     * @param heightOffset offset to be applied to grid height
-     * @param widthOffset offset to be applied to grid width
-     * @param rows number of grid rows to be returned
-     * @param cols number of grid columns to be returned
-     * @return a block of grid cells defined by rowsXcols
-     */
-    @Override
-    protected double[] getCells(RandomAccessFile gridfh, int heightOffset, int widthOffset, int rows, int cols) {
-        double[] grid = new double[cols * rows];
-        byte[] gridRec = new byte[cols * cellSize];
-
-        try {
-            int gridIdx = 0;
-            for (int j = 0; j < rows; j++) {
-                int seekPos = gridHeaderLen + (heightOffset + j) * drLen + (widthOffset + 1) * cellSize;
-                gridfh.seek(seekPos);
-                gridfh.read(gridRec);
-                for (int i = 0; i < cols; i++) {
-                    double d = cellSize == 4 ? parser.getFloat(gridRec, i * cellSize)
-                            : parser.getShort(gridRec, i * cellSize);
-                    grid[gridIdx] = d;
-                    gridIdx++;
-                }
-            }
-
-        } catch (IOException ex) {
-            logger.fatal("Unable to read grid cells ", ex);
-        } finally {
-            try {
-                gridfh.close();
-            } catch (IOException ex) {
-                logger.fatal("Unable to close grid file ", ex);
-            }
-        }
-        return grid;
-
-    }
-
     /**
      * returns the point being interpolated
      *
@@ -0,0 +1,53 @@
+package gov.noaa.ngs.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A count of events, for example transformations that found no grid.
+ * Increments are ignored while metrics are disabled.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public class Counter {
+
+    private final String name;
+    private final LongAdder count = new LongAdder();
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * adds one if metrics are enabled
+     */
+    public void increment() {
+        if (Metrics.isEnabled()) {
+            count.increment();
+        }
+    }
+
+    /**
+     * returns the count
+     *
+     * @return count
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * clears the count
+     */
+    public void reset() {
+        count.reset();
+    }
+
+    @Override
+    public String toString() {
+        return name + "=" + getCount();
+    }
+}
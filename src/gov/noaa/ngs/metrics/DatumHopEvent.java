@@ -0,0 +1,19 @@
+package gov.noaa.ngs.metrics;
+
+/**
+ * Event of a transformation between two consecutive datums of a region.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public interface DatumHopEvent {
+
+    /**
+     * ends and commits the event if it passes the recording settings
+     *
+     * @param grid nadcon or vertcon
+     * @param region region
+     * @param fromDatum older datum of the hop
+     * @param toDatum newer datum of the hop
+     */
+    void commit(String grid, String region, String fromDatum, String toDatum);
+}
@@ -0,0 +1,22 @@
+package gov.noaa.ngs.metrics;
+
+/**
+ * Starts the events of the library; implemented by JfrEvents in the optional
+ * jfr source set.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+interface EventFactory {
+
+    GridOpenEvent gridOpen();
+
+    GridReadEvent gridRead();
+
+    InterpolationEvent interpolation();
+
+    DatumHopEvent datumHop();
+
+    ProjectionEvent projection();
+
+    FormatEvent format();
+}
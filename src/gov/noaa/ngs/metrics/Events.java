@@ -0,0 +1,86 @@
+package gov.noaa.ngs.metrics;
+
+/**
+ * Starts the Java Flight Recorder events of the library. Each method returns
+ * a started event, or null when the event is not enabled in a recording, the
+ * runtime is older than Java 11 or the library was built without the JFR
+ * events, so the call sites keep working there. When nothing is recorded an
+ * event is not allocated: each event class checks its cached EventType first,
+ * so a call site costs a flag check and a null check:
+ * <pre>
+ * GridReadEvent event = Events.gridRead();
+ * ...
+ * if (event != null) {
+ *     event.commit(file, row, col, bytes);
+ * }
+ * </pre>
+ * The event classes extend jdk.jfr.Event, which is not part of the Java 8
+ * API, so they are in the jfr/src source set, compiled for Java 11 into the
+ * same jar when the build runs on Java 11 or later, and loaded here by name.
+ * The library itself is compiled for Java 8.
+ * <p>
+ * The events are in the NCAT category of a recording, for example
+ * -XX:StartFlightRecording:filename=ncat.jfr with the default settings, which
+ * enable all events without a threshold.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public final class Events {
+
+    private static final EventFactory FACTORY = load();
+    public static final boolean AVAILABLE = FACTORY != null;
+
+    private Events() {
+    }
+
+    private static EventFactory load() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return (EventFactory) Class.forName("gov.noaa.ngs.metrics.JfrEvents").newInstance();
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            return null;
+        }
+    }
+
+    /**
+     * @return a started grid open event or null
+     */
+    public static GridOpenEvent gridOpen() {
+        return AVAILABLE ? FACTORY.gridOpen() : null;
+    }
+
+    /**
+     * @return a started grid read event or null
+     */
+    public static GridReadEvent gridRead() {
+        return AVAILABLE ? FACTORY.gridRead() : null;
+    }
+
+    /**
+     * @return a started interpolation event or null
+     */
+    public static InterpolationEvent interpolation() {
+        return AVAILABLE ? FACTORY.interpolation() : null;
+    }
+
+    /**
+     * @return a started datum hop event or null
+     */
+    public static DatumHopEvent datumHop() {
+        return AVAILABLE ? FACTORY.datumHop() : null;
+    }
+
+    /**
+     * @return a started projection event or null
+     */
+    public static ProjectionEvent projection() {
+        return AVAILABLE ? FACTORY.projection() : null;
+    }
+
+    /**
+     * @return a started format event or null
+     */
+    public static FormatEvent format() {
+        return AVAILABLE ? FACTORY.format() : null;
+    }
+}
@@ -0,0 +1,16 @@
+package gov.noaa.ngs.metrics;
+
+/**
+ * Event of a transformation result formatted as text or JSON.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public interface FormatEvent {
+
+    /**
+     * ends and commits the event if it passes the recording settings
+     *
+     * @param format result or json
+     */
+    void commit(String format);
+}
@@ -0,0 +1,17 @@
+package gov.noaa.ngs.metrics;
+
+/**
+ * Event of the header of a grid looked up by GridManager.getBlock.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public interface GridOpenEvent {
+
+    /**
+     * ends and commits the event if it passes the recording settings
+     *
+     * @param file grid file
+     * @param source grid source
+     */
+    void commit(String file, String source);
+}
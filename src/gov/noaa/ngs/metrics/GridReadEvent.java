@@ -0,0 +1,19 @@
+package gov.noaa.ngs.metrics;
+
+/**
+ * Event of a block of cells read from a grid.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public interface GridReadEvent {
+
+    /**
+     * ends and commits the event if it passes the recording settings
+     *
+     * @param file grid file
+     * @param row first row of the block
+     * @param col first column of the block
+     * @param bytes bytes of cells read
+     */
+    void commit(String file, int row, int col, int bytes);
+}
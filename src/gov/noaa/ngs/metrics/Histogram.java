@@ -0,0 +1,264 @@
+package gov.noaa.ngs.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A log-linear histogram of latencies in nanoseconds. Each power of two is
+ * split into SUB_BUCKETS linear buckets, so a recorded value is known within
+ * 1/SUB_BUCKETS (12.5%) of itself from 1 ns to the range of a long, in a fixed
+ * array of counts. Recording does not allocate or lock and may be called from
+ * any number of threads.
+ * <pre>
+ * private static final Histogram TIMER = Metrics.histogram("grid.cells");
+ * long start = Metrics.start();
+ * ...
+ * TIMER.record(start);
+ * </pre>
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public class Histogram implements HistogramMXBean {
+
+    public static final int SUB_BITS = 3;
+    public static final int SUB_BUCKETS = 1 << SUB_BITS;
+    public static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    Histogram(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * records the time elapsed since start; ignored if start is 0, that is
+     * metrics were disabled when Metrics.start was called
+     *
+     * @param start System.nanoTime() from Metrics.start
+     */
+    public void record(long start) {
+        if (start != 0L) {
+            recordValue(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * records a value
+     *
+     * @param nanos value in nanoseconds; negative values are recorded as 0
+     */
+    public void recordValue(long nanos) {
+        long v = nanos < 0 ? 0 : nanos;
+        counts.incrementAndGet(bucket(v));
+        sum.add(v);
+        long m;
+        while (v > (m = max.get()) && !max.compareAndSet(m, v)) {
+            // retry
+        }
+    }
+
+    /**
+     * returns the bucket of a value
+     *
+     * @param v value, not negative
+     * @return bucket index
+     */
+    static int bucket(long v) {
+        if (v < SUB_BUCKETS) {
+            return (int) v;
+        }
+        int e = 63 - Long.numberOfLeadingZeros(v);
+        int sub = (int) (v >>> (e - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (e - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * returns the smallest value of a bucket
+     *
+     * @param bucket bucket index
+     * @return lower bound
+     */
+    static long lowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int e = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (e - SUB_BITS);
+    }
+
+    /**
+     * returns the largest value of a bucket
+     *
+     * @param bucket bucket index
+     * @return upper bound
+     */
+    static long upperBound(int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : lowerBound(bucket + 1) - 1;
+    }
+
+    /**
+     * returns a copy of the counts; values recorded while copying may be in
+     * some totals and not in others
+     *
+     * @return snapshot
+     */
+    public Snapshot snapshot() {
+        long[] c = new long[BUCKETS];
+        long n = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            c[i] = counts.get(i);
+            n += c[i];
+        }
+        return new Snapshot(name, c, n, sum.sum(), max.get());
+    }
+
+    /**
+     * clears the histogram
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        sum.reset();
+        max.set(0);
+    }
+
+    @Override
+    public long getCount() {
+        return snapshot().getCount();
+    }
+
+    @Override
+    public double getMean() {
+        return snapshot().getMean();
+    }
+
+    @Override
+    public long getMax() {
+        return max.get();
+    }
+
+    @Override
+    public long getP50() {
+        return snapshot().getPercentile(50.0);
+    }
+
+    @Override
+    public long getP90() {
+        return snapshot().getPercentile(90.0);
+    }
+
+    @Override
+    public long getP99() {
+        return snapshot().getPercentile(99.0);
+    }
+
+    @Override
+    public long getP999() {
+        return snapshot().getPercentile(99.9);
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    /**
+     * counts of a histogram at a point in time
+     */
+    public static final class Snapshot {
+
+        private final String name;
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        Snapshot(String name, long[] counts, long count, long sum, long max) {
+            this.name = name;
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * returns the number of values
+         *
+         * @return count
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * returns the sum of the values
+         *
+         * @return total nanoseconds
+         */
+        public long getSum() {
+            return sum;
+        }
+
+        /**
+         * returns the mean value
+         *
+         * @return mean nanoseconds, 0 if empty
+         */
+        public double getMean() {
+            return count == 0 ? 0.0 : (double) sum / count;
+        }
+
+        /**
+         * returns the largest value
+         *
+         * @return max nanoseconds
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * returns the upper bound of the bucket holding a percentile, capped
+         * at the largest value
+         *
+         * @param percentile 0 to 100
+         * @return value in nanoseconds, 0 if empty
+         */
+        public long getPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(percentile / 100.0 * count);
+            rank = rank < 1 ? 1 : rank;
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(upperBound(i), max);
+                }
+            }
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s count=%d mean(us)=%.2f p50(us)=%.2f p90(us)=%.2f p99(us)=%.2f max(us)=%.2f",
+                    name, count, getMean() / 1000.0, getPercentile(50.0) / 1000.0, getPercentile(90.0) / 1000.0,
+                    getPercentile(99.0) / 1000.0, max / 1000.0);
+        }
+    }
+}
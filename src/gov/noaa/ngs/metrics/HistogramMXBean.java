@@ -0,0 +1,26 @@
+package gov.noaa.ngs.metrics;
+
+/**
+ * JMX view of a Histogram, registered as
+ * gov.noaa.ngs:type=Histogram,name=histogram name. Values are nanoseconds.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public interface HistogramMXBean {
+
+    String getName();
+
+    long getCount();
+
+    double getMean();
+
+    long getMax();
+
+    long getP50();
+
+    long getP90();
+
+    long getP99();
+
+    long getP999();
+}
@@ -0,0 +1,17 @@
+package gov.noaa.ngs.metrics;
+
+/**
+ * Event of a value interpolated from a block of grid cells.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public interface InterpolationEvent {
+
+    /**
+     * ends and commits the event if it passes the recording settings
+     *
+     * @param grid parameter and type of the grid
+     * @param value interpolated value
+     */
+    void commit(String grid, double value);
+}
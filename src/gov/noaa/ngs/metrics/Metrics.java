@@ -0,0 +1,220 @@
+package gov.noaa.ngs.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.apache.log4j.Logger;
+
+/**
+ * Registry of the counters and latency histograms of the library. Metrics are
+ * disabled by default; then Metrics.start returns 0 and recording is skipped,
+ * so an instrumented call costs a volatile read. Call sites keep their metric
+ * in a static field:
+ * <pre>
+ * private static final Histogram CELL_TIMER = Metrics.histogram("grid.cells");
+ * private static final Counter MISSING = Metrics.counter("grid.missing");
+ * </pre>
+ * Names used by the library:
+ * <pre>
+ * histograms: region.lookup, grid.header, grid.cells, grid.interpolate,
+ *             projection.tm, projection.utm, projection.lc, projection.om,
+ *             projection.ae, projection.lcs, projection.xyz, projection.usng,
+ *             format.result, format.json, nutil.transform, nutil.getCoordSet
+ * counters:   grid.missing, grid.outOfBounds, grid.cacheHit, region.notFound,
+ *             transform.outOfBounds, transform.na, transform.vertical.na
+ * </pre>
+ * Read them with getCounters, getHistograms or getReport, or over JMX after
+ * registerMBeans.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public final class Metrics {
+
+    private final static Logger logger = Logger.getLogger(Metrics.class);
+    public static final String DOMAIN = "gov.noaa.ngs";
+
+    private static final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private static volatile boolean enabled;
+    private static volatile MBeanServer server;
+
+    private Metrics() {
+    }
+
+    /**
+     * returns whether metrics are recorded
+     *
+     * @return true=enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * starts or stops recording; the values recorded so far are kept
+     *
+     * @param enabled true=record
+     */
+    public static void setEnabled(boolean enabled) {
+        Metrics.enabled = enabled;
+    }
+
+    /**
+     * returns the start time of a measurement
+     *
+     * @return System.nanoTime(), or 0 if metrics are disabled
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * returns the counter of a name, created on first use
+     *
+     * @param name counter name
+     * @return counter
+     */
+    public static Counter counter(String name) {
+        return counters.computeIfAbsent(name, Counter::new);
+    }
+
+    /**
+     * returns the histogram of a name, created on first use
+     *
+     * @param name histogram name
+     * @return histogram
+     */
+    public static Histogram histogram(String name) {
+        Histogram h = histograms.get(name);
+        if (h == null) {
+            Histogram created = new Histogram(name);
+            h = histograms.putIfAbsent(name, created);
+            if (h == null) {
+                h = created;
+                if (server != null) {
+                    register(server, h);
+                }
+            }
+        }
+        return h;
+    }
+
+    /**
+     * returns the counts by name
+     *
+     * @return counters sorted by name
+     */
+    public static Map<String, Long> getCounters() {
+        Map<String, Long> m = new LinkedHashMap<>();
+        counters.keySet().stream().sorted().forEach(n -> m.put(n, counters.get(n).getCount()));
+        return m;
+    }
+
+    /**
+     * returns a snapshot of each histogram
+     *
+     * @return histogram snapshots sorted by name
+     */
+    public static Map<String, Histogram.Snapshot> getHistograms() {
+        Map<String, Histogram.Snapshot> m = new LinkedHashMap<>();
+        histograms.keySet().stream().sorted().forEach(n -> m.put(n, histograms.get(n).snapshot()));
+        return m;
+    }
+
+    /**
+     * returns the metrics that have recorded anything, a line each
+     *
+     * @return report
+     */
+    public static String getReport() {
+        StringBuilder s = new StringBuilder();
+        for (Histogram.Snapshot h : getHistograms().values()) {
+            if (h.getCount() > 0) {
+                s.append(h).append('\n');
+            }
+        }
+        for (Map.Entry<String, Long> e : getCounters().entrySet()) {
+            if (e.getValue() > 0) {
+                s.append(e.getKey()).append('=').append(e.getValue()).append('\n');
+            }
+        }
+        return s.toString();
+    }
+
+    /**
+     * clears all counters and histograms
+     */
+    public static void reset() {
+        counters.values().forEach(Counter::reset);
+        histograms.values().forEach(Histogram::reset);
+    }
+
+    /**
+     * registers the metrics MBean and a HistogramMXBean per histogram,
+     * including histograms created later, with the platform MBean server
+     */
+    public static synchronized void registerMBeans() {
+        if (server != null) {
+            return;
+        }
+        MBeanServer s = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(DOMAIN + ":type=Metrics");
+            if (!s.isRegistered(name)) {
+                s.registerMBean(new Control(), name);
+            }
+        } catch (JMException ex) {
+            logger.error("Unable to register metrics MBean", ex);
+            return;
+        }
+        server = s;
+        histograms.values().forEach(h -> register(s, h));
+    }
+
+    private static void register(MBeanServer s, Histogram h) {
+        try {
+            ObjectName name = new ObjectName(DOMAIN + ":type=Histogram,name=" + ObjectName.quote(h.getName()));
+            if (!s.isRegistered(name)) {
+                s.registerMBean(h, name);
+            }
+        } catch (JMException ex) {
+            logger.error("Unable to register histogram MBean " + h.getName(), ex);
+        }
+    }
+
+    /**
+     * the MBean of the registry
+     */
+    private static final class Control implements MetricsMXBean {
+
+        @Override
+        public boolean isEnabled() {
+            return Metrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            Metrics.setEnabled(enabled);
+        }
+
+        @Override
+        public Map<String, Long> getCounters() {
+            return Metrics.getCounters();
+        }
+
+        @Override
+        public String getReport() {
+            return Metrics.getReport();
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package gov.noaa.ngs.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX control of the metrics, registered as gov.noaa.ngs:type=Metrics
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public interface MetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    Map<String, Long> getCounters();
+
+    String getReport();
+
+    void reset();
+}
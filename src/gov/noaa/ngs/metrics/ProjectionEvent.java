@@ -0,0 +1,17 @@
+package gov.noaa.ngs.metrics;
+
+/**
+ * Event of a conversion of a geodetic coordinate to SPC, UTM, XYZ or USNG.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public interface ProjectionEvent {
+
+    /**
+     * ends and commits the event if it passes the recording settings
+     *
+     * @param projection projection type
+     * @param zone SPC or UTM zone, null for XYZ
+     */
+    void commit(String projection, String zone);
+}
@@ -1,7 +1,5 @@
 package gov.noaa.ngs.transform;
 
-import java.util.Properties;
-
 /**
  * Transforms geodetic coordinates to spc and vice versa using Azimuthal
  * Equidistant projection. Note: The constants used in this projection are
@@ -20,18 +18,16 @@ public class AETransformation extends CoordinateTransformation {
 
     /**
      * Constructor lazily instantiated via a parent's factory method
-     * @param zoneDef zone definitions
-     * @param zoneConstants zone constants
+     * @param catalog zone definitions and constants
      */
-    public AETransformation(Properties zoneDef, Properties zoneConstants) {
-        super(zoneDef, zoneConstants);
+    public AETransformation(ZoneCatalog catalog) {
+        super(catalog);
     }
 
     @Override
-    public String toProjectedCoordinates(double lat, double lon) {
+    public ProjectedCoordinate toProjected(double lat, double lon) {
         setConstants();
         lon = CoordinateTransformation.resetLon(lon);
-        String spcStr = datum + "," + zone + "," + label;
         lat *= degreesToRadians;
         lon *= degreesToRadians;
         double sinp = Math.sin(lat);
@@ -44,11 +40,8 @@ public class AETransformation extends CoordinateTransformation {
                 + aeConst[8] * Math.pow(cosp, 4.0)) * sinp * cosp;
         double t2 = x1 * tanp * q / aeConst[9];
         double north = aeConst[0] + aeConst[4] * t1 + t2;
-        spcStr += "," + String.format(northFormat, north);
-        spcStr += "," + String.format(eastFormat, east);
-        spcStr += "," + "N/A";
-        spcStr += "," + "N/A";
-        return spcStr;
+        // no convergence and scale factor for AE
+        return projected(north, east);
     }
 
     @Override
@@ -77,8 +70,8 @@ public class AETransformation extends CoordinateTransformation {
         cosp = Math.cos(lat);
         double esec = aeConst[16] + (east - aeConst[0]) * q / aeConst[17] / cosp;
         double lon = (esec / rhosec);
-        geodeticStr += "," + String.format(latFormat, lat / degreesToRadians);
-        geodeticStr += "," + String.format(lonFormat, lon / degreesToRadians);
+        geodeticStr += "," + DecimalFormatter.format(latFormat, lat / degreesToRadians);
+        geodeticStr += "," + DecimalFormatter.format(lonFormat, lon / degreesToRadians);
         geodeticStr += "," + "N/A";
         geodeticStr += "," + "N/A";
 
@@ -0,0 +1,171 @@
+package gov.noaa.ngs.transform;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A batch of coordinates in struct-of-arrays form: parallel arrays of
+ * latitude, longitude and height plus the input line of each coordinate.
+ * Lines that fail to parse are kept as errors with their line number, so a
+ * consumer can report them in input order next to the converted rows.
+ * <p>
+ * CoordBatch.parse fills a batch from one MappedInput.Chunk; the chunks of a
+ * file can be parsed on separate threads.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public class CoordBatch {
+
+    private final int index;
+    private double[] lat;
+    private double[] lon;
+    private double[] height;
+    private long[] line;
+    private int size;
+    private final List<Long> errorLines = new ArrayList<>();
+    private final List<String> errors = new ArrayList<>();
+
+    /**
+     * @param index position of the batch in the input, starting at 0
+     * @param capacity initial number of coordinates
+     */
+    public CoordBatch(int index, int capacity) {
+        this.index = index;
+        capacity = Math.max(capacity, 16);
+        lat = new double[capacity];
+        lon = new double[capacity];
+        height = new double[capacity];
+        line = new long[capacity];
+    }
+
+    /**
+     * parses the lines of a chunk; blank lines and lines starting with '#' are
+     * skipped. Line numbers start at chunk.getFirstLine, so call
+     * MappedInput.countLines first for file line numbers.
+     *
+     * @param chunk lines of a mapped file
+     * @param latField index of the latitude field
+     * @param lonField index of the longitude field
+     * @param heightField index of the height field, -1 if there is none
+     * @return parsed coordinates and errors
+     */
+    public static CoordBatch parse(MappedInput.Chunk chunk, int latField, int lonField, int heightField) {
+        CoordFields fields = new CoordFields(latField, lonField, heightField);
+        // about 40 bytes per line of lat,lon,height
+        CoordBatch batch = new CoordBatch(chunk.getIndex(), chunk.length() / 40);
+        long n = chunk.getFirstLine();
+        int end;
+        for (int start = 0; start < chunk.length(); start = end + 1, n++) {
+            end = chunk.lineEnd(start);
+            try {
+                if (fields.parse(chunk, start, end)) {
+                    batch.add(fields.lat, fields.lon, fields.height, n);
+                }
+            } catch (CTException ex) {
+                batch.addError(n, ex.getMessage());
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * adds a coordinate
+     *
+     * @param lat latitude
+     * @param lon longitude
+     * @param height ellipsoid height, NaN if not available
+     * @param line input line number
+     */
+    public void add(double lat, double lon, double height, long line) {
+        if (size == this.lat.length) {
+            int capacity = size * 2;
+            this.lat = Arrays.copyOf(this.lat, capacity);
+            this.lon = Arrays.copyOf(this.lon, capacity);
+            this.height = Arrays.copyOf(this.height, capacity);
+            this.line = Arrays.copyOf(this.line, capacity);
+        }
+        this.lat[size] = lat;
+        this.lon[size] = lon;
+        this.height[size] = height;
+        this.line[size] = line;
+        size++;
+    }
+
+    /**
+     * adds a line that could not be parsed
+     *
+     * @param line input line number
+     * @param message error message
+     */
+    public void addError(long line, String message) {
+        errorLines.add(line);
+        errors.add(message);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * returns the number of coordinates
+     *
+     * @return number of coordinates
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * returns the latitudes; valid up to size()
+     *
+     * @return latitudes
+     */
+    public double[] getLat() {
+        return lat;
+    }
+
+    /**
+     * returns the longitudes; valid up to size()
+     *
+     * @return longitudes
+     */
+    public double[] getLon() {
+        return lon;
+    }
+
+    /**
+     * returns the heights, NaN if not available; valid up to size()
+     *
+     * @return heights
+     */
+    public double[] getHeight() {
+        return height;
+    }
+
+    /**
+     * returns the input line number of each coordinate; valid up to size()
+     *
+     * @return line numbers
+     */
+    public long[] getLine() {
+        return line;
+    }
+
+    /**
+     * returns the number of lines that could not be parsed
+     *
+     * @return number of errors
+     */
+    public int getErrorCount() {
+        return errors.size();
+    }
+
+    public long getErrorLine(int i) {
+        return errorLines.get(i);
+    }
+
+    public String getError(int i) {
+        return errors.get(i);
+    }
+}
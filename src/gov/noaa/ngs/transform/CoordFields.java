@@ -0,0 +1,110 @@
+package gov.noaa.ngs.transform;
+
+/**
+ * Parses latitude, longitude and height from the comma separated fields of a
+ * line in place; shared by CoordReader and CoordBatch. Not thread safe, each
+ * reader or worker uses its own instance.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+final class CoordFields {
+
+    static final int MAX_FIELDS = 64;
+
+    private final int latField;
+    private final int lonField;
+    private final int heightField;
+    private final int[] ends = new int[MAX_FIELDS];
+    private int lineStart;
+    private int fieldStart;
+    private int fieldEnd;
+    double lat;
+    double lon;
+    double height;
+
+    /**
+     * @param latField index of the latitude field
+     * @param lonField index of the longitude field
+     * @param heightField index of the height field, -1 if there is none
+     */
+    CoordFields(int latField, int lonField, int heightField) {
+        if (latField < 0 || lonField < 0 || Math.max(Math.max(latField, lonField), heightField) >= MAX_FIELDS) {
+            throw new IllegalArgumentException("Invalid field index");
+        }
+        this.latField = latField;
+        this.lonField = lonField;
+        this.heightField = heightField;
+    }
+
+    /**
+     * parses a line; blank lines and lines starting with '#' are skipped
+     *
+     * @param s text
+     * @param start first character of the line
+     * @param end end of the line (exclusive)
+     * @return false if the line was skipped
+     * @throws CTException if a field is missing or invalid
+     */
+    boolean parse(CharSequence s, int start, int end) throws CTException {
+        int first = CoordParser.trimStart(s, start, end);
+        if (first == end || s.charAt(first) == '#') {
+            return false;
+        }
+        lineStart = start;
+        int count = split(s, start, end);
+        field(s, latField, count);
+        lat = CoordParser.parseLatitude(s, fieldStart, fieldEnd);
+        if (Double.isNaN(lat) || Math.abs(lat) > 90.0) {
+            throw new CTException("Invalid latitude");
+        }
+        field(s, lonField, count);
+        lon = CoordParser.parseLongitude(s, fieldStart, fieldEnd);
+        if (Double.isNaN(lon) || Math.abs(lon) > 360.0) {
+            throw new CTException("Invalid longitude");
+        }
+        height = Double.NaN;
+        if (heightField >= 0 && heightField < count) {
+            field(s, heightField, count);
+            if (fieldEnd > fieldStart && !isNotAvailable(s, fieldStart, fieldEnd)) {
+                height = CoordParser.parseDecimal(s, fieldStart, fieldEnd);
+                if (Double.isNaN(height)) {
+                    throw new CTException("Invalid Ellipsoid height");
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * splits a line at commas
+     *
+     * @return number of fields
+     */
+    private int split(CharSequence s, int start, int end) {
+        int count = 0;
+        for (int i = start; i < end && count < MAX_FIELDS - 1; i++) {
+            if (s.charAt(i) == ',') {
+                ends[count++] = i;
+            }
+        }
+        ends[count++] = end;
+        return count;
+    }
+
+    /**
+     * sets the window of a field with white space removed
+     */
+    private void field(CharSequence s, int field, int count) throws CTException {
+        if (field >= count) {
+            throw new CTException("Missing field " + (field + 1));
+        }
+        int start = field == 0 ? lineStart : ends[field - 1] + 1;
+        fieldStart = CoordParser.trimStart(s, start, ends[field]);
+        fieldEnd = CoordParser.trimEnd(s, fieldStart, ends[field]);
+    }
+
+    private static boolean isNotAvailable(CharSequence s, int start, int end) {
+        return end - start == 3 && (s.charAt(start) == 'N' || s.charAt(start) == 'n') && s.charAt(start + 1) == '/'
+                && (s.charAt(start + 2) == 'A' || s.charAt(start + 2) == 'a');
+    }
+}
@@ -0,0 +1,407 @@
+package gov.noaa.ngs.transform;
+
+/**
+ * Single-pass parsers and validators for coordinate input. Each method works
+ * on a window [start, end) of a CharSequence, so fields of a line can be
+ * parsed in place without splitting it into substrings, and validates while
+ * it parses. A parser returns NaN (or -1 for zones) if the field is not valid.
+ * <p>
+ * The accepted syntax is that of the regular expressions of Nutil.isValid:
+ * <pre>
+ * decimal    [+-]?\d+(\.\d+)?           declat, declon, height, x, y, z
+ * unsigned   \d+(\.\d+)?                northing, easting
+ * parameter  [+-]?\d*(\.\d+)?           aparm, invf
+ * latdms     [NnS]?[0-8]\d[0-5]\d[0-5]\d(\.\d+)?
+ * londms     [EeWw]?(0\d\d|1[0-7]\d)[0-5]\d[0-5]\d(\.\d+)?
+ * spczone    \d{4}
+ * utmzone    [0-5]\d|60|\d
+ * units      m|usft|ift
+ * hemi       [NnSsEeWw]
+ * usng       \d{1,2}[a-zA-Z]{3}(\d{6}|\d{8}|\d{10})
+ * </pre>
+ * A number whose digits form an integer below 2^53 and that has at most 22
+ * decimals is converted with one division of two exact doubles, which is
+ * correctly rounded and so equal to Double.parseDouble; longer numbers fall
+ * back to Double.parseDouble.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public final class CoordParser {
+
+    // largest mantissa for which mantissa*10+9 is exact in a double
+    private static final long MAX_MANTISSA = ((1L << 53) - 9) / 10;
+    private static final double[] POW10 = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    private CoordParser() {
+    }
+
+    /**
+     * parses a signed decimal number: [+-]?\d+(\.\d+)?
+     *
+     * @param s text
+     * @param start first character
+     * @param end end of the field (exclusive)
+     * @return value or NaN if not valid
+     */
+    public static double parseDecimal(CharSequence s, int start, int end) {
+        return parseNumber(s, start, end, true, false);
+    }
+
+    public static double parseDecimal(CharSequence s) {
+        return parseNumber(s, 0, s.length(), true, false);
+    }
+
+    /**
+     * parses an unsigned decimal number, such as a northing: \d+(\.\d+)?
+     *
+     * @param s text
+     * @param start first character
+     * @param end end of the field (exclusive)
+     * @return value or NaN if not valid
+     */
+    public static double parseUnsigned(CharSequence s, int start, int end) {
+        return parseNumber(s, start, end, false, false);
+    }
+
+    public static double parseUnsigned(CharSequence s) {
+        return parseNumber(s, 0, s.length(), false, false);
+    }
+
+    /**
+     * parses an ellipsoid parameter, whose integer part may be omitted:
+     * [+-]?\d*(\.\d+)?
+     *
+     * @param s text
+     * @param start first character
+     * @param end end of the field (exclusive)
+     * @return value or NaN if not valid or without digits
+     */
+    public static double parseParameter(CharSequence s, int start, int end) {
+        return parseNumber(s, start, end, true, true);
+    }
+
+    public static double parseParameter(CharSequence s) {
+        return parseNumber(s, 0, s.length(), true, true);
+    }
+
+    /**
+     * parses a latitude in decimal degrees or, if it starts with a
+     * hemisphere, in NddmmssS format
+     *
+     * @param s text
+     * @param start first character
+     * @param end end of the field (exclusive)
+     * @return decimal degrees or NaN if not valid
+     */
+    public static double parseLatitude(CharSequence s, int start, int end) {
+        return start < end && Character.isLetter(s.charAt(start))
+                ? parseDms(s, start, end, true) : parseDecimal(s, start, end);
+    }
+
+    public static double parseLatitude(CharSequence s) {
+        return parseLatitude(s, 0, s.length());
+    }
+
+    /**
+     * parses a longitude in decimal degrees or, if it starts with a
+     * hemisphere, in WdddmmssS format
+     *
+     * @param s text
+     * @param start first character
+     * @param end end of the field (exclusive)
+     * @return decimal degrees or NaN if not valid
+     */
+    public static double parseLongitude(CharSequence s, int start, int end) {
+        return start < end && Character.isLetter(s.charAt(start))
+                ? parseDms(s, start, end, false) : parseDecimal(s, start, end);
+    }
+
+    public static double parseLongitude(CharSequence s) {
+        return parseLongitude(s, 0, s.length());
+    }
+
+    /**
+     * parses a DMS latitude (latdms) or longitude (londms); negative south
+     * and west
+     *
+     * @param s text
+     * @param start first character
+     * @param end end of the field (exclusive)
+     * @param isLat true=latitude
+     * @return decimal degrees or NaN if not valid
+     */
+    public static double parseDms(CharSequence s, int start, int end, boolean isLat) {
+        if (start >= end) {
+            return Double.NaN;
+        }
+        char h = s.charAt(start);
+        boolean negative = false;
+        if (isLat ? h == 'N' || h == 'n' || h == 'S' : h == 'E' || h == 'e' || h == 'W' || h == 'w') {
+            negative = h == 'S' || h == 'W' || h == 'w';
+            start++;
+        }
+        int degreeDigits = isLat ? 2 : 3;
+        if (end - start < degreeDigits + 4) {
+            return Double.NaN;
+        }
+        int i = start;
+        int degrees;
+        if (isLat) {
+            if (!inRange(s.charAt(i), '0', '8') || !isDigit(s.charAt(i + 1))) {
+                return Double.NaN;
+            }
+            degrees = digit(s, i) * 10 + digit(s, i + 1);
+        } else {
+            char d = s.charAt(i);
+            if (!(d == '0' || d == '1') || !(d == '0' ? isDigit(s.charAt(i + 1)) : inRange(s.charAt(i + 1), '0', '7'))
+                    || !isDigit(s.charAt(i + 2))) {
+                return Double.NaN;
+            }
+            degrees = digit(s, i) * 100 + digit(s, i + 1) * 10 + digit(s, i + 2);
+        }
+        i += degreeDigits;
+        if (!inRange(s.charAt(i), '0', '5') || !isDigit(s.charAt(i + 1))
+                || !inRange(s.charAt(i + 2), '0', '5') || !isDigit(s.charAt(i + 3))) {
+            return Double.NaN;
+        }
+        // two digits of seconds, then only a fraction
+        if (i + 4 < end && s.charAt(i + 4) != '.') {
+            return Double.NaN;
+        }
+        int minutes = digit(s, i) * 10 + digit(s, i + 1);
+        double seconds = parseUnsigned(s, i + 2, end);
+        if (Double.isNaN(seconds)) {
+            return Double.NaN;
+        }
+        double decimalDeg = CoordinateTransformation.toDecimalDeg(degrees, minutes, seconds);
+        return negative ? -decimalDeg : decimalDeg;
+    }
+
+    /**
+     * checks for a four digit SPC zone
+     *
+     * @param s text
+     * @param start first character
+     * @param end end of the field (exclusive)
+     * @return true=valid
+     */
+    public static boolean isSpcZone(CharSequence s, int start, int end) {
+        return end - start == 4 && allDigits(s, start, end);
+    }
+
+    public static boolean isSpcZone(CharSequence s) {
+        return isSpcZone(s, 0, s.length());
+    }
+
+    /**
+     * parses a UTM zone: one digit, two digits starting with 0-5, or 60
+     *
+     * @param s text
+     * @param start first character
+     * @param end end of the field (exclusive)
+     * @return zone or -1 if not valid
+     */
+    public static int parseUtmZone(CharSequence s, int start, int end) {
+        int n = end - start;
+        if (n == 1 && isDigit(s.charAt(start))) {
+            return digit(s, start);
+        }
+        if (n == 2 && isDigit(s.charAt(start + 1))) {
+            char c = s.charAt(start);
+            if (inRange(c, '0', '5') || (c == '6' && s.charAt(start + 1) == '0')) {
+                return digit(s, start) * 10 + digit(s, start + 1);
+            }
+        }
+        return -1;
+    }
+
+    public static int parseUtmZone(CharSequence s) {
+        return parseUtmZone(s, 0, s.length());
+    }
+
+    /**
+     * checks for linear units: m, usft or ift
+     *
+     * @param s text
+     * @param start first character
+     * @param end end of the field (exclusive)
+     * @return true=valid
+     */
+    public static boolean isUnits(CharSequence s, int start, int end) {
+        return equals(s, start, end, "m") || equals(s, start, end, "usft") || equals(s, start, end, "ift");
+    }
+
+    public static boolean isUnits(CharSequence s) {
+        return isUnits(s, 0, s.length());
+    }
+
+    /**
+     * checks for a hemisphere designator
+     *
+     * @param s text
+     * @param start first character
+     * @param end end of the field (exclusive)
+     * @return true=valid
+     */
+    public static boolean isHemisphere(CharSequence s, int start, int end) {
+        return end - start == 1 && "NnSsEeWw".indexOf(s.charAt(start)) >= 0;
+    }
+
+    public static boolean isHemisphere(CharSequence s) {
+        return isHemisphere(s, 0, s.length());
+    }
+
+    /**
+     * checks the layout of a USNG coordinate: zone, band and 100 km square
+     * letters, then 6, 8 or 10 digits
+     *
+     * @param s text
+     * @param start first character
+     * @param end end of the field (exclusive)
+     * @return true=valid
+     */
+    public static boolean isUsng(CharSequence s, int start, int end) {
+        int i = start;
+        while (i < end && i - start < 2 && isDigit(s.charAt(i))) {
+            i++;
+        }
+        if (i == start || end - i < 3) {
+            return false;
+        }
+        for (int k = 0; k < 3; k++, i++) {
+            char c = s.charAt(i);
+            if (!(inRange(c, 'a', 'z') || inRange(c, 'A', 'Z'))) {
+                return false;
+            }
+        }
+        int digits = end - i;
+        return (digits == 6 || digits == 8 || digits == 10) && allDigits(s, i, end);
+    }
+
+    public static boolean isUsng(CharSequence s) {
+        return isUsng(s, 0, s.length());
+    }
+
+    /**
+     * returns the end of a field with trailing white space removed
+     *
+     * @param s text
+     * @param start first character
+     * @param end end of the field (exclusive)
+     * @return end of the trimmed field
+     */
+    public static int trimEnd(CharSequence s, int start, int end) {
+        while (end > start && s.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * returns the start of a field with leading white space removed
+     *
+     * @param s text
+     * @param start first character
+     * @param end end of the field (exclusive)
+     * @return start of the trimmed field
+     */
+    public static int trimStart(CharSequence s, int start, int end) {
+        while (start < end && s.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * parses [+-]?\d+(\.\d+)?, with an optional sign and integer part as
+     * requested
+     */
+    private static double parseNumber(CharSequence s, int start, int end, boolean signed, boolean optionalInteger) {
+        int i = start;
+        boolean negative = false;
+        if (signed && i < end && (s.charAt(i) == '+' || s.charAt(i) == '-')) {
+            negative = s.charAt(i) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        boolean exact = true;
+        int intStart = i;
+        while (i < end && isDigit(s.charAt(i))) {
+            if (mantissa > MAX_MANTISSA) {
+                exact = false;
+            } else {
+                mantissa = mantissa * 10 + digit(s, i);
+            }
+            i++;
+        }
+        boolean hasInteger = i > intStart;
+        if (!hasInteger && !optionalInteger) {
+            return Double.NaN;
+        }
+        int decimals = 0;
+        if (i < end && s.charAt(i) == '.') {
+            i++;
+            int fracStart = i;
+            while (i < end && isDigit(s.charAt(i))) {
+                if (mantissa > MAX_MANTISSA) {
+                    exact = false;
+                } else {
+                    mantissa = mantissa * 10 + digit(s, i);
+                    decimals++;
+                }
+                i++;
+            }
+            if (i == fracStart) {
+                return Double.NaN;
+            }
+        } else if (!hasInteger) {
+            // a sign alone or an empty field
+            return Double.NaN;
+        }
+        if (i != end) {
+            return Double.NaN;
+        }
+        double value;
+        if (exact && decimals < POW10.length) {
+            value = decimals == 0 ? mantissa : mantissa / POW10[decimals];
+        } else {
+            value = Double.parseDouble(s.subSequence(negative || s.charAt(start) == '+' ? start + 1 : start, end)
+                    .toString());
+        }
+        return negative ? -value : value;
+    }
+
+    private static boolean equals(CharSequence s, int start, int end, String value) {
+        if (end - start != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (s.charAt(start + i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean allDigits(CharSequence s, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!isDigit(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean inRange(char c, char low, char high) {
+        return c >= low && c <= high;
+    }
+
+    private static int digit(CharSequence s, int i) {
+        return s.charAt(i) - '0';
+    }
+}
@@ -0,0 +1,187 @@
+package gov.noaa.ngs.transform;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * Reads latitude, longitude and height from comma separated lines in bulk.
+ * Lines are read into one reusable buffer and the fields are parsed in place
+ * with CoordParser, so no String is created per line or per field.
+ * <p>
+ * Blank lines and lines starting with '#' are skipped. Latitude and longitude
+ * may be in decimal degrees or DMS; the height is optional and N/A (or a
+ * missing field) is returned as NaN.
+ * <pre>
+ * CoordReader r = new CoordReader(in, 1, 2, 3);
+ * while (r.next()) {
+ *     r.getLat(); r.getLon(); r.getHeight();
+ * }
+ * </pre>
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public class CoordReader implements Closeable {
+
+    private final Reader in;
+    private final CoordFields fields;
+    private char[] buf = new char[1 << 16];
+    private CharBuffer seq = CharBuffer.wrap(buf);
+    private int pos;
+    private int limit;
+    private boolean eof;
+    private int lineStart;
+    private int lineEnd;
+    private long lineNumber;
+
+    /**
+     * reads lat,lon,height lines
+     *
+     * @param in input
+     */
+    public CoordReader(Reader in) {
+        this(in, 0, 1, 2);
+    }
+
+    /**
+     * @param in input
+     * @param latField index of the latitude field
+     * @param lonField index of the longitude field
+     * @param heightField index of the height field, -1 if there is none
+     */
+    public CoordReader(Reader in, int latField, int lonField, int heightField) {
+        this.in = in;
+        this.fields = new CoordFields(latField, lonField, heightField);
+    }
+
+    /**
+     * reads and parses the next coordinate
+     *
+     * @return false at the end of input
+     * @throws IOException if unable to read
+     * @throws CTException if a field is missing or invalid
+     */
+    public boolean next() throws IOException, CTException {
+        while (readLine()) {
+            try {
+                if (fields.parse(seq, lineStart, lineEnd)) {
+                    return true;
+                }
+            } catch (CTException ex) {
+                throw new CTException(ex.getMessage() + " at line " + lineNumber + ": " + getLine());
+            }
+        }
+        return false;
+    }
+
+    /**
+     * reads up to n coordinates into the arrays
+     *
+     * @param lat latitudes
+     * @param lon longitudes
+     * @param h heights, may be null
+     * @param n maximum number of coordinates
+     * @return number of coordinates read, 0 at the end of input
+     * @throws IOException if unable to read
+     * @throws CTException if a field is missing or invalid
+     */
+    public int read(double[] lat, double[] lon, double[] h, int n) throws IOException, CTException {
+        int count = 0;
+        while (count < n && next()) {
+            lat[count] = fields.lat;
+            lon[count] = fields.lon;
+            if (h != null) {
+                h[count] = fields.height;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    public double getLat() {
+        return fields.lat;
+    }
+
+    public double getLon() {
+        return fields.lon;
+    }
+
+    public double getHeight() {
+        return fields.height;
+    }
+
+    /**
+     * returns the number of the current line, starting at 1
+     *
+     * @return line number
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * returns the current line; creates a String, so meant for messages
+     *
+     * @return current line
+     */
+    public String getLine() {
+        return new String(buf, lineStart, lineEnd - lineStart);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * finds the next line in the buffer, refilling or growing it as needed
+     *
+     * @return false at the end of input
+     */
+    private boolean readLine() throws IOException {
+        while (true) {
+            for (int i = pos; i < limit; i++) {
+                if (buf[i] == '\n') {
+                    setLine(pos, i);
+                    pos = i + 1;
+                    return true;
+                }
+            }
+            if (eof) {
+                if (pos < limit) {
+                    setLine(pos, limit);
+                    pos = limit;
+                    return true;
+                }
+                return false;
+            }
+            fill();
+        }
+    }
+
+    private void setLine(int start, int end) {
+        lineStart = start;
+        lineEnd = end > start && buf[end - 1] == '\r' ? end - 1 : end;
+        lineNumber++;
+    }
+
+    private void fill() throws IOException {
+        if (pos > 0) {
+            System.arraycopy(buf, pos, buf, 0, limit - pos);
+            limit -= pos;
+            pos = 0;
+        }
+        if (limit == buf.length) {
+            buf = Arrays.copyOf(buf, buf.length * 2);
+            seq = CharBuffer.wrap(buf);
+        }
+        int n = in.read(buf, limit, buf.length - limit);
+        if (n < 0) {
+            eof = true;
+        } else {
+            limit += n;
+        }
+    }
+}
@@ -1,10 +1,6 @@
 package gov.noaa.ngs.transform;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.Properties;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 /**
  * A base class for coordinate transformation
@@ -23,12 +19,10 @@ public abstract class CoordinateTransformation {
     public static final double UTM_TOLERANCE = 0.0; //used to adjust UTM zone
     public static final int SPC_TRANSFORMATION = 1;
     public static final int UTM_TRANSFORMATION = 2;
-    protected Properties zoneConstants;  //zone-specific constants
+    //placeholder for convergence and scale factor in coordinates-only mode
+    public static final String NO_FACTORS = ",N/A,N/A";
+    protected ZoneCatalog catalog;      //datum and zone constants
     protected Properties zoneDef;       //zone definitions
-    private static Properties nad83ZoneDef;
-    private static Properties nad27ZoneDef;
-    private static Properties nad83ZoneConstants;
-    private static Properties nad27ZoneConstants;
     protected double degreesToRadians;
     protected double radius;      //equitorial radius
     protected double e;           //eccentricity
@@ -38,6 +32,7 @@ public abstract class CoordinateTransformation {
     protected String zone;     //numeric ID of a zone
     protected String label;    //alphanumeric label of a zone
     protected int transformation; //transformation being used (spc or utm)
+    protected String projection = "XYZ"; //TM,UTM,LC,OM,AE,LCS or XYZ
     protected String datum; //datum tag
     //String format used for coordinates
     protected String northFormat;
@@ -55,34 +50,24 @@ public abstract class CoordinateTransformation {
     //defaults to 1.0 for meters. Set to metersToUsfeet for
     //nad27 SPC coordinates
     protected double unitsCf;
-
-    static {
-        try {
-            loadZoneDefinitions();
-            loadZoneConstants();
-        } catch (CTException ex) {
-            //To do: send the logger to a file
-            Logger.getLogger(CoordinateTransformation.class.getName()).log(Level.SEVERE, ex.getMessage());
-        }
-
-    }
+    //true=skip convergence and scale factor
+    protected boolean coordinatesOnly;
 
     /**
      * initializes constants common to all transformations
      *
-     * @param zoneDef zone definitions
-     * @param zoneConstants zone constants
+     * @param catalog zone definitions and constants
      */
-    protected CoordinateTransformation(Properties zoneDef, Properties zoneConstants) {
-        this.zoneDef = zoneDef;
-        this.zoneConstants = zoneConstants;
+    protected CoordinateTransformation(ZoneCatalog catalog) {
+        this.catalog = catalog;
+        this.zoneDef = catalog.getZoneDefinitions();
         datum = zoneDef.getProperty("datum", "");
-        degreesToRadians = Double.parseDouble(zoneConstants.getProperty("deg2rad", "0.0"));
-        radius = Double.parseDouble(zoneConstants.getProperty("radius", "0.0"));
-        e = Double.parseDouble(zoneConstants.getProperty("e", "0.0"));
-        esq = Double.parseDouble(zoneConstants.getProperty("esq", "0.0"));
-        eps = Double.parseDouble(zoneConstants.getProperty("eps", "0.0"));
-        eflattening = Double.parseDouble(zoneConstants.getProperty("eflattening", "0.0"));
+        degreesToRadians = catalog.getConstant("deg2rad");
+        radius = catalog.getConstant("radius");
+        e = catalog.getConstant("e");
+        esq = catalog.getConstant("esq");
+        eps = catalog.getConstant("eps");
+        eflattening = catalog.getConstant("eflattening");
         northFormat = zoneDef.getProperty("north.format", "");
         eastFormat = zoneDef.getProperty("east.format", "");
         latFormat = zoneDef.getProperty("lat.format", "");
@@ -97,62 +82,36 @@ public abstract class CoordinateTransformation {
     }
 
     /**
-     * loads zone definitions from a property file
+     * converts DMS to decimal degrees using -ve west longitude convention
      *
-     * @return reference to property file
-     * @throws CTException
+     * @param degrees degrees
+     * @param minutes minutes
+     * @param seconds seconds
+     * @return decimal degrees
      */
-    private static void loadZoneDefinitions() throws CTException {
-        nad83ZoneDef = new Properties();
-        nad27ZoneDef = new Properties();
-        InputStream nad83Stream = CoordinateTransformation.class.getResourceAsStream(NAD83_ZONE_DEF_PROP);
-        InputStream nad27Stream = CoordinateTransformation.class.getResourceAsStream(NAD27_ZONE_DEF_PROP);
-        if (nad83Stream == null || nad27Stream == null) {
-            throw new CTException("Unable to find zone definition property file");
-        } else {
-            try {
-                nad83ZoneDef.load(nad83Stream);
-                nad27ZoneDef.load(nad27Stream);
-            } catch (IOException ex) {
-                throw new CTException("Unable to load zone definition property file. Exception:" + ex.getMessage());
-            }
-        }
+    public static double toDecimalDeg(double degrees, double minutes,
+            double seconds) {
+        return  (degrees + minutes / 60.0 + seconds / 3600.0);
+                
     }
 
     /**
-     * loads zone constants from a property file
+     * sets coordinates-only mode; when set, projections return N/A for
+     * convergence and scale factor and skip computing them
      *
-     * @throws CTException
+     * @param coordinatesOnly true=coordinates only
      */
-    private static void loadZoneConstants() throws CTException {
-        InputStream nad83Stream = CoordinateTransformation.class.getResourceAsStream(NAD83_CONSTANTS_PROP);
-        InputStream nad27Stream = CoordinateTransformation.class.getResourceAsStream(NAD27_CONSTANTS_PROP);
-        nad83ZoneConstants = new Properties();
-        nad27ZoneConstants = new Properties();
-        if (nad83Stream == null || nad27Stream == null) {
-            throw new CTException("Unable to find zone constants property file");
-        } else {
-            try {
-                nad83ZoneConstants.load(nad83Stream);
-                nad27ZoneConstants.load(nad27Stream);
-            } catch (IOException ex) {
-                throw new CTException("Unable to load zone constants property file. Exception:" + ex.getMessage());
-            }
-        }
+    public void setCoordinatesOnly(boolean coordinatesOnly) {
+        this.coordinatesOnly = coordinatesOnly;
     }
 
     /**
-     * converts DMS to decimal degrees using -ve west longitude convention
+     * getter for coordinates-only mode
      *
-     * @param degrees degrees
-     * @param minutes minutes
-     * @param seconds seconds
-     * @return decimal degrees
+     * @return true if convergence and scale factor are skipped
      */
-    public static double toDecimalDeg(double degrees, double minutes,
-            double seconds) {
-        return  (degrees + minutes / 60.0 + seconds / 3600.0);
-                
+    public boolean isCoordinatesOnly() {
+        return coordinatesOnly;
     }
 
     /**
@@ -184,6 +143,11 @@ public abstract class CoordinateTransformation {
             return 0.0;
         }
         boolean lon = dmsStr.charAt(0) == 'E' || dmsStr.charAt(0) == 'W';
+        double dms = CoordParser.parseDms(dmsStr, 0, dmsStr.length(), !lon);
+        if (!Double.isNaN(dms)) {
+            return dms;
+        }
+        // not in the strict DMS format; parse the fields as given
         int indexOff = lon ? 1 : 0;
         int deg = Integer.parseInt(dmsStr.substring(1, 3 + indexOff));
         int min = Integer.parseInt(dmsStr.substring(3 + indexOff, 5 + indexOff));
@@ -209,7 +173,7 @@ public abstract class CoordinateTransformation {
         dms[0] = decimalDegree < 0 ? -(double) degrees : (double) degrees;
         dms[1] = (double) minutes;
         dms[2] = seconds;
-        return dms[0] + " " + dms[1] + " " + String.format("%8.5f", dms[2]);
+        return dms[0] + " " + dms[1] + " " + DecimalFormatter.format("%8.5f", dms[2]);
     }
 
     /**
@@ -222,32 +186,7 @@ public abstract class CoordinateTransformation {
      */
     public static String toDMS(double decimalDegree, boolean isLat) {
         decimalDegree = isLat ? decimalDegree : resetLon(decimalDegree);
-        int degrees = (int) decimalDegree;
-        double seconds = Math.abs((decimalDegree - degrees) * 3600);
-        degrees = Math.abs(degrees);
-        int minutes = (int) (seconds / 60.0);
-        seconds -= minutes * 60;
-        seconds = Math.round(seconds * 100000) / 100000.0;
-        if (seconds >= 60){
-            seconds -= 60;
-            minutes++;
-            if (minutes >= 60){
-                minutes -= 60;
-                degrees ++;
-            }
-        }
-        String degStr;
-        String minStr = String.format("%02d", minutes);
-        String secStr = String.format("%08.5f", seconds);
-        if (isLat) {
-            degStr = decimalDegree < 0 ? "S" + String.format("%02d", degrees)
-                    : "N" + String.format("%02d", degrees);
-        } else {
-            degStr = decimalDegree < 0 ? "W" + String.format("%03d", degrees)
-                    : "E" + String.format("%03d", degrees);
-        }
-        return degStr + minStr + secStr;
-
+        return DecimalFormatter.appendDms(new StringBuilder(16), decimalDegree, isLat).toString();
     }
 
     /**
@@ -395,6 +334,50 @@ public abstract class CoordinateTransformation {
         return transformation == UTM_TRANSFORMATION;
     }
 
+    /**
+     * returns the zone being used
+     *
+     * @return SPC/UTM zone# or null for XYZ
+     */
+    public String getZone() {
+        return zone;
+    }
+
+    /**
+     * returns a projected coordinate of the current zone without convergence
+     * and scale factor
+     *
+     * @param north northing in zone units
+     * @param east easting in zone units
+     * @return projected coordinate
+     */
+    protected ProjectedCoordinate projected(double north, double east) {
+        return new ProjectedCoordinate(datum, zone, label, north, east, northFormat, eastFormat);
+    }
+
+    /**
+     * returns a projected coordinate of the current zone
+     *
+     * @param north northing in zone units
+     * @param east easting in zone units
+     * @param convergence convergence in decimal degrees
+     * @param scaleFactor scale factor
+     * @return projected coordinate
+     */
+    protected ProjectedCoordinate projected(double north, double east, double convergence, double scaleFactor) {
+        return new ProjectedCoordinate(datum, zone, label, north, east, convergence, scaleFactor,
+                northFormat, eastFormat, convFormat, sfFormat);
+    }
+
+    /**
+     * returns the projection of the instance
+     *
+     * @return TM, UTM, LC, OM, AE, LCS or XYZ
+     */
+    public String getProjection() {
+        return projection;
+    }
+
     /**
      * abstract method to support llh transformation
      *
@@ -412,7 +395,18 @@ public abstract class CoordinateTransformation {
      * @param lon longitude
      * @return projected coordinate
      */
-    public abstract String toProjectedCoordinates(double lat, double lon);
+    public String toProjectedCoordinates(double lat, double lon) {
+        return toProjected(lat, lon).toString();
+    }
+
+    /**
+     * converts lat-longs to a numeric SPC/UTM coordinate
+     *
+     * @param lat latitude
+     * @param lon longitude
+     * @return projected coordinate
+     */
+    public abstract ProjectedCoordinate toProjected(double lat, double lon);
 
     /**
      * converts lat-long-height to xyz for a given ellipsoid defined by radius
@@ -494,6 +488,95 @@ public abstract class CoordinateTransformation {
      */
     public abstract String toGeodeticCoordinates(double radius, double fl, double north, double east, boolean southernHemisphere);
 
+    /**
+     * converts to an UTM coordinate for a given ellipsoid; subclasses that
+     * support user-defined ellipsoids use its precomputed constants
+     *
+     * @param ellipsoid ellipsoid
+     * @param lat latitude
+     * @param lon longitude
+     * @return projected coordinate
+     */
+    public String toProjectedCoordinates(Ellipsoid ellipsoid, double lat, double lon) {
+        return toProjectedCoordinates(ellipsoid.getRadius(), ellipsoid.getFlattening(), lat, lon);
+    }
+
+    /**
+     * converts to a numeric UTM coordinate for a given ellipsoid
+     *
+     * @param ellipsoid ellipsoid
+     * @param lat latitude
+     * @param lon longitude
+     * @return projected coordinate
+     */
+    public ProjectedCoordinate toProjected(Ellipsoid ellipsoid, double lat, double lon) {
+        throw new UnsupportedOperationException("Not supported.");
+    }
+
+    /**
+     * converts a utm coordinate to lat-long for a given ellipsoid
+     *
+     * @param ellipsoid ellipsoid
+     * @param north northing
+     * @param east easting
+     * @param southernHemisphere true=SH
+     * @return geodetic coordinate
+     */
+    public String toGeodeticCoordinates(Ellipsoid ellipsoid, double north, double east, boolean southernHemisphere) {
+        return toGeodeticCoordinates(ellipsoid.getRadius(), ellipsoid.getFlattening(), north, east, southernHemisphere);
+    }
+
+    /**
+     * converts to xyz for a given ellipsoid
+     *
+     * @param lat latitude
+     * @param lon longitude
+     * @param height ellipsoid height
+     * @param ellipsoid ellipsoid
+     * @return projected coordinate
+     */
+    public String toProjectedCoordinates(double lat, double lon, double height, Ellipsoid ellipsoid) {
+        return toProjectedCoordinates(lat, lon, height, ellipsoid.getRadius(), ellipsoid.getFlattening());
+    }
+
+    /**
+     * converts lat-long-height to xyz
+     *
+     * @param lat latitude
+     * @param lon longitude
+     * @param height ellipsoid height
+     * @return x, y, z rounded to the xyz format
+     */
+    public double[] toXyz(double lat, double lon, double height) {
+        throw new UnsupportedOperationException("Not supported.");
+    }
+
+    /**
+     * converts lat-long-height to xyz for a given ellipsoid
+     *
+     * @param lat latitude
+     * @param lon longitude
+     * @param height ellipsoid height
+     * @param ellipsoid ellipsoid
+     * @return x, y, z rounded to the xyz format
+     */
+    public double[] toXyz(double lat, double lon, double height, Ellipsoid ellipsoid) {
+        throw new UnsupportedOperationException("Not supported.");
+    }
+
+    /**
+     * converts xyz to llh for a given ellipsoid
+     *
+     * @param x x
+     * @param y y
+     * @param z z
+     * @param ellipsoid ellipsoid
+     * @return geodetic coordinate
+     */
+    public String toGeodeticCoordinates(double x, double y, double z, Ellipsoid ellipsoid) {
+        return toGeodeticCoordinates(x, y, z, ellipsoid.getRadius(), ellipsoid.getFlattening());
+    }
+
     /**
      * sets the constants required for a zone
      */
@@ -502,7 +585,7 @@ public abstract class CoordinateTransformation {
     public static Properties getZones(String datum) {
         Properties prop = null;
         if (datum != null) {
-            prop = datum.equalsIgnoreCase("nad83") ? nad83ZoneDef : nad27ZoneDef;
+            prop = ZoneCatalog.getInstance(datum).getZoneDefinitions();
         }
         return prop;
     }
@@ -510,7 +593,7 @@ public abstract class CoordinateTransformation {
     public static Properties getConstants(String datum) {
         Properties prop = null;
         if (datum != null) {
-            prop = datum.equalsIgnoreCase("nad83") ? nad83ZoneConstants : nad27ZoneConstants;
+            prop = ZoneCatalog.getInstance(datum).toProperties();
         }
         return prop;
     }
@@ -524,23 +607,16 @@ public abstract class CoordinateTransformation {
      */
     public static CoordinateTransformation getInstance(String zone, String datum) {
         CoordinateTransformation ct = null;
-        Properties zoneConstants;
         Properties zoneDef;
         double unitsCf;
         if (datum == null) {
             return null;
         }
-        boolean nad27 = false;
-        if (datum.equalsIgnoreCase("nad83")) {
-            zoneDef = nad83ZoneDef;
-            zoneConstants = nad83ZoneConstants;
-        } else {
-            nad27 = true;
-            zoneDef = nad27ZoneDef;
-            zoneConstants = nad27ZoneConstants;
-        }
+        boolean nad27 = !datum.equalsIgnoreCase("nad83");
+        ZoneCatalog catalog = ZoneCatalog.getInstance(datum);
+        zoneDef = catalog.getZoneDefinitions();
         if (zone == null) {
-            return new XyzTransformation(zoneDef, zoneConstants);
+            return new XyzTransformation(catalog);
         }
         zone = zone.trim();
         //add a leading zero if zone length is 1(UTM) or zone length is 3 (SPC)
@@ -554,17 +630,20 @@ public abstract class CoordinateTransformation {
         }
         String projection = zoneDef.getProperty(zone + ".proj", " ");
         if (projection.equals("TM") || transformation == UTM_TRANSFORMATION) {
-            ct = new TMTransformation(zoneDef, zoneConstants);
+            ct = new TMTransformation(catalog);
+            projection = transformation == UTM_TRANSFORMATION ? "UTM" : "TM";
         } else if (projection.equals("LC")) {
-            ct = new LambertTransformation(zoneDef, zoneConstants);
+            ct = new LambertTransformation(catalog);
         } else if (projection.equals("AE")) {
-            ct = new AETransformation(zoneDef, zoneConstants);
+            ct = new AETransformation(catalog);
         } else if (projection.equals("LCS")) {
-            ct = new LCSTransformation(zoneDef, zoneConstants);
+            ct = new LCSTransformation(catalog);
         } else {
             // default instance. OMTransformation validates the instance
-            ct = new OMTransformation(zoneDef, zoneConstants);
+            ct = new OMTransformation(catalog);
+            projection = "OM";
         }
+        ct.projection = projection;
 
         ct.setZone(zone);
         ct.setTransformation(transformation);
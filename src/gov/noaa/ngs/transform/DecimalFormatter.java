@@ -0,0 +1,458 @@
+package gov.noaa.ngs.transform;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A fixed-precision formatter producing the same text as String.format for the
+ * patterns used by the conversion tool ("%.10f", "%,.3f", "%08.5f", "%02d"
+ * ...) without going through java.util.Formatter, and the DMS text of
+ * lat-longs and convergences built from them.
+ * <p>
+ * String.format rounds the shortest decimal representation of a double half
+ * up. The value is scaled by 10^precision and rounded in long arithmetic; the
+ * result is the same unless the scaled fraction is within a few ulps of one
+ * half, or the value is too large or not finite, in which case String.format
+ * is called. The fast path is only enabled when the default format locale uses
+ * '.', ',', '-' and ASCII digits with groups of three, so the output follows
+ * the locale exactly as before.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public final class DecimalFormatter {
+
+    public static final int MAX_PRECISION = 15;
+    // scaled values at or above this go to String.format
+    private static final double MAX_SCALED = 1e15;
+    private static final double[] POW10 = new double[MAX_PRECISION + 1];
+    private static final long[] LPOW10 = new long[MAX_PRECISION + 1];
+    private static final boolean ENABLED = isAsciiLocale(Locale.getDefault(Locale.Category.FORMAT));
+    private static final ConcurrentHashMap<String, Spec> SPECS = new ConcurrentHashMap<>();
+
+    static {
+        double p = 1.0;
+        long lp = 1L;
+        for (int i = 0; i <= MAX_PRECISION; i++) {
+            POW10[i] = p;
+            LPOW10[i] = lp;
+            p *= 10.0;
+            lp *= 10L;
+        }
+    }
+
+    private DecimalFormatter() {
+    }
+
+    private static boolean isAsciiLocale(Locale locale) {
+        DecimalFormatSymbols dfs = DecimalFormatSymbols.getInstance(locale);
+        NumberFormat nf = NumberFormat.getIntegerInstance(locale);
+        return dfs.getZeroDigit() == '0' && dfs.getDecimalSeparator() == '.'
+                && dfs.getGroupingSeparator() == ',' && dfs.getMinusSign() == '-'
+                && nf instanceof DecimalFormat && ((DecimalFormat) nf).getGroupingSize() == 3;
+    }
+
+    /**
+     * formats a value with a given precision; same as
+     * String.format("%.{precision}f", value)
+     *
+     * @param value value
+     * @param precision digits after the decimal point
+     * @return formatted value
+     */
+    public static String format(double value, int precision) {
+        return append(new StringBuilder(24), value, precision, false, 0, false).toString();
+    }
+
+    /**
+     * formats a value with a given precision and grouping; same as
+     * String.format("%,.{precision}f", value)
+     *
+     * @param value value
+     * @param precision digits after the decimal point
+     * @return formatted value
+     */
+    public static String formatGrouped(double value, int precision) {
+        return append(new StringBuilder(24), value, precision, true, 0, false).toString();
+    }
+
+    /**
+     * formats a value per a pattern of the form %[,][0][width][.precision]f;
+     * other patterns are passed to String.format
+     *
+     * @param pattern format pattern
+     * @param value value
+     * @return formatted value
+     */
+    public static String format(String pattern, double value) {
+        Spec s = getSpec(pattern);
+        if (s == null || s.conversion != 'f') {
+            return String.format(pattern, value);
+        }
+        return append(new StringBuilder(24), value, s.precision, s.grouping, s.width, s.zeroPad).toString();
+    }
+
+    /**
+     * formats an integer per a pattern of the form %[0][width]d; other
+     * patterns are passed to String.format
+     *
+     * @param pattern format pattern
+     * @param value value
+     * @return formatted value
+     */
+    public static String format(String pattern, long value) {
+        Spec s = getSpec(pattern);
+        if (s == null || s.conversion != 'd' || s.grouping) {
+            return String.format(pattern, value);
+        }
+        return append(new StringBuilder(12), value, s.width, s.zeroPad).toString();
+    }
+
+    /**
+     * returns the digits after the decimal point of a %f pattern
+     *
+     * @param pattern format pattern
+     * @return precision or -1 if the pattern is not a supported %f pattern
+     */
+    public static int precision(String pattern) {
+        Spec s = getSpec(pattern);
+        return s == null || s.conversion != 'f' ? -1 : s.precision;
+    }
+
+    /**
+     * rounds a value to a given precision; same as
+     * Double.valueOf(String.format("%.{precision}f", value)) without the text
+     * round trip
+     *
+     * @param value value
+     * @param precision digits after the decimal point
+     * @return rounded value
+     */
+    public static double round(double value, int precision) {
+        if (precision < 0 || precision > MAX_PRECISION || Double.isNaN(value) || Double.isInfinite(value)) {
+            return value;
+        }
+        double scaled = Math.abs(value) * POW10[precision];
+        if (!(scaled < MAX_SCALED) || Math.abs(scaled - (long) scaled - 0.5) <= 4 * Math.ulp(scaled)) {
+            return Double.parseDouble(String.format(Locale.ROOT, "%." + precision + "f", value));
+        }
+        long r = Math.round(scaled);
+        // r and 10^precision are exact, so the quotient is the double nearest
+        // to the decimal text
+        double rounded = r / POW10[precision];
+        return Double.compare(value, 0.0) < 0 ? -rounded : rounded;
+    }
+
+    /**
+     * appends a fixed-precision value; same text as String.format with the
+     * matching %f pattern
+     *
+     * @param sb destination
+     * @param value value
+     * @param precision digits after the decimal point
+     * @param grouping true=group integer digits by thousands
+     * @param width minimum width; 0 for none
+     * @param zeroPad true=pad with zeros after the sign; false=pad with
+     * leading spaces
+     * @return destination
+     */
+    public static StringBuilder append(StringBuilder sb, double value, int precision, boolean grouping,
+            int width, boolean zeroPad) {
+        char[] buf = new char[48];
+        int len = toChars(value, precision, grouping, buf);
+        if (len < 0) {
+            return sb.append(String.format(pattern(precision, grouping, width, zeroPad), value));
+        }
+        return pad(sb, buf, len, width, zeroPad);
+    }
+
+    /**
+     * appends an integer; same text as String.format("%0{width}d") or
+     * String.format("%{width}d")
+     *
+     * @param sb destination
+     * @param value value
+     * @param width minimum width; 0 for none
+     * @param zeroPad true=pad with zeros after the sign
+     * @return destination
+     */
+    public static StringBuilder append(StringBuilder sb, long value, int width, boolean zeroPad) {
+        if (!ENABLED || value == Long.MIN_VALUE) {
+            return sb.append(String.format(pattern(-1, false, width, zeroPad), value));
+        }
+        char[] buf = new char[24];
+        int pos = buf.length;
+        long v = Math.abs(value);
+        do {
+            buf[--pos] = (char) ('0' + v % 10);
+            v /= 10;
+        } while (v > 0);
+        if (value < 0) {
+            buf[--pos] = '-';
+        }
+        int len = buf.length - pos;
+        System.arraycopy(buf, pos, buf, 0, len);
+        return pad(sb, buf, len, width, zeroPad);
+    }
+
+    /**
+     * writes a fixed-precision value as ASCII bytes
+     *
+     * @param dest destination buffer; must have room for the value
+     * @param pos position of the first byte
+     * @param value value
+     * @param precision digits after the decimal point
+     * @param grouping true=group integer digits by thousands
+     * @return position after the last byte written
+     */
+    public static int write(byte[] dest, int pos, double value, int precision, boolean grouping) {
+        char[] buf = new char[48];
+        int len = toChars(value, precision, grouping, buf);
+        if (len < 0) {
+            String s = String.format(pattern(precision, grouping, 0, false), value);
+            for (int i = 0; i < s.length(); i++) {
+                dest[pos++] = (byte) s.charAt(i);
+            }
+            return pos;
+        }
+        for (int i = 0; i < len; i++) {
+            dest[pos++] = (byte) buf[i];
+        }
+        return pos;
+    }
+
+    /**
+     * appends an angle in the DMS form of the conversion tool: a hemisphere
+     * designator, degrees (two digits for a latitude, three for a longitude),
+     * two digit minutes and seconds as %08.5f, e.g. N391200.00000 or
+     * W0983000.00000. Seconds are rounded to 5 places first and carried into
+     * the minutes and degrees.
+     *
+     * @param sb destination
+     * @param decimalDegree decimal degrees, -ve south or west
+     * @param isLat true=latitude; false=longitude
+     * @return destination
+     */
+    public static StringBuilder appendDms(StringBuilder sb, double decimalDegree, boolean isLat) {
+        int[] dm = new int[2];
+        double seconds = toDms(decimalDegree, dm);
+        sb.append(decimalDegree < 0 ? (isLat ? 'S' : 'W') : (isLat ? 'N' : 'E'));
+        append(sb, dm[0], isLat ? 2 : 3, true);
+        append(sb, dm[1], 2, true);
+        return append(sb, seconds, 5, false, 8, true);
+    }
+
+    /**
+     * appends an angle as space delimited degrees, minutes and seconds with
+     * a leading - if negative, e.g. -00 18 57.67 for a convergence. Seconds
+     * are rounded to 5 places as in appendDms, then to the given precision.
+     *
+     * @param sb destination
+     * @param decimalDegree decimal degrees
+     * @param precision digits after the decimal point of the seconds
+     * @return destination
+     */
+    public static StringBuilder appendDms(StringBuilder sb, double decimalDegree, int precision) {
+        int[] dm = new int[2];
+        double seconds = toDms(decimalDegree, dm);
+        if (decimalDegree < 0) {
+            sb.append('-');
+        }
+        append(sb, dm[0], 2, true).append(' ');
+        append(sb, dm[1], 2, true).append(' ');
+        return append(sb, seconds, precision, false, precision + 3, true);
+    }
+
+    /**
+     * splits the magnitude of an angle into degrees and minutes
+     *
+     * @param dm receives degrees and minutes
+     * @return seconds rounded to 5 places
+     */
+    private static double toDms(double decimalDegree, int[] dm) {
+        int degrees = (int) decimalDegree;
+        double seconds = Math.abs((decimalDegree - degrees) * 3600);
+        degrees = Math.abs(degrees);
+        int minutes = (int) (seconds / 60.0);
+        seconds -= minutes * 60;
+        seconds = Math.round(seconds * 100000) / 100000.0;
+        if (seconds >= 60) {
+            seconds -= 60;
+            minutes++;
+            if (minutes >= 60) {
+                minutes -= 60;
+                degrees++;
+            }
+        }
+        dm[0] = degrees;
+        dm[1] = minutes;
+        return seconds;
+    }
+
+    /**
+     * writes the digits of a value into a buffer
+     *
+     * @return number of characters or -1 if String.format must be used
+     */
+    private static int toChars(double value, int precision, boolean grouping, char[] buf) {
+        if (!ENABLED || precision < 0 || precision > MAX_PRECISION
+                || Double.isNaN(value) || Double.isInfinite(value)) {
+            return -1;
+        }
+        double scaled = Math.abs(value) * POW10[precision];
+        if (!(scaled < MAX_SCALED)) {
+            return -1;
+        }
+        long r = (long) scaled;
+        double frac = scaled - r;  // exact below 2^52
+        // scaling and the shortest representation each move the value by at
+        // most an ulp; near a tie the rounding direction is not certain
+        if (Math.abs(frac - 0.5) <= 4 * Math.ulp(scaled)) {
+            return -1;
+        }
+        if (frac > 0.5) {
+            r++;
+        }
+        long intPart = r / LPOW10[precision];
+        long fracPart = r % LPOW10[precision];
+        int pos = buf.length;
+        for (int i = 0; i < precision; i++) {
+            buf[--pos] = (char) ('0' + fracPart % 10);
+            fracPart /= 10;
+        }
+        if (precision > 0) {
+            buf[--pos] = '.';
+        }
+        int digits = 0;
+        do {
+            if (grouping && digits > 0 && digits % 3 == 0) {
+                buf[--pos] = ',';
+            }
+            buf[--pos] = (char) ('0' + intPart % 10);
+            intPart /= 10;
+            digits++;
+        } while (intPart > 0);
+        // String.format keeps the sign of negative values that round to zero
+        if (Double.compare(value, 0.0) < 0) {
+            buf[--pos] = '-';
+        }
+        int len = buf.length - pos;
+        System.arraycopy(buf, pos, buf, 0, len);
+        return len;
+    }
+
+    private static StringBuilder pad(StringBuilder sb, char[] buf, int len, int width, boolean zeroPad) {
+        int fill = width - len;
+        if (fill <= 0) {
+            return sb.append(buf, 0, len);
+        }
+        if (!zeroPad) {
+            for (int i = 0; i < fill; i++) {
+                sb.append(' ');
+            }
+            return sb.append(buf, 0, len);
+        }
+        int start = 0;
+        if (buf[0] == '-') {
+            sb.append('-');
+            start = 1;
+        }
+        for (int i = 0; i < fill; i++) {
+            sb.append('0');
+        }
+        return sb.append(buf, start, len - start);
+    }
+
+    private static String pattern(int precision, boolean grouping, int width, boolean zeroPad) {
+        return "%" + (grouping ? "," : "") + (zeroPad ? "0" : "") + (width > 0 ? Integer.toString(width) : "")
+                + (precision < 0 ? "d" : "." + precision + "f");
+    }
+
+    private static Spec getSpec(String pattern) {
+        Spec s = SPECS.get(pattern);
+        if (s == null) {
+            s = Spec.parse(pattern);
+            if (s == null) {
+                return null;
+            }
+            SPECS.putIfAbsent(pattern, s);
+        }
+        return s;
+    }
+
+    /**
+     * a parsed single-value pattern
+     */
+    private static final class Spec {
+
+        private final boolean grouping;
+        private final boolean zeroPad;
+        private final int width;
+        private final int precision;
+        private final char conversion;
+
+        private Spec(boolean grouping, boolean zeroPad, int width, int precision, char conversion) {
+            this.grouping = grouping;
+            this.zeroPad = zeroPad;
+            this.width = width;
+            this.precision = precision;
+            this.conversion = conversion;
+        }
+
+        /**
+         * parses %[,][0][width][.precision](f|d)
+         *
+         * @return spec or null if the pattern is not supported
+         */
+        static Spec parse(String pattern) {
+            int n = pattern.length();
+            if (n < 2 || pattern.charAt(0) != '%') {
+                return null;
+            }
+            int i = 1;
+            boolean grouping = false;
+            boolean zeroPad = false;
+            for (; i < n; i++) {
+                char c = pattern.charAt(i);
+                if (c == ',') {
+                    grouping = true;
+                } else if (c == '0') {
+                    zeroPad = true;
+                } else {
+                    break;
+                }
+            }
+            int width = 0;
+            for (; i < n && Character.isDigit(pattern.charAt(i)); i++) {
+                width = width * 10 + pattern.charAt(i) - '0';
+            }
+            int precision = -1;
+            if (i < n && pattern.charAt(i) == '.') {
+                precision = 0;
+                int start = ++i;
+                for (; i < n && Character.isDigit(pattern.charAt(i)); i++) {
+                    precision = precision * 10 + pattern.charAt(i) - '0';
+                }
+                if (i == start) {
+                    return null;
+                }
+            }
+            if (i != n - 1) {
+                return null;
+            }
+            char conversion = pattern.charAt(i);
+            if (conversion == 'f') {
+                precision = precision < 0 ? 6 : precision;
+            } else if (conversion != 'd' || precision >= 0) {
+                return null;
+            }
+            // leave invalid flag combinations to String.format to reject
+            if (zeroPad && width == 0) {
+                return null;
+            }
+            return new Spec(grouping, zeroPad, width, precision, conversion);
+        }
+    }
+}
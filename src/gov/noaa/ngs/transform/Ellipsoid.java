@@ -0,0 +1,201 @@
+package gov.noaa.ngs.transform;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable reference ellipsoid defined by equatorial radius and
+ * flattening. Derived constants used by the UTM (Transverse Mercator) and xyz
+ * conversions are computed once per ellipsoid and instances are cached by
+ * (radius, flattening) so that user-defined ellipsoids do not pay for the
+ * series coefficients on every call.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public final class Ellipsoid {
+
+    // upper bound on the number of user-defined ellipsoids held in the cache
+    public static final int MAX_CACHED = 64;
+    private static final ConcurrentHashMap<Key, Ellipsoid> CACHE = new ConcurrentHashMap<>();
+
+    private final double radius;      //equatorial radius
+    private final double flattening;  //earth flattening
+    private final double esq;         //eccentricity squared
+    private final double eps;         //eprime squared
+    private final double e;           //eccentricity
+    // Transverse Mercator series coefficients
+    private final double tmA;
+    private final double tmB;
+    private final double tmC;
+    private final double tmR;
+    private final double tmV0;
+    private final double tmV2;
+    private final double tmV4;
+    private final double tmV6;
+
+    /**
+     * computes derived constants for a given ellipsoid
+     *
+     * @param radius equatorial radius
+     * @param f flattening
+     */
+    private Ellipsoid(double radius, double f) {
+        this.radius = radius;
+        this.flattening = f;
+        esq = 2 * f - Math.pow(f, 2.0);
+        eps = esq / (1.0 - esq);
+        e = Math.sqrt(esq);
+        double pr = (1.0 - f) * radius;
+        double en = (radius - pr) / (radius + pr);
+        double en2 = Math.pow(en, 2.0);
+        double en3 = Math.pow(en, 3.0);
+        double en4 = Math.pow(en, 4.0);
+        tmA = -1.5 * en + (9.0 / 16.0) * en3;
+        tmB = 0.9375 * en2 - (15.0 / 32.0) * en4;
+        tmC = -(35.0 / 48.0) * en3;
+        tmR = radius * (1.0 - en) * (1. - en2) * (1. + 2.25 * en2 + (225.0 / 64.0) * en4);
+        double c2 = 3.0 * en / 2.0 - 27.0 * en3 / 32.0;
+        double c4 = 21.0 * en2 / 16.0 - 55.0 * en4 / 32.0;
+        double c6 = 151.0 * en3 / 96.0;
+        double c8 = 1097.0 * en4 / 512.0;
+        tmV0 = 2.0 * (c2 - 2.0 * c4 + 3.0 * c6 - 4.0 * c8);
+        tmV2 = 8.0 * (c4 - 4.0 * c6 + 10.0 * c8);
+        tmV4 = 32.0 * (c6 - 6.0 * c8);
+        tmV6 = 128.0 * c8;
+    }
+
+    /**
+     * returns an ellipsoid for a given radius and flattening. Instances are
+     * shared; once the cache holds MAX_CACHED ellipsoids, new ones are
+     * computed but not cached.
+     *
+     * @param radius equatorial radius
+     * @param f flattening
+     * @return ellipsoid
+     */
+    public static Ellipsoid getInstance(double radius, double f) {
+        Key key = new Key(radius, f);
+        Ellipsoid ellipsoid = CACHE.get(key);
+        if (ellipsoid == null) {
+            ellipsoid = new Ellipsoid(radius, f);
+            if (CACHE.size() < MAX_CACHED) {
+                Ellipsoid cached = CACHE.putIfAbsent(key, ellipsoid);
+                ellipsoid = cached == null ? ellipsoid : cached;
+            }
+        }
+        return ellipsoid;
+    }
+
+    /**
+     * returns an ellipsoid for a given radius and inverse of flattening
+     *
+     * @param radius equatorial radius
+     * @param invf inverse of flattening; 0 or less is treated as a sphere
+     * @return ellipsoid
+     */
+    public static Ellipsoid fromInverseFlattening(double radius, double invf) {
+        return getInstance(radius, invf > 0 ? 1 / invf : 0.0);
+    }
+
+    public double getRadius() {
+        return radius;
+    }
+
+    public double getFlattening() {
+        return flattening;
+    }
+
+    public double getEsq() {
+        return esq;
+    }
+
+    public double getEps() {
+        return eps;
+    }
+
+    public double getE() {
+        return e;
+    }
+
+    public double getTmA() {
+        return tmA;
+    }
+
+    public double getTmB() {
+        return tmB;
+    }
+
+    public double getTmC() {
+        return tmC;
+    }
+
+    public double getTmR() {
+        return tmR;
+    }
+
+    public double getTmV0() {
+        return tmV0;
+    }
+
+    public double getTmV2() {
+        return tmV2;
+    }
+
+    public double getTmV4() {
+        return tmV4;
+    }
+
+    public double getTmV6() {
+        return tmV6;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Ellipsoid)) {
+            return false;
+        }
+        Ellipsoid other = (Ellipsoid) o;
+        return Double.compare(radius, other.radius) == 0
+                && Double.compare(flattening, other.flattening) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Double.hashCode(radius) + Double.hashCode(flattening);
+    }
+
+    @Override
+    public String toString() {
+        return "Ellipsoid[" + radius + "," + flattening + "]";
+    }
+
+    /**
+     * cache key for (radius, flattening)
+     */
+    private static final class Key {
+
+        private final long radiusBits;
+        private final long fBits;
+
+        Key(double radius, double f) {
+            radiusBits = Double.doubleToLongBits(radius);
+            fBits = Double.doubleToLongBits(f);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return radiusBits == other.radiusBits && fBits == other.fBits;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(radiusBits) + Long.hashCode(fBits);
+        }
+    }
+}
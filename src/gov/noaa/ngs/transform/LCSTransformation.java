@@ -1,7 +1,5 @@
 package gov.noaa.ngs.transform;
 
-import java.util.Properties;
-
 /**
  * Transforms geodetic coordinates to spc and vice versa using Lambert Conic
  * Single Parallel projection. Note: The constants used in this projection are
@@ -20,17 +18,15 @@ public class LCSTransformation extends CoordinateTransformation {
 
     /**
      * Constructor lazily instantiated via a parent's factory method
-     * @param zoneDef zone definitions
-     * @param zoneConstants zone constants
+     * @param catalog zone definitions and constants
      */
-    public LCSTransformation(Properties zoneDef, Properties zoneConstants) {
-        super(zoneDef, zoneConstants);
+    public LCSTransformation(ZoneCatalog catalog) {
+        super(catalog);
     }
 
     @Override
-    public String toProjectedCoordinates(double lat, double lon) {
+    public ProjectedCoordinate toProjected(double lat, double lon) {
         setConstants();
-        String spcStr = datum + "," + zone + "," + label;
         lat *= degreesToRadians;
         lon *= degreesToRadians;
         double sinLat = Math.sin(lat);
@@ -48,14 +44,13 @@ public class LCSTransformation extends CoordinateTransformation {
         double east = lcsConst[1] + r * Math.sin(convergence);
         double north = lcsConst[4] - r + 2.0 * r
                 * Math.pow(Math.sin(convergence * 0.5), 2.0);
+        if (coordinatesOnly) {
+            return projected(north, east);
+        }
         convergence *= lcsConst[0] / 3600;
         double scaleFactor = lcsConst[6] * r
                 * Math.sqrt(1.0 - esq * sinLat * sinLat) / lcsConst[14] / cosLat;
-        spcStr += "," + String.format(northFormat, north);
-        spcStr += "," + String.format(eastFormat, east);
-        spcStr += "," + String.format(convFormat, convergence);
-        spcStr += "," + String.format(sfFormat, scaleFactor);
-        return spcStr;
+        return projected(north, east, convergence, scaleFactor);
     }
 
     @Override
@@ -83,10 +78,13 @@ public class LCSTransformation extends CoordinateTransformation {
         double psec = omSec + (lcsConst[16] + (lcsConst[17]
                 + lcsConst[18] * cosoSq) * cosoSq) * sino * coso;
         double lat = (psec / lcsConst[0]) / degreesToRadians;
-        geodeticStr += "," + String.format(latFormat, lat);
-        geodeticStr += "," + String.format(lonFormat, lon);
-        geodeticStr += "," + String.format(convFormat, theta / degreesToRadians);
-        geodeticStr += "," + String.format(sfFormat, 1.0);
+        geodeticStr += "," + DecimalFormatter.format(latFormat, lat);
+        geodeticStr += "," + DecimalFormatter.format(lonFormat, lon);
+        if (coordinatesOnly) {
+            return geodeticStr + NO_FACTORS;
+        }
+        geodeticStr += "," + DecimalFormatter.format(convFormat, theta / degreesToRadians);
+        geodeticStr += "," + DecimalFormatter.format(sfFormat, 1.0);
 
         return geodeticStr;
     }
@@ -1,7 +1,6 @@
 package gov.noaa.ngs.transform;
 
 import java.util.HashMap;
-import java.util.Properties;
 
 /**
  * Transforms geodetic coordinates to spc and vice versa using Lambert Conic
@@ -179,21 +178,19 @@ public class LambertTransformation extends CoordinateTransformation {
     /**
      * Constructor lazily instantiated via a parent's factory method
      *
-     * @param zoneDef zone definitions
-     * @param zoneConstants zone constants
+     * @param catalog zone definitions and constants
      */
-    public LambertTransformation(Properties zoneDef, Properties zoneConstants) {
-        super(zoneDef, zoneConstants);
+    public LambertTransformation(ZoneCatalog catalog) {
+        super(catalog);
     }
 
     @Override
-    public String toProjectedCoordinates(double lat, double lon) {
+    public ProjectedCoordinate toProjected(double lat, double lon) {
         lon = CoordinateTransformation.resetLon(lon);
         setConstants();
         if (datum.equals("nad27")) {   //nad27 SPC conversion
-            return toProjectedCoordinates(lat, lon, zone);
+            return toProjected(lat, lon, zone);
         }
-        String spcStr = datum + "," + zone + "," + label;
         lat *= degreesToRadians;
         lon *= degreesToRadians;
         double sinlat = Math.sin(lat);
@@ -203,28 +200,27 @@ public class LambertTransformation extends CoordinateTransformation {
         double rpt = mapRad / Math.exp(sinfo * q);
         double north = falseNorthing + (mapRadOrig - rpt * Math.cos(convergence)) / unitsCf;
         double east = falseEasting + (rpt * Math.sin(convergence)) / unitsCf;
+        if (coordinatesOnly) {
+            return projected(north, east);
+        }
         double wp = Math.sqrt(1.0 - esq * Math.pow(sinlat, 2.0));
         double scaleFactor = wp * sinfo * rpt / (sfRadius * coslat);
-        spcStr += "," + String.format(northFormat, north);
-        spcStr += "," + String.format(eastFormat, east);
-        spcStr += "," + String.format(convFormat, convergence / degreesToRadians);
-        spcStr += "," + String.format(sfFormat, scaleFactor);
-        return spcStr;
+        return projected(north, east, convergence / degreesToRadians, scaleFactor);
     }
 
-    private String toProjectedCoordinates(double lat, double lon, String zone) {
-        String spcStr = datum + "," + zone + "," + label;
+    private ProjectedCoordinate toProjected(double lat, double lon, String zone) {
         lon = Math.abs(lon);
         double latrad = lat * degreesToRadians;
         double lonrad = lon * degreesToRadians;
-        int index = Integer.valueOf(zoneConstants.getProperty(zone + ".lcConstIndex", "0"));
-        double l1 = Double.valueOf(zoneConstants.getProperty(zone + ".l1", "0.0"));
-        double l11 = Double.valueOf(zoneConstants.getProperty(zone + ".l11", "0.0"));
-        double c1 = Double.valueOf(zoneConstants.getProperty("lc.c1", "0.0"));
-        double c2 = Double.valueOf(zoneConstants.getProperty("lc.c2", "0.0"));
-        double c3 = Double.valueOf(zoneConstants.getProperty("lc.c3", "0.0"));
-        double c4 = Double.valueOf(zoneConstants.getProperty("lc.c4", "0.0"));
-        double c5 = Double.valueOf(zoneConstants.getProperty("lc.c5", "0.0"));
+        ZoneCatalog.ZoneConstants zc = catalog.getZone(zone);
+        int index = zc.getLcConstIndex();
+        double l1 = zc.getL1();
+        double l11 = zc.getL11();
+        double c1 = catalog.getConstant("lc.c1");
+        double c2 = catalog.getConstant("lc.c2");
+        double c3 = catalog.getConstant("lc.c3");
+        double c4 = catalog.getConstant("lc.c4");
+        double c5 = catalog.getConstant("lc.c5");
 
         int l = index * 8 - 1;
         double l2 = NAD27_SPC_LC_CONSTANTS[l - 7];
@@ -245,16 +241,14 @@ public class LambertTransformation extends CoordinateTransformation {
         double convergence = l6 * (l2 - lonrad * RHOSEC) / RHOSEC;
         double east = l1 + r * Math.sin(convergence);
         double north = l4 - r + 2.E0 * r * Math.pow(Math.sin(convergence * 0.5E0), 2);
+        if (coordinatesOnly) {
+            return projected(north, east);
+        }
         double scaleFactor = l6 * r * Math.sqrt(1.E0 - esq * sinp * sinp) / c5 / cosp;
         if (zone.equals("2111") || zone.equals("2112") || zone.equals("2113")) {
             scaleFactor = scaleFactor / 1.0000382E0;
         }
-        spcStr += "," + String.format(northFormat, north);
-        spcStr += "," + String.format(eastFormat, east);
-        spcStr += "," + String.format(convFormat, convergence / degreesToRadians);
-        spcStr += "," + String.format(sfFormat, scaleFactor);
-
-        return spcStr;
+        return projected(north, east, convergence / degreesToRadians, scaleFactor);
     }
 
     @Override
@@ -280,6 +274,11 @@ public class LambertTransformation extends CoordinateTransformation {
             sine -= f1 / f2;
         }
         double lat = Math.asin(sine);
+        geodeticStr += "," + DecimalFormatter.format(latFormat, lat / degreesToRadians);
+        geodeticStr += "," + DecimalFormatter.format(lonFormat, CoordinateTransformation.resetLon(lon / degreesToRadians));
+        if (coordinatesOnly) {
+            return geodeticStr + NO_FACTORS;
+        }
         double sinlat = Math.sin(lat);
         double coslat = Math.cos(lat);
         double convergence = getLonDiff(lon, cm) * sinfo;
@@ -287,10 +286,8 @@ public class LambertTransformation extends CoordinateTransformation {
         rpt = mapRad / Math.exp(sinfo * q);
         double wp = Math.sqrt(1 - esq * sinlat * sinlat);
         double scaleFactor = wp * sinfo * rpt / (sfRadius * coslat);
-        geodeticStr += "," + String.format(latFormat, lat / degreesToRadians);
-        geodeticStr += "," + String.format(lonFormat, CoordinateTransformation.resetLon(lon / degreesToRadians));
-        geodeticStr += "," + String.format(convFormat, convergence / degreesToRadians);
-        geodeticStr += "," + String.format(sfFormat, scaleFactor);
+        geodeticStr += "," + DecimalFormatter.format(convFormat, convergence / degreesToRadians);
+        geodeticStr += "," + DecimalFormatter.format(sfFormat, scaleFactor);
 
         return geodeticStr;
     }
@@ -298,9 +295,10 @@ public class LambertTransformation extends CoordinateTransformation {
     private String toGeodeticCoordinates(double north, double east, String zone) {
         String geodeticStr = datum + "," + zone + "," + label;
         setConstants();
-        int index = Integer.valueOf(zoneConstants.getProperty(zone + ".lcConstIndex", "0"));
-        double l1 = Double.valueOf(zoneConstants.getProperty(zone + ".l1", "0.0"));
-        double l11 = Double.valueOf(zoneConstants.getProperty(zone + ".l11", "0.0"));
+        ZoneCatalog.ZoneConstants zc = catalog.getZone(zone);
+        int index = zc.getLcConstIndex();
+        double l1 = zc.getL1();
+        double l11 = zc.getL11();
         int l = index * 8 - 1;
         double l2 = NAD27_SPC_LC_CONSTANTS[l - 7];
         double l3 = NAD27_SPC_LC_CONSTANTS[l - 6];
@@ -311,10 +309,10 @@ public class LambertTransformation extends CoordinateTransformation {
         double l9 = NAD27_SPC_LC_CONSTANTS[l - 1];
         double l10 = NAD27_SPC_LC_CONSTANTS[l];
 
-        double d1 = Double.valueOf(zoneConstants.getProperty("lc.d1", "0.0"));
-        double d2 = Double.valueOf(zoneConstants.getProperty("lc.d2", "0.0"));
-        double d3 = Double.valueOf(zoneConstants.getProperty("lc.d3", "0.0"));
-        double d4 = Double.valueOf(zoneConstants.getProperty("lc.d4", "0.0"));
+        double d1 = catalog.getConstant("lc.d1");
+        double d2 = catalog.getConstant("lc.d2");
+        double d3 = catalog.getConstant("lc.d3");
+        double d4 = catalog.getConstant("lc.d4");
         double[] s = new double[4];
         double theta = Math.atan((east - l1) / (l4 - north));
         double thsec = theta * RHOSEC;
@@ -336,18 +334,21 @@ public class LambertTransformation extends CoordinateTransformation {
         double coso = Math.cos(omega);
         double cos2o = coso * coso;
         double lat = (omsec + (d2 + (d3 + d4 * cos2o) * cos2o) * sino * coso) / 3600.0;
+        geodeticStr += "," + DecimalFormatter.format(latFormat, lat);
+        geodeticStr += "," + DecimalFormatter.format(lonFormat, CoordinateTransformation.resetLon(-lon));
+        if (coordinatesOnly) {
+            return geodeticStr + NO_FACTORS;
+        }
         double convergence = l6 * (l2 - lon * degreesToRadians * RHOSEC) / RHOSEC;
         double sinp = Math.sin(lat * degreesToRadians);
         double cosp = Math.cos(lat * degreesToRadians);
-        double c5 = Double.valueOf(zoneConstants.getProperty("lc.c5", "0.0"));
+        double c5 = catalog.getConstant("lc.c5");
         double scaleFactor = l6 * r * Math.sqrt(1.E0 - esq * sinp * sinp) / c5 / cosp;
         if (zone.equals("2111") || zone.equals("2112") || zone.equals("2113")) {
             scaleFactor = scaleFactor / 1.0000382E0;
         }
-        geodeticStr += "," + String.format(latFormat, lat);
-        geodeticStr += "," + String.format(lonFormat, CoordinateTransformation.resetLon(-lon));
-        geodeticStr += "," + String.format(convFormat, convergence / degreesToRadians);
-        geodeticStr += "," + String.format(sfFormat, scaleFactor);
+        geodeticStr += "," + DecimalFormatter.format(convFormat, convergence / degreesToRadians);
+        geodeticStr += "," + DecimalFormatter.format(sfFormat, scaleFactor);
 
         return geodeticStr;
     }
@@ -359,11 +360,11 @@ public class LambertTransformation extends CoordinateTransformation {
         cm = Double.parseDouble(zoneDef.getProperty(zone + ".cm", "0.0")) * degreesToRadians;
         datum = zoneDef.getProperty(zone + ".datum", datum);
         sfRadius = radius;
-        String[] lcConst = zoneConstants.getProperty(zone + ".const", "0.0").split(",");
-        if (lcConst.length > 1) {
-            sinfo = Double.parseDouble(lcConst[0]);
-            mapRad = Double.parseDouble(lcConst[1]);
-            mapRadOrig = Double.parseDouble(lcConst[2]);
+        ZoneCatalog.ZoneConstants lcConst = catalog.getZone(zone);
+        if (lcConst.size() > 1) {
+            sinfo = lcConst.get(0);
+            mapRad = lcConst.get(1);
+            mapRadOrig = lcConst.get(2);
         }
         if (isMichiganNad27Zone()) {
             mapRad *= MI_NAD27_RADIUS / radius;
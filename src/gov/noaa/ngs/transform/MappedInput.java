@@ -0,0 +1,302 @@
+package gov.noaa.ngs.transform;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Memory-maps a large text file and splits it into chunks of about chunkSize
+ * bytes that end at line boundaries, so the chunks can be read and parsed on
+ * separate threads without a single thread reading the file.
+ * <p>
+ * The file is mapped in segments of at most SEGMENT_SIZE bytes (a mapping is
+ * limited to 2 GB); a segment also ends at a line boundary, so no line spans
+ * two chunks. A Chunk is a CharSequence over the mapped bytes, one char per
+ * byte, for the CoordParser parsers; coordinate fields are ASCII. Lines of
+ * other text are decoded as UTF-8 by Chunk.getLine.
+ * <pre>
+ * try (MappedInput in = new MappedInput(file)) {
+ *     in.countLines(pool);            // optional, sets Chunk.getFirstLine
+ *     for (MappedInput.Chunk c : in.getChunks()) { ... }
+ * }
+ * </pre>
+ * The mappings are released when the chunks are garbage collected.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public class MappedInput implements Closeable {
+
+    public static final int DEFAULT_CHUNK_SIZE = 4 << 20;
+    public static final long SEGMENT_SIZE = 1L << 30;
+
+    private final FileChannel channel;
+    private final long length;
+    private final List<Chunk> chunks = new ArrayList<>();
+
+    /**
+     * @param file input file
+     * @throws IOException if unable to open or map the file
+     */
+    public MappedInput(String file) throws IOException {
+        this(file, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param file input file
+     * @param chunkSize approximate number of bytes per chunk
+     * @throws IOException if unable to open or map the file, or if a line is
+     * longer than SEGMENT_SIZE
+     */
+    public MappedInput(String file, int chunkSize) throws IOException {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Invalid chunk size:" + chunkSize);
+        }
+        channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ);
+        try {
+            length = channel.size();
+            long offset = 0;
+            while (offset < length) {
+                long size = Math.min(SEGMENT_SIZE, length - offset);
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+                int end = (int) size;
+                if (offset + size < length) {
+                    end = lastLineEnd(segment, 0, end);
+                    if (end < 0) {
+                        throw new IOException("Line longer than " + SEGMENT_SIZE + " bytes at offset " + offset);
+                    }
+                }
+                split(segment, offset, end, chunkSize);
+                offset += end;
+            }
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * returns the chunks in file order
+     *
+     * @return chunks
+     */
+    public List<Chunk> getChunks() {
+        return Collections.unmodifiableList(chunks);
+    }
+
+    /**
+     * returns the size of the file
+     *
+     * @return number of bytes
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * counts the lines of all chunks in parallel and sets the line number of
+     * the first line of each chunk
+     *
+     * @param pool worker threads
+     * @return number of lines in the file
+     * @throws IOException if interrupted or a worker failed
+     */
+    public long countLines(ExecutorService pool) throws IOException {
+        List<Future<Integer>> counts = new ArrayList<>(chunks.size());
+        for (Chunk c : chunks) {
+            counts.add(pool.submit(c::countLines));
+        }
+        long line = 1;
+        try {
+            for (int i = 0; i < chunks.size(); i++) {
+                chunks.get(i).firstLine = line;
+                line += counts.get(i).get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Line count interrupted");
+        } catch (ExecutionException ex) {
+            throw new IOException("Line count failed. Exception:" + ex.getCause());
+        }
+        return line - 1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * splits a segment into chunks ending at line boundaries
+     */
+    private void split(ByteBuffer segment, long offset, int end, int chunkSize) {
+        int start = 0;
+        while (start < end) {
+            int stop = end;
+            if (end - start > chunkSize) {
+                stop = lineEnd(segment, start + chunkSize, end);
+            }
+            ByteBuffer b = segment.duplicate();
+            b.limit(stop);
+            b.position(start);
+            chunks.add(new Chunk(chunks.size(), offset + start, b.slice()));
+            start = stop;
+        }
+    }
+
+    /**
+     * returns the position after the first new line at or after start, or end
+     */
+    private static int lineEnd(ByteBuffer b, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (b.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * returns the position after the last new line before end, or -1
+     */
+    private static int lastLineEnd(ByteBuffer b, int start, int end) {
+        for (int i = end - 1; i >= start; i--) {
+            if (b.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A run of whole lines of the file. Safe to read from one thread at a
+     * time; different chunks may be read concurrently.
+     */
+    public static final class Chunk implements CharSequence {
+
+        private final int index;
+        private final long offset;
+        private final ByteBuffer bytes;
+        private long firstLine;
+
+        Chunk(int index, long offset, ByteBuffer bytes) {
+            this.index = index;
+            this.offset = offset;
+            this.bytes = bytes;
+        }
+
+        /**
+         * returns the position of the chunk in the file, starting at 0
+         *
+         * @return chunk index
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * returns the byte offset of the chunk in the file
+         *
+         * @return offset
+         */
+        public long getOffset() {
+            return offset;
+        }
+
+        /**
+         * returns the line number of the first line, starting at 1; set by
+         * MappedInput.countLines, 0 before
+         *
+         * @return line number
+         */
+        public long getFirstLine() {
+            return firstLine;
+        }
+
+        /**
+         * returns the end of the line starting at start: the position of its
+         * new line character, or the length of the chunk
+         *
+         * @param start first character of a line
+         * @return end of the line (exclusive)
+         */
+        public int lineEnd(int start) {
+            int end = bytes.limit();
+            for (int i = start; i < end; i++) {
+                if (bytes.get(i) == '\n') {
+                    return i;
+                }
+            }
+            return end;
+        }
+
+        /**
+         * returns a line decoded as UTF-8, without a trailing carriage return
+         *
+         * @param start first character of the line
+         * @param end end of the line (exclusive)
+         * @return line
+         */
+        public String getLine(int start, int end) {
+            if (end > start && bytes.get(end - 1) == '\r') {
+                end--;
+            }
+            return decode(start, end);
+        }
+
+        /**
+         * counts the lines of the chunk; a last line without a new line counts
+         *
+         * @return number of lines
+         */
+        public int countLines() {
+            int lines = 0;
+            int end = bytes.limit();
+            for (int i = 0; i < end; i++) {
+                if (bytes.get(i) == '\n') {
+                    lines++;
+                }
+            }
+            return end > 0 && bytes.get(end - 1) != '\n' ? lines + 1 : lines;
+        }
+
+        @Override
+        public int length() {
+            return bytes.limit();
+        }
+
+        @Override
+        public char charAt(int i) {
+            return (char) (bytes.get(i) & 0xff);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return decode(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return decode(0, length());
+        }
+
+        private String decode(int start, int end) {
+            ByteBuffer b = bytes.duplicate();
+            b.limit(end);
+            b.position(start);
+            byte[] text = new byte[end - start];
+            b.get(text);
+            return new String(text, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package gov.noaa.ngs.transform;
 
-import java.util.Properties;
-
 /**
  * Transforms geodetic coordinates to spc and vice versa using Oblique Mercator
  * projection
@@ -31,21 +29,19 @@ public class OMTransformation extends CoordinateTransformation {
 
     /**
      * Constructor lazily instantiated via a parent's factory method
-     * @param zoneDef zone definitions
-     * @param zoneConstants zone constants
+     * @param catalog zone definitions and constants
      */
-    public OMTransformation(Properties zoneDef, Properties zoneConstants) {
-        super(zoneDef, zoneConstants);
+    public OMTransformation(ZoneCatalog catalog) {
+        super(catalog);
     }
 
     @Override
-    public String toProjectedCoordinates(double lat, double lon) {
+    public ProjectedCoordinate toProjected(double lat, double lon) {
         if (!zoneDef.getProperty(zone + ".proj", " ").equals("OM") || zone.equals("0000")) {
-            return datum + "," + zone + "," + label + ",0.0,0.0,0.0,0.0";
+            return new ProjectedCoordinate(datum, zone, label, 0.0, 0.0, 0.0, 0.0, "%.1f", "%.1f", "%.1f", "%.1f");
         }
         lon = CoordinateTransformation.resetLon(lon);
         setConstants();
-        String spcStr = datum + "," + zone + "," + label;
         lat *= degreesToRadians;
         lon *= degreesToRadians;
         double sinb = Math.sin(lat);
@@ -60,15 +56,13 @@ public class OMTransformation extends CoordinateTransformation {
         double v = d * Math.log((s - sgo * r - cgo * sindl) / (s + sgo * r + cgo * sindl)) / 2.0;
         double north = (u * cgc - v * sgc) / unitsCf + falseNorthing;
         double east = (u * sgc + v * cgc) / unitsCf + falseEasting;
+        if (coordinatesOnly) {
+            return projected(north, east);
+        }
 
         double convergence = Math.atan((sgo - cgo * sindl * r) / (cgo * cosdl * s)) - azimuth;
         double scaleFactor = xi * Math.sqrt(1 - esq * sinb * sinb) * Math.cos(u / d) / cosb / cosdl;
-        spcStr += "," + String.format(northFormat, north);
-        spcStr += "," + String.format(eastFormat, east);
-        spcStr += "," + String.format(convFormat, convergence / degreesToRadians);
-        spcStr += "," + String.format(sfFormat, scaleFactor);
-
-        return spcStr;
+        return projected(north, east, convergence / degreesToRadians, scaleFactor);
     }
 
     @Override
@@ -93,6 +87,11 @@ public class OMTransformation extends CoordinateTransformation {
         double cs6 = Math.pow(cs, 6.0);
         double lat = xr + (f0 + f2 * cs2 + f4 * cs4 + f6 * cs6) * cs * Math.sin(xr);
         double lon = -lono + Math.atan((sgo * sine + cgo * r) / Math.cos(u / d)) / b;
+        geodeticStr += "," + DecimalFormatter.format(latFormat, lat / degreesToRadians);
+        geodeticStr += "," + DecimalFormatter.format(lonFormat, CoordinateTransformation.resetLon(lon / degreesToRadians));
+        if (coordinatesOnly) {
+            return geodeticStr + NO_FACTORS;
+        }
 
         double sinb = Math.sin(lat);
         double cosb = Math.cos(lat);
@@ -104,10 +103,8 @@ public class OMTransformation extends CoordinateTransformation {
         s = Math.cosh(b * q + c);
         double convergence = Math.atan((sgo - cgo * sindl * r) / (cgo * cosdl * s)) - azimuth;
         double scaleFactor = xi * Math.sqrt(1 - esq * sinb * sinb) * Math.cos(u / d) / cosb / cosdl;
-        geodeticStr += "," + String.format(latFormat, lat / degreesToRadians);
-        geodeticStr += "," + String.format(lonFormat, CoordinateTransformation.resetLon(lon / degreesToRadians));
-        geodeticStr += "," + String.format(convFormat, convergence / degreesToRadians);
-        geodeticStr += "," + String.format(sfFormat, scaleFactor);
+        geodeticStr += "," + DecimalFormatter.format(convFormat, convergence / degreesToRadians);
+        geodeticStr += "," + DecimalFormatter.format(sfFormat, scaleFactor);
         return geodeticStr;
     }
 
@@ -117,21 +114,21 @@ public class OMTransformation extends CoordinateTransformation {
         falseEasting = Double.parseDouble(zoneDef.getProperty(zone + ".fe", "0.0"));
         falseNorthing = Double.parseDouble(zoneDef.getProperty(zone + ".fn", "0.0"));
         datum = zoneDef.getProperty(zone + ".datum", datum);
-        String[] omConst = zoneConstants.getProperty(zone + ".const", "0.0").split(",");
-        if (omConst.length > 1) {
-            b = Double.parseDouble(omConst[0]);
-            c = Double.parseDouble(omConst[1]);
-            d = Double.parseDouble(omConst[2]);
-            sgo = Double.parseDouble(omConst[3]);
-            cgo = Double.parseDouble(omConst[4]);
-            cgc = Double.parseDouble(omConst[5]);
-            sgc = Double.parseDouble(omConst[6]);
-            xi = Double.parseDouble(omConst[7]);
-            lono = Double.parseDouble(omConst[8]);
-            f0 = Double.parseDouble(omConst[9]);
-            f2 = Double.parseDouble(omConst[10]);
-            f4 = Double.parseDouble(omConst[11]);
-            f6 = Double.parseDouble(omConst[12]);
+        ZoneCatalog.ZoneConstants omConst = catalog.getZone(zone);
+        if (omConst.size() > 1) {
+            b = omConst.get(0);
+            c = omConst.get(1);
+            d = omConst.get(2);
+            sgo = omConst.get(3);
+            cgo = omConst.get(4);
+            cgc = omConst.get(5);
+            sgc = omConst.get(6);
+            xi = omConst.get(7);
+            lono = omConst.get(8);
+            f0 = omConst.get(9);
+            f2 = omConst.get(10);
+            f4 = omConst.get(11);
+            f6 = omConst.get(12);
         }
 
     }
@@ -0,0 +1,145 @@
+package gov.noaa.ngs.transform;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes chunks of output produced out of order by worker threads in chunk
+ * order. A worker calls write(index, bytes) when its chunk is done; the
+ * chunk is written as soon as all chunks before it have been written, and is
+ * held until then.
+ * <p>
+ * The producer calls reserve() before handing a chunk to a worker, which
+ * blocks while maxPending chunks are handed out but not yet written, so
+ * memory stays bounded when one chunk is slow. A worker that fails calls
+ * fail(), which makes reserve() and finish() throw.
+ * <pre>
+ * OrderedChunkWriter w = new OrderedChunkWriter(out, 2 * threads);
+ * for (Chunk c : chunks) {
+ *     w.reserve();
+ *     pool.execute(() -> { try { w.write(c.getIndex(), convert(c)); } catch (...) { w.fail(ex); } });
+ * }
+ * w.finish(chunks.size());
+ * </pre>
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public class OrderedChunkWriter {
+
+    private final OutputStream out;
+    private final int maxPending;
+    private final Map<Integer, byte[]> held = new HashMap<>();
+    private int next;
+    private int reserved;
+    private long bytes;
+    private Throwable failure;
+
+    /**
+     * @param out output stream, written by the thread completing a chunk
+     * @param maxPending maximum number of chunks reserved but not written
+     */
+    public OrderedChunkWriter(OutputStream out, int maxPending) {
+        if (maxPending < 1) {
+            throw new IllegalArgumentException("Invalid number of pending chunks:" + maxPending);
+        }
+        this.out = out;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * waits until another chunk can be handed out; chunks must be reserved
+     * in index order starting at 0
+     *
+     * @throws IOException if a worker failed or the wait was interrupted
+     */
+    public synchronized void reserve() throws IOException {
+        try {
+            while (reserved - next >= maxPending && failure == null) {
+                wait();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Chunked output interrupted");
+        }
+        check();
+        reserved++;
+    }
+
+    /**
+     * writes a chunk, or holds it until the chunks before it are written
+     *
+     * @param index chunk index
+     * @param data output of the chunk
+     * @throws IOException if unable to write
+     */
+    public synchronized void write(int index, byte[] data) throws IOException {
+        check();
+        if (index != next) {
+            held.put(index, data);
+            return;
+        }
+        try {
+            while (data != null) {
+                out.write(data);
+                bytes += data.length;
+                next++;
+                data = held.remove(next);
+            }
+        } catch (IOException ex) {
+            fail(ex);
+            throw ex;
+        } finally {
+            notifyAll();
+        }
+    }
+
+    /**
+     * records the failure of a worker; the first failure is reported
+     *
+     * @param ex cause
+     */
+    public synchronized void fail(Throwable ex) {
+        if (failure == null) {
+            failure = ex;
+        }
+        held.clear();
+        notifyAll();
+    }
+
+    /**
+     * waits until the given number of chunks are written and flushes
+     *
+     * @param chunks number of chunks
+     * @throws IOException if a worker failed, unable to write or interrupted
+     */
+    public synchronized void finish(int chunks) throws IOException {
+        try {
+            while (next < chunks && failure == null) {
+                wait();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Chunked output interrupted");
+        }
+        check();
+        out.flush();
+    }
+
+    /**
+     * returns the number of bytes written
+     *
+     * @return bytes written
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    private void check() throws IOException {
+        if (failure != null) {
+            throw failure instanceof IOException ? (IOException) failure
+                    : new IOException("Chunked output failed. Exception:" + failure);
+        }
+    }
+}
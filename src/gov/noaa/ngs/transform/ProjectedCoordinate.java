@@ -0,0 +1,152 @@
+package gov.noaa.ngs.transform;
+
+/**
+ * An immutable SPC or UTM coordinate as computed by a projection. Getters
+ * return the values rounded to the precision of the zone's formats, i.e. the
+ * numbers a caller would read back from toString(); toString() returns the
+ * comma delimited text of toProjectedCoordinates
+ * (datum,zone,label,northing,easting,convergence,scale factor).
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public final class ProjectedCoordinate {
+
+    private final String datum;
+    private final String zone;
+    private final String label;
+    private final double northing;
+    private final double easting;
+    private final double convergence;   //decimal degrees
+    private final double scaleFactor;
+    private final boolean factors;      //false=convergence and scale factor are N/A
+    private final String northFormat;
+    private final String eastFormat;
+    private final String convFormat;
+    private final String sfFormat;
+
+    /**
+     * creates a coordinate without convergence and scale factor
+     *
+     * @param datum datum tag
+     * @param zone zone
+     * @param label zone label
+     * @param northing northing in zone units
+     * @param easting easting in zone units
+     * @param northFormat format of the northing
+     * @param eastFormat format of the easting
+     */
+    public ProjectedCoordinate(String datum, String zone, String label, double northing, double easting,
+            String northFormat, String eastFormat) {
+        this(datum, zone, label, northing, easting, false, Double.NaN, Double.NaN, northFormat, eastFormat, null, null);
+    }
+
+    /**
+     * creates a coordinate with convergence and scale factor
+     *
+     * @param datum datum tag
+     * @param zone zone
+     * @param label zone label
+     * @param northing northing in zone units
+     * @param easting easting in zone units
+     * @param convergence convergence in decimal degrees
+     * @param scaleFactor scale factor
+     * @param northFormat format of the northing
+     * @param eastFormat format of the easting
+     * @param convFormat format of the convergence
+     * @param sfFormat format of the scale factor
+     */
+    public ProjectedCoordinate(String datum, String zone, String label, double northing, double easting,
+            double convergence, double scaleFactor, String northFormat, String eastFormat, String convFormat,
+            String sfFormat) {
+        this(datum, zone, label, northing, easting, true, convergence, scaleFactor, northFormat, eastFormat,
+                convFormat, sfFormat);
+    }
+
+    private ProjectedCoordinate(String datum, String zone, String label, double northing, double easting,
+            boolean factors, double convergence, double scaleFactor, String northFormat, String eastFormat,
+            String convFormat, String sfFormat) {
+        this.datum = datum;
+        this.zone = zone;
+        this.label = label;
+        this.northing = northing;
+        this.easting = easting;
+        this.factors = factors;
+        this.convergence = convergence;
+        this.scaleFactor = scaleFactor;
+        this.northFormat = northFormat;
+        this.eastFormat = eastFormat;
+        this.convFormat = convFormat;
+        this.sfFormat = sfFormat;
+    }
+
+    public String getDatum() {
+        return datum;
+    }
+
+    public String getZone() {
+        return zone;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public double getNorthing() {
+        return DecimalFormatter.round(northing, DecimalFormatter.precision(northFormat));
+    }
+
+    public double getEasting() {
+        return DecimalFormatter.round(easting, DecimalFormatter.precision(eastFormat));
+    }
+
+    /**
+     * returns the convergence in decimal degrees
+     *
+     * @return convergence or NaN if not computed
+     */
+    public double getConvergence() {
+        return factors ? DecimalFormatter.round(convergence, DecimalFormatter.precision(convFormat)) : Double.NaN;
+    }
+
+    /**
+     * returns the scale factor
+     *
+     * @return scale factor or NaN if not computed
+     */
+    public double getScaleFactor() {
+        return factors ? DecimalFormatter.round(scaleFactor, DecimalFormatter.precision(sfFormat)) : Double.NaN;
+    }
+
+    /**
+     * returns the number of digits after the decimal point of the scale factor
+     * text
+     *
+     * @return digits or 0 if the scale factor is not computed
+     */
+    public int getScaleFactorDigits() {
+        return factors ? Math.max(DecimalFormatter.precision(sfFormat), 0) : 0;
+    }
+
+    /**
+     * true if convergence and scale factor are computed
+     *
+     * @return false in coordinates-only mode and for projections without them
+     */
+    public boolean hasFactors() {
+        return factors;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(80);
+        sb.append(datum).append(',').append(zone).append(',').append(label);
+        sb.append(',').append(DecimalFormatter.format(northFormat, northing));
+        sb.append(',').append(DecimalFormatter.format(eastFormat, easting));
+        if (!factors) {
+            return sb.append(CoordinateTransformation.NO_FACTORS).toString();
+        }
+        sb.append(',').append(DecimalFormatter.format(convFormat, convergence));
+        sb.append(',').append(DecimalFormatter.format(sfFormat, scaleFactor));
+        return sb.toString();
+    }
+}
@@ -4,15 +4,30 @@
  */
 package gov.noaa.ngs.transform;
 
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
 /**
  * A utility to determine the SPC zone spatially for a given lat-long and datum
  *
+ * Zone boundaries are read once per JVM from the file named by the system
+ * property "spcpath" or, if not set, from the bundled resource
+ * SPC_BOUNDARY_RESOURCE (see SpcZoneIndex for the format). If neither is
+ * available, defaults are returned as before.
+ *
  * @author Krishna Tadepalli
  * @version 1.0 Date: 08/12/2011
  *
  */
 public class SpcUtil {
 
+    public static final String SPC_BOUNDARY_RESOURCE = "/gov/noaa/ngs/transform/resources/spcZones.txt";
+    private static volatile Map<String, SpcZoneIndex> indexes;
 
     /**
      *
@@ -20,29 +35,102 @@ public class SpcUtil {
     public SpcUtil() {
     }
 
+    /**
+     * returns zone indexes, loading boundaries on first use
+     *
+     * @return index per lower-case datum
+     */
+    private static Map<String, SpcZoneIndex> getIndexes() {
+        Map<String, SpcZoneIndex> idx = indexes;
+        if (idx == null) {
+            synchronized (SpcUtil.class) {
+                idx = indexes;
+                if (idx == null) {
+                    idx = loadIndexes();
+                    indexes = idx;
+                }
+            }
+        }
+        return idx;
+    }
+
+    private static Map<String, SpcZoneIndex> loadIndexes() {
+        String path = System.getProperty("spcpath");
+        try (InputStream stream = path != null ? new FileInputStream(path)
+                : SpcUtil.class.getResourceAsStream(SPC_BOUNDARY_RESOURCE)) {
+            if (stream == null) {
+                return Collections.emptyMap();
+            }
+            return SpcZoneIndex.load(stream, SpcZoneIndex.DEFAULT_CELL_SIZE);
+        } catch (IOException | CTException ex) {
+            Logger.getLogger(SpcUtil.class.getName()).log(Level.SEVERE, "Unable to load SPC zone boundaries. Exception:{0}", ex.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * returns the zone index for a datum
+     *
+     * @param datum reference datum
+     * @return zone index or null if no boundaries are loaded for the datum
+     */
+    public static SpcZoneIndex getIndex(String datum) {
+        return datum == null ? null : getIndexes().get(datum.toLowerCase());
+    }
 
     /**
      * determines an SPC zone based an a given lat-long and datum
-     * references to internal data sources removed
-     * returns defaults
      *
      * @param lat latitude
      * @param lon longitude
      * @param datum reference datum
      * @param zoneOnly true=returns 4-character spc zone only; false=
      * zone+metadata
-     * @return 4-character spc zone or "0000" if unable to connect
+     * @return 4-character spc zone or "0000" if not found
      * @throws gov.noaa.ngs.transform.CTException if unable to retrieve a zone
      *
      */
     public String getZone(double lat, double lon, String datum, boolean zoneOnly) throws CTException {
-        String spcZone = zoneOnly ? "0000" : "0000,XX,XXXXX";
+        SpcZoneIndex index = getIndex(datum);
+        String spcZone = index == null ? null : index.getZone(lat, lon, zoneOnly);
+        if (spcZone == null) {
+            spcZone = zoneOnly ? "0000" : "0000,XX,XXXXX";
+        }
         return spcZone;
     }
 
     public String getZone(double lat, double lon, String datum) throws CTException {
         return getZone(lat, lon, datum, true);
     }
+
+    /**
+     * determines SPC zones for arrays of lat-long
+     *
+     * @param lat latitudes
+     * @param lon longitudes
+     * @param datum reference datum
+     * @param zones output zones; "0000" where no zone is found
+     * @param offset index of the first coordinate
+     * @param length number of coordinates
+     * @throws gov.noaa.ngs.transform.CTException if unable to retrieve zones
+     */
+    public void getZones(double[] lat, double[] lon, String datum, String[] zones, int offset, int length) throws CTException {
+        SpcZoneIndex index = getIndex(datum);
+        int end = offset + length;
+        if (index == null) {
+            for (int i = offset; i < end; i++) {
+                zones[i] = "0000";
+            }
+            return;
+        }
+        index.getZones(lat, lon, zones, offset, length, true);
+        for (int i = offset; i < end; i++) {
+            if (zones[i] == null) {
+                zones[i] = "0000";
+            }
+        }
+    }
+
     public void close(){
         
     }
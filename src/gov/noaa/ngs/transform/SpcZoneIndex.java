@@ -0,0 +1,371 @@
+package gov.noaa.ngs.transform;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An in-memory spatial index of SPC zone boundaries for one datum. Zone
+ * polygons are bucketed into a uniform lat-long grid; each cell holds the
+ * rings whose bounding box overlaps it so a point query only tests a handful
+ * of candidate rings.
+ * <p>
+ * Boundary file format: one ring per line, whitespace separated
+ * <pre>
+ * # datum zone state fips lon,lat lon,lat ...
+ * nad83 0101 AL 01001 -88.47,30.22 -86.79,30.22 ...
+ * </pre>
+ * Lines starting with # are comments. A zone may have several rings; rings of
+ * the same zone are combined with the even-odd rule, so holes are rings nested
+ * inside an outer ring. The longitudes of a ring are unwrapped relative to its
+ * first vertex, so a ring crossing the antimeridian (the Aleutians of Alaska
+ * zone 5010) stays one polygon and may extend past +/-180.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public final class SpcZoneIndex {
+
+    public static final double DEFAULT_CELL_SIZE = 0.25; //degrees
+
+    private final String datum;
+    private final String[] zones;     //zone per ring
+    private final String[] metadata;  //zone,state,fips per ring
+    private final double[][] ringLon;
+    private final double[][] ringLat;
+    private final double[] minLon;
+    private final double[] maxLon;
+    private final double[] minLat;
+    private final double[] maxLat;
+    private final double originLon;
+    private final double originLat;
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+    private final int[][] cells;      //candidate ring indices per cell
+
+    private SpcZoneIndex(String datum, List<Ring> rings, double cellSize) {
+        // rings of a zone must be adjacent for the even-odd test
+        Collections.sort(rings, (r1, r2) -> r1.zone.compareTo(r2.zone));
+        int n = rings.size();
+        this.datum = datum;
+        this.cellSize = cellSize;
+        zones = new String[n];
+        metadata = new String[n];
+        ringLon = new double[n][];
+        ringLat = new double[n][];
+        minLon = new double[n];
+        maxLon = new double[n];
+        minLat = new double[n];
+        maxLat = new double[n];
+        double west = Double.MAX_VALUE;
+        double south = Double.MAX_VALUE;
+        double east = -Double.MAX_VALUE;
+        double north = -Double.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            Ring r = rings.get(i);
+            zones[i] = r.zone;
+            metadata[i] = r.zone + "," + r.state + "," + r.fips;
+            ringLon[i] = r.lon;
+            ringLat[i] = r.lat;
+            minLon[i] = min(r.lon);
+            maxLon[i] = max(r.lon);
+            minLat[i] = min(r.lat);
+            maxLat[i] = max(r.lat);
+            west = Math.min(west, minLon[i]);
+            east = Math.max(east, maxLon[i]);
+            south = Math.min(south, minLat[i]);
+            north = Math.max(north, maxLat[i]);
+        }
+        if (n == 0) {
+            west = east = south = north = 0.0;
+        }
+        originLon = west;
+        originLat = south;
+        columns = Math.max(1, (int) Math.ceil((east - west) / cellSize));
+        rows = Math.max(1, (int) Math.ceil((north - south) / cellSize));
+        List<List<Integer>> buckets = new ArrayList<>(columns * rows);
+        for (int i = 0; i < columns * rows; i++) {
+            buckets.add(null);
+        }
+        for (int i = 0; i < n; i++) {
+            int c0 = column(minLon[i]);
+            int c1 = column(maxLon[i]);
+            int r0 = row(minLat[i]);
+            int r1 = row(maxLat[i]);
+            for (int r = r0; r <= r1; r++) {
+                for (int c = c0; c <= c1; c++) {
+                    int k = r * columns + c;
+                    if (buckets.get(k) == null) {
+                        buckets.set(k, new ArrayList<>(4));
+                    }
+                    buckets.get(k).add(i);
+                }
+            }
+        }
+        cells = new int[columns * rows][];
+        for (int k = 0; k < cells.length; k++) {
+            List<Integer> b = buckets.get(k);
+            if (b != null) {
+                cells[k] = new int[b.size()];
+                for (int j = 0; j < cells[k].length; j++) {
+                    cells[k][j] = b.get(j);
+                }
+            }
+        }
+    }
+
+    /**
+     * loads zone boundaries for all datums found in a boundary file
+     *
+     * @param stream boundary file
+     * @param cellSize grid cell size in degrees
+     * @return index per lower-case datum
+     * @throws CTException if the file cannot be read or parsed
+     */
+    public static Map<String, SpcZoneIndex> load(InputStream stream, double cellSize) throws CTException {
+        Map<String, List<Ring>> rings = new HashMap<>();
+        int lineNo = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] tokens = line.split("\\s+");
+                if (tokens.length < 8) {
+                    throw new CTException("Invalid SPC boundary at line " + lineNo);
+                }
+                int nv = tokens.length - 4;
+                double[] lon = new double[nv];
+                double[] lat = new double[nv];
+                for (int i = 0; i < nv; i++) {
+                    String vertex = tokens[i + 4];
+                    int comma = vertex.indexOf(',');
+                    if (comma < 0) {
+                        throw new CTException("Invalid SPC boundary vertex at line " + lineNo);
+                    }
+                    lon[i] = CoordinateTransformation.resetLon(Double.parseDouble(vertex.substring(0, comma)));
+                    if (i > 0) {
+                        lon[i] = lon[0] + CoordinateTransformation.resetLon(lon[i] - lon[0]);
+                    }
+                    lat[i] = Double.parseDouble(vertex.substring(comma + 1));
+                }
+                String datum = tokens[0].toLowerCase();
+                if (!rings.containsKey(datum)) {
+                    rings.put(datum, new ArrayList<>());
+                }
+                rings.get(datum).add(new Ring(tokens[1], tokens[2], tokens[3], lon, lat));
+            }
+        } catch (IOException ex) {
+            throw new CTException("Unable to read SPC boundary file. Exception:" + ex.getMessage());
+        } catch (NumberFormatException ex) {
+            throw new CTException("Invalid SPC boundary at line " + lineNo);
+        }
+        Map<String, SpcZoneIndex> indexes = new HashMap<>();
+        for (Map.Entry<String, List<Ring>> e : rings.entrySet()) {
+            indexes.put(e.getKey(), new SpcZoneIndex(e.getKey(), e.getValue(), cellSize));
+        }
+        return indexes;
+    }
+
+    /**
+     * returns the datum of this index
+     *
+     * @return datum
+     */
+    public String getDatum() {
+        return datum;
+    }
+
+    /**
+     * returns the ring matching a given lat-long
+     *
+     * @param lat latitude
+     * @param lon longitude (-ve west)
+     * @return ring index or -1 if outside all zones
+     */
+    public int find(double lat, double lon) {
+        lon = CoordinateTransformation.resetLon(lon);
+        int k = findAt(lat, lon);
+        // rings crossing the antimeridian extend past +/-180
+        if (k < 0 && originLon < -180.0) {
+            k = findAt(lat, lon - 360.0);
+        }
+        if (k < 0 && originLon + columns * cellSize > 180.0) {
+            k = findAt(lat, lon + 360.0);
+        }
+        return k;
+    }
+
+    private int findAt(double lat, double lon) {
+        // a point on the east or north extent is in the last cell, as when
+        // the rings were bucketed
+        if (lon < originLon || lat < originLat
+                || lon > originLon + columns * cellSize || lat > originLat + rows * cellSize) {
+            return -1;
+        }
+        int[] candidates = cells[row(lat) * columns + column(lon)];
+        if (candidates == null) {
+            return -1;
+        }
+        int i = 0;
+        while (i < candidates.length) {
+            String zone = zones[candidates[i]];
+            int first = -1;
+            boolean inside = false;
+            for (; i < candidates.length && zones[candidates[i]].equals(zone); i++) {
+                int k = candidates[i];
+                if (lat >= minLat[k] && lat <= maxLat[k] && lon >= minLon[k] && lon <= maxLon[k]
+                        && contains(ringLon[k], ringLat[k], lon, lat)) {
+                    inside = !inside;
+                    first = first < 0 ? k : first;
+                }
+            }
+            if (inside) {
+                return first;
+            }
+        }
+        // the crossing test leaves out the east and north edges of a ring,
+        // which elsewhere are the west or south edges of the next zone; a
+        // point on an edge no zone has is in the ring of that edge
+        for (int k : candidates) {
+            if (lat >= minLat[k] && lat <= maxLat[k] && lon >= minLon[k] && lon <= maxLon[k]
+                    && onEdge(ringLon[k], ringLat[k], lon, lat)) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * returns the spc zone for a given lat-long
+     *
+     * @param lat latitude
+     * @param lon longitude (-ve west)
+     * @param zoneOnly true=zone only; false=zone,state,fips
+     * @return zone or null if outside all zones
+     */
+    public String getZone(double lat, double lon, boolean zoneOnly) {
+        int k = find(lat, lon);
+        if (k < 0) {
+            return null;
+        }
+        return zoneOnly ? zones[k] : metadata[k];
+    }
+
+    /**
+     * resolves zones for arrays of lat-long
+     *
+     * @param lat latitudes
+     * @param lon longitudes (-ve west)
+     * @param result output zones; null for points outside all zones
+     * @param offset index of the first coordinate
+     * @param length number of coordinates
+     * @param zoneOnly true=zone only; false=zone,state,fips
+     */
+    public void getZones(double[] lat, double[] lon, String[] result, int offset, int length, boolean zoneOnly) {
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            result[i] = getZone(lat[i], lon[i], zoneOnly);
+        }
+    }
+
+    /**
+     * returns the number of rings in the index
+     *
+     * @return number of rings
+     */
+    public int size() {
+        return zones.length;
+    }
+
+    private int column(double lon) {
+        return Math.min(columns - 1, Math.max(0, (int) Math.floor((lon - originLon) / cellSize)));
+    }
+
+    private int row(double lat) {
+        return Math.min(rows - 1, Math.max(0, (int) Math.floor((lat - originLat) / cellSize)));
+    }
+
+    /**
+     * crossing number point-in-polygon test
+     */
+    private static boolean contains(double[] xs, double[] ys, double x, double y) {
+        boolean inside = false;
+        int n = xs.length;
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            if ((ys[i] > y) != (ys[j] > y)
+                    && x < (xs[j] - xs[i]) * (y - ys[i]) / (ys[j] - ys[i]) + xs[i]) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    /**
+     * returns whether a point lies on an edge of a ring
+     */
+    private static boolean onEdge(double[] xs, double[] ys, double x, double y) {
+        int n = xs.length;
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            if (x >= Math.min(xs[i], xs[j]) && x <= Math.max(xs[i], xs[j])
+                    && y >= Math.min(ys[i], ys[j]) && y <= Math.max(ys[i], ys[j])
+                    && (xs[j] - xs[i]) * (y - ys[i]) == (ys[j] - ys[i]) * (x - xs[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double min(double[] v) {
+        double m = v[0];
+        for (double d : v) {
+            m = Math.min(m, d);
+        }
+        return m;
+    }
+
+    private static double max(double[] v) {
+        double m = v[0];
+        for (double d : v) {
+            m = Math.max(m, d);
+        }
+        return m;
+    }
+
+    @Override
+    public String toString() {
+        return "SpcZoneIndex[" + datum + ",rings=" + zones.length + ",cells=" + columns + "x" + rows
+                + ",zones=" + Arrays.stream(zones).distinct().count() + "]";
+    }
+
+    /**
+     * a zone boundary ring as read from the boundary file
+     */
+    private static final class Ring {
+
+        private final String zone;
+        private final String state;
+        private final String fips;
+        private final double[] lon;
+        private final double[] lat;
+
+        Ring(String zone, String state, String fips, double[] lon, double[] lat) {
+            this.zone = zone;
+            this.state = state;
+            this.fips = fips;
+            this.lon = lon;
+            this.lat = lat;
+        }
+    }
+}
@@ -82,19 +82,20 @@ public class TMTransformation extends CoordinateTransformation {
     private double sf;
     private double so;
     private boolean southernHemisphere = false;
+    //constants of the numeric utm methods, loaded once
+    private volatile UtmConstants utm;
 
     /**
      * Constructor lazily instantiated via a parent's factory method
      *
-     * @param zoneDef zone definitions
-     * @param zoneConstants zone constants
+     * @param catalog zone definitions and constants
      */
-    public TMTransformation(Properties zoneDef, Properties zoneConstants) {
-        super(zoneDef, zoneConstants);
+    public TMTransformation(ZoneCatalog catalog) {
+        super(catalog);
     }
 
     @Override
-    public String toProjectedCoordinates(double lat, double lon) {
+    public ProjectedCoordinate toProjected(double lat, double lon) {
         lon = CoordinateTransformation.resetLon(lon);
         setConstants();
         if (isUtm()) {
@@ -102,10 +103,9 @@ public class TMTransformation extends CoordinateTransformation {
             label = "UTM";
         } else {
             if (datum.equals("nad27")) {   //nad27 SPC conversion
-                return toProjectedCoordinates(lat, lon, zone);
+                return toProjected(lat, lon, zone);
             }
         }
-        String retStr = datum + "," + zone + "," + label;
         lat *= degreesToRadians;
         lon *= degreesToRadians;
 
@@ -129,6 +129,9 @@ public class TMTransformation extends CoordinateTransformation {
         double a7 = (61.0 - 479.0 * ts + 179.0 * Math.pow(ts, 2.0) - Math.pow(ts, 3.0)) / 5040.0;
         double north = (s - so + a2 * ls * (1.0 + ls * (a4 + a6 * ls))) / unitsCf + falseNorthing;
         double east = falseEasting - (a1 * l * (1.0 + ls * (a3 + ls * (a5 + a7 * ls)))) / unitsCf;
+        if (coordinatesOnly) {
+            return projected(north, east);
+        }
         double c1 = -tn;
         double c3 = (1.0 + 3.0 * ets + 2.0 * Math.pow(ets, 2.0)) / 3.0;
         double c5 = (2.0 - ts) / 15.0;
@@ -138,11 +141,7 @@ public class TMTransformation extends CoordinateTransformation {
         double f2 = (1. + ets) / 2.0;
         double f4 = (5.0 - 4.0 * ts + ets * (9.0 - 24.0 * ts)) / 12.0;
         scaleFactor = scaleFactor * (1.0 + f2 * ls * (1. + f4 * ls));
-        retStr += "," + String.format(northFormat, north);
-        retStr += "," + String.format(eastFormat, east);
-        retStr += "," + String.format(convFormat, convergence / degreesToRadians);
-        retStr += "," + String.format(sfFormat, scaleFactor);
-        return retStr;
+        return projected(north, east, convergence / degreesToRadians, scaleFactor);
     }
 
     /**
@@ -153,8 +152,7 @@ public class TMTransformation extends CoordinateTransformation {
      * @param zone
      * @return
      */
-    private String toProjectedCoordinates(double lat, double lon, String zone) {
-        String retStr = datum + "," + zone + "," + label;
+    private ProjectedCoordinate toProjected(double lat, double lon, String zone) {
         lon = Math.abs(lon);
 //        System.out.println("lat:" + lat + " lon:" + lon);
         double latrad = lat * degreesToRadians;
@@ -163,7 +161,7 @@ public class TMTransformation extends CoordinateTransformation {
         double sinp = Math.sin(latrad);
         double cosp = Math.cos(latrad);
 
-        int index = Integer.valueOf(zoneConstants.getProperty(zone + ".constIndex", "0"));
+        int index = catalog.getZone(zone).getConstIndex();
         if (index == 0) {  //AK zones
             double t = 6.8147849E-3;
             double dlon = (Math.abs(cm * RHOSEC) - lon * 3600) / 1.E4;
@@ -183,14 +181,13 @@ public class TMTransformation extends CoordinateTransformation {
                     * (1.E0 + 1.958703E-4 * dlon2 * (-1.E0 + 6.E0 * cosp2 + 6.133306E-2 * cosp4
                     + 1.8577E-4 * cosp6) + 1.5346E-8 * dlon4 * (1.E0 - 60.E0 * cosp2
                     + 117.75E0 * cosp4 + 4.089E0 * cosp6));
+            if (coordinatesOnly) {
+                return projected(north, east);
+            }
             double convergence = s3 / cosp * dlon * (1.E4 + 7.83481E0 * dlon2 * (cosp2 + 2.044E-2 * cosp4
                     + 0.9E-4 * cosp6) + 0.3683E-2 * dlon4 * (3.E0 * cosp4 - cosp2)) / 3600;
             double scaleFactor = 0.9999E0 * (1.E0 + Math.pow(s2, 4) / 8.81572821E2 * Math.pow((east - falseEasting) / 1.E6, 2));
-
-            retStr += "," + String.format(northFormat, north);
-            retStr += "," + String.format(eastFormat, east);
-            retStr += "," + String.format(convFormat, convergence);
-            retStr += "," + String.format(sfFormat, scaleFactor);
+            return projected(north, east, convergence, scaleFactor);
         } else {
             // constants vary by TM zone
             // New Jersey zone 2900 has a different constant
@@ -241,18 +238,15 @@ public class TMTransformation extends CoordinateTransformation {
             double cosm = Math.cos((latrad + p2) / 2.0);
             double tms = t2 - lonsec;
             double north = c6 * t5 * (p2sec - t34 - (c7 - (c8 - c9 * cosp2s) * cosp2s) * sinp2 * cosp2);
+            if (coordinatesOnly) {
+                return projected(north, east);
+            }
             // convergence is decimal degrees
             double convergence = tms * sinm * (1.0 + c10 * tms * tms * cosm * cosm) / 3600.0;
             // scale factor
             double scaleFactor = t5 * (1.0 + (v2x * v2x * ((east - t1) * (east - t1) * 1.E-12)) / (c11 * t5 * t5));
-            retStr += "," + String.format(northFormat, north);
-            retStr += "," + String.format(eastFormat, east);
-            retStr += "," + String.format(convFormat, convergence);
-            retStr += "," + String.format(sfFormat, scaleFactor);
-
+            return projected(north, east, convergence, scaleFactor);
         }
-
-        return retStr;
     }
 
     @Override
@@ -294,6 +288,10 @@ public class TMTransformation extends CoordinateTransformation {
         //       System.out.println("r:" + r + " sf:" + sf + " so:" + so + " om:" + om + " f" + f + " qs:" + qs + " b2:" + b2 + " b4:" + b4 + " b6:" + b6);
         double l = b1 * q * (1.0 + qs * (b3 + qs * (b5 + b7 * qs)));
         double lon = l / cosf + cm;
+        if (coordinatesOnly) {
+            return geodeticStr + "," + DecimalFormatter.format(latFormat, lat / degreesToRadians)
+                    + "," + DecimalFormatter.format(lonFormat, CoordinateTransformation.resetLon(lon / degreesToRadians)) + NO_FACTORS;
+        }
 
         double sinfi = Math.sin(lat);
         double cosfi = Math.cos(lat);
@@ -311,10 +309,10 @@ public class TMTransformation extends CoordinateTransformation {
         double f2 = (1. + ets) / 2.0;
         double f4 = (5.0 - 4.0 * ts + ets * (9.0 - 24.0 * ts)) / 12.0;
         scaleFactor = scaleFactor * (1.0 + f2 * ls * (1. + f4 * ls));
-        geodeticStr += "," + String.format(latFormat, lat / degreesToRadians);
-        geodeticStr += "," + String.format(lonFormat, CoordinateTransformation.resetLon(lon / degreesToRadians));
-        geodeticStr += "," + String.format(convFormat, convergence / degreesToRadians);
-        geodeticStr += "," + String.format(sfFormat, scaleFactor);
+        geodeticStr += "," + DecimalFormatter.format(latFormat, lat / degreesToRadians);
+        geodeticStr += "," + DecimalFormatter.format(lonFormat, CoordinateTransformation.resetLon(lon / degreesToRadians));
+        geodeticStr += "," + DecimalFormatter.format(convFormat, convergence / degreesToRadians);
+        geodeticStr += "," + DecimalFormatter.format(sfFormat, scaleFactor);
         return geodeticStr;
     }
 
@@ -322,7 +320,7 @@ public class TMTransformation extends CoordinateTransformation {
         String geodeticStr = datum + "," + zone + "," + label;
         // constants that vary by TM zone
         // New Jersey zone 2900
-        int index = Integer.valueOf(zoneConstants.getProperty(zone + ".constIndex", "0"));
+        int index = catalog.getZone(zone).getConstIndex();
         if (index == 0) {  //AK zones
             double t = 6.8147849E-3;
             double o1sec = 1.93900054420E05 + 9.87466302498E-3 * north;
@@ -351,6 +349,10 @@ public class TMTransformation extends CoordinateTransformation {
                     * far2 * (2.E0 * tanp12 + w) + 4.2890624E-8 * w2 * far4 * (1.054E0 + 24.E0 / cosp14
                     - 20.E0 / cosp12 - 1.36E-2 * cosp12));
             double decLon = esec / 3600.0;
+            if (coordinatesOnly) {
+                return geodeticStr + "," + DecimalFormatter.format(latFormat, decLat)
+                        + "," + DecimalFormatter.format(lonFormat, CoordinateTransformation.resetLon(-decLon)) + NO_FACTORS;
+            }
             double latrad = decLat * degreesToRadians;
             double cosp = Math.cos(latrad);
             double cosp2 = Math.pow(cosp, 2);
@@ -364,10 +366,10 @@ public class TMTransformation extends CoordinateTransformation {
             double convergence = s3 / cosp * dlon * (1.E4 + 7.83481E0 * dlon2 * (cosp2 + 2.044E-2 * cosp4
                     + 0.9E-4 * cosp6) + 0.3683E-2 * dlon4 * (3.E0 * cosp4 - cosp2)) / 3600;
             double scaleFactor = 0.9999E0 * (1.E0 + Math.pow(s2, 4) / 8.81572821E2 * Math.pow((east - falseEasting) / 1.E6, 2));
-            geodeticStr += "," + String.format(latFormat, decLat);
-            geodeticStr += "," + String.format(lonFormat, CoordinateTransformation.resetLon(-decLon));
-            geodeticStr += "," + String.format(convFormat, convergence);
-            geodeticStr += "," + String.format(sfFormat, scaleFactor);
+            geodeticStr += "," + DecimalFormatter.format(latFormat, decLat);
+            geodeticStr += "," + DecimalFormatter.format(lonFormat, CoordinateTransformation.resetLon(-decLon));
+            geodeticStr += "," + DecimalFormatter.format(convFormat, convergence);
+            geodeticStr += "," + DecimalFormatter.format(sfFormat, scaleFactor);
             return geodeticStr;
         } else {
             // constants vary by TM zone
@@ -419,6 +421,10 @@ public class TMTransformation extends CoordinateTransformation {
             double esec = t2 - dl1sec - d9 * 1.E-12 * Math.pow(dlasec, 3);
             double decLat = psec / 3600.0;
             double decLon = -esec / 3600.0;
+            if (coordinatesOnly) {
+                return geodeticStr + "," + DecimalFormatter.format(latFormat, decLat)
+                        + "," + DecimalFormatter.format(lonFormat, CoordinateTransformation.resetLon(decLon)) + NO_FACTORS;
+            }
             double tms = t2 - esec;
             double w2 = 1.0 - esq * sinp1 * sinp1;
             double p2sec = psec + c5 * sm * sm * w2 * w2 * tanp1;
@@ -433,10 +439,10 @@ public class TMTransformation extends CoordinateTransformation {
             // scale factor
             double scaleFactor = t5 * (1.0 + (v2x * v2x * ((east - t1) * (east - t1) * 1.E-12)) / (c11 * t5 * t5));
 
-            geodeticStr += "," + String.format(latFormat, decLat);
-            geodeticStr += "," + String.format(lonFormat, CoordinateTransformation.resetLon(decLon));
-            geodeticStr += "," + String.format(convFormat, convergence);
-            geodeticStr += "," + String.format(sfFormat, scaleFactor);
+            geodeticStr += "," + DecimalFormatter.format(latFormat, decLat);
+            geodeticStr += "," + DecimalFormatter.format(lonFormat, CoordinateTransformation.resetLon(decLon));
+            geodeticStr += "," + DecimalFormatter.format(convFormat, convergence);
+            geodeticStr += "," + DecimalFormatter.format(sfFormat, scaleFactor);
             return geodeticStr;
         }
     }
@@ -451,15 +457,15 @@ public class TMTransformation extends CoordinateTransformation {
     @Override
     protected void setConstants() {
         datum = zoneDef.getProperty(zone + ".datum", datum);
-        a = Double.parseDouble(zoneConstants.getProperty("tm.a", "0.0"));
-        b = Double.parseDouble(zoneConstants.getProperty("tm.b", "0.0"));
-        c = Double.parseDouble(zoneConstants.getProperty("tm.c", "0.0"));
-        r = Double.parseDouble(zoneConstants.getProperty("tm.r", "0.0"));
-        v0 = Double.parseDouble(zoneConstants.getProperty("tm.v0", "0.0"));
-        v2 = Double.parseDouble(zoneConstants.getProperty("tm.v2", "0.0"));
-        v4 = Double.parseDouble(zoneConstants.getProperty("tm.v4", "0.0"));
-        v6 = Double.parseDouble(zoneConstants.getProperty("tm.v6", "0.0"));
-        so = Double.parseDouble(zoneConstants.getProperty(zone + ".const", "0.0"));
+        a = catalog.getConstant("tm.a");
+        b = catalog.getConstant("tm.b");
+        c = catalog.getConstant("tm.c");
+        r = catalog.getConstant("tm.r");
+        v0 = catalog.getConstant("tm.v0");
+        v2 = catalog.getConstant("tm.v2");
+        v4 = catalog.getConstant("tm.v4");
+        v6 = catalog.getConstant("tm.v6");
+        so = catalog.getZone(zone).get(0);
         cm = Double.parseDouble(zoneDef.getProperty(zone + ".cm", "0.0")) * degreesToRadians;
         sf = Double.parseDouble(zoneDef.getProperty(zone + ".sf", "0.0"));
         falseEasting = Double.parseDouble(zoneDef.getProperty(zone + ".fe", "0.0"));
@@ -489,11 +495,109 @@ public class TMTransformation extends CoordinateTransformation {
             int utmZone = Integer.valueOf(zone);
             utmZone = resetUtmZone(lat, lon, utmZone);
             cm = ((utmZone - 1) * 6 - 177) * degreesToRadians;
-            zone = String.format("%4d", utmZone);
+            zone = DecimalFormatter.format("%4d", utmZone);
         }
 
     }
 
+    /**
+     * returns the constants of the numeric utm methods, loading them on first
+     * use without touching the projection fields
+     */
+    private UtmConstants getUtmConstants() {
+        UtmConstants u = utm;
+        if (u == null) {
+            u = new UtmConstants(catalog, zoneDef, zone);
+            utm = u;
+        }
+        return u;
+    }
+
+    /**
+     * computes a UTM coordinate for a given lat-long without formatting; the
+     * zone is picked from the longitude and reset for Norway and Svalbard as
+     * in toProjectedCoordinates. Does not change the state of this instance,
+     * so it may run on several threads at once and alongside the other
+     * methods.
+     *
+     * @param lat latitude
+     * @param lon longitude
+     * @param result receives northing and easting in meters
+     * @return utm zone
+     */
+    public int toUtm(double lat, double lon, double[] result) {
+        UtmConstants u = getUtmConstants();
+        lon = CoordinateTransformation.resetLon(lon);
+        int utmZone = resetUtmZone(lat, lon, CoordinateTransformation.findUtmZone(lon));
+        double fn = lat >= 0.0 ? 0.0 : u.shfn;
+        double zcm = ((utmZone - 1) * 6 - 177) * degreesToRadians;
+        lat *= degreesToRadians;
+        lon *= degreesToRadians;
+        double scaleFactor = u.sf > 1.0 ? 1.0 - 1.0 / u.sf : 1.0;
+        double om = lat + u.a * Math.sin(2.0 * lat) + u.b * Math.sin(4.0 * lat) + u.c * Math.sin(6.0 * lat);
+        double s = u.r * om * scaleFactor;
+        double sinfi = Math.sin(lat);
+        double cosfi = Math.cos(lat);
+        double tn = sinfi / cosfi;
+        double ts = Math.pow(tn, 2.0);
+        double ets = eps * Math.pow(cosfi, 2.0);
+        double l = getLonDiff(lon, zcm) * cosfi;
+        double ls = l * l;
+        double rn = scaleFactor * radius / Math.sqrt(1.0 - esq * Math.pow(sinfi, 2.0));
+        double a2 = rn * tn / 2.0;
+        double a4 = (5.0 - ts + ets * (9.0 + 4. * ets)) / 12.0;
+        double a6 = (61.0 + ts * (ts - 58.0) + ets * (270.0 - 330.0 * ts)) / 360.0;
+        double a1 = -rn;
+        double a3 = (1.0 - ts + ets) / 6.0;
+        double a5 = (5.0 + ts * (ts - 18.0) + ets * (14.0 - 58.0 * ts)) / 120.0;
+        double a7 = (61.0 - 479.0 * ts + 179.0 * Math.pow(ts, 2.0) - Math.pow(ts, 3.0)) / 5040.0;
+        result[0] = (s - u.so + a2 * ls * (1.0 + ls * (a4 + a6 * ls))) / unitsCf + fn;
+        result[1] = u.fe - (a1 * l * (1.0 + ls * (a3 + ls * (a5 + a7 * ls)))) / unitsCf;
+        return utmZone;
+    }
+
+    /**
+     * computes lat-long for a given UTM coordinate without formatting. Like
+     * toUtm, does not change the state of this instance.
+     *
+     * @param utmZone utm zone
+     * @param north northing
+     * @param east easting
+     * @param southernHemisphere true=SH
+     * @param result receives latitude and longitude in decimal degrees
+     */
+    public void fromUtm(int utmZone, double north, double east, boolean southernHemisphere, double[] result) {
+        UtmConstants u = getUtmConstants();
+        double fn = southernHemisphere ? u.shfn : 0.0;
+        double zcm = ((utmZone - 1) * 6 - 177) * degreesToRadians;
+        double scaleFactor = u.sf > 1.0 ? 1.0 - 1.0 / u.sf : 1.0;
+        double om = ((north - fn) * unitsCf + u.so) / (u.r * scaleFactor);
+        double cosom = Math.cos(om);
+        double cosom2 = Math.pow(cosom, 2.0);
+        double cosom4 = Math.pow(cosom, 4.0);
+        double cosom6 = Math.pow(cosom, 6.0);
+        double f = om + Math.sin(om) * cosom * (u.v0 + u.v2 * cosom2 + u.v4 * cosom4 + u.v6 * cosom6);
+        double sinf = Math.sin(f);
+        double cosf = Math.cos(f);
+        double tn = sinf / cosf;
+        double ts = tn * tn;
+        double ets = eps * cosf * cosf;
+        double rn = radius * scaleFactor / Math.sqrt(1.0 - esq * sinf * sinf);
+        double q = (east - u.fe) * unitsCf / rn;
+        double qs = q * q;
+        double b2 = -tn * (1.0 + ets) / 2.0;
+        double b4 = -(5.0 + 3.0 * ts + ets * (1.0 - 9.0 * ts) - 4.0 * ets * ets) / 12.0;
+        double b6 = (61.0 + 45.0 * ts * (2.0 + ts) + ets * (46.0 - 252.0 * ts - 60.0 * ts * ts)) / 360.0;
+        double b3 = -(1.0 + ts + ts + ets) / 6.0;
+        double b5 = (5.0 + ts * (28.0 + 24.0 * ts) + ets * (6.0 + 8.0 * ts)) / 120.0;
+        double b7 = -(61.0 + 662.0 * ts + 1320.0 * ts * ts + 720.0 * Math.pow(ts, 3.0)) / 5040.0;
+        double lat = f + b2 * qs * (1.0 + qs * (b4 + b6 * qs));
+        double l = q * (1.0 + qs * (b3 + qs * (b5 + b7 * qs)));
+        double lon = l / cosf + zcm;
+        result[0] = lat / degreesToRadians;
+        result[1] = CoordinateTransformation.resetLon(lon / degreesToRadians);
+    }
+
     /**
      * resets utm zone in the x and v latitude bands for Norway and Svalbard
      * regions
@@ -533,34 +637,49 @@ public class TMTransformation extends CoordinateTransformation {
      */
     @Override
     public String toProjectedCoordinates(double radius, double f, double lat, double lon) {
+        return toProjectedCoordinates(Ellipsoid.getInstance(radius, f), lat, lon);
+    }
+
+    /**
+     * returns projected coordinate for a specific ellipsoid using its
+     * precomputed series constants; to be used for UTM transformation only
+     *
+     * @param ellipsoid ellipsoid
+     * @param lat latitude
+     * @param lon longitude
+     * @return projected coordinate
+     */
+    @Override
+    public String toProjectedCoordinates(Ellipsoid ellipsoid, double lat, double lon) {
+        return toProjected(ellipsoid, lat, lon).toString();
+    }
+
+    /**
+     * returns a numeric projected coordinate for a specific ellipsoid; to be
+     * used for UTM transformation only
+     *
+     * @param ellipsoid ellipsoid
+     * @param lat latitude
+     * @param lon longitude
+     * @return projected coordinate
+     */
+    @Override
+    public ProjectedCoordinate toProjected(Ellipsoid ellipsoid, double lat, double lon) {
         lon = CoordinateTransformation.resetLon(lon);
-        double pr = (1.0 - f) * radius;
-        double en = (radius - pr) / (radius + pr);
-        double en2 = Math.pow(en, 2.0);
-        double en3 = Math.pow(en, 3.0);
-        double en4 = Math.pow(en, 4.0);
-        double a = -1.5 * en + (9.0 / 16.0) * en3;
-        double b = 0.9375 * en2 - (15.0 / 32.0) * en4;
-        double c = -(35.0 / 48.0) * en3;
-        double r = radius * (1.0 - en) * (1. - en2) * (1. + 2.25 * en2 + (225.0 / 64.0) * en4);
-        double c2 = 3.0 * en / 2.0 - 27.0 * en3 / 32.0;
-        double c4 = 21.0 * en2 / 16.0 - 55.0 * en4 / 32.0;
-        double c6 = 151.0 * en3 / 96.0;
-        double c8 = 1097.0 * en4 / 512.0;
-        double v0 = 2.0 * (c2 - 2.0 * c4 + 3.0 * c6 - 4.0 * c8);
-        double v2 = 8.0 * (c4 - 4.0 * c6 + 10.0 * c8);
-        double v4 = 32.0 * (c6 - 6.0 * c8);
-        double v6 = 128.0 * c8;
+        double radius = ellipsoid.getRadius();
+        double a = ellipsoid.getTmA();
+        double b = ellipsoid.getTmB();
+        double c = ellipsoid.getTmC();
+        double r = ellipsoid.getTmR();
         double so = 0.0;
 
-        double esq = 2 * f - Math.pow(f, 2.0); //eccentricity(e) squared
-        double eps = esq / (1.0 - esq);        //eprime squared
+        double esq = ellipsoid.getEsq(); //eccentricity(e) squared
+        double eps = ellipsoid.getEps(); //eprime squared
 
         if (isUtm()) {
             setConstants(lat, lon, false);
             label = "UTM";
         }
-        String retStr = datum + "," + zone + "," + label;
         lat *= degreesToRadians;
         lon *= degreesToRadians;
 
@@ -584,6 +703,9 @@ public class TMTransformation extends CoordinateTransformation {
         double a7 = (61.0 - 479.0 * ts + 179.0 * Math.pow(ts, 2.0) - Math.pow(ts, 3.0)) / 5040.0;
         double north = (s - so + a2 * ls * (1.0 + ls * (a4 + a6 * ls))) / unitsCf + falseNorthing;
         double east = falseEasting - (a1 * l * (1.0 + ls * (a3 + ls * (a5 + a7 * ls)))) / unitsCf;
+        if (coordinatesOnly) {
+            return projected(north, east);
+        }
         double c1 = -tn;
         double c3 = (1.0 + 3.0 * ets + 2.0 * Math.pow(ets, 2.0)) / 3.0;
         double c5 = (2.0 - ts) / 15.0;
@@ -593,12 +715,7 @@ public class TMTransformation extends CoordinateTransformation {
         double f2 = (1. + ets) / 2.0;
         double f4 = (5.0 - 4.0 * ts + ets * (9.0 - 24.0 * ts)) / 12.0;
         scaleFactor = scaleFactor * (1.0 + f2 * ls * (1. + f4 * ls));
-        retStr += "," + String.format(northFormat, north);
-        retStr += "," + String.format(eastFormat, east);
-        retStr += "," + String.format(convFormat, convergence / degreesToRadians);
-        retStr += "," + String.format(sfFormat, scaleFactor);
-        return retStr;
-
+        return projected(north, east, convergence / degreesToRadians, scaleFactor);
     }
 
     /**
@@ -615,28 +732,32 @@ public class TMTransformation extends CoordinateTransformation {
      */
     @Override
     public String toGeodeticCoordinates(double radius, double fl, double north, double east, boolean southernHemisphere) {
+        return toGeodeticCoordinates(Ellipsoid.getInstance(radius, fl), north, east, southernHemisphere);
+    }
+
+    /**
+     * returns geodetic coordinate for a specific ellipsoid using its
+     * precomputed series constants; to be used for UTM transformation only
+     *
+     * @param ellipsoid ellipsoid
+     * @param north northing
+     * @param east easting
+     * @param southernHemisphere true=SH
+     * @return geodetic coordinate
+     */
+    @Override
+    public String toGeodeticCoordinates(Ellipsoid ellipsoid, double north, double east, boolean southernHemisphere) {
         this.southernHemisphere = southernHemisphere;
-        double pr = (1.0 - fl) * radius;
-        double en = (radius - pr) / (radius + pr);
-        double en2 = Math.pow(en, 2.0);
-        double en3 = Math.pow(en, 3.0);
-        double en4 = Math.pow(en, 4.0);
-        double a = -1.5 * en + (9.0 / 16.0) * en3;
-        double b = 0.9375 * en2 - (15.0 / 32.0) * en4;
-        double c = -(35.0 / 48.0) * en3;
-        double r = radius * (1.0 - en) * (1. - en2) * (1. + 2.25 * en2 + (225.0 / 64.0) * en4);
-        double c2 = 3.0 * en / 2.0 - 27.0 * en3 / 32.0;
-        double c4 = 21.0 * en2 / 16.0 - 55.0 * en4 / 32.0;
-        double c6 = 151.0 * en3 / 96.0;
-        double c8 = 1097.0 * en4 / 512.0;
-        double v0 = 2.0 * (c2 - 2.0 * c4 + 3.0 * c6 - 4.0 * c8);
-        double v2 = 8.0 * (c4 - 4.0 * c6 + 10.0 * c8);
-        double v4 = 32.0 * (c6 - 6.0 * c8);
-        double v6 = 128.0 * c8;
+        double radius = ellipsoid.getRadius();
+        double r = ellipsoid.getTmR();
+        double v0 = ellipsoid.getTmV0();
+        double v2 = ellipsoid.getTmV2();
+        double v4 = ellipsoid.getTmV4();
+        double v6 = ellipsoid.getTmV6();
         double so = 0.0;
 
-        double esq = 2 * fl - Math.pow(fl, 2.0); //eccentricity(e) squared
-        double eps = esq / (1.0 - esq);        //eprime squared
+        double esq = ellipsoid.getEsq(); //eccentricity(e) squared
+        double eps = ellipsoid.getEps(); //eprime squared
 
         if (isUtm()) {
             setConstants(0.0, 0.0, true);
@@ -669,6 +790,10 @@ public class TMTransformation extends CoordinateTransformation {
         //       System.out.println("r:" + r + " sf:" + sf + " so:" + so + " om:" + om + " f" + f + " qs:" + qs + " b2:" + b2 + " b4:" + b4 + " b6:" + b6);
         double l = b1 * q * (1.0 + qs * (b3 + qs * (b5 + b7 * qs)));
         double lon = l / cosf + cm;
+        if (coordinatesOnly) {
+            return geodeticStr + "," + DecimalFormatter.format(latFormat, lat / degreesToRadians)
+                    + "," + DecimalFormatter.format(lonFormat, CoordinateTransformation.resetLon(lon / degreesToRadians)) + NO_FACTORS;
+        }
 
         double sinfi = Math.sin(lat);
         double cosfi = Math.cos(lat);
@@ -686,10 +811,10 @@ public class TMTransformation extends CoordinateTransformation {
         double f2 = (1. + ets) / 2.0;
         double f4 = (5.0 - 4.0 * ts + ets * (9.0 - 24.0 * ts)) / 12.0;
         scaleFactor = scaleFactor * (1.0 + f2 * ls * (1. + f4 * ls));
-        geodeticStr += "," + String.format(latFormat, lat / degreesToRadians);
-        geodeticStr += "," + String.format(lonFormat, CoordinateTransformation.resetLon(lon / degreesToRadians));
-        geodeticStr += "," + String.format(convFormat, convergence / degreesToRadians);
-        geodeticStr += "," + String.format(sfFormat, scaleFactor);
+        geodeticStr += "," + DecimalFormatter.format(latFormat, lat / degreesToRadians);
+        geodeticStr += "," + DecimalFormatter.format(lonFormat, CoordinateTransformation.resetLon(lon / degreesToRadians));
+        geodeticStr += "," + DecimalFormatter.format(convFormat, convergence / degreesToRadians);
+        geodeticStr += "," + DecimalFormatter.format(sfFormat, scaleFactor);
         return geodeticStr;
     }
 
@@ -725,4 +850,39 @@ public class TMTransformation extends CoordinateTransformation {
 //        System.out.println(c.toGeodeticCoordinates(3655605.449270, 339477.590847));
 
     }
+
+    /**
+     * the tm and utm constants read by toUtm and fromUtm; immutable, so an
+     * instance may be shared by threads
+     */
+    private static final class UtmConstants {
+
+        private final double a;
+        private final double b;
+        private final double c;
+        private final double r;
+        private final double v0;
+        private final double v2;
+        private final double v4;
+        private final double v6;
+        private final double so;
+        private final double fe;
+        private final double sf;
+        private final double shfn;
+
+        UtmConstants(ZoneCatalog catalog, Properties zoneDef, String zone) {
+            a = catalog.getConstant("tm.a");
+            b = catalog.getConstant("tm.b");
+            c = catalog.getConstant("tm.c");
+            r = catalog.getConstant("tm.r");
+            v0 = catalog.getConstant("tm.v0");
+            v2 = catalog.getConstant("tm.v2");
+            v4 = catalog.getConstant("tm.v4");
+            v6 = catalog.getConstant("tm.v6");
+            so = catalog.getZone(zone).get(0);
+            fe = Double.parseDouble(zoneDef.getProperty("utm.fe", "0.0"));
+            sf = Double.parseDouble(zoneDef.getProperty("utm.sf", "0.0"));
+            shfn = Double.parseDouble(zoneDef.getProperty("utm.shfn", "0.0"));
+        }
+    }
 }
@@ -32,6 +32,11 @@ public class Usng {
     private String utmFormat;
     private String datum;
     private boolean southernHemisphere;
+    // used by the char[] encoder/decoder; makes those methods non-reentrant
+    private TMTransformation utm;
+    private final double[] utmScratch = new double[2];
+    private final int[] usngScratch = new int[4];
+    private final char[] charScratch = new char[15];
 
     public Usng(String datum, boolean southernHemisphere) {
         utmFormat = ONE_METER_FORMAT;
@@ -145,6 +150,28 @@ public class Usng {
 //        return new String(charAr);
 //    }
 
+    /**
+     * char version of getGzd
+     *
+     * @param lat latitude
+     * @return a letter denoting grid zone
+     */
+    private static char getGzdChar(double lat) {
+        if (lat < -80.0 || lat > 84.0) {
+            return ' ';
+        }
+        int i;
+        if (lat >= 0) {
+            i = ((int) lat / 8) * 8;
+        } else {
+            int slat = (int) lat;
+            i = slat % 8 == 0 ? slat : ((slat / 8) - 1) * 8;
+        }
+        i = i > 72 ? 72 : i;
+        i = i < -80 ? -80 : i;
+        return GZD_MAP.get(i).charAt(0);
+    }
+
     /**
      * returns a two letter column-row ID into 100k meter grid for a given UTM
      * coordinate and zone.
@@ -182,19 +209,18 @@ public class Usng {
         //       lon = (double) Math.round(lon * 1000000) / 1000000;
         int utmZone = CoordinateTransformation.findUtmZone(lon);
         CoordinateTransformation ct = CoordinateTransformation.getInstance(utmZone, datum);
-        String coordStr = ct.toProjectedCoordinates(lat, lon);
-        String[] coordAr = coordStr.split(",");
-        utmZone = Integer.valueOf(coordAr[1].trim());
-        double north = Double.parseDouble(coordAr[3]);
-        double east = Double.parseDouble(coordAr[4]);
+        ProjectedCoordinate utm = ct.toProjected(lat, lon);
+        utmZone = Integer.valueOf(utm.getZone().trim());
+        double north = utm.getNorthing();
+        double east = utm.getEasting();
         String squareId = getSquareId(north, east, utmZone);
         String gZd = getGzd(lat);
         int northPart = (int) north % UTM_GRID_SIZE;
         northPart /= resolution;
-        String northPartStr = String.format(utmFormat, northPart);
+        String northPartStr = DecimalFormatter.format(utmFormat, northPart);
         int eastPart = (int) east % UTM_GRID_SIZE;
         eastPart /= resolution;
-        String eastPartStr = String.format(utmFormat, eastPart);
+        String eastPartStr = DecimalFormatter.format(utmFormat, eastPart);
         usngStr = Integer.toString(utmZone) + gZd + squareId
                 + eastPartStr + northPartStr;
 
@@ -235,8 +261,8 @@ public class Usng {
         int eastPart = (int) east % UTM_GRID_SIZE;
         northPart /= resolution;
         eastPart /= resolution;
-        String northPartStr = String.format(utmFormat, northPart);
-        String eastPartStr = String.format(utmFormat, eastPart);
+        String northPartStr = DecimalFormatter.format(utmFormat, northPart);
+        String eastPartStr = DecimalFormatter.format(utmFormat, eastPart);
         return Integer.toString(utmZone) + gZd + squareId + eastPartStr + northPartStr;
     }
 
@@ -286,8 +312,8 @@ public class Usng {
         } else {
             north += UTM_NORTH_OFFSET + offset;
         }
-        String northStr = String.format(utmFormat, north);
-        String eastStr = String.format(utmFormat, east);
+        String northStr = DecimalFormatter.format(utmFormat, north);
+        String eastStr = DecimalFormatter.format(utmFormat, east);
 
         utmStr = Integer.toString(zone) + "," + northStr + "," + eastStr;
         return utmStr;
@@ -325,6 +351,18 @@ public class Usng {
      * @return
      */
     private int getNorthOffset(String gzd, String rowLetter, int zone) {
+        return getNorthOffset(gzd.charAt(0), rowLetter.charAt(0), zone);
+    }
+
+    /**
+     * char version of getNorthOffset
+     *
+     * @param gzd
+     * @param rowLetter
+     * @param zone
+     * @return
+     */
+    private static int getNorthOffset(char gzd, char rowLetter, int zone) {
         String rowPattern1 = "ABCDEFGHJK";
         String rowPattern2 = "FGHJKLMNPQ";
         String rowPattern3 = "ABC";
@@ -333,65 +371,65 @@ public class Usng {
         String rowPattern6 = "CDE";
         boolean oddZone = zone % 2 == 1;
         boolean evenZone = zone % 2 == 0;
-        if (gzd.equals("N") || gzd.equals("P")) {
+        if (gzd == 'N' || gzd == 'P') {
             return -2000000;
         }
-        if (gzd.equals("Q")) {
-            return ((rowPattern1.contains(rowLetter)) && oddZone)
-                    || ((rowPattern2.contains(rowLetter)) && evenZone)
+        if (gzd == 'Q') {
+            return ((rowPattern1.indexOf(rowLetter) >= 0) && oddZone)
+                    || ((rowPattern2.indexOf(rowLetter) >= 0) && evenZone)
                     ? 0 : -2000000;
         }
-        if (gzd.equals("S")) {
-            return ((rowPattern1.contains(rowLetter)) && oddZone)
-                    || ((rowPattern2.contains(rowLetter)) && evenZone)
+        if (gzd == 'S') {
+            return ((rowPattern1.indexOf(rowLetter) >= 0) && oddZone)
+                    || ((rowPattern2.indexOf(rowLetter) >= 0) && evenZone)
                     ? 2000000 : 0;
         }
-        if (gzd.equals("T")) {
+        if (gzd == 'T') {
             return 2000000;
         }
-        if (gzd.equals("U")) {
-            return ((rowPattern3.contains(rowLetter)) && oddZone)
-                    || ((rowPattern4.contains(rowLetter)) && evenZone)
+        if (gzd == 'U') {
+            return ((rowPattern3.indexOf(rowLetter) >= 0) && oddZone)
+                    || ((rowPattern4.indexOf(rowLetter) >= 0) && evenZone)
                     ? 4000000 : 2000000;
         }
-        if (gzd.equals("V") || gzd.equals("W")) {
+        if (gzd == 'V' || gzd == 'W') {
             return 4000000;
         }
-        if (gzd.equals("X")) {
-            return ((rowLetter.equals("V") && oddZone) || (rowLetter.equals("E") && evenZone))
+        if (gzd == 'X') {
+            return ((rowLetter == 'V' && oddZone) || (rowLetter == 'E' && evenZone))
                     ? 4000000 : 6000000;
         }
-        if (gzd.equals("M")) {
-            return ((rowLetter.equals("A") && oddZone) || (rowLetter.equals("F") && evenZone))
+        if (gzd == 'M') {
+            return ((rowLetter == 'A' && oddZone) || (rowLetter == 'F' && evenZone))
                     ? -4000000 : -2000000;
         }
-        if (gzd.equals("L")) {
+        if (gzd == 'L') {
             return -2000000;
         }
-        if (gzd.equals("K")) {
-            return ((rowPattern1.contains(rowLetter)) && oddZone)
-                    || ((rowPattern2.contains(rowLetter)) && evenZone)
+        if (gzd == 'K') {
+            return ((rowPattern1.indexOf(rowLetter) >= 0) && oddZone)
+                    || ((rowPattern2.indexOf(rowLetter) >= 0) && evenZone)
                     ? -2000000 : 0;
         }
-        if (gzd.equals("H")) {
-            return ((rowPattern1.contains(rowLetter)) && oddZone)
-                    || ((rowPattern2.contains(rowLetter)) && evenZone)
+        if (gzd == 'H') {
+            return ((rowPattern1.indexOf(rowLetter) >= 0) && oddZone)
+                    || ((rowPattern2.indexOf(rowLetter) >= 0) && evenZone)
                     ? 0 : 2000000;
         }
-        if (gzd.equals("G")) {
+        if (gzd == 'G') {
             return 2000000;
         }
-        if (gzd.equals("F")) {
-            return ((rowPattern5.contains(rowLetter)) && oddZone)
-                    || ((rowPattern6.contains(rowLetter)) && evenZone)
+        if (gzd == 'F') {
+            return ((rowPattern5.indexOf(rowLetter) >= 0) && oddZone)
+                    || ((rowPattern6.indexOf(rowLetter) >= 0) && evenZone)
                     ? 4000000 : 2000000;
 
         }
-        if (gzd.equals("E") || gzd.equals("D")) {
+        if (gzd == 'E' || gzd == 'D') {
             return 4000000;
         }
-        if (gzd.equals("C")) {
-            return ((rowLetter.equals("A") && oddZone) || (rowLetter.equals("F") && evenZone))
+        if (gzd == 'C') {
+            return ((rowLetter == 'A' && oddZone) || (rowLetter == 'F' && evenZone))
                     ? 4000000 : 6000000;
         }
         return 0;
@@ -414,6 +452,227 @@ public class Usng {
 
     }
 
+    /**
+     * returns the number of digits used for each of easting and northing
+     *
+     * @return digits per component
+     */
+    private int getDigits() {
+        return utmFormat.charAt(2) - '0';
+    }
+
+    /**
+     * returns the utm projection used by the char[] encoder/decoder
+     *
+     * @return utm projection for the datum
+     */
+    private TMTransformation getUtm() {
+        if (utm == null) {
+            utm = (TMTransformation) CoordinateTransformation.getInstance(1, datum);
+        }
+        return utm;
+    }
+
+    /**
+     * returns the integer part of a northing/easting as seen after formatting
+     * to 6 decimal places, consistent with toUsng(lat, lon)
+     */
+    private static int toWholeMeters(double v) {
+        double w = Math.floor(v);
+        return (int) (v - w >= 0.9999995 ? w + 1 : w);
+    }
+
+    /**
+     * writes a non-negative integer left padded with zeros
+     */
+    private static int writeDigits(int value, int digits, char[] buf, int pos) {
+        for (int i = pos + digits - 1; i >= pos; i--) {
+            buf[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + digits;
+    }
+
+    /**
+     * writes a USNG coordinate for a given lat-long per a given resolution
+     * into a caller supplied buffer; no objects are created per call
+     *
+     * @param lat latitude
+     * @param lon longitude
+     * @param buf destination; needs room for 15 characters
+     * @param pos index of the first character to write
+     * @return index after the last character written
+     */
+    public int toUsng(double lat, double lon, char[] buf, int pos) {
+        int utmZone = getUtm().toUtm(lat, lon, utmScratch);
+        return toUsng(toWholeMeters(utmScratch[0]), toWholeMeters(utmScratch[1]), utmZone, getGzdChar(lat), buf, pos);
+    }
+
+    /**
+     * writes a USNG coordinate for a given UTM coordinate at a given latitude
+     * into a caller supplied buffer
+     *
+     * @param north northing
+     * @param east easting
+     * @param utmZone UTM zone
+     * @param lat latitude
+     * @param buf destination; needs room for 15 characters
+     * @param pos index of the first character to write
+     * @return index after the last character written
+     */
+    public int toUsng(double north, double east, int utmZone, double lat, char[] buf, int pos) {
+        return toUsng((int) north, (int) east, utmZone, getGzdChar(lat), buf, pos);
+    }
+
+    private int toUsng(int north, int east, int utmZone, char gzd, char[] buf, int pos) {
+        String colPattern = COLUMN_PATTERN[utmZone % 3];
+        String rowPattern = ROW_PATTERN[utmZone % 2];
+        int colIndex = (east / UTM_GRID_SIZE) % colPattern.length() - 1;
+        if (colIndex < 0) {
+            colIndex += 8;
+        }
+        int rowIndex = (north / UTM_GRID_SIZE) % rowPattern.length();
+        if (utmZone >= 10) {
+            buf[pos++] = (char) ('0' + utmZone / 10);
+        }
+        buf[pos++] = (char) ('0' + utmZone % 10);
+        buf[pos++] = gzd;
+        buf[pos++] = colPattern.charAt(colIndex);
+        buf[pos++] = rowPattern.charAt(rowIndex);
+        int digits = getDigits();
+        pos = writeDigits((east % UTM_GRID_SIZE) / resolution, digits, buf, pos);
+        return writeDigits((north % UTM_GRID_SIZE) / resolution, digits, buf, pos);
+    }
+
+    /**
+     * appends a USNG coordinate for a given lat-long to a StringBuilder
+     *
+     * @param lat latitude
+     * @param lon longitude
+     * @param sb destination
+     * @return sb
+     */
+    public StringBuilder toUsng(double lat, double lon, StringBuilder sb) {
+        return sb.append(charScratch, 0, toUsng(lat, lon, charScratch, 0));
+    }
+
+    /**
+     * converts arrays of lat-long to USNG; coordinate i is written to
+     * buf[i * 15, ends[i])
+     *
+     * @param lat latitudes
+     * @param lon longitudes
+     * @param offset index of the first coordinate
+     * @param length number of coordinates
+     * @param buf destination; at least (offset + length) * 15 characters
+     * @param ends receives the end index of each coordinate in buf
+     */
+    public void toUsng(double[] lat, double[] lon, int offset, int length, char[] buf, int[] ends) {
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            ends[i] = toUsng(lat[i], lon[i], buf, i * 15);
+        }
+    }
+
+    /**
+     * parses a USNG coordinate to UTM without creating substrings
+     *
+     * @param usng text holding the coordinate
+     * @param start index of the first character
+     * @param end index after the last character
+     * @param result receives utm zone, northing, easting and 1 for the
+     * southern hemisphere or 0 otherwise
+     * @return false if the text is not a valid USNG coordinate
+     */
+    public boolean toUtm(CharSequence usng, int start, int end, int[] result) {
+        int digits = getDigits();
+        int index = start;
+        if (end - index < 4 || !Character.isDigit(usng.charAt(index))) {
+            return false;
+        }
+        int zone = usng.charAt(index++) - '0';
+        if (Character.isDigit(usng.charAt(index))) {
+            zone = zone * 10 + usng.charAt(index++) - '0';
+        }
+        if (end - index != 3 + 2 * digits) {
+            return false;
+        }
+        char gzd = usng.charAt(index++);
+        char colLetter = usng.charAt(index++);
+        char rowLetter = usng.charAt(index++);
+        int easting = 0;
+        int northing = 0;
+        for (int i = 0; i < digits; i++) {
+            char ce = usng.charAt(index + i);
+            char cn = usng.charAt(index + digits + i);
+            if (ce < '0' || ce > '9' || cn < '0' || cn > '9') {
+                return false;
+            }
+            easting = easting * 10 + ce - '0';
+            northing = northing * 10 + cn - '0';
+        }
+        int colIndex = COLUMN_PATTERN[zone % 3].indexOf(colLetter);
+        int rowIndex = ROW_PATTERN[zone % 2].indexOf(rowLetter);
+        if (colIndex < 0 || rowIndex < 0) {
+            return false;
+        }
+        int offset = getNorthOffset(gzd, rowLetter, zone);
+        int east = easting * resolution + UTM_GRID_SIZE * (colIndex + 1);
+        int north = northing * resolution + UTM_GRID_SIZE * rowIndex;
+        boolean sh = (int) gzd <= ASCII_M_INDEX;
+        north += sh ? UTM_SOUTH_OFFSET - offset : UTM_NORTH_OFFSET + offset;
+        result[0] = zone;
+        result[1] = north;
+        result[2] = east;
+        result[3] = sh ? 1 : 0;
+        return true;
+    }
+
+    /**
+     * parses a USNG coordinate to lat-long without creating substrings
+     *
+     * @param usng text holding the coordinate
+     * @param start index of the first character
+     * @param end index after the last character
+     * @param result receives latitude and longitude in decimal degrees
+     * @return false if the text is not a valid USNG coordinate
+     */
+    public boolean toGeodeticCoordinates(CharSequence usng, int start, int end, double[] result) {
+        if (!toUtm(usng, start, end, usngScratch)) {
+            return false;
+        }
+        getUtm().fromUtm(usngScratch[0], usngScratch[1], usngScratch[2],
+                southernHemisphere || usngScratch[3] == 1, result);
+        return true;
+    }
+
+    /**
+     * converts USNG coordinates held in a char buffer to lat-long; coordinate
+     * i spans buf[starts[i], ends[i]). Invalid coordinates yield NaN.
+     *
+     * @param buf source
+     * @param starts start index of each coordinate
+     * @param ends end index of each coordinate
+     * @param offset index of the first coordinate
+     * @param length number of coordinates
+     * @param lat receives latitudes
+     * @param lon receives longitudes
+     */
+    public void toGeodeticCoordinates(char[] buf, int[] starts, int[] ends, int offset, int length,
+            double[] lat, double[] lon) {
+        CharSequence text = java.nio.CharBuffer.wrap(buf);
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            if (toGeodeticCoordinates(text, starts[i], ends[i], utmScratch)) {
+                lat[i] = utmScratch[0];
+                lon[i] = utmScratch[1];
+            } else {
+                lat[i] = Double.NaN;
+                lon[i] = Double.NaN;
+            }
+        }
+    }
+
     public static void main(String[] args) {
         Usng u = new Usng("nad83");
         //       System.out.println("USNG:" + u.toUsng(4316895.472, 456704.008, 18, 39.0));
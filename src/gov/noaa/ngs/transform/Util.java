@@ -1,5 +1,7 @@
 package gov.noaa.ngs.transform;
 
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -8,6 +10,7 @@ import java.util.Properties;
 
 /**
  * Computes and stores ellipsoid and zone specific constants to a property file
+ * and precompiles them with the zone definitions into a ZoneCatalog
  *
  * @author Krishna Tadepalli
  * @version 1.0 Date: 06/10/2011
@@ -305,6 +308,31 @@ public class Util {
                 / (1.0 - arg2 * arg1))) / 2.0;
     }
 
+    /**
+     * writes the zone definitions and the constants of a property file written
+     * by loadConstants to datumZones.bin in the same directory
+     *
+     * @param propFile property file
+     * @param datum reference datum
+     * @throws IOException if unable to read the properties or write the catalog
+     */
+    public static void writeCatalog(String propFile, String datum) throws IOException {
+        Properties zoneDef = new Properties();
+        try (InputStream inStream = Util.class.getResourceAsStream(datum.equals("nad83")
+                ? NAD83_ZONE_DEF_PROP : NAD27_ZONE_DEF_PROP)) {
+            if (inStream == null) {
+                throw new IOException("Unable to access zone definitions for " + datum);
+            }
+            zoneDef.load(inStream);
+        }
+        Properties zoneConstants = new Properties();
+        try (InputStream inStream = new FileInputStream(propFile)) {
+            zoneConstants.load(inStream);
+        }
+        File dir = new File(propFile).getAbsoluteFile().getParentFile();
+        ZoneCatalog.of(zoneDef, zoneConstants).write(new File(dir, datum + "Zones.bin"));
+    }
+
     public static void main(String[] args) {
         try {
             if (args.length != 2) {
@@ -320,6 +348,8 @@ public class Util {
                 }
                 loadConstants(nad83PropFile, "nad83");
                 loadConstants(nad27PropFile, "nad27");
+                writeCatalog(nad83PropFile, "nad83");
+                writeCatalog(nad27PropFile, "nad27");
             }
         } catch (IOException e) {
             System.err.println("Failed to retrieve/store spc properties. Exception:" + e.getMessage());
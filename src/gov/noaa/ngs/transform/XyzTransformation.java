@@ -1,7 +1,5 @@
 package gov.noaa.ngs.transform;
 
-import java.util.Properties;
-
 /**
  * Transforms geodetic coordinates to xyz and vice versa
  *
@@ -11,16 +9,37 @@ import java.util.Properties;
  */
 public class XyzTransformation extends CoordinateTransformation {
 
+    /**
+     * algorithms available for batch xyz to llh conversion
+     */
+    public enum Algorithm {
+        /**
+         * closed-form quartic solution used by the single-point methods
+         */
+        EXACT,
+        /**
+         * single iteration of Bowring's method using square roots and one
+         * arctangent; llh to xyz to llh round trip errors on GRS80 are below
+         * 3.0e-8 arc seconds in latitude for heights within +/- 10 km, 3.0e-6
+         * at 100 km and 2.0e-4 (about 6 mm) at 1000 km, and below 4.0e-9 m in
+         * height. From 89.9 degrees to the poles, +/-90 included, latitude
+         * round trips exactly for heights from -10 km to 1000 km and height
+         * within 3.0e-9 m, where EXACT is off by up to 3.2e-5 arc seconds (at
+         * 89.9999 degrees)
+         */
+        BOWRING
+    }
+
+    private static final double DEG2RAD = Math.PI / 180.0;
     private double height;
     private double z;
 
     /**
      * Constructor lazily instantiated via a parent's factory method
-     * @param zoneDef zone definition
-     * @param zoneConstants zone constants
+     * @param catalog zone definitions and constants
      */
-    public XyzTransformation(Properties zoneDef, Properties zoneConstants) {
-        super(zoneDef, zoneConstants);
+    public XyzTransformation(ZoneCatalog catalog) {
+        super(catalog);
     }
 
     @Override
@@ -28,8 +47,26 @@ public class XyzTransformation extends CoordinateTransformation {
         return toProjectedCoordinates(lat, lon, height);
     }
 
+    @Override
+    public ProjectedCoordinate toProjected(double lat, double lon) {
+        throw new UnsupportedOperationException("Not supported.");
+    }
+
     @Override
     public String toProjectedCoordinates(double lat, double lon, double height) {
+        return format(project(lat, lon, height, radius, eflattening, esq));
+    }
+
+    @Override
+    public double[] toXyz(double lat, double lon, double height) {
+        return round(project(lat, lon, height, radius, eflattening, esq));
+    }
+
+    /**
+     * converts lat-long-height to unrounded xyz
+     */
+    private double[] project(double lat, double lon, double height, double radius, double eflattening,
+            double esq) {
         lon = CoordinateTransformation.resetLon(lon);
         lat *= degreesToRadians;
         lon *= degreesToRadians;
@@ -41,12 +78,24 @@ public class XyzTransformation extends CoordinateTransformation {
         double y = x * Math.sin(lon);
         x *= Math.cos(lon);
         double zVal = g2 * sinLat;
-        String retStr = String.format(xyzFormat, x);
-        retStr += "," + String.format(xyzFormat, y);
-        retStr += "," + String.format(xyzFormat, zVal);
+        return new double[]{x, y, zVal};
+    }
+
+    private String format(double[] xyz) {
+        String retStr = DecimalFormatter.format(xyzFormat, xyz[0]);
+        retStr += "," + DecimalFormatter.format(xyzFormat, xyz[1]);
+        retStr += "," + DecimalFormatter.format(xyzFormat, xyz[2]);
         return retStr;
     }
 
+    private double[] round(double[] xyz) {
+        int precision = DecimalFormatter.precision(xyzFormat);
+        for (int i = 0; i < xyz.length; i++) {
+            xyz[i] = DecimalFormatter.round(xyz[i], precision);
+        }
+        return xyz;
+    }
+
     @Override
     public String toGeodeticCoordinates(double x, double y) {
         return toGeodeticCoordinates(x, y, z);
@@ -94,9 +143,9 @@ public class XyzTransformation extends CoordinateTransformation {
         double zlong = Math.atan2(y, x);
 
         double lon = CoordinateTransformation.resetLon(zlong / degreesToRadians);
-        String geodeticStr = String.format(latFormat, lat / degreesToRadians);
-        geodeticStr += "," + String.format(lonFormat, lon);
-        geodeticStr += "," + String.format(heightFormat, height);
+        String geodeticStr = DecimalFormatter.format(latFormat, lat / degreesToRadians);
+        geodeticStr += "," + DecimalFormatter.format(lonFormat, lon);
+        geodeticStr += "," + DecimalFormatter.format(heightFormat, height);
         return geodeticStr;
 
     }
@@ -111,25 +160,46 @@ public class XyzTransformation extends CoordinateTransformation {
      */
     @Override
     public String toProjectedCoordinates(double lat, double lon, double height, double radius, double eflattening) {
-        lon = CoordinateTransformation.resetLon(lon);
-        lat *= degreesToRadians;
-        lon *= degreesToRadians;
-        double esq = 2 * eflattening - Math.pow(eflattening, 2.0);
-        double sinLat = Math.sin(lat);
-        double g1 = radius / (Math.sqrt(1 - esq * sinLat * sinLat));
-        double g2 = g1 * (1 - eflattening) * (1 - eflattening) + height;
-        g1 += height;
-        double x = g1 * Math.cos(lat);
-        double y = x * Math.sin(lon);
-        x *= Math.cos(lon);
-        double zVal = g2 * sinLat;
-        String retStr = String.format(xyzFormat, x);
-        retStr += "," + String.format(xyzFormat, y);
-        retStr += "," + String.format(xyzFormat, zVal);
-        return retStr;
+        return toProjectedCoordinates(lat, lon, height, Ellipsoid.getInstance(radius, eflattening));
+    }
+
+    /**
+     * converts to xyz for a given ellipsoid
+     * @param lat altitude
+     * @param lon longitude
+     * @param height ellipsoid height
+     * @param ellipsoid ellipsoid
+     * @return projected coordinate
+     */
+    @Override
+    public String toProjectedCoordinates(double lat, double lon, double height, Ellipsoid ellipsoid) {
+        return format(project(lat, lon, height, ellipsoid.getRadius(), ellipsoid.getFlattening(),
+                ellipsoid.getEsq()));
+    }
+
+    @Override
+    public double[] toXyz(double lat, double lon, double height, Ellipsoid ellipsoid) {
+        return round(project(lat, lon, height, ellipsoid.getRadius(), ellipsoid.getFlattening(),
+                ellipsoid.getEsq()));
     }
     
-    public String toGeodeticCoordinates(double x, double y, double z,double radius, double eflattening) {
+    @Override
+    public String toGeodeticCoordinates(double x, double y, double z, double radius, double eflattening) {
+        return toGeodeticCoordinates(x, y, z, Ellipsoid.getInstance(radius, eflattening));
+    }
+
+    /**
+     * converts xyz to llh for a given ellipsoid
+     * @param x x
+     * @param y y
+     * @param z z
+     * @param ellipsoid ellipsoid
+     * @return geodetic coordinate
+     */
+    @Override
+    public String toGeodeticCoordinates(double x, double y, double z, Ellipsoid ellipsoid) {
+        double radius = ellipsoid.getRadius();
+        double eflattening = ellipsoid.getFlattening();
 
         //compute semi-minor axis and set sign to that of z in order to
         //get sign of latitude correct
@@ -170,9 +240,9 @@ public class XyzTransformation extends CoordinateTransformation {
         double zlong = Math.atan2(y, x);
 
         double lon = CoordinateTransformation.resetLon(zlong / degreesToRadians);
-        String geodeticStr = String.format(latFormat, lat / degreesToRadians);
-        geodeticStr += "," + String.format(lonFormat, lon);
-        geodeticStr += "," + String.format(heightFormat, height);
+        String geodeticStr = DecimalFormatter.format(latFormat, lat / degreesToRadians);
+        geodeticStr += "," + DecimalFormatter.format(lonFormat, lon);
+        geodeticStr += "," + DecimalFormatter.format(heightFormat, height);
         return geodeticStr;
 
     }
@@ -215,4 +285,170 @@ public class XyzTransformation extends CoordinateTransformation {
     }
 
  
+
+    /**
+     * converts arrays of lat-long-height (decimal degrees, meters) to xyz
+     * for the ellipsoid of this datum
+     *
+     * @param lat latitudes
+     * @param lon longitudes
+     * @param h ellipsoid heights
+     * @param x output x
+     * @param y output y
+     * @param z output z
+     * @param offset index of the first coordinate
+     * @param length number of coordinates
+     */
+    public void toProjectedCoordinates(double[] lat, double[] lon, double[] h,
+            double[] x, double[] y, double[] z, int offset, int length) {
+        toCartesian(radius, eflattening, esq, lat, lon, h, x, y, z, offset, length);
+    }
+
+    /**
+     * converts arrays of lat-long-height (decimal degrees, meters) to xyz
+     * for a given ellipsoid
+     *
+     * @param ellipsoid ellipsoid
+     * @param lat latitudes
+     * @param lon longitudes
+     * @param h ellipsoid heights
+     * @param x output x
+     * @param y output y
+     * @param z output z
+     * @param offset index of the first coordinate
+     * @param length number of coordinates
+     */
+    public static void toProjectedCoordinates(Ellipsoid ellipsoid, double[] lat, double[] lon, double[] h,
+            double[] x, double[] y, double[] z, int offset, int length) {
+        toCartesian(ellipsoid.getRadius(), ellipsoid.getFlattening(), ellipsoid.getEsq(),
+                lat, lon, h, x, y, z, offset, length);
+    }
+
+    /**
+     * converts arrays of xyz to lat-long-height (decimal degrees, meters) for
+     * the ellipsoid of this datum
+     *
+     * @param x x
+     * @param y y
+     * @param z z
+     * @param lat output latitudes
+     * @param lon output longitudes
+     * @param h output ellipsoid heights
+     * @param offset index of the first coordinate
+     * @param length number of coordinates
+     * @param algorithm algorithm used for latitude and height
+     */
+    public void toGeodeticCoordinates(double[] x, double[] y, double[] z,
+            double[] lat, double[] lon, double[] h, int offset, int length, Algorithm algorithm) {
+        toGeodetic(radius, eflattening, esq, x, y, z, lat, lon, h, offset, length, algorithm);
+    }
+
+    /**
+     * converts arrays of xyz to lat-long-height (decimal degrees, meters) for
+     * a given ellipsoid
+     *
+     * @param ellipsoid ellipsoid
+     * @param x x
+     * @param y y
+     * @param z z
+     * @param lat output latitudes
+     * @param lon output longitudes
+     * @param h output ellipsoid heights
+     * @param offset index of the first coordinate
+     * @param length number of coordinates
+     * @param algorithm algorithm used for latitude and height
+     */
+    public static void toGeodeticCoordinates(Ellipsoid ellipsoid, double[] x, double[] y, double[] z,
+            double[] lat, double[] lon, double[] h, int offset, int length, Algorithm algorithm) {
+        toGeodetic(ellipsoid.getRadius(), ellipsoid.getFlattening(), ellipsoid.getEsq(),
+                x, y, z, lat, lon, h, offset, length, algorithm);
+    }
+
+    /**
+     * llh to xyz kernel; ellipsoid terms are hoisted out of the loop
+     */
+    private static void toCartesian(double radius, double eflattening, double esq,
+            double[] lat, double[] lon, double[] h, double[] x, double[] y, double[] z,
+            int offset, int length) {
+        double oneMinusFsq = (1 - eflattening) * (1 - eflattening);
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            double phi = lat[i] * DEG2RAD;
+            double lambda = CoordinateTransformation.resetLon(lon[i]) * DEG2RAD;
+            double sinLat = Math.sin(phi);
+            double g1 = radius / (Math.sqrt(1 - esq * sinLat * sinLat));
+            double g2 = g1 * oneMinusFsq + h[i];
+            g1 += h[i];
+            double xv = g1 * Math.cos(phi);
+            x[i] = xv * Math.cos(lambda);
+            y[i] = xv * Math.sin(lambda);
+            z[i] = g2 * sinLat;
+        }
+    }
+
+    /**
+     * xyz to llh kernel
+     */
+    private static void toGeodetic(double radius, double eflattening, double esq,
+            double[] x, double[] y, double[] z, double[] lat, double[] lon, double[] h,
+            int offset, int length, Algorithm algorithm) {
+        int end = offset + length;
+        if (algorithm == Algorithm.BOWRING) {
+            double b = radius * (1.0 - eflattening);
+            double eps = esq / (1.0 - esq);
+            double epsb = eps * b;
+            double esqa = esq * radius;
+            for (int i = offset; i < end; i++) {
+                double zi = z[i];
+                double p = Math.sqrt(x[i] * x[i] + y[i] * y[i]);
+                // parametric latitude from the spherical approximation
+                double u = zi * radius;
+                double v = p * b;
+                double w = Math.sqrt(u * u + v * v);
+                double st = u / w;
+                double ct = v / w;
+                double num = zi + epsb * st * st * st;
+                double den = p - esqa * ct * ct * ct;
+                double d = Math.sqrt(num * num + den * den);
+                double sinLat = num / d;
+                double cosLat = den / d;
+                lat[i] = Math.atan2(num, den) / DEG2RAD;
+                lon[i] = CoordinateTransformation.resetLon(Math.atan2(y[i], x[i]) / DEG2RAD);
+                h[i] = p * cosLat + zi * sinLat - radius * Math.sqrt(1.0 - esq * sinLat * sinLat);
+            }
+            return;
+        }
+        double a2b2 = radius * radius - (radius * (1.0 - eflattening)) * (radius * (1.0 - eflattening));
+        for (int i = offset; i < end; i++) {
+            double zi = z[i];
+            double b = radius * (1.0 - eflattening);
+            if (zi < 0.0) {
+                b = -b;
+            }
+            double r = Math.sqrt(x[i] * x[i] + y[i] * y[i]);
+            double e1 = (b * zi - a2b2) / (radius * r);
+            double f = (b * zi + a2b2) / (radius * r);
+            double p = (4.0 / 3.0) * (e1 * f + 1.0);
+            double q = 2.0 * (e1 * e1 - f * f);
+            double d = p * p * p + q * q;
+            double v;
+            if (d >= 0.0) {
+                v = Math.pow((Math.sqrt(d) - q), (1.0 / 3.0))
+                        - Math.pow((Math.sqrt(d) + q), (1.0 / 3.0));
+            } else {
+                v = 2.0 * Math.sqrt(-p)
+                        * Math.cos(Math.acos(q / (p * Math.sqrt(-p))) / 3.0);
+            }
+            if (v * v < Math.abs(p)) {
+                v = -(v * v * v + 2.0 * q) / (3.0 * p);
+            }
+            double g = (Math.sqrt(e1 * e1 + v) + e1) / 2.0;
+            double t = Math.sqrt(g * g + (f - v * g) / (2.0 * g - e1)) - g;
+            double phi = Math.atan((radius * (1.0 - t * t)) / (2.0 * b * t));
+            lat[i] = phi / DEG2RAD;
+            lon[i] = CoordinateTransformation.resetLon(Math.atan2(y[i], x[i]) / DEG2RAD);
+            h[i] = (r - radius * t) * Math.cos(phi) + (zi - b) * Math.sin(phi);
+        }
+    }
+
 }
@@ -0,0 +1,385 @@
+package gov.noaa.ngs.transform;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Zone definitions and zone constants of a datum, loaded on first use of the
+ * datum. The genConstants build target precompiles both into
+ * resources/nad83Zones.bin and resources/nad27Zones.bin, which are
+ * memory-mapped when on the file system and read without the parsing and
+ * unescaping of a property file. Without them, as when running from the
+ * source tree, the .properties files are loaded and parsed instead, once.
+ * <p>
+ * The constants are held as doubles: the constants of the datum by name
+ * (deg2rad, tm.a, lc.c1, ...) and those of each zone (zone.const,
+ * zone.constIndex, zone.lcConstIndex, zone.l1 and zone.l11) in an immutable
+ * ZoneConstants.
+ * <p>
+ * The binary form is a big-endian int MAGIC, an int VERSION, then
+ * <pre>
+ * zone definitions: int count, count pairs of string key and string value
+ * datum constants:  int count, count pairs of string key and double value
+ * zone constants:   int count, count times string zone, int constIndex,
+ *                   int lcConstIndex, double l1, double l11, int n and
+ *                   n doubles of zone.const
+ * </pre>
+ * with a string as an int length and as many UTF-8 bytes.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public final class ZoneCatalog {
+
+    public static final String NAD83_CATALOG = "/gov/noaa/ngs/transform/resources/nad83Zones.bin";
+    public static final String NAD27_CATALOG = "/gov/noaa/ngs/transform/resources/nad27Zones.bin";
+    public static final int MAGIC = 0x4e5a4331; // NZC1
+    public static final int VERSION = 2;
+
+    private final Properties zoneDef;
+    private final Map<String, Double> constants;
+    private final Map<String, ZoneConstants> zones;
+
+    private ZoneCatalog(Properties zoneDef, Map<String, Double> constants, Map<String, ZoneConstants> zones) {
+        this.zoneDef = zoneDef;
+        this.constants = Collections.unmodifiableMap(constants);
+        this.zones = Collections.unmodifiableMap(zones);
+    }
+
+    /**
+     * the constants of a zone; a constant missing from the zone is 0
+     */
+    public static final class ZoneConstants {
+
+        static final ZoneConstants NONE = new ZoneConstants(new double[]{0.0}, 0, 0, 0.0, 0.0);
+
+        private final double[] values;
+        private final int constIndex;
+        private final int lcConstIndex;
+        private final double l1;
+        private final double l11;
+
+        ZoneConstants(double[] values, int constIndex, int lcConstIndex, double l1, double l11) {
+            this.values = values;
+            this.constIndex = constIndex;
+            this.lcConstIndex = lcConstIndex;
+            this.l1 = l1;
+            this.l11 = l11;
+        }
+
+        /**
+         * @return number of values of zone.const
+         */
+        public int size() {
+            return values.length;
+        }
+
+        /**
+         * returns a value of zone.const
+         *
+         * @param i index, from 0
+         * @return value
+         */
+        public double get(int i) {
+            return values[i];
+        }
+
+        public int getConstIndex() {
+            return constIndex;
+        }
+
+        public int getLcConstIndex() {
+            return lcConstIndex;
+        }
+
+        public double getL1() {
+            return l1;
+        }
+
+        public double getL11() {
+            return l11;
+        }
+    }
+
+    // loaded when a nad83 transformation is first requested
+    private static final class Nad83 {
+
+        static final ZoneCatalog CATALOG = load(NAD83_CATALOG, CoordinateTransformation.NAD83_ZONE_DEF_PROP,
+                CoordinateTransformation.NAD83_CONSTANTS_PROP);
+    }
+
+    // loaded when a nad27 transformation is first requested
+    private static final class Nad27 {
+
+        static final ZoneCatalog CATALOG = load(NAD27_CATALOG, CoordinateTransformation.NAD27_ZONE_DEF_PROP,
+                CoordinateTransformation.NAD27_CONSTANTS_PROP);
+    }
+
+    /**
+     * returns the catalog of a datum
+     *
+     * @param datum nad83, or nad27 for any other datum
+     * @return catalog
+     */
+    public static ZoneCatalog getInstance(String datum) {
+        return datum.equalsIgnoreCase("nad83") ? Nad83.CATALOG : Nad27.CATALOG;
+    }
+
+    public Properties getZoneDefinitions() {
+        return zoneDef;
+    }
+
+    /**
+     * returns a constant of the datum
+     *
+     * @param key name of the constant, as in the property file
+     * @return value, or 0 if missing
+     */
+    public double getConstant(String key) {
+        Double v = constants.get(key);
+        return v == null ? 0.0 : v;
+    }
+
+    /**
+     * returns the constants of a zone
+     *
+     * @param zone zone, as in the property file
+     * @return constants, all 0 if the zone has none
+     */
+    public ZoneConstants getZone(String zone) {
+        ZoneConstants z = zones.get(zone);
+        return z == null ? ZoneConstants.NONE : z;
+    }
+
+    /**
+     * returns the constants in the form of the property file
+     *
+     * @return a new Properties of the constants
+     */
+    public Properties toProperties() {
+        Properties prop = new Properties();
+        for (Map.Entry<String, Double> c : constants.entrySet()) {
+            prop.setProperty(c.getKey(), Double.toString(c.getValue()));
+        }
+        for (Map.Entry<String, ZoneConstants> z : zones.entrySet()) {
+            String zone = z.getKey();
+            ZoneConstants c = z.getValue();
+            StringBuilder s = new StringBuilder();
+            for (int i = 0; i < c.values.length; i++) {
+                s.append(i > 0 ? "," : "").append(c.values[i]);
+            }
+            prop.setProperty(zone + ".const", s.toString());
+            if (c.constIndex != 0) {
+                prop.setProperty(zone + ".constIndex", Integer.toString(c.constIndex));
+            }
+            if (c.lcConstIndex != 0) {
+                prop.setProperty(zone + ".lcConstIndex", Integer.toString(c.lcConstIndex));
+                prop.setProperty(zone + ".l1", Double.toString(c.l1));
+                prop.setProperty(zone + ".l11", Double.toString(c.l11));
+            }
+        }
+        return prop;
+    }
+
+    /**
+     * parses the constants of a property file
+     *
+     * @param zoneDef zone definitions
+     * @param zoneConstants zone constants, as written by Util.loadConstants
+     * @return catalog
+     * @throws NumberFormatException if a constant is not a number
+     */
+    public static ZoneCatalog of(Properties zoneDef, Properties zoneConstants) {
+        Map<String, Double> constants = new HashMap<>();
+        Map<String, Properties> byZone = new HashMap<>();
+        for (String key : zoneConstants.stringPropertyNames()) {
+            int dot = key.lastIndexOf('.');
+            String name = key.substring(dot + 1);
+            if (dot > 0 && (name.equals("const") || name.equals("constIndex") || name.equals("lcConstIndex")
+                    || name.equals("l1") || name.equals("l11"))) {
+                byZone.computeIfAbsent(key.substring(0, dot), z -> new Properties())
+                        .setProperty(name, zoneConstants.getProperty(key).trim());
+            } else {
+                constants.put(key, Double.parseDouble(zoneConstants.getProperty(key)));
+            }
+        }
+        Map<String, ZoneConstants> zones = new HashMap<>();
+        for (Map.Entry<String, Properties> z : byZone.entrySet()) {
+            Properties p = z.getValue();
+            String[] s = p.getProperty("const", "0.0").split(",");
+            double[] values = new double[s.length];
+            for (int i = 0; i < s.length; i++) {
+                values[i] = Double.parseDouble(s[i]);
+            }
+            zones.put(z.getKey(), new ZoneConstants(values, Integer.parseInt(p.getProperty("constIndex", "0")),
+                    Integer.parseInt(p.getProperty("lcConstIndex", "0")),
+                    Double.parseDouble(p.getProperty("l1", "0.0")), Double.parseDouble(p.getProperty("l11", "0.0"))));
+        }
+        return new ZoneCatalog(zoneDef, constants, zones);
+    }
+
+    private static ZoneCatalog load(String catalog, String defProp, String constantsProp) {
+        URL url = ZoneCatalog.class.getResource(catalog);
+        if (url != null) {
+            try {
+                return read(map(url));
+            } catch (IOException | BufferUnderflowException ex) {
+                Logger.getLogger(ZoneCatalog.class.getName()).log(Level.WARNING,
+                        "Unable to read " + catalog + ", loading property files. Exception:" + ex.getMessage());
+            }
+        }
+        Properties zoneDef = new Properties();
+        Properties zoneConstants = new Properties();
+        try {
+            loadProperties(defProp, zoneDef);
+            loadProperties(constantsProp, zoneConstants);
+            return of(zoneDef, zoneConstants);
+        } catch (CTException | NumberFormatException ex) {
+            //To do: send the logger to a file
+            Logger.getLogger(CoordinateTransformation.class.getName()).log(Level.SEVERE, ex.getMessage());
+        }
+        return new ZoneCatalog(zoneDef, new HashMap<>(), new HashMap<>());
+    }
+
+    /**
+     * maps a catalog on the file system; reads one inside a jar
+     */
+    private static ByteBuffer map(URL url) throws IOException {
+        if (url.getProtocol().equals("file")) {
+            try (FileChannel channel = FileChannel.open(Paths.get(url.toURI()), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (URISyntaxException ex) {
+                throw new IOException(ex.getMessage());
+            }
+        }
+        try (InputStream in = url.openStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[8192];
+            int n;
+            while ((n = in.read(buf)) > 0) {
+                out.write(buf, 0, n);
+            }
+            return ByteBuffer.wrap(out.toByteArray());
+        }
+    }
+
+    private static void loadProperties(String resource, Properties prop) throws CTException {
+        try (InputStream stream = ZoneCatalog.class.getResourceAsStream(resource)) {
+            if (stream == null) {
+                throw new CTException("Unable to find property file " + resource);
+            }
+            prop.load(stream);
+        } catch (IOException ex) {
+            throw new CTException("Unable to load property file " + resource + ". Exception:" + ex.getMessage());
+        }
+    }
+
+    /**
+     * reads a catalog in the binary form
+     *
+     * @param buf catalog
+     * @return catalog
+     * @throws IOException if buf is not a catalog of this version
+     */
+    static ZoneCatalog read(ByteBuffer buf) throws IOException {
+        if (buf.getInt() != MAGIC || buf.getInt() != VERSION) {
+            throw new IOException("Not a zone catalog of version " + VERSION);
+        }
+        Properties zoneDef = new Properties();
+        int count = buf.getInt();
+        for (int i = 0; i < count; i++) {
+            String key = readString(buf);
+            zoneDef.put(key, readString(buf));
+        }
+        Map<String, Double> constants = new HashMap<>();
+        count = buf.getInt();
+        for (int i = 0; i < count; i++) {
+            String key = readString(buf);
+            constants.put(key, buf.getDouble());
+        }
+        Map<String, ZoneConstants> zones = new HashMap<>();
+        count = buf.getInt();
+        for (int i = 0; i < count; i++) {
+            String zone = readString(buf);
+            int constIndex = buf.getInt();
+            int lcConstIndex = buf.getInt();
+            double l1 = buf.getDouble();
+            double l11 = buf.getDouble();
+            double[] values = new double[buf.getInt()];
+            for (int j = 0; j < values.length; j++) {
+                values[j] = buf.getDouble();
+            }
+            zones.put(zone, new ZoneConstants(values, constIndex, lcConstIndex, l1, l11));
+        }
+        return new ZoneCatalog(zoneDef, constants, zones);
+    }
+
+    private static String readString(ByteBuffer buf) {
+        byte[] b = new byte[buf.getInt()];
+        buf.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * writes the catalog in the binary form
+     *
+     * @param file catalog file
+     * @throws IOException if unable to write
+     */
+    public void write(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            // sorted, so that a catalog of the same properties is the same file
+            TreeSet<String> keys = new TreeSet<>(zoneDef.stringPropertyNames());
+            out.writeInt(keys.size());
+            for (String key : keys) {
+                writeString(out, key);
+                writeString(out, zoneDef.getProperty(key));
+            }
+            out.writeInt(constants.size());
+            for (Map.Entry<String, Double> c : new TreeMap<>(constants).entrySet()) {
+                writeString(out, c.getKey());
+                out.writeDouble(c.getValue());
+            }
+            out.writeInt(zones.size());
+            for (Map.Entry<String, ZoneConstants> z : new TreeMap<>(zones).entrySet()) {
+                ZoneConstants c = z.getValue();
+                writeString(out, z.getKey());
+                out.writeInt(c.constIndex);
+                out.writeInt(c.lcConstIndex);
+                out.writeDouble(c.l1);
+                out.writeDouble(c.l11);
+                out.writeInt(c.values.length);
+                for (double v : c.values) {
+                    out.writeDouble(v);
+                }
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+}
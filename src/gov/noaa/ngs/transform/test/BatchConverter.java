@@ -0,0 +1,618 @@
+package gov.noaa.ngs.transform.test;
+
+import gov.noaa.ngs.grid.BinaryResultWriter;
+import gov.noaa.ngs.grid.CoordSetWriter;
+import gov.noaa.ngs.grid.Nutil;
+import gov.noaa.ngs.grid.NumericCoordSet;
+import gov.noaa.ngs.grid.Pipeline;
+import gov.noaa.ngs.metrics.Metrics;
+import gov.noaa.ngs.transform.CTException;
+import gov.noaa.ngs.transform.CoordBatch;
+import gov.noaa.ngs.transform.MappedInput;
+import gov.noaa.ngs.transform.OrderedChunkWriter;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Batch mode of the command line interface. Reads one conversion per line in
+ * the same comma delimited layout accepted by CLDriver (-Dparms), converts the
+ * rows on a fixed thread pool and writes the results in input order.
+ * <p>
+ * Rows are handed to the workers in chunks of CHUNK_SIZE lines; at most
+ * 2*threads chunks are in flight so a large input is streamed rather than held
+ * in memory. Blank lines and lines starting with # are skipped but still
+ * counted, so the row number reported is the line number of the input.
+ * <p>
+ * Usage:
+ * <pre>
+ * java -Dinput=rows.txt [-Doutput=out.ndjson] [-Dformat=ndjson|csv|binary] [-Dthreads=4]
+ *      [-Dfields=destLat,destLon,...] [-Dschema=true] gov.noaa.ngs.transform.test.CLDriver
+ * </pre>
+ * -Dinput=- reads from stdin; output defaults to stdout. -Dfields selects the
+ * CoordSet fields written (ID is always written); -Dschema=true starts ndjson
+ * output with a header line describing the fields. A row that fails is written
+ * as {"ID":"row","error":"message"} (ndjson) or with the message in the error
+ * column (csv) and processing continues. -Dformat=binary writes the compact
+ * format of BinaryResultWriter, one block per chunk, ignoring -Dfields.
+ * <p>
+ * A file input is memory-mapped (MappedInput) and split into chunks of about
+ * -DchunkSize bytes at line boundaries; the workers decode and convert their
+ * own chunks and OrderedChunkWriter writes the results in input order, so no
+ * single thread reads the file. -Dmapped=false reads it as a stream instead.
+ * <p>
+ * With -DinDatum and -DoutDatum every line is lat,lon,height (decimal degrees
+ * or DMS, height may be N/A) transformed between the given datums: a chunk is
+ * parsed into a CoordBatch and converted as a whole. With -DinVertDatum and
+ * -DoutVertDatum the height is orthometric and transformed as well. These run
+ * as a Pipeline of parse, transform, project and serialize stages with
+ * -DstageThreads=parse,transform,project,serialize threads.
+ * <p>
+ * -Dmetrics=true records the library Metrics during the run and prints them at
+ * the end, after the throughput and queue depth of each pipeline stage.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public class BatchConverter {
+
+    public static final int CHUNK_SIZE = 256;
+    public static final String NDJSON = "ndjson";
+    public static final String CSV = "csv";
+    public static final String BINARY = "binary";
+    private static final String[] ALL_OPTIONS = {"SPC", "UTM", "USNG", "XYZ"};
+
+    private final ExecutorService pool;
+    private final int maxPending;
+    private final boolean csv;
+    private final boolean binary;
+    private final CoordSetWriter json;
+    private boolean schema;
+    private String inDatum;
+    private String outDatum;
+    private String inVertDatum = "N/A";
+    private String outVertDatum = "N/A";
+    private final int[] stageThreads;
+    private volatile Pipeline<byte[]> pipeline;
+    private int errors;
+
+    /**
+     * @param threads number of worker threads
+     * @param format NDJSON, CSV or BINARY
+     */
+    public BatchConverter(int threads, String format) {
+        this(threads, format, CoordSetWriter.mask(CLDriver.FIELDS));
+    }
+
+    /**
+     * @param threads number of worker threads
+     * @param format NDJSON, CSV or BINARY
+     * @param fields CoordSet fields written (see CoordSetWriter.mask); ID is
+     * always written
+     */
+    public BatchConverter(int threads, String format, long fields) {
+        if (!(format.equals(NDJSON) || format.equals(CSV) || format.equals(BINARY))) {
+            throw new IllegalArgumentException("Invalid output format:" + format);
+        }
+        this.pool = Executors.newFixedThreadPool(threads);
+        this.maxPending = 2 * threads;
+        this.stageThreads = new int[]{1, threads, threads, Math.max(1, threads / 2)};
+        this.csv = format.equals(CSV);
+        this.binary = format.equals(BINARY);
+        this.json = new CoordSetWriter(fields | CoordSetWriter.mask("ID"), false);
+    }
+
+    /**
+     * starts ndjson output with a header line naming and describing the fields
+     *
+     * @param schema true=write the header line
+     */
+    public void setSchema(boolean schema) {
+        this.schema = schema;
+    }
+
+    /**
+     * reads lat,lon,height lines transformed between the given datums instead
+     * of CLDriver rows; mapped input only
+     *
+     * @param inDatum input horizontal datum
+     * @param outDatum output horizontal datum
+     * @param inVertDatum input vertical datum, N/A for ellipsoid heights
+     * @param outVertDatum output vertical datum, N/A for ellipsoid heights
+     */
+    public void setDatums(String inDatum, String outDatum, String inVertDatum, String outVertDatum) {
+        if (!Nutil.isValidDatum(inDatum, "nadcon")) {
+            throw new IllegalArgumentException("Invalid input datum");
+        }
+        if (!Nutil.isValidDatum(outDatum, "nadcon")) {
+            throw new IllegalArgumentException("Invalid output datum");
+        }
+        boolean vertical = !inVertDatum.equalsIgnoreCase("N/A");
+        if (vertical && (!Nutil.isValidDatum(inVertDatum, "vertcon") || !Nutil.isValidDatum(outVertDatum, "vertcon"))) {
+            throw new IllegalArgumentException("Invalid geopotential datum");
+        }
+        this.inDatum = inDatum.toUpperCase();
+        this.outDatum = outDatum.toUpperCase();
+        this.inVertDatum = vertical ? inVertDatum.toUpperCase() : "N/A";
+        this.outVertDatum = vertical ? outVertDatum.toUpperCase() : "N/A";
+    }
+
+    /**
+     * converts all rows of an input stream and writes the results in input
+     * order
+     *
+     * @param in input rows
+     * @param out converted rows
+     * @return number of rows processed
+     * @throws IOException if unable to read or write
+     */
+    public long convert(InputStream in, OutputStream out) throws IOException {
+        if (inDatum != null) {
+            throw new IllegalStateException("lat,lon,height input requires a mapped file");
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        OutputStream buffered = new BufferedOutputStream(out, 1 << 16);
+        ArrayDeque<Future<byte[]>> pending = new ArrayDeque<>();
+        long row = 0;
+        long rows = 0;
+        writeHeader(buffered);
+        try {
+            List<String> lines = new ArrayList<>(CHUNK_SIZE);
+            long first = row + 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                row++;
+                lines.add(line);
+                if (lines.size() == CHUNK_SIZE) {
+                    submit(pending, lines, first, buffered);
+                    rows += lines.size();
+                    lines = new ArrayList<>(CHUNK_SIZE);
+                    first = row + 1;
+                }
+            }
+            if (!lines.isEmpty()) {
+                submit(pending, lines, first, buffered);
+                rows += lines.size();
+            }
+            while (!pending.isEmpty()) {
+                buffered.write(take(pending));
+            }
+        } finally {
+            for (Future<byte[]> f : pending) {
+                f.cancel(true);
+            }
+            buffered.flush();
+        }
+        return rows;
+    }
+
+    /**
+     * converts all rows of a mapped file, one chunk per task, and writes the
+     * results in input order
+     *
+     * @param in mapped input
+     * @param out converted rows
+     * @return number of rows processed
+     * @throws IOException if unable to read or write
+     */
+    public long convert(MappedInput in, OutputStream out) throws IOException {
+        OutputStream buffered = new BufferedOutputStream(out, 1 << 16);
+        writeHeader(buffered);
+        long rows = in.countLines(pool);
+        if (inDatum != null) {
+            convertCoordinates(in, buffered);
+            return rows;
+        }
+        OrderedChunkWriter writer = new OrderedChunkWriter(buffered, maxPending);
+        try {
+            for (MappedInput.Chunk chunk : in.getChunks()) {
+                writer.reserve();
+                pool.execute(() -> {
+                    try {
+                        writer.write(chunk.getIndex(), convertChunk(chunk));
+                    } catch (Throwable ex) {
+                        writer.fail(ex);
+                    }
+                });
+            }
+            writer.finish(in.getChunks().size());
+        } finally {
+            buffered.flush();
+        }
+        return rows;
+    }
+
+    /**
+     * converts lat,lon,height chunks through a pipeline of parse, transform,
+     * project and serialize stages
+     */
+    private void convertCoordinates(MappedInput in, OutputStream out) throws IOException {
+        Pipeline<byte[]> p = Pipeline.from(in.getChunks().iterator(), maxPending)
+                .then("parse", stageThreads[0], c -> new Rows(CoordBatch.parse(c, 0, 1, 2)))
+                .then("transform", stageThreads[1], this::transform)
+                .then("project", stageThreads[2], this::project)
+                .then("serialize", stageThreads[3], this::serialize);
+        pipeline = p;
+        try {
+            p.run(out::write);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Batch conversion interrupted");
+        } catch (ExecutionException ex) {
+            throw new IOException("Batch conversion failed. Exception:" + ex.getCause());
+        } finally {
+            out.flush();
+        }
+    }
+
+    /**
+     * sets the number of threads of the parse, transform, project and
+     * serialize stages of lat,lon,height input
+     *
+     * @param threads threads of each stage
+     */
+    public void setStageThreads(int... threads) {
+        if (threads.length != stageThreads.length) {
+            throw new IllegalArgumentException("Expected the threads of " + stageThreads.length + " stages");
+        }
+        for (int t : threads) {
+            if (t < 1) {
+                throw new IllegalArgumentException("Invalid number of threads:" + t);
+            }
+        }
+        System.arraycopy(threads, 0, stageThreads, 0, threads.length);
+    }
+
+    /**
+     * returns the pipeline of the last lat,lon,height conversion for its stage
+     * metrics
+     *
+     * @return pipeline or null
+     */
+    public Pipeline<byte[]> getPipeline() {
+        return pipeline;
+    }
+
+    /**
+     * returns the number of rows that failed to convert
+     *
+     * @return number of failed rows
+     */
+    public synchronized int getErrors() {
+        return errors;
+    }
+
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    private void writeHeader(OutputStream out) throws IOException {
+        if (csv) {
+            out.write((getCsvHeader(json.getMask()) + "\n").getBytes(StandardCharsets.UTF_8));
+        } else if (binary) {
+            BinaryResultWriter.writeHeader(out);
+        } else if (schema) {
+            json.writeSchema(out, true);
+        }
+    }
+
+    private void submit(ArrayDeque<Future<byte[]>> pending, List<String> lines, long first, OutputStream buffered) throws IOException {
+        while (pending.size() >= maxPending) {
+            buffered.write(take(pending));
+        }
+        pending.add(pool.submit(() -> convertChunk(lines, first)));
+    }
+
+    private static byte[] take(ArrayDeque<Future<byte[]>> pending) throws IOException {
+        try {
+            return pending.poll().get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Batch conversion interrupted");
+        } catch (ExecutionException ex) {
+            throw new IOException("Batch conversion failed. Exception:" + ex.getCause());
+        }
+    }
+
+    /**
+     * converts a chunk of rows; runs on a worker thread
+     */
+    private byte[] convertChunk(List<String> lines, long first) throws IOException {
+        ByteArrayOutputStream s = new ByteArrayOutputStream(lines.size() * 1024);
+        BinaryResultWriter block = binary ? new BinaryResultWriter() : null;
+        long row = first;
+        for (String line : lines) {
+            String id = Long.toString(row++);
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String error;
+            try {
+                NumericCoordSet c = CLDriver.toCoordSet(trimmed.split(","));
+                c.setID(id);
+                append(s, block, c);
+                continue;
+            } catch (CTException ex) {
+                error = ex.getMessage();
+            } catch (ArrayIndexOutOfBoundsException ex) {
+                error = "Missing input parameters";
+            } catch (RuntimeException ex) {
+                error = ex.getMessage() == null ? ex.getClass().getSimpleName() : ex.getMessage();
+            }
+            appendError(s, block, id, error);
+        }
+        return binary ? block.toBlock() : s.toByteArray();
+    }
+
+    /**
+     * converts a chunk of a mapped file; runs on a worker thread
+     */
+    private byte[] convertChunk(MappedInput.Chunk chunk) throws IOException {
+        List<String> lines = new ArrayList<>(CHUNK_SIZE);
+        int end;
+        for (int start = 0; start < chunk.length(); start = end + 1) {
+            end = chunk.lineEnd(start);
+            lines.add(chunk.getLine(start, end));
+        }
+        return convertChunk(lines, chunk.getFirstLine());
+    }
+
+    /**
+     * transforms each coordinate of a batch between the datums; pipeline stage
+     */
+    private Rows transform(Rows rows) {
+        CoordBatch batch = rows.batch;
+        boolean vertical = !inVertDatum.equals("N/A");
+        for (int i = 0; i < batch.size(); i++) {
+            double h = batch.getHeight()[i];
+            try {
+                rows.results[i] = Nutil.transformNumeric(inDatum, outDatum, batch.getLat()[i], batch.getLon()[i],
+                        vertical ? Double.NaN : h, inVertDatum, outVertDatum, vertical ? h : Double.NaN, true);
+            } catch (RuntimeException ex) {
+                rows.fail(i, ex);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * converts each transformed coordinate to SPC, UTM, USNG and XYZ;
+     * pipeline stage
+     */
+    private Rows project(Rows rows) {
+        String pDatum = Nutil.getPdatum(outDatum);
+        for (int i = 0; i < rows.results.length; i++) {
+            if (rows.results[i] == null) {
+                continue;
+            }
+            try {
+                rows.results[i] = Nutil.getNumericCoordSet(rows.results[i], outDatum, pDatum, 0.0, 0.0,
+                        "auto", "auto", ALL_OPTIONS);
+                rows.results[i].setID(Long.toString(rows.batch.getLine()[i]));
+            } catch (CTException | RuntimeException ex) {
+                rows.fail(i, ex);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * writes the rows and parse errors of a batch in line order; pipeline
+     * stage
+     */
+    private byte[] serialize(Rows rows) throws IOException {
+        CoordBatch batch = rows.batch;
+        ByteArrayOutputStream s = new ByteArrayOutputStream(batch.size() * 1024);
+        BinaryResultWriter block = binary ? new BinaryResultWriter() : null;
+        int e = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            long line = batch.getLine()[i];
+            for (; e < batch.getErrorCount() && batch.getErrorLine(e) < line; e++) {
+                appendError(s, block, Long.toString(batch.getErrorLine(e)), batch.getError(e));
+            }
+            if (rows.results[i] != null) {
+                append(s, block, rows.results[i]);
+            } else {
+                appendError(s, block, Long.toString(line), rows.errors[i]);
+            }
+        }
+        for (; e < batch.getErrorCount(); e++) {
+            appendError(s, block, Long.toString(batch.getErrorLine(e)), batch.getError(e));
+        }
+        return binary ? block.toBlock() : s.toByteArray();
+    }
+
+    private void append(ByteArrayOutputStream s, BinaryResultWriter block, NumericCoordSet c) throws IOException {
+        if (binary) {
+            block.write(c);
+        } else {
+            appendRow(s, c);
+        }
+    }
+
+    private void appendError(ByteArrayOutputStream s, BinaryResultWriter block, String id, String error) throws IOException {
+        if (binary) {
+            block.writeError(id, error);
+        } else {
+            appendError(s, id, error);
+        }
+        synchronized (this) {
+            errors++;
+        }
+    }
+
+    private void appendRow(ByteArrayOutputStream out, NumericCoordSet c) throws IOException {
+        if (!csv) {
+            json.write(c, out);
+            return;
+        }
+        StringBuilder s = new StringBuilder(1024);
+        appendCsv(s, c.getID());
+        s.append(',');
+        long mask = json.getMask();
+        for (int i = 1; i < CoordSetWriter.FIELDS.length; i++) {
+            if ((mask & (1L << i)) != 0) {
+                s.append(',');
+                appendCsv(s, CoordSetWriter.getValue(c, i));
+            }
+        }
+        s.append('\n');
+        out.write(s.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void appendError(ByteArrayOutputStream out, String id, String error) throws IOException {
+        StringBuilder s = new StringBuilder();
+        if (!csv) {
+            s.append("{\"ID\":\"").append(id).append("\",\"error\":\"")
+                    .append(error.replace("\\", "\\\\").replace("\"", "\\\"")).append("\"}\n");
+        } else {
+            s.append(id).append(',');
+            appendCsv(s, error);
+            for (int i = 1; i < Long.bitCount(json.getMask()); i++) {
+                s.append(',');
+            }
+            s.append('\n');
+        }
+        out.write(s.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * appends a csv field, quoted if needed; formatted numbers may contain
+     * grouping commas
+     */
+    private static void appendCsv(StringBuilder s, String value) {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            s.append(value);
+        } else {
+            s.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+    }
+
+    /**
+     * returns the csv header: ID, error, then the CoordSet fields
+     *
+     * @param fields selected fields (see CoordSetWriter.mask)
+     * @return csv header
+     */
+    public static String getCsvHeader(long fields) {
+        StringBuilder s = new StringBuilder("ID,error");
+        for (int i = 1; i < CoordSetWriter.FIELDS.length; i++) {
+            if ((fields & (1L << i)) != 0) {
+                s.append(',').append(CoordSetWriter.FIELDS[i]);
+            }
+        }
+        return s.toString();
+    }
+
+    public static void main(String[] args) {
+        String input = System.getProperty("input");
+        String output = System.getProperty("output");
+        String format = System.getProperty("format", NDJSON).toLowerCase();
+        String fields = System.getProperty("fields");
+        String inDatum = System.getProperty("inDatum");
+        String outDatum = System.getProperty("outDatum");
+        boolean mapped = !"-".equals(input) && !"false".equalsIgnoreCase(System.getProperty("mapped"));
+        int chunkSize = Integer.getInteger("chunkSize", MappedInput.DEFAULT_CHUNK_SIZE);
+        String stageThreads = System.getProperty("stageThreads");
+        int threads = Integer.getInteger("threads", Runtime.getRuntime().availableProcessors());
+        long mask = 0;
+        try {
+            mask = fields == null ? CoordSetWriter.mask(CLDriver.FIELDS) : CoordSetWriter.mask(fields.split(","));
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+        }
+        if (input == null || !(format.equals(NDJSON) || format.equals(CSV) || format.equals(BINARY)) || threads < 1
+                || mask == 0 || chunkSize < 1 || (inDatum == null) != (outDatum == null) || (inDatum != null && !mapped)) {
+            System.err.println("Usage: -Dinput=file|- [-Doutput=file] [-Dformat=ndjson|csv|binary] [-Dthreads=n]"
+                    + " [-Dfields=name,...] [-Dschema=true] [-Dmapped=false] [-DchunkSize=bytes]"
+                    + " [-DinDatum=datum -DoutDatum=datum [-DinVertDatum=datum -DoutVertDatum=datum]"
+                    + " [-DstageThreads=n,n,n,n]] [-Dmetrics=true]");
+            return;
+        }
+        BatchConverter converter = new BatchConverter(threads, format, mask);
+        converter.setSchema(Boolean.getBoolean("schema"));
+        try {
+            if (inDatum != null) {
+                converter.setDatums(inDatum, outDatum, System.getProperty("inVertDatum", "N/A"),
+                        System.getProperty("outVertDatum", "N/A"));
+            }
+            if (stageThreads != null) {
+                String[] t = stageThreads.split(",");
+                int[] n = new int[t.length];
+                for (int i = 0; i < t.length; i++) {
+                    n[i] = Integer.parseInt(t[i].trim());
+                }
+                converter.setStageThreads(n);
+            }
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            converter.close();
+            return;
+        }
+        boolean metrics = Boolean.getBoolean("metrics");
+        Metrics.setEnabled(metrics);
+        try (OutputStream out = output == null ? System.out : new FileOutputStream(output)) {
+            long start = System.currentTimeMillis();
+            long rows;
+            if (mapped) {
+                try (MappedInput in = new MappedInput(input, chunkSize)) {
+                    rows = converter.convert(in, out);
+                }
+            } else {
+                try (InputStream in = input.equals("-") ? System.in : new FileInputStream(input)) {
+                    rows = converter.convert(in, out);
+                }
+            }
+            System.err.println("Rows:" + rows + " Errors:" + converter.getErrors()
+                    + " Time(ms):" + (System.currentTimeMillis() - start));
+            if (metrics) {
+                if (converter.getPipeline() != null) {
+                    System.err.print(converter.getPipeline());
+                }
+                System.err.print(Metrics.getReport());
+            }
+        } catch (IOException ex) {
+            System.err.println("Unable to process batch input. Exception:" + ex.getMessage());
+        } finally {
+            converter.close();
+        }
+    }
+
+    /**
+     * a parsed batch and its results as it moves through the pipeline
+     */
+    private static final class Rows {
+
+        private final CoordBatch batch;
+        private final NumericCoordSet[] results;
+        private final String[] errors;
+
+        Rows(CoordBatch batch) {
+            this.batch = batch;
+            this.results = new NumericCoordSet[batch.size()];
+            this.errors = new String[batch.size()];
+        }
+
+        void fail(int i, Exception ex) {
+            results[i] = null;
+            errors[i] = ex.getMessage() == null ? ex.getClass().getSimpleName() : ex.getMessage();
+        }
+    }
+}
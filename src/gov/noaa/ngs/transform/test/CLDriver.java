@@ -1,11 +1,11 @@
 package gov.noaa.ngs.transform.test;
 
 import gov.noaa.ngs.grid.CoordSet;
+import gov.noaa.ngs.grid.CoordSetWriter;
 import gov.noaa.ngs.grid.Nutil;
+import gov.noaa.ngs.grid.NumericCoordSet;
 import gov.noaa.ngs.transform.CTException;
-import gov.noaa.ngs.transform.CoordinateTransformation;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import gov.noaa.ngs.transform.CoordParser;
 
 /**
  *
@@ -15,8 +15,19 @@ import java.util.logging.Logger;
  */
 public class CLDriver {
 
+    // CoordSet fields written by default
+    static final String[] FIELDS = {"ID", "nadconVersion", "vertconVersion", "srcDatum", "destDatum",
+        "srcVertDatum", "destVertDatum", "srcLat", "srcLatDms", "destLat", "destLatDms", "sigLat",
+        "srcLon", "srcLonDms", "destLon", "destLonDms", "sigLon", "srcEht", "destEht", "sigEht",
+        "srcOrthoht", "destOrthoht", "sigOrthoht", "spcZone", "spcNorthing_m", "spcEasting_m",
+        "spcNorthing_usft", "spcEasting_usft", "spcNorthing_ift", "spcEasting_ift", "spcConvergence",
+        "spcScaleFactor", "spcCombinedFactor", "utmZone", "utmNorthing", "utmEasting", "utmConvergence",
+        "utmScaleFactor", "utmCombinedFactor", "x", "y", "z", "usng"};
+    // writer of the pretty JSON printed for a single conversion
+    private static final CoordSetWriter JSON = new CoordSetWriter(CoordSetWriter.mask(FIELDS), true);
+
     /**
-     * converts and returns coordinate set as a JSON
+     * converts and returns coordinate set
      *
      * @param inDatum input Datum
      * @param outDatum output Datum
@@ -24,25 +35,19 @@ public class CLDriver {
      * @param radius equatorial radius, if used
      * @param fparm earth flattening, if used
      * @param spcZone SPC zone to be used
-     * @return
+     * @return coordinate set
+     * @throws CTException if unable to find an SPC zone
      */
-    private static String getJson(String inDatum, String outDatum, double[] llh, double radius, double fparm, String spcZone, String utmZone,
-            String inVertDatum, String outVertDatum, double orthoHt) {
-        CoordSet transCoord = null;
+    private static NumericCoordSet getCoordSet(String inDatum, String outDatum, double[] llh, double radius, double fparm, String spcZone, String utmZone,
+            String inVertDatum, String outVertDatum, double orthoHt) throws CTException {
+        NumericCoordSet transCoord = null;
         // map output datum to a reference datum to be used for projection
         String pOutDatum = Nutil.getPdatum(outDatum);
-        transCoord = Nutil.transform(inDatum, outDatum,
-                llh[0], llh[1], llh[2], inVertDatum, outVertDatum, orthoHt);
-        CoordSet c = null;
-        try {
-            //Step2: convert LLH to SPC,UTM,XYZ,and USNG
-            c = Nutil.getCoordSet(transCoord, outDatum, pOutDatum, radius, fparm, spcZone, utmZone);
-            c.setID(Long.toString(System.currentTimeMillis()));
-
-        } catch (CTException ex) {
-            Logger.getLogger(CLDriver.class.getName()).log(Level.SEVERE, null, ex);
-        }
-        return toString(c);
+        transCoord = Nutil.transformNumeric(inDatum, outDatum,
+                llh[0], llh[1], llh[2], inVertDatum, outVertDatum, orthoHt, true);
+        //Step2: convert LLH to SPC,UTM,XYZ,and USNG
+        return Nutil.getNumericCoordSet(transCoord, outDatum, pOutDatum, radius, fparm, spcZone, utmZone,
+                new String[]{"SPC", "UTM", "USNG", "XYZ"});
     }
 
     /**
@@ -53,80 +58,66 @@ public class CLDriver {
      * @return CoordSet as a JSON
      */
     private static String toString(CoordSet c) {
-        StringBuilder s = new StringBuilder();
-        String q = "\"";
-        s.append("{\n");
-        s.append(q).append("ID").append(q).append(":").append(q).append(c.getID()).append(q).append(",\n");
-        s.append(q).append("nadconVersion").append(q).append(":").append(q).append(c.getNadconVersion()).append(q).append(",\n");
-        s.append(q).append("vertconVersion").append(q).append(":").append(q).append(c.getVertconVersion()).append(q).append(",\n");
-        s.append(q).append("srcDatum").append(q).append(":").append(q).append(c.getSrcDatum()).append(q).append(",\n");
-        s.append(q).append("destDatum").append(q).append(":").append(q).append(c.getDestDatum()).append(q).append(",\n");
-        s.append(q).append("srcVertDatum").append(q).append(":").append(q).append(c.getSrcVertDatum()).append(q).append(",\n");
-        s.append(q).append("destVertDatum").append(q).append(":").append(q).append(c.getDestVertDatum()).append(q).append(",\n");
-        s.append(q).append("srcLat").append(q).append(":").append(q).append(c.getSrcLat()).append(q).append(",\n");
-        s.append(q).append("srcLatDms").append(q).append(":").append(q).append(c.getSrcLatDms()).append(q).append(",\n");
-        s.append(q).append("destLat").append(q).append(":").append(q).append(c.getDestLat()).append(q).append(",\n");
-        s.append(q).append("destLatDms").append(q).append(":").append(q).append(c.getDestLatDms()).append(q).append(",\n");
-        s.append(q).append("sigLat").append(q).append(":").append(q).append(c.getSigLat()).append(q).append(",\n");
-        s.append(q).append("srcLon").append(q).append(":").append(q).append(c.getSrcLon()).append(q).append(",\n");
-        s.append(q).append("srcLonDms").append(q).append(":").append(q).append(c.getSrcLonDms()).append(q).append(",\n");
-        s.append(q).append("destLon").append(q).append(":").append(q).append(c.getDestLon()).append(q).append(",\n");
-        s.append(q).append("destLonDms").append(q).append(":").append(q).append(c.getDestLonDms()).append(q).append(",\n");
-        s.append(q).append("sigLon").append(q).append(":").append(q).append(c.getSigLon()).append(q).append(",\n");
-        s.append(q).append("srcEht").append(q).append(":").append(q).append(c.getSrcEht()).append(q).append(",\n");
-        s.append(q).append("destEht").append(q).append(":").append(q).append(c.getDestEht()).append(q).append(",\n");
-        s.append(q).append("sigEht").append(q).append(":").append(q).append(c.getSigEht()).append(q).append(",\n");
-        s.append(q).append("srcOrthoht").append(q).append(":").append(q).append(c.getSrcOrthoht()).append(q).append(",\n");
-        s.append(q).append("destOrthoht").append(q).append(":").append(q).append(c.getDestOrthoht()).append(q).append(",\n");
-        s.append(q).append("sigOrthoht").append(q).append(":").append(q).append(c.getSigOrthoht()).append(q).append(",\n");
-        s.append(q).append("spcZone").append(q).append(":").append(q).append(c.getSpcZone()).append(q).append(",\n");
-        s.append(q).append("spcNorthing_m").append(q).append(":").append(q).append(c.getSpcNorthing_m()).append(q).append(",\n");
-        s.append(q).append("spcEasting_m").append(q).append(":").append(q).append(c.getSpcEasting_m()).append(q).append(",\n");
-        s.append(q).append("spcNorthing_usft").append(q).append(":").append(q).append(c.getSpcNorthing_usft()).append(q).append(",\n");
-        s.append(q).append("spcEasting_usft").append(q).append(":").append(q).append(c.getSpcEasting_usft()).append(q).append(",\n");
-        s.append(q).append("spcNorthing_ift").append(q).append(":").append(q).append(c.getSpcNorthing_ift()).append(q).append(",\n");
-        s.append(q).append("spcEasting_ift").append(q).append(":").append(q).append(c.getSpcEasting_ift()).append(q).append(",\n");
-        s.append(q).append("spcConvergence").append(q).append(":").append(q).append(c.getSpcConvergence()).append(q).append(",\n");
-        s.append(q).append("spcScaleFactor").append(q).append(":").append(q).append(c.getSpcScaleFactor()).append(q).append(",\n");
-        s.append(q).append("spcCombinedFactor").append(q).append(":").append(q).append(c.getSpcCombinedFactor()).append(q).append(",\n");
-
-        s.append(q).append("utmZone").append(q).append(":").append(q).append(c.getUtmZone()).append(q).append(",\n");
-        s.append(q).append("utmNorthing").append(q).append(":").append(q).append(c.getUtmNorthing()).append(q).append(",\n");
-        s.append(q).append("utmEasting").append(q).append(":").append(q).append(c.getUtmEasting()).append(q).append(",\n");
-        s.append(q).append("utmConvergence").append(q).append(":").append(q).append(c.getUtmConvergence()).append(q).append(",\n");
-        s.append(q).append("utmScaleFactor").append(q).append(":").append(q).append(c.getUtmScaleFactor()).append(q).append(",\n");
-        s.append(q).append("utmCombinedFactor").append(q).append(":").append(q).append(c.getUtmCombinedFactor()).append(q).append(",\n");
-        s.append(q).append("x").append(q).append(":").append(q).append(c.getX()).append(q).append(",\n");
-        s.append(q).append("y").append(q).append(":").append(q).append(c.getY()).append(q).append(",\n");
-        s.append(q).append("z").append(q).append(":").append(q).append(c.getZ()).append(q).append(",\n");
-        s.append(q).append("usng").append(q).append(":").append(q).append(c.getUsng()).append(q).append("\n");
-        s.append("}");
-        return s.toString();
-
+        return JSON.toJson(c);
     }
 
-    private static boolean isValidLLH(String latStr, String lonStr, String heightStr) {
-        if (!(Nutil.isValid("latdms", latStr) || Nutil.isValid("declat", latStr))) {
-            System.err.println("Invalid latitude");
-            return false;
+    /**
+     * validates and parses a latitude or longitude in decimal degrees or DMS
+     */
+    private static double parseCoordinate(String coordStr, boolean isLat) throws CTException {
+        double value = isLat ? CoordParser.parseLatitude(coordStr) : CoordParser.parseLongitude(coordStr);
+        if (Double.isNaN(value)) {
+            throw new CTException(isLat ? "Invalid latitude" : "Invalid longitude");
         }
-        if (!(Nutil.isValid("londms", lonStr) || Nutil.isValid("declon", lonStr))) {
-            System.err.println("Invalid longitude");
-            return false;
+        return value;
+    }
+
+    /**
+     * validates and parses a height; N/A is returned as NaN
+     */
+    private static double parseHeight(String heightStr) throws CTException {
+        if (heightStr.equalsIgnoreCase("N/A")) {
+            return Double.NaN;
         }
+        return parseDecimal(heightStr, "Invalid Ellipsoid height");
+    }
 
-        return isValidHeight(heightStr);
+    private static double parseDecimal(String value, String error) throws CTException {
+        double d = CoordParser.parseDecimal(value);
+        if (Double.isNaN(d)) {
+            throw new CTException(error);
+        }
+        return d;
     }
 
-    private static boolean isValidHeight(String heightStr) {
-        if (heightStr.equalsIgnoreCase("N/A")) {
-            return true;
+    private static double parseUnsigned(String value, String error) throws CTException {
+        double d = CoordParser.parseUnsigned(value);
+        if (Double.isNaN(d)) {
+            throw new CTException(error);
         }
-        if (!Nutil.isValid("height", heightStr)) {
-            System.err.println("Invalid Ellipsoid height");
-            return false;
+        return d;
+    }
+
+    private static double parseParameter(String value, String error) throws CTException {
+        double d = CoordParser.parseParameter(value);
+        if (Double.isNaN(d)) {
+            throw new CTException(error);
         }
-        return true;
+        return d;
+    }
+
+    /**
+     * parses and validates input parameters, converts input data to LLH, where
+     * applicable, and returns the converted coordinate set as a JSON
+     *
+     * @param inData input data provided as a comma delimited string
+     * @return coordinate set as a JSON
+     * @throws CTException if input data is invalid
+     */
+    static String convert(String[] inData) throws CTException {
+        CoordSet c = toCoordSet(inData);
+        c.setID(Long.toString(System.currentTimeMillis()));
+        return toString(c);
     }
 
     /**
@@ -134,8 +125,10 @@ public class CLDriver {
      * applicable
      *
      * @param inData input data provided as a comma delimited string
+     * @return converted coordinate set
+     * @throws CTException if input data is invalid
      */
-    private static void convert(String[] inData) {
+    static NumericCoordSet toCoordSet(String[] inData) throws CTException {
         String convType = inData[0].trim();
         double[] llh = new double[3];
         double radius = 0.0;
@@ -158,22 +151,14 @@ public class CLDriver {
                 String latStr = inData[1];
                 String lonStr = inData[2];
                 String heightStr = inData[3];
-                if (!isValidLLH(latStr, lonStr, heightStr)) {
-                    return;
-                }
-                double lat = Character.isLetter(latStr.charAt(0))
-                        ? CoordinateTransformation.toDecimalDeg(latStr)
-                        : Double.valueOf(latStr);
-                double lon = Character.isLetter(lonStr.charAt(0))
-                        ? CoordinateTransformation.toDecimalDeg(lonStr)
-                        : Double.valueOf(lonStr);
+                double lat = parseCoordinate(latStr, true);
+                double lon = parseCoordinate(lonStr, false);
+                double height = parseHeight(heightStr);
                 if (Math.abs(lat) > 90.0) {
-                    System.err.println("Invalid latitude");
-                    return;
+                    throw new CTException("Invalid latitude");
                 }
                 if (Math.abs(lon) > 360.0) {
-                    System.err.println("Invalid longitude");
-                    return;
+                    throw new CTException("Invalid longitude");
                 }
                 // if the field starts with a letter, input and ouput datums
                 // are provided
@@ -182,62 +167,47 @@ public class CLDriver {
                 if (Character.isLetter(inData[4].charAt(0))) {
                     inDatum = inData[4].trim().toUpperCase();
                     if (!Nutil.isValidDatum(inDatum, "nadcon")) {
-                        System.err.println("Invalid input datum");
-                        return;
+                        throw new CTException("Invalid input datum");
                     }
                     outDatum = inData[5].trim().toUpperCase();
                     if (!Nutil.isValidDatum(outDatum, "nadcon")) {
-                        System.err.println("Invalid output datum");
-                        return;
+                        throw new CTException("Invalid output datum");
                     }
 
                     spcZone = inData[6].trim();
                     if (!Nutil.isValid("spczone", spcZone)) {
-                        System.err.println("Invalid SPC Zone");
-                        return;
+                        throw new CTException("Invalid SPC Zone");
                     }
                     if (!utmZone.equalsIgnoreCase("auto")) {
                         if (!Nutil.isValid("utmzone", utmZone)) {
-                            System.err.println("Invalid UTM zone");
-                            return;
+                            throw new CTException("Invalid UTM zone");
                         }
 
                     }
 
                 } else {
                     // radius and flattening parameters are provided
-                    if (!Nutil.isValid("aparm", inData[4])) {
-                        System.err.println("Invalid radius");
-                        return;
-                    }
-                    if (!Nutil.isValid("invf", inData[5])) {
-                        System.err.println("Invalid inverse of flattening");
-                        return;
-                    }
-                    radius = Double.valueOf(inData[4]);
-                    double invfd = Double.valueOf(inData[5]);
+                    radius = parseParameter(inData[4], "Invalid radius");
+                    double invfd = parseParameter(inData[5], "Invalid inverse of flattening");
                     if ((radius > 0 && invfd > 0) && (!Nutil.isValidEllipsoid(radius, invfd))) {
-                        System.err.println("Invalid radius or inverse of flattening");
-                        return;
+                        throw new CTException("Invalid radius or inverse of flattening");
                     }
                     fparm = invfd > 0 ? 1 / invfd : 0.0;
                 }
                 llh[0] = lat;
                 llh[1] = lon;
                 if (convType.equals("llh")) {
-                    llh[2] = heightStr.equalsIgnoreCase("N/A") ? Double.NaN : Double.valueOf(heightStr);
+                    llh[2] = height;
                 } else {
                     llh[2] = Double.NaN;
-                    orthoHt = heightStr.equalsIgnoreCase("N/A") ? Double.NaN : Double.valueOf(heightStr);
+                    orthoHt = height;
                     inVertDatum = inData[8].trim().toUpperCase();
                     if (!Nutil.isValidDatum(inVertDatum, "vertcon")) {
-                        System.err.println("Invalid input geopotential datum");
-                        return;
+                        throw new CTException("Invalid input geopotential datum");
                     }
                     outVertDatum = inData[9].trim().toUpperCase();
                     if (!Nutil.isValidDatum(outVertDatum, "vertcon")) {
-                        System.err.println("Invalid output geopotential datum");
-                        return;
+                        throw new CTException("Invalid output geopotential datum");
                     }
 
                 }
@@ -248,87 +218,68 @@ public class CLDriver {
                 // parse, validate, and convert SPC coordinate to LLH
                 spcZone = inData[1].trim();
                 if (!Nutil.isValid("spczone", spcZone)) {
-                    System.err.println("Invalid SPC zone");
-                    return;
+                    throw new CTException("Invalid SPC zone");
                 }
                 northing = inData[2];
                 easting = inData[3];
-                if (!Nutil.isValid("northing", northing)) {
-                    System.err.println("Invalid northing coordinate");
-                    return;
-                }
-                if (!Nutil.isValid("easting", easting)) {
-                    System.err.println("Invalid easting coordinate");
-                    return;
-                }
+                double n = parseUnsigned(northing, "Invalid northing coordinate");
+                double e = parseUnsigned(easting, "Invalid easting coordinate");
 
                 String units = inData[4].trim();
                 if (!Nutil.isValid("units", units)) {
-                    System.err.println("Invalid units");
-                    return;
-
+                    throw new CTException("Invalid units");
                 }
 
                 inDatum = inData[5].trim().toUpperCase();
                 if (!Nutil.isValidDatum(inDatum, "nadcon")) {
-                    System.err.println("Invalid input datum");
-                    return;
+                    throw new CTException("Invalid input datum");
                 }
                 outDatum = inData[6].trim().toUpperCase();
                 if (!Nutil.isValidDatum(outDatum, "nadcon")) {
-                    System.err.println("Invalid output datum");
-                    return;
+                    throw new CTException("Invalid output datum");
                 }
                 utmZone = utmZone = inData[7];
                 utmZone = utmZone.equalsIgnoreCase("auto") ? "auto" : utmZone;
                 if (!utmZone.equalsIgnoreCase("auto")) {
                     if (!Nutil.isValid("utmzone", utmZone)) {
-                        System.err.println("Invalid UTM zone");
-                        return;
+                        throw new CTException("Invalid UTM zone");
                     }
                 }
                 heightStr = inData[8];
-                if (!isValidHeight(heightStr)) {
-                    return;
-                }
+                height = parseHeight(heightStr);
 
                 // map input datum to a reference datum used for projection
                 String pInDatum = Nutil.getPdatum(inDatum);
                 // convert SPC to llh
-                llCoord = Nutil.getCoordSet(pInDatum, Double.valueOf(northing),
-                        Double.valueOf(easting), units, spcZone);
+                llCoord = Nutil.getCoordSet(pInDatum, n, e, units, spcZone);
                 llh[0] = llCoord[0];
                 llh[1] = llCoord[1];
                 if (convType.equals("spch")) {
-                    llh[2] = heightStr.equalsIgnoreCase("N/A") ? Double.NaN : Double.valueOf(heightStr);
+                    llh[2] = height;
                     llh[2] = Nutil.toMeters(llh[2], units);
                     if (inData.length > 9) {
                         destZone = inData[9];
                         if (!Nutil.isValid("spczone", destZone)) {
-                            System.err.println("Invalid Destination SPC zone");
-                            return;
+                            throw new CTException("Invalid Destination SPC zone");
                         }
 
                     }
 
                 } else {
                     llh[2] = Double.NaN;
-                    orthoHt = heightStr.equalsIgnoreCase("N/A") ? Double.NaN : Double.valueOf(heightStr);
+                    orthoHt = height;
                     inVertDatum = inData[9].trim().toUpperCase();
                     if (!Nutil.isValidDatum(inVertDatum, "vertcon")) {
-                        System.err.println("Invalid input geopotential datum");
-                        return;
+                        throw new CTException("Invalid input geopotential datum");
                     }
                     outVertDatum = inData[10].trim().toUpperCase();
                     if (!Nutil.isValidDatum(outVertDatum, "vertcon")) {
-                        System.err.println("Invalid output geopotential datum");
-                        return;
+                        throw new CTException("Invalid output geopotential datum");
                     }
                     if (inData.length > 11) {
                         destZone = inData[11];
                         if (!Nutil.isValid("spczone", destZone)) {
-                            System.err.println("Invalid Destination SPC zone");
-                            return;
+                            throw new CTException("Invalid Destination SPC zone");
                         }
 
                     }
@@ -341,104 +292,78 @@ public class CLDriver {
                 // parse, validate, and convert UTMM coordinate to LLH
                 utmZone = inData[1].trim();
                 if (!Nutil.isValid("utmzone", utmZone)) {
-                    System.err.println("Invalid UTM zone");
-                    return;
+                    throw new CTException("Invalid UTM zone");
                 }
                 northing = inData[2];
                 easting = inData[3];
-                if (!Nutil.isValid("northing", northing)) {
-                    System.err.println("Invalid northing coordinate");
-                    return;
-                }
-                if (!Nutil.isValid("easting", easting)) {
-                    System.err.println("Invalid easting coordinate");
-                    return;
-                }
+                n = parseUnsigned(northing, "Invalid northing coordinate");
+                e = parseUnsigned(easting, "Invalid easting coordinate");
                 String hemi = inData[4];
                 if (!Nutil.isValid("hemi", hemi)) {
-                    System.err.println("Invalid hemisphere");
-                    return;
+                    throw new CTException("Invalid hemisphere");
                 }
                 // if the field starts with a letter, , input and ouput datums
                 // are provided
                 if (Character.isLetter(inData[5].charAt(0))) {
                     inDatum = inData[5].trim().toUpperCase();
                     if (!Nutil.isValidDatum(inDatum, "nadcon")) {
-                        System.err.println("Invalid input datum");
-                        return;
+                        throw new CTException("Invalid input datum");
                     }
                     outDatum = inData[6].trim().toUpperCase();
                     if (!Nutil.isValidDatum(outDatum, "nadcon")) {
-                        System.err.println("Invalid output datum");
-                        return;
+                        throw new CTException("Invalid output datum");
                     }
                     spcZone = inData[7].trim();
                     if (!Nutil.isValid("spczone", spcZone)) {
-                        System.err.println("Invalid SPC Zone");
-                        return;
+                        throw new CTException("Invalid SPC Zone");
                     }
                     heightStr = inData[8];
                 } else {
                     // radius and flattening parameters are provided
-                    if (!Nutil.isValid("aparm", inData[5])) {
-                        System.err.println("Invalid radius");
-                        return;
-                    }
-                    if (!Nutil.isValid("invf", inData[6])) {
-                        System.err.println("Invalid inverse of flattening");
-                        return;
-                    }
-                    radius = Double.valueOf(inData[5]);
-                    double invfd = Double.valueOf(inData[6]);
+                    radius = parseParameter(inData[5], "Invalid radius");
+                    double invfd = parseParameter(inData[6], "Invalid inverse of flattening");
                     if ((radius > 0 && invfd > 0) && (!Nutil.isValidEllipsoid(radius, invfd))) {
-                        System.err.println("Invalid radius or inverse of flattening");
-                        return;
+                        throw new CTException("Invalid radius or inverse of flattening");
                     }
                     fparm = invfd > 0 ? 1 / invfd : 0.0;
                     heightStr = inData[7];
                 }
-                if (!isValidHeight(heightStr)) {
-                    return;
-                }
+                height = parseHeight(heightStr);
 
                 // map input datum to a reference datum used for projection
                 pInDatum = Nutil.getPdatum(inDatum);
                 // associate a reference ellipsoid for reference datum
                 String ellipsoid = Nutil.getEllipsoid(pInDatum);
                 // convert UTM to LLH
-                llCoord = Nutil.getCoordSet(Double.valueOf(northing), Double.valueOf(easting), utmZone, hemi, ellipsoid, radius, fparm);
+                llCoord = Nutil.getCoordSet(n, e, utmZone, hemi, ellipsoid, radius, fparm);
                 llh[0] = llCoord[0];
                 llh[1] = llCoord[1];
                 if (convType.equals("utmh")) {
-                    llh[2] = heightStr.equalsIgnoreCase("N/A") ? Double.NaN : Double.valueOf(heightStr);
+                    llh[2] = height;
                     if (inData.length == 10) {
                         destZone = inData[9];
                         if (!Nutil.isValid("utmzone", destZone)) {
-                            System.err.println("Invalid Destination UTM zone");
-                            return;
+                            throw new CTException("Invalid Destination UTM zone");
                         }
 
                     }
                 } else {
                     llh[2] = Double.NaN;
-                    orthoHt = heightStr.equalsIgnoreCase("N/A") ? Double.NaN : Double.valueOf(heightStr);
+                    orthoHt = height;
                     inVertDatum = inData[9].trim().toUpperCase();
                     if (!Nutil.isValidDatum(inVertDatum, "vertcon")) {
-                        System.err.println("Invalid input geopotential datum");
-                        return;
+                        throw new CTException("Invalid input geopotential datum");
                     }
                     outVertDatum = inData[10].trim().toUpperCase();
                     if (!Nutil.isValidDatum(outVertDatum, "vertcon")) {
-                        System.err.println("Invalid output geopotential datum");
-                        return;
+                        throw new CTException("Invalid output geopotential datum");
                     }
 
                     // UTM is being converted between zone
                     if (inData.length == 12) {
                         destZone = inData[11];
                         if (!Nutil.isValid("utmzone", destZone)) {
-                            System.err.println("Invalid Destination UTM zone");
-                            return;
+                            throw new CTException("Invalid Destination UTM zone");
                         }
 
                     }
@@ -450,48 +375,33 @@ public class CLDriver {
                 // parse, validate, and convert USNG coordinate to LLH
                 String usng = inData[1].trim().toUpperCase();
                 if (!Nutil.isValid("usng", usng)) {
-                    System.err.println("Invalid USNG");
-                    return;
+                    throw new CTException("Invalid USNG");
                 }
                 heightStr = inData.length >= 6 ? inData[5] : inData[4];
-                if (!isValidHeight(heightStr)) {
-                    return;
-                }
+                height = parseHeight(heightStr);
 
                 // if the field starts with a letter, , input and ouput datums
                 // are provided
                 if (Character.isLetter(inData[2].charAt(0))) {
                     inDatum = inData[2].trim().toUpperCase();
                     if (!Nutil.isValidDatum(inDatum, "nadcon")) {
-                        System.err.println("Invalid input datum");
-                        return;
+                        throw new CTException("Invalid input datum");
                     }
                     outDatum = inData[3].trim().toUpperCase();
                     if (!Nutil.isValidDatum(outDatum, "nadcon")) {
-                        System.err.println("Invalid output datum");
-                        return;
+                        throw new CTException("Invalid output datum");
                     }
                     spcZone = inData[4].trim();
                     if (!Nutil.isValid("spczone", spcZone)) {
-                        System.err.println("Invalid SPC Zone");
-                        return;
+                        throw new CTException("Invalid SPC Zone");
                     }
 
                 } else {
                     // radius and flattening parameters are provided
-                    if (!Nutil.isValid("aparm", inData[2])) {
-                        System.err.println("Invalid radius");
-                        return;
-                    }
-                    if (!Nutil.isValid("invf", inData[3])) {
-                        System.err.println("Invalid inverse of flattening");
-                        return;
-                    }
-                    radius = Double.valueOf(inData[2]);
-                    double invfd = Double.valueOf(inData[3]);
+                    radius = parseParameter(inData[2], "Invalid radius");
+                    double invfd = parseParameter(inData[3], "Invalid inverse of flattening");
                     if ((radius > 0 && invfd > 0) && (!Nutil.isValidEllipsoid(radius, invfd))) {
-                        System.err.println("Invalid radius or inverse of flattening");
-                        return;
+                        throw new CTException("Invalid radius or inverse of flattening");
                     }
                     fparm = invfd > 0 ? 1 / invfd : 0.0;
                 }
@@ -506,19 +416,17 @@ public class CLDriver {
                 llh[0] = llCoord[0];
                 llh[1] = llCoord[1];
                 if (convType.equals("usngh")) {
-                    llh[2] = heightStr.equalsIgnoreCase("N/A") ? Double.NaN : Double.valueOf(heightStr);
+                    llh[2] = height;
                 } else {
                     llh[2] = Double.NaN;
-                    orthoHt = heightStr.equalsIgnoreCase("N/A") ? Double.NaN : Double.valueOf(heightStr);
+                    orthoHt = height;
                     inVertDatum = inData[6].trim().toUpperCase();
                     if (!Nutil.isValidDatum(inVertDatum, "vertcon")) {
-                        System.err.println("Invalid input geopotential datum");
-                        return;
+                        throw new CTException("Invalid input geopotential datum");
                     }
                     outVertDatum = inData[7].trim().toUpperCase();
                     if (!Nutil.isValidDatum(outVertDatum, "vertcon")) {
-                        System.err.println("Invalid output geopotential datum");
-                        return;
+                        throw new CTException("Invalid output geopotential datum");
                     }
                 }
                 break;
@@ -527,24 +435,14 @@ public class CLDriver {
                 String x = inData[1];
                 String y = inData[2];
                 String z = inData[3];
-                if (!Nutil.isValid("x", x)) {
-                    System.err.println("Invalid X-coordinate");
-                    return;
-                }
-                if (!Nutil.isValid("y", y)) {
-                    System.err.println("Invalid Y-coordinate");
-                    return;
-                }
-                if (!Nutil.isValid("z", z)) {
-                    System.err.println("Invalid Z-coordinate");
-                    return;
-                }
+                double xd = parseDecimal(x, "Invalid X-coordinate");
+                double yd = parseDecimal(y, "Invalid Y-coordinate");
+                double zd = parseDecimal(z, "Invalid Z-coordinate");
                 utmZone = inData.length == 8 ? inData[7] : inData[6];
                 utmZone = utmZone.equalsIgnoreCase("auto") ? "auto" : utmZone;
                 if (!utmZone.equalsIgnoreCase("auto")) {
                     if (!Nutil.isValid("utmzone", utmZone)) {
-                        System.err.println("Invalid UTM zone");
-                        return;
+                        throw new CTException("Invalid UTM zone");
                     }
 
                 }
@@ -554,35 +452,23 @@ public class CLDriver {
                 if (Character.isLetter(inData[4].charAt(0))) {
                     inDatum = inData[4].trim().toUpperCase();
                     if (!Nutil.isValidDatum(inDatum, "nadcon")) {
-                        System.err.println("Invalid input datum");
-                        return;
+                        throw new CTException("Invalid input datum");
                     }
                     outDatum = inData[5].trim().toUpperCase();
                     if (!Nutil.isValidDatum(outDatum, "nadcon")) {
-                        System.err.println("Invalid output datum");
-                        return;
+                        throw new CTException("Invalid output datum");
                     }
                     spcZone = inData[6].trim();
                     if (!Nutil.isValid("spczone", spcZone)) {
-                        System.err.println("Invalid SPC Zone");
-                        return;
+                        throw new CTException("Invalid SPC Zone");
                     }
 
                 } else {
                     // radius and flattening parameters are provided
-                    if (!Nutil.isValid("aparm", inData[4])) {
-                        System.err.println("Invalid radius");
-                        return;
-                    }
-                    if (!Nutil.isValid("invf", inData[5])) {
-                        System.err.println("Invalid inverse of flattening");
-                        return;
-                    }
-                    radius = Double.valueOf(inData[4]);
-                    double invfd = Double.valueOf(inData[5]);
+                    radius = parseParameter(inData[4], "Invalid radius");
+                    double invfd = parseParameter(inData[5], "Invalid inverse of flattening");
                     if ((radius > 0 && invfd > 0) && (!Nutil.isValidEllipsoid(radius, invfd))) {
-                        System.err.println("Invalid radius or inverse of flattening");
-                        return;
+                        throw new CTException("Invalid radius or inverse of flattening");
                     }
                     fparm = invfd > 0 ? 1 / invfd : 0.0;
                 }
@@ -591,14 +477,14 @@ public class CLDriver {
                 // associate a reference ellipsoid for reference datum
                 ellipsoid = Nutil.getEllipsoid(pInDatum);
                 // convert XYZ to LLH
-                llCoord = Nutil.getCoordSet(Double.valueOf(x), Double.valueOf(y), Double.valueOf(z), ellipsoid, radius, fparm);
+                llCoord = Nutil.getCoordSet(xd, yd, zd, ellipsoid, radius, fparm);
                 llh[0] = llCoord[0];
                 llh[1] = llCoord[1];
                 llh[2] = llCoord[2];
 
                 break;
             default:
-                System.err.println("convType is not a valid conversion type");
+                throw new CTException("convType is not a valid conversion type");
         }
         // we now have LLH for input datum. Transform LLH to ouput datum 
         // and complete SPC, UTM, USNG, and XYZ conversions
@@ -610,19 +496,28 @@ public class CLDriver {
             }
         }
 
-        System.out.println(getJson(inDatum, outDatum, llh, radius, fparm, spcZone, utmZone,
-                inVertDatum, outVertDatum, orthoHt));
+        return getCoordSet(inDatum, outDatum, llh, radius, fparm, spcZone, utmZone,
+                inVertDatum, outVertDatum, orthoHt);
 
     }
 
     public static void main(String[] args) {
+        // batch mode: -Dinput=file (or - for stdin)
+        if (System.getProperty("input") != null) {
+            BatchConverter.main(args);
+            return;
+        }
         String[] inData = System.getProperty("parms", "").split(",");
  //              String[] inData = "spch,1702,682098.274,3369338.675,usft,NAD83(2011),NAD83(2011),auto,6.367284734569469".split(",");
         if (!(inData.length > 1)) {
             System.err.println("No input parameters provided, terminating the program");
             return;
         }
-        convert(inData);
+        try {
+            System.out.println(convert(inData));
+        } catch (CTException ex) {
+            System.err.println(ex.getMessage());
+        }
 
     }
 
@@ -0,0 +1,224 @@
+package gov.noaa.ngs.transform.test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import gov.noaa.ngs.grid.GridHeatmap;
+import gov.noaa.ngs.grid.GridManager;
+import gov.noaa.ngs.grid.GridTileCache;
+import gov.noaa.ngs.grid.HeapGrid;
+import gov.noaa.ngs.transform.CTException;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Long-running server mode of the command line interface. Serves conversions
+ * over HTTP from a single JVM so that grids, zone constants and the JIT stay
+ * warm between requests, instead of paying JVM start-up per call.
+ * <p>
+ * Endpoints:
+ * <pre>
+ * GET  /convert?parms=llh,39.22,-98.54,123.0,NAD83(2011),NAD83(2011),1501,auto
+ * POST /convert            body: the same comma delimited parameters
+ * GET  /health
+ * </pre>
+ * parms takes the same layout as CLDriver -Dparms and the response is the same
+ * JSON CLDriver prints. Invalid input returns 400 with {"error":"message"}.
+ * Connections are kept alive by the JDK server.
+ * <p>
+ * Usage:
+ * <pre>
+ * java [-Dhost=127.0.0.1] [-Dport=8280] [-Dthreads=n] gov.noaa.ngs.transform.test.ConversionServer
+ * </pre>
+ * -Dheatmap=file counts the grid tiles read (GridHeatmap) and writes them to
+ * file every -Dheatmap.interval seconds (300) and at shutdown. If the file
+ * exists at start-up, the -Dpreload.tiles hottest tiles (256) and the
+ * -Dpreload.grids hottest whole grids (0) in it are read into memory on
+ * -Dpreload.threads threads before the server accepts requests.
+ * <p>
+ * -Dpreload.regions=Conus,Alaska (or all) decodes every NADCON and VERTCON grid
+ * of the regions into the heap (HeapGrid) before the server accepts requests,
+ * and prints the size and load time of each grid. Grids are then read without
+ * I/O. -Dpreload.quantize=maxError holds float grids in 16 bits where no cell
+ * changes by more than maxError, in the units of the grid.
+ *
+ * @version 1.0 Date: 10/19/2026
+ */
+public class ConversionServer {
+
+    public static final int DEFAULT_PORT = 8280;
+    // converted once at start-up to load classes, grids and constants
+    private static final String WARMUP = "llh,39.2240867222,-98.5421515000,123.0,NAD83(2011),NAD83(2011),1501,auto";
+    private static final int MAX_BODY = 64 * 1024;
+
+    private final HttpServer server;
+    private final ExecutorService pool;
+
+    /**
+     * @param host address to bind to; loopback unless set otherwise
+     * @param port port to listen on
+     * @param threads number of request threads
+     * @throws IOException if unable to bind
+     */
+    public ConversionServer(String host, int port, int threads) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        pool = Executors.newFixedThreadPool(threads);
+        server.setExecutor(pool);
+        server.createContext("/convert", this::handleConvert);
+        server.createContext("/health", exchange -> send(exchange, 200, "{\"status\":\"ok\"}"));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        pool.shutdownNow();
+    }
+
+    /**
+     * returns the bound address
+     *
+     * @return bound address
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    private void handleConvert(HttpExchange exchange) throws IOException {
+        String parms;
+        String method = exchange.getRequestMethod();
+        if (method.equalsIgnoreCase("GET")) {
+            parms = getQueryParm(exchange.getRequestURI().getRawQuery(), "parms");
+        } else if (method.equalsIgnoreCase("POST")) {
+            parms = readBody(exchange.getRequestBody());
+            if (parms == null) {
+                send(exchange, 413, error("Request body too large"));
+                return;
+            }
+        } else {
+            exchange.getResponseHeaders().set("Allow", "GET, POST");
+            send(exchange, 405, error("Method not allowed"));
+            return;
+        }
+        if (parms == null || parms.trim().isEmpty()) {
+            send(exchange, 400, error("No input parameters provided"));
+            return;
+        }
+        String[] inData = parms.trim().split(",");
+        if (!(inData.length > 1)) {
+            send(exchange, 400, error("No input parameters provided"));
+            return;
+        }
+        try {
+            send(exchange, 200, CLDriver.convert(inData));
+        } catch (CTException ex) {
+            send(exchange, 400, error(ex.getMessage()));
+        } catch (ArrayIndexOutOfBoundsException ex) {
+            send(exchange, 400, error("Missing input parameters"));
+        } catch (RuntimeException ex) {
+            send(exchange, 500, error(ex.getMessage() == null ? ex.getClass().getSimpleName() : ex.getMessage()));
+        }
+    }
+
+    private static String getQueryParm(String query, String name) throws UnsupportedEncodingException {
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0 && pair.substring(0, eq).equals(name)) {
+                return URLDecoder.decode(pair.substring(eq + 1), "UTF-8");
+            }
+        }
+        return null;
+    }
+
+    private static String readBody(InputStream in) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buf = new byte[4096];
+        int n;
+        while ((n = in.read(buf)) > 0) {
+            if (body.size() + n > MAX_BODY) {
+                return null;
+            }
+            body.write(buf, 0, n);
+        }
+        return new String(body.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static String error(String message) {
+        return "{\"error\":\"" + message.replace("\\", "\\\\").replace("\"", "\\\"") + "\"}";
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        // fixed length keeps the connection alive for the next request
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * preloads the hottest grid tiles of a heatmap of an earlier run, if any,
+     * and starts counting the tiles of this run into it
+     *
+     * @param heatmap heatmap file
+     * @param threads default number of preload threads
+     */
+    private static void preload(File heatmap, int threads) {
+        if (heatmap.exists()) {
+            try {
+                List<GridHeatmap.Tile> tiles = GridHeatmap.read(heatmap);
+                GridTileCache.preload(tiles, Integer.getInteger("preload.tiles", 256),
+                        Integer.getInteger("preload.grids", 0), Integer.getInteger("preload.threads", threads));
+                GridHeatmap.merge(tiles);
+            } catch (IOException ex) {
+                System.err.println("Unable to read heatmap " + heatmap + ":" + ex.getMessage());
+            }
+        }
+        GridHeatmap.startExport(heatmap, Long.getLong("heatmap.interval", 300L));
+    }
+
+    public static void main(String[] args) throws IOException {
+        String host = System.getProperty("host", "127.0.0.1");
+        int port = Integer.getInteger("port", DEFAULT_PORT);
+        int threads = Integer.getInteger("threads", Runtime.getRuntime().availableProcessors());
+        String regions = System.getProperty("preload.regions");
+        if (regions != null) {
+            int preloadThreads = Integer.getInteger("preload.threads", threads);
+            double maxError = Double.parseDouble(System.getProperty("preload.quantize", "0"));
+            HeapGrid.preload(GridManager.NADCON, regions.split(","), preloadThreads, maxError);
+            HeapGrid.preload(GridManager.VERTCON, regions.split(","), preloadThreads, maxError);
+            System.err.print(HeapGrid.getReport());
+        }
+        String heatmap = System.getProperty("heatmap");
+        if (heatmap != null) {
+            preload(new File(heatmap), threads);
+        }
+        try {
+            CLDriver.convert(WARMUP.split(","));
+        } catch (CTException ex) {
+            System.err.println("Warm-up conversion failed:" + ex.getMessage());
+        }
+        ConversionServer server = new ConversionServer(host, port, threads);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            GridHeatmap.stopExport();
+        }));
+        server.start();
+        System.err.println("Listening on http://" + host + ":" + server.getAddress().getPort() + "/convert");
+    }
+}